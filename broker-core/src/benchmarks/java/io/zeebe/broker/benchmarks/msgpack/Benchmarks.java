@@ -30,6 +30,7 @@ public class Benchmarks
     {
         final Options opt = new OptionsBuilder()
                 .include(".*" + POJOMappingBenchmark.class.getSimpleName() + ".*")
+                .include(".*" + CommandValidationBenchmark.class.getSimpleName() + ".*")
                 .forks(1)
                 .build();
 
@@ -0,0 +1,63 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.benchmarks.msgpack;
+
+import java.util.concurrent.TimeUnit;
+
+import org.agrona.DirectBuffer;
+import io.zeebe.broker.task.data.TaskEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the validation of a command on the request path by deserializing
+ * it with the validation by scanning it against a schema.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 20, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 20, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+public class CommandValidationBenchmark
+{
+
+    @Benchmark
+    @Threads(1)
+    public TaskEvent performDeserialization(CommandValidationContext ctx)
+    {
+        final TaskEvent event = ctx.getEvent();
+        final DirectBuffer encodedCommand = ctx.getEncodedCommand();
+
+        event.reset();
+        event.wrap(encodedCommand, 0, encodedCommand.capacity());
+
+        return event;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean performSchemaValidation(CommandValidationContext ctx)
+    {
+        final DirectBuffer encodedCommand = ctx.getEncodedCommand();
+
+        return ctx.getValidator().validate(ctx.getSchema(), encodedCommand, 0, encodedCommand.capacity());
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.benchmarks.msgpack;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import io.zeebe.broker.task.data.TaskEvent;
+import io.zeebe.broker.task.data.TaskState;
+import io.zeebe.broker.transport.clientapi.CommandSchemas;
+import io.zeebe.broker.util.msgpack.MsgPackSchema;
+import io.zeebe.broker.util.msgpack.MsgPackSchemaValidator;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.util.buffer.BufferUtil;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class CommandValidationContext
+{
+    /**
+     * The payload is validated as binary and is not decoded by either
+     * approach, so the size is driven by the custom headers which are
+     * scanned token by token.
+     */
+    @Param({"1024", "65536"})
+    protected int customHeadersSize;
+
+    protected final TaskEvent event = new TaskEvent();
+
+    protected final MsgPackSchema schema = CommandSchemas.TASK_EVENT;
+    protected final MsgPackSchemaValidator validator = new MsgPackSchemaValidator();
+
+    protected DirectBuffer encodedCommand;
+
+    @Setup
+    public void setUp()
+    {
+        final TaskEvent command = new TaskEvent()
+            .setState(TaskState.COMPLETE)
+            .setType(BufferUtil.wrapString("task"))
+            .setLockOwner(BufferUtil.wrapString("worker"))
+            .setLockTime(123L)
+            .setRetries(3)
+            .setPayload(createMap(64));
+
+        command.headers()
+            .setBpmnProcessId(BufferUtil.wrapString("process"))
+            .setWorkflowDefinitionVersion(1)
+            .setWorkflowKey(123L)
+            .setWorkflowInstanceKey(456L)
+            .setActivityId(BufferUtil.wrapString("task"))
+            .setActivityInstanceKey(789L);
+
+        command.setCustomHeaders(createMap(customHeadersSize));
+
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[command.getEncodedLength()]);
+        command.write(buffer, 0);
+
+        this.encodedCommand = buffer;
+    }
+
+    /**
+     * @return a msgpack map of roughly the given size
+     */
+    protected DirectBuffer createMap(int size)
+    {
+        final int entrySize = 64;
+        final int entries = Math.max(1, size / entrySize);
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[size + 1024]);
+        final MsgPackWriter writer = new MsgPackWriter();
+        writer.wrap(buffer, 0);
+
+        writer.writeMapHeader(entries);
+
+        final StringBuilder value = new StringBuilder();
+        while (value.length() < entrySize - 16)
+        {
+            value.append('x');
+        }
+
+        for (int i = 0; i < entries; i++)
+        {
+            writer.writeString(BufferUtil.wrapString("key" + i));
+            writer.writeString(BufferUtil.wrapString(value.toString()));
+        }
+
+        buffer.wrap(buffer, 0, writer.getOffset());
+        return buffer;
+    }
+
+    public DirectBuffer getEncodedCommand()
+    {
+        return encodedCommand;
+    }
+
+    public TaskEvent getEvent()
+    {
+        return event;
+    }
+
+    public MsgPackSchema getSchema()
+    {
+        return schema;
+    }
+
+    public MsgPackSchemaValidator getValidator()
+    {
+        return validator;
+    }
+}
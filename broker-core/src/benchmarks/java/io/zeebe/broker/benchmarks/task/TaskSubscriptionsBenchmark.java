@@ -0,0 +1,67 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.benchmarks.task;
+
+import java.util.concurrent.TimeUnit;
+
+import io.zeebe.broker.task.processor.TaskSubscription;
+import io.zeebe.broker.task.processor.TaskSubscriptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the selection of the subscription to lock a task for, depending on
+ * the number of subscriptions of the task type.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 20, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 20, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+public class TaskSubscriptionsBenchmark
+{
+
+    @Benchmark
+    @Threads(1)
+    public TaskSubscription selectSubscription(TaskSubscriptionsContext ctx)
+    {
+        return ctx.getSubscriptions().nextReadySubscription();
+    }
+
+    /**
+     * Selects a subscription and consumes a credit of it like the lock task processor,
+     * then gives the credit back like a credits request of the client.
+     */
+    @Benchmark
+    @Threads(1)
+    public TaskSubscription lockAndReplenish(TaskSubscriptionsContext ctx)
+    {
+        final TaskSubscriptions subscriptions = ctx.getSubscriptions();
+
+        final TaskSubscription subscription = subscriptions.nextReadySubscription();
+        final long subscriberKey = subscription.getSubscriberKey();
+
+        subscriptions.addCredits(subscriberKey, -1);
+        subscriptions.addCredits(subscriberKey, 1);
+
+        return subscription;
+    }
+
+}
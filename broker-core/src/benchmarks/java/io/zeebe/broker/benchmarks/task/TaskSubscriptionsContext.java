@@ -0,0 +1,74 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.benchmarks.task;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+
+import org.agrona.DirectBuffer;
+import io.zeebe.broker.task.processor.TaskSubscription;
+import io.zeebe.broker.task.processor.TaskSubscriptions;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class TaskSubscriptionsContext
+{
+    @Param({"10", "1000", "10000"})
+    protected int subscriptionCount;
+
+    /**
+     * Every n-th subscription has credits; the others have used up their credits
+     */
+    @Param({"1", "10"})
+    protected int readyInterval;
+
+    @Param({"false", "true"})
+    protected boolean weightedDistribution;
+
+    protected TaskSubscriptions subscriptions;
+
+    @Setup
+    public void setUp()
+    {
+        final DirectBuffer taskType = wrapString("foo");
+        final DirectBuffer lockOwner = wrapString("bar");
+
+        subscriptions = new TaskSubscriptions(8, weightedDistribution);
+
+        for (int i = 0; i < subscriptionCount; i++)
+        {
+            final TaskSubscription subscription = new TaskSubscription(0, taskType, 1000L, lockOwner, i);
+            subscription.setSubscriberKey(i);
+            subscription.setCredits(32);
+
+            subscriptions.addSubscription(subscription);
+
+            if (i % readyInterval != 0)
+            {
+                subscriptions.addCredits(i, -32);
+            }
+        }
+    }
+
+    public TaskSubscriptions getSubscriptions()
+    {
+        return subscriptions;
+    }
+}
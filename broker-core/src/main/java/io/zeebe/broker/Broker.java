@@ -25,6 +25,8 @@ import io.zeebe.broker.system.ConfigurationManager;
 import io.zeebe.broker.system.SystemComponent;
 import io.zeebe.broker.system.SystemContext;
 import io.zeebe.broker.task.TaskQueueComponent;
+import io.zeebe.broker.transport.ServerTransportFactory;
+import io.zeebe.broker.transport.TcpServerTransportFactory;
 import io.zeebe.broker.transport.TransportComponent;
 import io.zeebe.broker.workflow.WorkflowComponent;
 import org.slf4j.Logger;
@@ -42,6 +44,7 @@ public class Broker implements AutoCloseable
     }
 
     protected final SystemContext brokerContext;
+    protected final ServerTransportFactory clientApiTransportFactory;
     protected boolean isClosed = false;
 
     public Broker(String configFileLocation)
@@ -60,8 +63,18 @@ public class Broker implements AutoCloseable
     }
 
     public Broker(SystemContext brokerContext)
+    {
+        this(brokerContext, new TcpServerTransportFactory());
+    }
+
+    /**
+     * @param clientApiTransportFactory creates the transport which clients connect to,
+     *   e.g. to connect clients in the same JVM without the network stack
+     */
+    public Broker(SystemContext brokerContext, ServerTransportFactory clientApiTransportFactory)
     {
         this.brokerContext = brokerContext;
+        this.clientApiTransportFactory = clientApiTransportFactory;
         start();
     }
 
@@ -70,7 +83,7 @@ public class Broker implements AutoCloseable
         LOG.info("Version: {}", VERSION);
 
         brokerContext.addComponent(new SystemComponent());
-        brokerContext.addComponent(new TransportComponent());
+        brokerContext.addComponent(new TransportComponent(clientApiTransportFactory));
         brokerContext.addComponent(new LogStreamsComponent());
         brokerContext.addComponent(new TaskQueueComponent());
         brokerContext.addComponent(new WorkflowComponent());
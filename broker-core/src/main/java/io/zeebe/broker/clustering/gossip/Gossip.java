@@ -19,22 +19,20 @@ package io.zeebe.broker.clustering.gossip;
 
 import static io.zeebe.clustering.gossip.PeerState.ALIVE;
 import static io.zeebe.clustering.gossip.PeerState.SUSPECT;
-import static io.zeebe.util.buffer.BufferUtil.cloneBuffer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import io.zeebe.broker.clustering.gossip.data.Peer;
 import io.zeebe.broker.clustering.gossip.data.PeerList;
 import io.zeebe.broker.clustering.gossip.data.PeerListIterator;
-import io.zeebe.broker.clustering.gossip.data.RaftMembership;
 import io.zeebe.broker.clustering.gossip.handler.GossipFragmentHandler;
 import io.zeebe.broker.clustering.gossip.protocol.GossipController;
 import io.zeebe.broker.clustering.handler.Topology;
-import io.zeebe.clustering.gossip.PeerState;
-import io.zeebe.clustering.gossip.RaftMembershipState;
+import io.zeebe.broker.clustering.handler.TopologyCache;
 import io.zeebe.transport.BufferingServerTransport;
 import io.zeebe.transport.ServerInputSubscription;
-import io.zeebe.transport.SocketAddress;
 import io.zeebe.util.DeferredCommandContext;
 import io.zeebe.util.actor.Actor;
 import org.agrona.DirectBuffer;
@@ -43,12 +41,20 @@ public class Gossip implements Actor
 {
     public static final String GOSSIP_FILE_NAME = "gossip.zeebe";
 
+    /**
+     * Interval in which local raft changes are checked while topology requests are waiting
+     */
+    protected static final long LOCAL_PEER_SYNC_INTERVAL_MILLIS = 10;
+
     private final Peer peer;
     private final PeerList peers;
 
     protected final ServerInputSubscription inputSubscription;
 
     private final GossipController gossipController;
+    private final TopologyCache topologyCache;
+    private final List<PendingTopologyRequest> pendingTopologyRequests = new ArrayList<>();
+    private long lastLocalPeerSync = -1;
 
     private final DeferredCommandContext commandContext;
 
@@ -58,6 +64,7 @@ public class Gossip implements Actor
         this.peers = context.getPeers();
 
         this.gossipController = new GossipController(context);
+        this.topologyCache = new TopologyCache(peers);
         final BufferingServerTransport serverTransport = context.getServerTransport();
         final GossipFragmentHandler fragmentHandler = new GossipFragmentHandler(gossipController);
         inputSubscription = serverTransport
@@ -81,6 +88,8 @@ public class Gossip implements Actor
 
     public void open()
     {
+        peers.registerListener(topologyCache);
+
         final PeerListIterator iterator = peers.iterator();
         while (iterator.hasNext())
         {
@@ -99,6 +108,16 @@ public class Gossip implements Actor
     public void close()
     {
         gossipController.close();
+
+        // let the clients request the topology from another broker
+        final DirectBuffer topology = topologyCache.get();
+        for (int i = 0; i < pendingTopologyRequests.size(); i++)
+        {
+            pendingTopologyRequests.get(i).future.complete(topology);
+        }
+        pendingTopologyRequests.clear();
+
+        peers.removeListener(topologyCache);
     }
 
     @Override
@@ -111,6 +130,8 @@ public class Gossip implements Actor
         workcount += gossipController.doWork();
         workcount += inputSubscription.poll();
 
+        workcount += completePendingTopologyRequests();
+
         return workcount;
     }
 
@@ -129,45 +150,95 @@ public class Gossip implements Actor
         return directory + GOSSIP_FILE_NAME;
     }
 
-    public CompletableFuture<Topology> getTopology()
+    /**
+     * @return the serialized topology of the cluster. The buffer is immutable.
+     */
+    public CompletableFuture<DirectBuffer> getTopology()
+    {
+        return getTopology(Topology.VERSION_NULL_VALUE, 0);
+    }
+
+    /**
+     * Returns the serialized topology of the cluster as soon as its version
+     * differs from the given one, or the wait time elapsed. The buffer is immutable.
+     *
+     * @param knownVersion the version of the topology the requester knows
+     * @param maxWaitTime time in milliseconds to wait for a change of the topology
+     */
+    public CompletableFuture<DirectBuffer> getTopology(long knownVersion, long maxWaitTime)
     {
         return commandContext.runAsync(future ->
         {
-            final Topology topology = new Topology();
-
             // force update local peer in peer list to sync local raft changes
             peers.update(peer);
 
-            for (final Peer peer : peers)
+            final DirectBuffer topology = topologyCache.get();
+
+            if (maxWaitTime <= 0 || topologyCache.getVersion() != knownVersion)
             {
-                if (PeerState.ALIVE == peer.state())
-                {
-                    // TODO(menski): creates garbage
-                    final SocketAddress clientEndpoint = new SocketAddress(peer.clientEndpoint());
-
-                    topology.brokers().add()
-                            .setHost(clientEndpoint.getHostBuffer(), 0, clientEndpoint.hostLength())
-                            .setPort(clientEndpoint.port());
-
-                    for (final RaftMembership raftMembership : peer.raftMemberships())
-                    {
-                        if (RaftMembershipState.LEADER == raftMembership.state())
-                        {
-                            // TODO(menski): creates garbage
-                            final DirectBuffer topicName = cloneBuffer(raftMembership.topicNameBuffer(), 0, raftMembership.topicNameLength());
-
-                            topology.topicLeaders().add()
-                                    .setTopicName(topicName, 0, topicName.capacity())
-                                    .setPartitionId(raftMembership.partitionId())
-                                    .setHost(clientEndpoint.getHostBuffer(), 0, clientEndpoint.hostLength())
-                                    .setPort(clientEndpoint.port());
-                        }
-                    }
-                }
+                future.complete(topology);
+            }
+            else
+            {
+                final long deadline = System.currentTimeMillis() + maxWaitTime;
+                pendingTopologyRequests.add(new PendingTopologyRequest(future, knownVersion, deadline));
             }
-
-            future.complete(topology);
         });
     }
 
+    protected int completePendingTopologyRequests()
+    {
+        int workcount = 0;
+
+        if (pendingTopologyRequests.isEmpty())
+        {
+            return workcount;
+        }
+
+        final long now = System.currentTimeMillis();
+
+        // local raft changes are not reported by the peer list
+        if (now >= lastLocalPeerSync + LOCAL_PEER_SYNC_INTERVAL_MILLIS)
+        {
+            lastLocalPeerSync = now;
+
+            if (topologyCache.isOutdated(peer))
+            {
+                peers.update(peer);
+            }
+        }
+
+        final DirectBuffer topology = topologyCache.get();
+        final long version = topologyCache.getVersion();
+
+        for (int i = pendingTopologyRequests.size() - 1; i >= 0; i--)
+        {
+            final PendingTopologyRequest request = pendingTopologyRequests.get(i);
+
+            if (request.knownVersion != version || now >= request.deadline)
+            {
+                workcount += 1;
+
+                pendingTopologyRequests.remove(i);
+                request.future.complete(topology);
+            }
+        }
+
+        return workcount;
+    }
+
+    static class PendingTopologyRequest
+    {
+        final CompletableFuture<DirectBuffer> future;
+        final long knownVersion;
+        final long deadline;
+
+        PendingTopologyRequest(CompletableFuture<DirectBuffer> future, long knownVersion, long deadline)
+        {
+            this.future = future;
+            this.knownVersion = knownVersion;
+            this.deadline = deadline;
+        }
+    }
+
 }
@@ -21,6 +21,8 @@ import io.zeebe.broker.clustering.gossip.config.GossipConfiguration;
 import io.zeebe.broker.clustering.gossip.data.Peer;
 import io.zeebe.broker.clustering.gossip.data.PeerList;
 import io.zeebe.broker.clustering.gossip.data.PeerSelector;
+import io.zeebe.broker.clustering.gossip.data.PeerUpdateBuffer;
+import io.zeebe.broker.clustering.gossip.protocol.PhiAccrualFailureDetector;
 import io.zeebe.transport.BufferingServerTransport;
 import io.zeebe.transport.ClientTransport;
 
@@ -30,6 +32,8 @@ public class GossipContext
 
     private Peer localPeer;
     private PeerList peers;
+    private PeerUpdateBuffer peerUpdates;
+    private PhiAccrualFailureDetector failureDetector;
 
     protected ClientTransport clientTransport;
     protected BufferingServerTransport serverTransport;
@@ -86,6 +90,16 @@ public class GossipContext
         this.peers = peers;
     }
 
+    public PeerUpdateBuffer getPeerUpdates()
+    {
+        return peerUpdates;
+    }
+
+    public void setPeerUpdates(PeerUpdateBuffer peerUpdates)
+    {
+        this.peerUpdates = peerUpdates;
+    }
+
     public PeerSelector getPeerSelector()
     {
         return peerSelector;
@@ -96,4 +110,14 @@ public class GossipContext
         this.peerSelector = peerSelector;
     }
 
+    public PhiAccrualFailureDetector getFailureDetector()
+    {
+        return failureDetector;
+    }
+
+    public void setFailureDetector(PhiAccrualFailureDetector failureDetector)
+    {
+        this.failureDetector = failureDetector;
+    }
+
 }
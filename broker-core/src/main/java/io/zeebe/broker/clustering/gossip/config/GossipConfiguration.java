@@ -33,6 +33,13 @@ public class GossipConfiguration extends DirectoryConfiguration
     public int disseminationInterval = 1;
     public int disseminationTimeout = 10;
 
+    /**
+     * Number of recently changed peers which are piggybacked as full records
+     * on gossip requests. All other peers are only sent as digests.
+     */
+    public int recentUpdatesCapacity = 32;
+    public int recentUpdatesRetransmitMultiplier = 3;
+
     public int failureDetectionCapacity = 8;
     public int failureDetectionProbeCapacity = 3;
     public int failureDetectorTimeout = 15;
@@ -42,6 +49,21 @@ public class GossipConfiguration extends DirectoryConfiguration
 
     public int suspicionTimeout = 10;
 
+    /**
+     * Suspicion level above which an alive peer is suspected. The level is
+     * computed from the distribution of the heartbeat inter-arrival times of
+     * the peer (phi accrual failure detector), e.g. 8 means a chance of 1e-8
+     * that the peer is still alive but its heartbeat is delayed.
+     */
+    public double phiThreshold = 8.0;
+    public int phiSampleWindowSize = 200;
+    /** in milliseconds */
+    public int phiMinStdDeviation = 500;
+    /** in milliseconds */
+    public int phiAcceptableHeartbeatPause = 3000;
+    /** in milliseconds */
+    public int phiFirstHeartbeatEstimate = 1000;
+
     public int numClientChannelMax = disseminatorCapacity + (failureDetectionCapacity * failureDetectionProbeCapacity) + 1;
 
     @Override
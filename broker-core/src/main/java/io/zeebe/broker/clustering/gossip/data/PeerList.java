@@ -193,6 +193,49 @@ public class PeerList implements Iterable<Peer>, CloseableSilently
 
     }
 
+    /**
+     * Compares this list of peers with the digests of another peer list, which must
+     * be in ascending order. Every peer of this list which is unknown to the other list,
+     * or about which this list has newer information, is added to the passed list {@code diff}.
+     *
+     * @param digests of the other peer list.
+     * @param diff to add the peers which the other list is missing.
+     */
+    public void diff(final Iterator<Peer> digests, final PeerList diff)
+    {
+        localIterator.reset();
+
+        Peer thatDigest = digests.hasNext() ? digests.next() : null;
+
+        while (localIterator.hasNext())
+        {
+            final Peer thisPeer = localIterator.next();
+
+            // skip digests of peers which are unknown to this list
+            while (thatDigest != null && thisPeer.compareTo(thatDigest) > 0)
+            {
+                thatDigest = digests.hasNext() ? digests.next() : null;
+            }
+
+            if (thatDigest == null || thisPeer.compareTo(thatDigest) < 0)
+            {
+                diff.append(thisPeer);
+            }
+            else
+            {
+                final int cmp = thisPeer.heartbeat().compareTo(thatDigest.heartbeat());
+
+                // a suspect or dead state overrides an alive state with the same heartbeat
+                if (cmp > 0 || cmp == 0 && thisPeer.state().ordinal() > thatDigest.state().ordinal())
+                {
+                    diff.append(thisPeer);
+                }
+
+                thatDigest = digests.hasNext() ? digests.next() : null;
+            }
+        }
+    }
+
     protected boolean mergePeer(final Peer thisPeer, final Peer thatPeer, final int idx)
     {
         final Heartbeat thisHeartbeat = thisPeer.heartbeat();
@@ -276,6 +319,11 @@ public class PeerList implements Iterable<Peer>, CloseableSilently
     {
         src.write(tmpPeerBuffer, 0);
         underlyingList.set(idx, tmpPeerBuffer, 0, src.getLength());
+
+        for (int i = 0; i < listeners.size(); i++)
+        {
+            listeners.get(i).onPeerUpdate(src);
+        }
     }
 
     public void add(final int idx, final Peer peer)
@@ -285,7 +333,9 @@ public class PeerList implements Iterable<Peer>, CloseableSilently
 
         for (int i = 0; i < listeners.size(); i++)
         {
-            listeners.get(i).onPeerJoin(peer);
+            final PeerListListener listener = listeners.get(i);
+            listener.onPeerJoin(peer);
+            listener.onPeerUpdate(peer);
         }
     }
 
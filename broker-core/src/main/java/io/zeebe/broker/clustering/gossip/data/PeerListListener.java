@@ -20,4 +20,9 @@ package io.zeebe.broker.clustering.gossip.data;
 public interface PeerListListener
 {
     void onPeerJoin(Peer peer);
+
+    /**
+     * Invoked when a peer is added or its record is changed.
+     */
+    void onPeerUpdate(Peer peer);
 }
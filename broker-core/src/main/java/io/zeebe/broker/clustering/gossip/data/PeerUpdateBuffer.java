@@ -0,0 +1,162 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.clustering.gossip.data;
+
+/**
+ * Bounded buffer of recently changed peers which are piggybacked as full records
+ * on gossip requests. Each update is sent a limited number of times, which grows
+ * logarithmically with the cluster size. Afterwards, the peers learn about the
+ * change from the digests.
+ */
+public class PeerUpdateBuffer implements PeerListListener
+{
+    protected final Peer[] updates;
+    protected final int[] remainingTransmissions;
+    protected final int retransmitMultiplier;
+    protected final PeerList peers;
+
+    protected int size;
+
+    public PeerUpdateBuffer(final PeerList peers, final int capacity, final int retransmitMultiplier)
+    {
+        this.peers = peers;
+        this.retransmitMultiplier = retransmitMultiplier;
+        this.updates = new Peer[capacity];
+        this.remainingTransmissions = new int[capacity];
+
+        for (int i = 0; i < capacity; i++)
+        {
+            updates[i] = new Peer();
+        }
+    }
+
+    public int capacity()
+    {
+        return updates.length;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void onPeerJoin(final Peer peer)
+    {
+        // handled by onPeerUpdate
+    }
+
+    @Override
+    public void onPeerUpdate(final Peer peer)
+    {
+        if (updates.length == 0)
+        {
+            return;
+        }
+
+        int idx = indexOf(peer);
+
+        if (idx < 0)
+        {
+            if (size < updates.length)
+            {
+                idx = size;
+                size += 1;
+            }
+            else
+            {
+                // replace the update which has been transmitted most often
+                idx = 0;
+                for (int i = 1; i < size; i++)
+                {
+                    if (remainingTransmissions[i] < remainingTransmissions[idx])
+                    {
+                        idx = i;
+                    }
+                }
+            }
+        }
+
+        updates[idx].wrap(peer);
+        remainingTransmissions[idx] = transmissionLimit();
+    }
+
+    /**
+     * Adds the buffered updates to the given list (in ascending order) and counts
+     * them as transmitted. Updates which reached their transmission limit are removed.
+     *
+     * @param target the list to add the updates to, it is cleared before.
+     */
+    public void drainTo(final PeerList target)
+    {
+        target.clear();
+
+        int i = 0;
+        while (i < size)
+        {
+            target.insert(updates[i]);
+            remainingTransmissions[i] -= 1;
+
+            if (remainingTransmissions[i] <= 0)
+            {
+                remove(i);
+            }
+            else
+            {
+                i += 1;
+            }
+        }
+    }
+
+    protected int transmissionLimit()
+    {
+        // lambda * log(n) as in SWIM, n is the number of known peers
+        final int clusterSize = Math.max(peers.size(), 1);
+        final int log = 32 - Integer.numberOfLeadingZeros(clusterSize);
+
+        return Math.max(1, retransmitMultiplier * log);
+    }
+
+    protected int indexOf(final Peer peer)
+    {
+        for (int i = 0; i < size; i++)
+        {
+            if (updates[i].compareTo(peer) == 0)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected void remove(final int idx)
+    {
+        final int last = size - 1;
+
+        if (idx != last)
+        {
+            // swap the instances to keep them pre-allocated
+            final Peer removed = updates[idx];
+            updates[idx] = updates[last];
+            updates[last] = removed;
+            remainingTransmissions[idx] = remainingTransmissions[last];
+        }
+
+        size = last;
+    }
+}
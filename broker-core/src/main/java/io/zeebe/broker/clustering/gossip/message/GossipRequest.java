@@ -53,6 +53,20 @@ public class GossipRequest implements BufferReader, BufferWriter
         return this;
     }
 
+    /**
+     * @return the digests of the sender's peers; must be read after the peers
+     */
+    public Iterator<Peer> digests()
+    {
+        return gossipReader.digests();
+    }
+
+    public GossipRequest digests(final PeerList digests)
+    {
+        gossipWriter.digests(digests);
+        return this;
+    }
+
     @Override
     public int getLength()
     {
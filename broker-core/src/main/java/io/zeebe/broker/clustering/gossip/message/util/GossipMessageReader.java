@@ -25,6 +25,7 @@ import org.agrona.MutableDirectBuffer;
 import io.zeebe.broker.clustering.gossip.data.Peer;
 import io.zeebe.broker.clustering.gossip.data.RaftMembershipList;
 import io.zeebe.clustering.gossip.GossipDecoder;
+import io.zeebe.clustering.gossip.GossipDecoder.DigestsDecoder;
 import io.zeebe.clustering.gossip.GossipDecoder.PeersDecoder;
 import io.zeebe.clustering.gossip.GossipDecoder.PeersDecoder.EndpointsDecoder;
 import io.zeebe.clustering.gossip.GossipDecoder.PeersDecoder.RaftMembershipsDecoder;
@@ -39,6 +40,8 @@ public class GossipMessageReader implements BufferReader, Iterator<Peer>
 
     private final Peer currentPeer = new Peer();
 
+    private final DigestIterator digestIterator = new DigestIterator();
+
     @Override
     public void wrap(final DirectBuffer values, final int offset, final int length)
     {
@@ -102,4 +105,64 @@ public class GossipMessageReader implements BufferReader, Iterator<Peer>
         return currentPeer;
     }
 
+    /**
+     * Returns the digests of the message, ordered like the peer list of the sender.
+     * The digests follow the full peer records in the message, so remaining peers
+     * are skipped. The returned peers contain only the management endpoint, the
+     * state and the heartbeat.
+     */
+    public Iterator<Peer> digests()
+    {
+        while (hasNext())
+        {
+            next();
+        }
+
+        digestIterator.wrap(bodyDecoder.digests());
+        return digestIterator;
+    }
+
+    class DigestIterator implements Iterator<Peer>
+    {
+        private final Peer currentDigest = new Peer();
+        private DigestsDecoder decoder;
+
+        void wrap(DigestsDecoder decoder)
+        {
+            this.decoder = decoder;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return decoder.hasNext();
+        }
+
+        @Override
+        public Peer next()
+        {
+            decoder.next();
+
+            currentDigest.reset();
+
+            currentDigest.heartbeat()
+                .generation(decoder.generation())
+                .version(decoder.version());
+
+            final SocketAddress endpoint = currentDigest.managementEndpoint();
+            final MutableDirectBuffer hostBuffer = endpoint.getHostBuffer();
+            final int hostLength = decoder.hostLength();
+
+            endpoint.port(decoder.port());
+            endpoint.hostLength(hostLength);
+            decoder.getHost(hostBuffer, 0, hostLength);
+            endpoint.host();
+
+            currentDigest.state(decoder.state())
+                .changeStateTime(-1L);
+
+            return currentDigest;
+        }
+    }
+
 }
@@ -33,6 +33,7 @@ import io.zeebe.clustering.gossip.EndpointType;
 import io.zeebe.clustering.gossip.GossipDecoder.PeersDecoder;
 import io.zeebe.clustering.gossip.GossipDecoder.PeersDecoder.EndpointsDecoder;
 import io.zeebe.clustering.gossip.GossipEncoder;
+import io.zeebe.clustering.gossip.GossipEncoder.DigestsEncoder;
 import io.zeebe.clustering.gossip.GossipEncoder.PeersEncoder;
 import io.zeebe.clustering.gossip.GossipEncoder.PeersEncoder.EndpointsEncoder;
 import io.zeebe.clustering.gossip.GossipEncoder.PeersEncoder.RaftMembershipsEncoder;
@@ -43,16 +44,30 @@ import io.zeebe.util.buffer.BufferWriter;
 public class GossipMessageWriter implements BufferWriter
 {
     protected PeerList peers;
+    protected PeerList digests;
 
     protected final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
     protected final GossipEncoder bodyEncoder = new GossipEncoder();
 
+    /**
+     * Sets the peers which are written as full records.
+     */
     public GossipMessageWriter peers(final PeerList peers)
     {
         this.peers = peers;
         return this;
     }
 
+    /**
+     * Sets the peers which are written as digests, i.e. only the management
+     * endpoint, the state and the heartbeat. Can be <code>null</code>.
+     */
+    public GossipMessageWriter digests(final PeerList digests)
+    {
+        this.digests = digests;
+        return this;
+    }
+
     @Override
     public int getLength()
     {
@@ -84,6 +99,19 @@ public class GossipMessageWriter implements BufferWriter
             }
         }
 
+        length += DigestsEncoder.sbeHeaderSize();
+
+        if (digests != null)
+        {
+            length += digests.size() * (DigestsEncoder.sbeBlockLength() + DigestsEncoder.hostHeaderLength());
+
+            final Iterator<Peer> digestIterator = digests.iterator();
+            while (digestIterator.hasNext())
+            {
+                length += digestIterator.next().managementEndpoint().hostLength();
+            }
+        }
+
         return length;
     }
 
@@ -148,6 +176,27 @@ public class GossipMessageWriter implements BufferWriter
             }
 
         }
+
+        final int digestCount = digests != null ? digests.size() : 0;
+        final DigestsEncoder digestsEncoder = bodyEncoder.digestsCount(digestCount);
+
+        if (digestCount > 0)
+        {
+            final Iterator<Peer> digestIterator = digests.iterator();
+            while (digestIterator.hasNext())
+            {
+                final Peer current = digestIterator.next();
+                final Heartbeat heartbeat = current.heartbeat();
+                final SocketAddress managementEndpoint = current.managementEndpoint();
+
+                digestsEncoder.next()
+                    .state(current.state())
+                    .generation(heartbeat.generation())
+                    .version(heartbeat.version())
+                    .port(managementEndpoint.port())
+                    .putHost(managementEndpoint.getHostBuffer(), 0, managementEndpoint.hostLength());
+            }
+        }
     }
 
 }
@@ -24,6 +24,7 @@ import io.zeebe.broker.clustering.gossip.config.GossipConfiguration;
 import io.zeebe.broker.clustering.gossip.data.Peer;
 import io.zeebe.broker.clustering.gossip.data.PeerList;
 import io.zeebe.broker.clustering.gossip.data.PeerSelector;
+import io.zeebe.broker.clustering.gossip.data.PeerUpdateBuffer;
 import io.zeebe.broker.clustering.gossip.message.GossipRequest;
 import io.zeebe.broker.clustering.gossip.message.GossipResponse;
 import io.zeebe.transport.RequestResponseController;
@@ -153,6 +154,8 @@ public class Dissemination
     {
         final Peer peer;
         final PeerList peers;
+        final PeerUpdateBuffer peerUpdates;
+        final PeerList updates;
         final GossipRequest request;
         final GossipResponse response;
         final RequestResponseController requestController;
@@ -166,6 +169,8 @@ public class Dissemination
 
             this.peer = new Peer();
             this.peers = gossipContext.getPeers();
+            this.peerUpdates = gossipContext.getPeerUpdates();
+            this.updates = new PeerList(peerUpdates.capacity());
             this.peerSelector = gossipContext.getPeerSelector();
 
             this.exclusions = new Peer[1];
@@ -213,10 +218,16 @@ public class Dissemination
         {
             final GossipRequest request = context.request;
             final PeerList peers = context.peers;
+            final PeerList updates = context.updates;
             final RequestResponseController requestController = context.requestController;
             final Peer peer = context.peer;
 
-            request.peers(peers);
+            // send only the recently changed peers, the receiver responds with
+            // the peers which are newer than the digests
+            context.peerUpdates.drainTo(updates);
+
+            request.peers(updates)
+                .digests(peers);
 
             final SocketAddress endpoint = peer.managementEndpoint();
             requestController.open(endpoint, request, context.response);
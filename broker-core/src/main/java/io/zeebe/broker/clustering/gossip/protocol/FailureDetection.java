@@ -160,6 +160,7 @@ public class FailureDetection
         int responseLength;
 
         final PeerList peers;
+        final PhiAccrualFailureDetector failureDetector;
 
         final PeerSelector peerSelector;
         final RequestResponseController[] requestControllers;
@@ -177,6 +178,7 @@ public class FailureDetection
 
             this.peer = new Peer();
             this.peers = gossipContext.getPeers();
+            this.failureDetector = gossipContext.getFailureDetector();
 
             this.request = new ProbeRequest();
             this.response = new GossipResponse();
@@ -322,12 +324,16 @@ public class FailureDetection
         {
             final PeerList peers = context.peers;
             final Peer peer = context.peer;
+            final PhiAccrualFailureDetector failureDetector = context.failureDetector;
 
             final int idx = peers.find(peer);
             if (idx >= 0)
             {
                 peers.get(idx, peer);
-                if (peer.state() == ALIVE)
+
+                // a failed probe alone is not enough, e.g. the peer may be paused
+                // by GC. Suspect the peer only if its heartbeats are overdue too.
+                if (peer.state() == ALIVE && !failureDetector.isAvailable(peer, System.currentTimeMillis()))
                 {
                     peer.suspect();
                     peers.set(idx, peer);
@@ -328,7 +328,8 @@ public class GossipController
         gossipRequest.wrap(buffer, offset, length);
 
         diff.clear();
-        peers.merge(gossipRequest.peers(), diff);
+        peers.merge(gossipRequest.peers());
+        peers.diff(gossipRequest.digests(), diff);
 
         final int idx = peers.find(localPeer);
         if (idx > 0)
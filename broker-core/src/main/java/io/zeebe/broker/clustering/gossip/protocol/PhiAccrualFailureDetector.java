@@ -0,0 +1,297 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.clustering.gossip.protocol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+import io.zeebe.broker.clustering.gossip.config.GossipConfiguration;
+import io.zeebe.broker.clustering.gossip.data.Heartbeat;
+import io.zeebe.broker.clustering.gossip.data.Peer;
+import io.zeebe.broker.clustering.gossip.data.PeerListListener;
+import io.zeebe.transport.SocketAddress;
+
+/**
+ * Phi accrual failure detector (Hayashibara et al.). Instead of a fixed timeout,
+ * it tracks the inter-arrival times of the heartbeats of each peer and computes
+ * the suspicion level phi = -log10(P(no heartbeat for the elapsed time)). A peer
+ * with a phi above the configured threshold should be suspected.
+ *
+ * <p>
+ * A heartbeat arrives whenever the peer list receives a newer heartbeat of a
+ * peer, either directly or by gossip. The phi values are exposed as counters
+ * (in thousandths) if a counters manager is given.
+ *
+ * <p>
+ * The detector is not thread-safe and must be used by the gossip agent only.
+ */
+public class PhiAccrualFailureDetector implements PeerListListener
+{
+    protected static final String COUNTER_LABEL_PATTERN = "gossip.phi.%s:%d";
+
+    protected final Peer localPeer;
+    protected final CountersManager countersManager;
+
+    protected final double threshold;
+    protected final int windowSize;
+    protected final long minStdDeviation;
+    protected final long acceptableHeartbeatPause;
+    protected final long firstHeartbeatEstimate;
+
+    protected final List<ArrivalWindow> windows = new ArrayList<>();
+
+    public PhiAccrualFailureDetector(final GossipConfiguration config, final Peer localPeer, final CountersManager countersManager)
+    {
+        this.localPeer = localPeer;
+        this.countersManager = countersManager;
+
+        this.threshold = config.phiThreshold;
+        this.windowSize = config.phiSampleWindowSize;
+        this.minStdDeviation = config.phiMinStdDeviation;
+        this.acceptableHeartbeatPause = config.phiAcceptableHeartbeatPause;
+        this.firstHeartbeatEstimate = config.phiFirstHeartbeatEstimate;
+    }
+
+    @Override
+    public void onPeerJoin(final Peer peer)
+    {
+        // handled by onPeerUpdate
+    }
+
+    @Override
+    public void onPeerUpdate(final Peer peer)
+    {
+        heartbeat(peer, System.currentTimeMillis());
+    }
+
+    /**
+     * Records a heartbeat arrival if the heartbeat of the given peer is newer
+     * than the last known one.
+     */
+    public void heartbeat(final Peer peer, final long now)
+    {
+        if (isLocalPeer(peer))
+        {
+            return;
+        }
+
+        final ArrivalWindow window = find(peer.managementEndpoint());
+
+        if (window == null)
+        {
+            track(peer, now);
+        }
+        else if (window.lastHeartbeat.generation() != peer.heartbeat().generation())
+        {
+            // the peer has been restarted, its old arrival times are meaningless
+            window.reset(peer.heartbeat(), now);
+        }
+        else if (window.lastHeartbeat.compareTo(peer.heartbeat()) < 0)
+        {
+            window.add(now - window.lastArrival);
+            window.lastArrival = now;
+            window.lastHeartbeat.wrap(peer.heartbeat());
+        }
+    }
+
+    /**
+     * @return the suspicion level of the given peer. If no heartbeat of the
+     *         peer has been recorded yet (e.g. it was known before the detector
+     *         was registered) then the tracking starts now.
+     */
+    public double phi(final Peer peer, final long now)
+    {
+        if (isLocalPeer(peer))
+        {
+            return 0.0;
+        }
+
+        ArrivalWindow window = find(peer.managementEndpoint());
+
+        if (window == null)
+        {
+            window = track(peer, now);
+        }
+
+        return window.phi(now);
+    }
+
+    public boolean isAvailable(final Peer peer, final long now)
+    {
+        return phi(peer, now) < threshold;
+    }
+
+    /**
+     * Updates the phi counters of all known peers.
+     */
+    public void updateCounters(final long now)
+    {
+        if (countersManager == null)
+        {
+            return;
+        }
+
+        for (int i = 0; i < windows.size(); i++)
+        {
+            final ArrivalWindow window = windows.get(i);
+
+            if (window.phiCounter == null)
+            {
+                final SocketAddress endpoint = window.endpoint;
+                final String label = String.format(COUNTER_LABEL_PATTERN, endpoint.host(), endpoint.port());
+                window.phiCounter = countersManager.newCounter(label);
+            }
+
+            window.phiCounter.set((long) (window.phi(now) * 1000));
+        }
+    }
+
+    public void close()
+    {
+        for (int i = 0; i < windows.size(); i++)
+        {
+            final AtomicCounter phiCounter = windows.get(i).phiCounter;
+            if (phiCounter != null)
+            {
+                phiCounter.close();
+            }
+        }
+        windows.clear();
+    }
+
+    protected boolean isLocalPeer(final Peer peer)
+    {
+        return localPeer != null && localPeer.managementEndpoint().compareTo(peer.managementEndpoint()) == 0;
+    }
+
+    protected ArrivalWindow track(final Peer peer, final long now)
+    {
+        final ArrivalWindow window = new ArrivalWindow(peer.managementEndpoint());
+        window.reset(peer.heartbeat(), now);
+
+        windows.add(window);
+
+        return window;
+    }
+
+    protected ArrivalWindow find(final SocketAddress endpoint)
+    {
+        for (int i = 0; i < windows.size(); i++)
+        {
+            final ArrivalWindow window = windows.get(i);
+            if (window.endpoint.compareTo(endpoint) == 0)
+            {
+                return window;
+            }
+        }
+        return null;
+    }
+
+    class ArrivalWindow
+    {
+        final SocketAddress endpoint = new SocketAddress();
+        final Heartbeat lastHeartbeat = new Heartbeat();
+        final long[] intervals = new long[windowSize];
+
+        long lastArrival;
+        int count;
+        int next;
+
+        double sum;
+        double sumOfSquares;
+
+        AtomicCounter phiCounter;
+
+        ArrivalWindow(final SocketAddress endpoint)
+        {
+            this.endpoint.wrap(endpoint);
+        }
+
+        void reset(final Heartbeat heartbeat, final long now)
+        {
+            count = 0;
+            next = 0;
+            sum = 0;
+            sumOfSquares = 0;
+
+            lastHeartbeat.wrap(heartbeat);
+            lastArrival = now;
+
+            // bootstrap the distribution with the expected interval, so that
+            // a peer which never sends a second heartbeat is suspected too
+            final long deviation = firstHeartbeatEstimate / 4;
+            add(firstHeartbeatEstimate - deviation);
+            add(firstHeartbeatEstimate + deviation);
+        }
+
+        void add(final long interval)
+        {
+            if (count == intervals.length)
+            {
+                final long removed = intervals[next];
+                sum -= removed;
+                sumOfSquares -= (double) removed * removed;
+            }
+            else
+            {
+                count += 1;
+            }
+
+            intervals[next] = interval;
+            next = (next + 1) % intervals.length;
+
+            sum += interval;
+            sumOfSquares += (double) interval * interval;
+        }
+
+        double phi(final long now)
+        {
+            final double mean = sum / count;
+            final double variance = Math.max(sumOfSquares / count - mean * mean, 0);
+            final double stdDeviation = Math.max(Math.sqrt(variance), minStdDeviation);
+
+            final long elapsed = now - lastArrival;
+
+            return PhiAccrualFailureDetector.phi(elapsed, mean + acceptableHeartbeatPause, stdDeviation);
+        }
+    }
+
+    /**
+     * Computes phi for the normal distribution with the given mean and standard
+     * deviation, using the logistic approximation of the cumulative distribution
+     * function.
+     */
+    protected static double phi(final long elapsed, final double mean, final double stdDeviation)
+    {
+        final double y = (elapsed - mean) / stdDeviation;
+        final double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+
+        if (elapsed > mean)
+        {
+            return -Math.log10(e / (1.0 + e));
+        }
+        else
+        {
+            return -Math.log10(1.0 - 1.0 / (1.0 + e));
+        }
+    }
+
+}
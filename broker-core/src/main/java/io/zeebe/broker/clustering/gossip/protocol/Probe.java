@@ -22,6 +22,7 @@ import org.agrona.DirectBuffer;
 import io.zeebe.broker.clustering.gossip.GossipContext;
 import io.zeebe.broker.clustering.gossip.config.GossipConfiguration;
 import io.zeebe.broker.clustering.gossip.data.PeerList;
+import io.zeebe.broker.clustering.gossip.data.PeerUpdateBuffer;
 import io.zeebe.broker.clustering.gossip.message.GossipRequest;
 import io.zeebe.broker.clustering.gossip.message.GossipResponse;
 import io.zeebe.broker.clustering.gossip.message.ProbeRequest;
@@ -163,6 +164,8 @@ public class Probe
     class ProbeContext extends SimpleStateMachineContext
     {
         final PeerList peers;
+        final PeerUpdateBuffer peerUpdates;
+        final PeerList updates;
         final RequestResponseController requestController;
 
         int requestStreamId;
@@ -178,6 +181,8 @@ public class Probe
         {
             super(stateMachine);
             this.peers = gossipContext.getPeers();
+            this.peerUpdates = gossipContext.getPeerUpdates();
+            this.updates = new PeerList(peerUpdates.capacity());
 
             final GossipConfiguration config = gossipContext.getConfig();
             final ClientTransport clientTransport = gossipContext.getClientTransport();
@@ -205,10 +210,14 @@ public class Probe
         {
             final GossipRequest gossipRequest = context.gossipRequest;
             final PeerList peers = context.peers;
+            final PeerList updates = context.updates;
             final ProbeRequest probeRequest = context.probeRequest;
             final RequestResponseController requestController = context.requestController;
 
-            gossipRequest.peers(peers);
+            context.peerUpdates.drainTo(updates);
+
+            gossipRequest.peers(updates)
+                .digests(peers);
 
             final SocketAddress target = probeRequest.target();
             requestController.open(target, gossipRequest, context.gossipResponse);
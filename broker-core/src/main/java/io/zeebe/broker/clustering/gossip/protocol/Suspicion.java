@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.clustering.gossip.protocol;
 
+import static io.zeebe.clustering.gossip.PeerState.ALIVE;
 import static io.zeebe.clustering.gossip.PeerState.SUSPECT;
 
 import java.util.concurrent.TimeUnit;
@@ -27,11 +28,21 @@ import io.zeebe.broker.clustering.gossip.data.Peer;
 import io.zeebe.broker.clustering.gossip.data.PeerList;
 import io.zeebe.broker.clustering.gossip.data.PeerListIterator;
 
+/**
+ * Suspects alive peers whose suspicion level exceeds the threshold of the
+ * failure detector and declares suspected peers as dead after the suspicion
+ * timeout.
+ */
 public class Suspicion
 {
+    protected static final long CHECK_INTERVAL_MS = 100;
+
     private int timeout;
     private final PeerList peers;
     private final PeerListIterator iterator;
+    private final PhiAccrualFailureDetector failureDetector;
+
+    private long lastCheck = -1;
 
     public Suspicion(final GossipContext context)
     {
@@ -39,6 +50,7 @@ public class Suspicion
         this.timeout = config.suspicionTimeout;
         this.peers = context.getPeers();
         this.iterator = new PeerListIterator(peers);
+        this.failureDetector = context.getFailureDetector();
     }
 
     public void open()
@@ -53,14 +65,32 @@ public class Suspicion
     {
         int workcount = 0;
 
+        final long now = System.currentTimeMillis();
+
+        // computing phi is too expensive to do it on every iteration
+        if (now < lastCheck + CHECK_INTERVAL_MS)
+        {
+            return workcount;
+        }
+        lastCheck = now;
+
         iterator.reset();
         while (iterator.hasNext())
         {
             final Peer peer = iterator.next();
-            if (peer.state() == SUSPECT)
+            if (peer.state() == ALIVE)
+            {
+                if (!failureDetector.isAvailable(peer, now))
+                {
+                    workcount += 1;
+                    peer.suspect();
+                    peers.set(iterator.position(), peer);
+                }
+            }
+            else if (peer.state() == SUSPECT)
             {
                 final long suspectTime = peer.changeStateTime();
-                if (System.currentTimeMillis() > suspectTime + TimeUnit.SECONDS.toMillis(timeout))
+                if (now > suspectTime + TimeUnit.SECONDS.toMillis(timeout))
                 {
                     workcount += 1;
                     peer.dead();
@@ -69,6 +99,8 @@ public class Suspicion
             }
         }
 
+        failureDetector.updateCounters(now);
+
         return workcount;
     }
 
@@ -22,6 +22,9 @@ import io.zeebe.broker.clustering.gossip.config.GossipConfiguration;
 import io.zeebe.broker.clustering.gossip.data.Peer;
 import io.zeebe.broker.clustering.gossip.data.PeerList;
 import io.zeebe.broker.clustering.gossip.data.PeerSelector;
+import io.zeebe.broker.clustering.gossip.data.PeerUpdateBuffer;
+import io.zeebe.broker.clustering.gossip.protocol.PhiAccrualFailureDetector;
+import io.zeebe.broker.services.Counters;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
@@ -36,6 +39,7 @@ public class GossipContextService implements Service<GossipContext>
     private final Injector<PeerSelector> peerSelectorInjector = new Injector<>();
     protected final Injector<ClientTransport> clientTransportInjector = new Injector<>();
     protected final Injector<BufferingServerTransport> managementApiTransportInjector = new Injector<>();
+    protected final Injector<Counters> countersInjector = new Injector<>();
 
     private final GossipConfiguration config;
 
@@ -55,10 +59,19 @@ public class GossipContextService implements Service<GossipContext>
         final PeerList peers = peerListInjector.getValue();
         final Peer localPeer = localPeerInjector.getValue();
         final PeerSelector peerSelector = peerSelectorInjector.getValue();
+        final Counters counters = countersInjector.getValue();
+
+        final PeerUpdateBuffer peerUpdates = new PeerUpdateBuffer(peers, config.recentUpdatesCapacity, config.recentUpdatesRetransmitMultiplier);
+        peers.registerListener(peerUpdates);
+
+        final PhiAccrualFailureDetector failureDetector = new PhiAccrualFailureDetector(config, localPeer, counters.getCountersManager());
+        peers.registerListener(failureDetector);
 
         context = new GossipContext();
         context.setLocalPeer(localPeer);
         context.setPeers(peers);
+        context.setPeerUpdates(peerUpdates);
+        context.setFailureDetector(failureDetector);
         context.setConfig(config);
         context.setClientTransport(clientTransport);
         context.setServerTransport(serverTransport);
@@ -68,6 +81,9 @@ public class GossipContextService implements Service<GossipContext>
     @Override
     public void stop(ServiceStopContext stopContext)
     {
+        context.getPeers().removeListener(context.getPeerUpdates());
+        context.getPeers().removeListener(context.getFailureDetector());
+        context.getFailureDetector().close();
     }
 
     @Override
@@ -101,4 +117,9 @@ public class GossipContextService implements Service<GossipContext>
         return managementApiTransportInjector;
     }
 
+    public Injector<Counters> getCountersInjector()
+    {
+        return countersInjector;
+    }
+
 }
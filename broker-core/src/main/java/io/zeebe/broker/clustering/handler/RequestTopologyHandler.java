@@ -17,6 +17,8 @@
  */
 package io.zeebe.broker.clustering.handler;
 
+import static io.zeebe.util.buffer.BufferUtil.cloneBuffer;
+
 import java.util.concurrent.CompletableFuture;
 
 import org.agrona.DirectBuffer;
@@ -29,13 +31,23 @@ import io.zeebe.broker.transport.controlmessage.ControlMessageResponseWriter;
 import io.zeebe.protocol.clientapi.ControlMessageType;
 import io.zeebe.protocol.clientapi.ErrorCode;
 import io.zeebe.transport.ServerOutput;
+import io.zeebe.util.buffer.DirectBufferWriter;
 
 public class RequestTopologyHandler implements ControlMessageHandler
 {
+    protected static final CompletableFuture<Void> COMPLETED_FUTURE = CompletableFuture.completedFuture(null);
+
+    /**
+     * Upper bound of the time a topology request can wait for a topology change
+     */
+    public static final long MAX_WAIT_TIME_MILLIS = 60_000;
+
+    protected final TopologyRequest request = new TopologyRequest();
 
     protected final Gossip gossip;
     protected final ControlMessageResponseWriter responseWriter;
     protected final ErrorResponseWriter errorResponseWriter;
+    protected final DirectBufferWriter topologyWriter = new DirectBufferWriter();
 
     public RequestTopologyHandler(final ServerOutput ouput, final Gossip gossip)
     {
@@ -53,21 +65,34 @@ public class RequestTopologyHandler implements ControlMessageHandler
     @Override
     public CompletableFuture<Void> handle(int partitionId, final DirectBuffer buffer, final BrokerEventMetadata metadata)
     {
-        return gossip.getTopology()
+        request.reset();
+        request.wrap(buffer);
+
+        final long maxWaitTime = Math.min(request.getMaxWaitTime(), MAX_WAIT_TIME_MILLIS);
+        final boolean isLongPolling = maxWaitTime > 0;
+
+        // the metadata and the buffer are reused before a waiting request is answered
+        final int requestStreamId = metadata.getRequestStreamId();
+        final long requestId = metadata.getRequestId();
+        final DirectBuffer requestBuffer = isLongPolling ? cloneBuffer(buffer) : buffer;
+
+        final CompletableFuture<Void> future = gossip.getTopology(request.getKnownVersion(), maxWaitTime)
             .handle((topology, failure) ->
             {
                 if (failure == null)
                 {
+                    topologyWriter.wrap(topology, 0, topology.capacity());
+
                     responseWriter
-                        .dataWriter(topology);
+                        .dataWriter(topologyWriter);
 
-                    if (!responseWriter.tryWriteResponse(metadata.getRequestStreamId(), metadata.getRequestId()))
+                    if (!responseWriter.tryWriteResponse(requestStreamId, requestId))
                     {
                         errorResponseWriter
                             .errorCode(ErrorCode.REQUEST_WRITE_FAILURE)
                             .errorMessage("Cannot write topology response.")
-                            .failedRequest(buffer, 0, buffer.capacity())
-                            .tryWriteResponseOrLogFailure(metadata.getRequestStreamId(), metadata.getRequestId());
+                            .failedRequest(requestBuffer, 0, requestBuffer.capacity())
+                            .tryWriteResponseOrLogFailure(requestStreamId, requestId);
                     }
                 }
                 else
@@ -75,13 +100,15 @@ public class RequestTopologyHandler implements ControlMessageHandler
                     errorResponseWriter
                         .errorCode(ErrorCode.REQUEST_PROCESSING_FAILURE)
                         .errorMessage("Cannot close topic subscription. %s", failure.getMessage())
-                        .failedRequest(buffer, 0, buffer.capacity())
-                        .tryWriteResponseOrLogFailure(metadata.getRequestStreamId(), metadata.getRequestId());
+                        .failedRequest(requestBuffer, 0, requestBuffer.capacity())
+                        .tryWriteResponseOrLogFailure(requestStreamId, requestId);
                 }
 
                 return null;
             });
 
+        // a waiting request must not block the processing of other control messages
+        return isLongPolling ? COMPLETED_FUTURE : future;
     }
 
 }
@@ -19,12 +19,21 @@ package io.zeebe.broker.clustering.handler;
 
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.msgpack.property.ArrayProperty;
+import io.zeebe.msgpack.property.LongProperty;
 import io.zeebe.msgpack.value.ArrayValue;
 import io.zeebe.msgpack.value.ValueArray;
 
 
 public class Topology extends UnpackedObject
 {
+    public static final long VERSION_NULL_VALUE = -1L;
+
+    /**
+     * Identifies the content of the topology, i.e. it is equal on all brokers
+     * which have the same view on the cluster.
+     */
+    protected LongProperty versionProp = new LongProperty("version", VERSION_NULL_VALUE);
+
     protected ArrayProperty<TopicLeader> topicLeadersProp = new ArrayProperty<>("topicLeaders",
         ArrayValue.emptyArray(),
         new TopicLeader());
@@ -37,7 +46,19 @@ public class Topology extends UnpackedObject
     {
         this
             .declareProperty(topicLeadersProp)
-            .declareProperty(brokersProp);
+            .declareProperty(brokersProp)
+            .declareProperty(versionProp);
+    }
+
+    public long getVersion()
+    {
+        return versionProp.getValue();
+    }
+
+    public Topology setVersion(long version)
+    {
+        this.versionProp.setValue(version);
+        return this;
     }
 
     public ValueArray<TopicLeader> topicLeaders()
@@ -0,0 +1,255 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.clustering.handler;
+
+import static io.zeebe.util.buffer.BufferUtil.cloneBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import io.zeebe.broker.clustering.gossip.data.Peer;
+import io.zeebe.broker.clustering.gossip.data.PeerList;
+import io.zeebe.broker.clustering.gossip.data.PeerListListener;
+import io.zeebe.broker.clustering.gossip.data.RaftMembership;
+import io.zeebe.clustering.gossip.PeerState;
+import io.zeebe.clustering.gossip.RaftMembershipState;
+import io.zeebe.transport.SocketAddress;
+
+/**
+ * Keeps the serialized {@link Topology} of the cluster, so that topology
+ * requests don't have to build and serialize it again.
+ *
+ * <p>
+ * The topology is only rebuilt if a peer update changes its content, i.e. the
+ * alive brokers, their client endpoints or the topic leaders. Most updates
+ * only increase the heartbeat of a peer and are ignored.
+ *
+ * <p>
+ * The cache must be used by the gossip actor only. A returned buffer is never
+ * modified afterwards and can be passed to other threads.
+ */
+public class TopologyCache implements PeerListListener
+{
+    protected static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    protected static final long FNV_PRIME = 0x100000001b3L;
+
+    protected final PeerList peers;
+    protected final Topology topology = new Topology();
+
+    protected final List<TopologyEntry> entries = new ArrayList<>();
+
+    protected boolean isDirty = true;
+    protected DirectBuffer serializedTopology;
+    protected long version = Topology.VERSION_NULL_VALUE;
+
+    public TopologyCache(final PeerList peers)
+    {
+        this.peers = peers;
+    }
+
+    @Override
+    public void onPeerJoin(final Peer peer)
+    {
+        // handled by onPeerUpdate
+    }
+
+    @Override
+    public void onPeerUpdate(final Peer peer)
+    {
+        final long fingerprint = fingerprint(peer);
+
+        TopologyEntry entry = find(peer.managementEndpoint());
+
+        if (entry == null)
+        {
+            entry = new TopologyEntry(peer.managementEndpoint());
+            entries.add(entry);
+
+            isDirty = true;
+        }
+        else if (entry.fingerprint != fingerprint)
+        {
+            isDirty = true;
+        }
+
+        entry.fingerprint = fingerprint;
+    }
+
+    /**
+     * @return true, if the topology parts of the given peer differ from the ones
+     *         in the cache. Can be used to detect changes of the local peer
+     *         which are not reported by the peer list.
+     */
+    public boolean isOutdated(final Peer peer)
+    {
+        final TopologyEntry entry = find(peer.managementEndpoint());
+        return entry == null || entry.fingerprint != fingerprint(peer);
+    }
+
+    /**
+     * @return the version of the current topology, see {@link Topology#getVersion()}
+     */
+    public long getVersion()
+    {
+        get();
+        return version;
+    }
+
+    /**
+     * @return the serialized topology, rebuilt if the peers have changed since
+     *         the last invocation
+     */
+    public DirectBuffer get()
+    {
+        if (isDirty)
+        {
+            serializedTopology = build();
+            isDirty = false;
+        }
+
+        return serializedTopology;
+    }
+
+    protected DirectBuffer build()
+    {
+        topology.reset();
+
+        // the peers are sorted, so brokers with the same view compute the same version
+        long topologyVersion = FNV_OFFSET_BASIS;
+
+        for (final Peer peer : peers)
+        {
+            if (PeerState.ALIVE == peer.state())
+            {
+                topologyVersion = hash(topologyVersion, fingerprint(peer));
+
+                // the peer instance is reused by the iterator, so the values are copied
+                // until the topology is written. This only happens if the topology changed.
+                final SocketAddress clientEndpoint = new SocketAddress(peer.clientEndpoint());
+
+                topology.brokers().add()
+                        .setHost(clientEndpoint.getHostBuffer(), 0, clientEndpoint.hostLength())
+                        .setPort(clientEndpoint.port());
+
+                for (final RaftMembership raftMembership : peer.raftMemberships())
+                {
+                    if (RaftMembershipState.LEADER == raftMembership.state())
+                    {
+                        final DirectBuffer topicName = cloneBuffer(raftMembership.topicNameBuffer(), 0, raftMembership.topicNameLength());
+
+                        topology.topicLeaders().add()
+                                .setTopicName(topicName, 0, topicName.capacity())
+                                .setPartitionId(raftMembership.partitionId())
+                                .setHost(clientEndpoint.getHostBuffer(), 0, clientEndpoint.hostLength())
+                                .setPort(clientEndpoint.port());
+                    }
+                }
+            }
+        }
+
+        version = topologyVersion != Topology.VERSION_NULL_VALUE ? topologyVersion : 0L;
+        topology.setVersion(version);
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[topology.getLength()]);
+        topology.write(buffer, 0);
+
+        return buffer;
+    }
+
+    /**
+     * Hashes the parts of the peer which are contained in the topology (64 bit FNV-1a).
+     */
+    protected static long fingerprint(final Peer peer)
+    {
+        if (PeerState.ALIVE != peer.state())
+        {
+            return 0L;
+        }
+
+        final SocketAddress clientEndpoint = peer.clientEndpoint();
+
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, clientEndpoint.getHostBuffer(), clientEndpoint.hostLength());
+        hash = hash(hash, clientEndpoint.port());
+
+        for (final RaftMembership raftMembership : peer.raftMemberships())
+        {
+            if (RaftMembershipState.LEADER == raftMembership.state())
+            {
+                hash = hash(hash, raftMembership.topicNameBuffer(), raftMembership.topicNameLength());
+                hash = hash(hash, raftMembership.partitionId());
+            }
+        }
+
+        return hash;
+    }
+
+    protected static long hash(long hash, final DirectBuffer buffer, final int length)
+    {
+        hash = hash(hash, length);
+
+        for (int i = 0; i < length; i++)
+        {
+            hash = (hash ^ (buffer.getByte(i) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    protected static long hash(long hash, final long value)
+    {
+        hash = hash(hash, (int) value);
+        return hash(hash, (int) (value >>> 32));
+    }
+
+    protected static long hash(long hash, final int value)
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            hash = (hash ^ ((value >>> (i * 8)) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    protected TopologyEntry find(final SocketAddress managementEndpoint)
+    {
+        for (int i = 0; i < entries.size(); i++)
+        {
+            final TopologyEntry entry = entries.get(i);
+            if (entry.managementEndpoint.compareTo(managementEndpoint) == 0)
+            {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    class TopologyEntry
+    {
+        final SocketAddress managementEndpoint = new SocketAddress();
+        long fingerprint;
+
+        TopologyEntry(final SocketAddress managementEndpoint)
+        {
+            this.managementEndpoint.wrap(managementEndpoint);
+        }
+    }
+
+}
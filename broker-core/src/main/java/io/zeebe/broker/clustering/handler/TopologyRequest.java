@@ -0,0 +1,64 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.clustering.handler;
+
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.msgpack.property.LongProperty;
+
+/**
+ * Topology request of a client. If the client already knows a version of the
+ * topology and allows to wait, then the broker responds not until the topology
+ * changes or the wait time elapsed (long polling). Otherwise, the broker responds
+ * immediately.
+ */
+public class TopologyRequest extends UnpackedObject
+{
+    protected LongProperty knownVersionProp = new LongProperty("knownVersion", Topology.VERSION_NULL_VALUE);
+    protected LongProperty maxWaitTimeProp = new LongProperty("maxWaitTime", 0);
+
+    public TopologyRequest()
+    {
+        this.declareProperty(knownVersionProp)
+            .declareProperty(maxWaitTimeProp);
+    }
+
+    public long getKnownVersion()
+    {
+        return knownVersionProp.getValue();
+    }
+
+    public TopologyRequest setKnownVersion(long knownVersion)
+    {
+        this.knownVersionProp.setValue(knownVersion);
+        return this;
+    }
+
+    /**
+     * @return the time in milliseconds the broker may wait for a topology change
+     */
+    public long getMaxWaitTime()
+    {
+        return maxWaitTimeProp.getValue();
+    }
+
+    public TopologyRequest setMaxWaitTime(long maxWaitTime)
+    {
+        this.maxWaitTimeProp.setValue(maxWaitTime);
+        return this;
+    }
+}
@@ -53,10 +53,6 @@ public class ClusterManagerFragmentHandler implements ServerMessageHandler, Serv
                 {
                     return clusterManager.onInvitationRequest(buffer, offset, length, output, remoteAddress, requestId);
                 }
-                case CreateWorkflowRequestEncoder.TEMPLATE_ID:
-                {
-                    return workflowRequestMessageHandler.onCreateWorkflowRequest(buffer, offset, length, remoteAddress, requestId);
-                }
                 default:
                 {
                     // TODO: send error response
@@ -88,10 +84,14 @@ public class ClusterManagerFragmentHandler implements ServerMessageHandler, Serv
                     clusterManager.onCreatePartitionMessage(buffer, offset, length);
                     break;
                 }
+                case CreateWorkflowRequestDecoder.TEMPLATE_ID:
+                {
+                    // the message is delivered again if it could not be written to all partitions
+                    return workflowRequestMessageHandler.onCreateWorkflowRequest(buffer, offset, length, remoteAddress);
+                }
                 case DeleteWorkflowMessageDecoder.TEMPLATE_ID:
                 {
-                    workflowRequestMessageHandler.onDeleteWorkflowMessage(buffer, offset, length);
-                    break;
+                    return workflowRequestMessageHandler.onDeleteWorkflowMessage(buffer, offset, length);
                 }
                 default:
                 {
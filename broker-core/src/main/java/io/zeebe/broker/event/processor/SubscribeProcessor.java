@@ -37,6 +37,7 @@ public class SubscribeProcessor implements EventProcessor
     protected LoggedEvent event;
     protected BrokerEventMetadata metadata;
     protected TopicSubscriberEvent subscriberEvent;
+    protected TopicSubscriptionFilter filter;
 
     protected EventProcessor state;
     protected final RequestFailureProcessor failedRequestState = new RequestFailureProcessor();
@@ -71,10 +72,20 @@ public class SubscribeProcessor implements EventProcessor
             state = failedRequestState;
             return;
         }
-        else
+
+        try
         {
-            state = createProcessorState;
+            filter = TopicSubscriptionFilter.fromSubscriberEvent(subscriberEvent);
         }
+        catch (IllegalArgumentException e)
+        {
+            failedRequestState.wrapError("Cannot open topic subscription " + subscriberEvent.getNameAsString() +
+                    ". " + e.getMessage());
+            state = failedRequestState;
+            return;
+        }
+
+        state = createProcessorState;
     }
 
     @Override
@@ -141,7 +152,8 @@ public class SubscribeProcessor implements EventProcessor
                     event.getKey(),
                     resumePosition,
                     subscriptionName,
-                    subscriberEvent.getPrefetchCapacity());
+                    subscriberEvent.getPrefetchCapacity(),
+                    filter);
 
             awaitProcessorState.wrap(processorFuture);
             state = awaitProcessorState;
@@ -37,6 +37,13 @@ public class TopicSubscriberEvent extends UnpackedObject
     protected BooleanProperty forceStartProp = new BooleanProperty("forceStart", false);
     protected EnumProperty<TopicSubscriberState> stateProp = new EnumProperty<>("state", TopicSubscriberState.class);
 
+    // optional filter; comma-separated values, empty to not filter
+    protected StringProperty eventTypesProp = new StringProperty("eventTypes", "");
+    protected StringProperty statesProp = new StringProperty("states", "");
+    protected StringProperty bpmnProcessIdProp = new StringProperty("bpmnProcessId", "");
+    protected StringProperty taskTypeProp = new StringProperty("taskType", "");
+    protected StringProperty payloadConditionProp = new StringProperty("payloadCondition", "");
+
     public TopicSubscriberEvent()
     {
         this
@@ -44,7 +51,12 @@ public class TopicSubscriberEvent extends UnpackedObject
             .declareProperty(startPositionProp)
             .declareProperty(nameProp)
             .declareProperty(prefetchCapacityProp)
-            .declareProperty(forceStartProp);
+            .declareProperty(forceStartProp)
+            .declareProperty(eventTypesProp)
+            .declareProperty(statesProp)
+            .declareProperty(bpmnProcessIdProp)
+            .declareProperty(taskTypeProp)
+            .declareProperty(payloadConditionProp);
     }
 
     public TopicSubscriberEvent setStartPosition(long startPosition)
@@ -91,6 +103,31 @@ public class TopicSubscriberEvent extends UnpackedObject
         return forceStartProp.getValue();
     }
 
+    public DirectBuffer getEventTypes()
+    {
+        return eventTypesProp.getValue();
+    }
+
+    public DirectBuffer getStates()
+    {
+        return statesProp.getValue();
+    }
+
+    public DirectBuffer getBpmnProcessId()
+    {
+        return bpmnProcessIdProp.getValue();
+    }
+
+    public DirectBuffer getTaskType()
+    {
+        return taskTypeProp.getValue();
+    }
+
+    public DirectBuffer getPayloadCondition()
+    {
+        return payloadConditionProp.getValue();
+    }
+
     public TopicSubscriberState getState()
     {
         return stateProp.getValue();
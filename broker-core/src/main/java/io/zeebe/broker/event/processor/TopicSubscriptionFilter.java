@@ -0,0 +1,263 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.event.processor;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+
+import java.util.EnumSet;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import io.zeebe.broker.util.msgpack.MsgPackScanner;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.msgpack.el.CompiledJsonCondition;
+import io.zeebe.msgpack.el.JsonConditionFactory;
+import io.zeebe.msgpack.el.JsonConditionInterpreter;
+import io.zeebe.protocol.clientapi.EventType;
+import io.zeebe.protocol.impl.BrokerEventMetadata;
+
+/**
+ * Decides on the broker which events are pushed to a topic subscription, so
+ * that subscribers don't pay for transferring and decoding events they are not
+ * interested in. All configured criteria must match; an event which doesn't
+ * have a property that is filtered on does not match. The event value is only
+ * scanned for the filtered properties, not deserialized.
+ */
+public class TopicSubscriptionFilter
+{
+    public static final TopicSubscriptionFilter NONE = new TopicSubscriptionFilter(null, null, null, null, null);
+
+    protected static final DirectBuffer STATE_KEY = wrapString("state");
+    protected static final DirectBuffer BPMN_PROCESS_ID_KEY = wrapString("bpmnProcessId");
+    protected static final DirectBuffer HEADERS_KEY = wrapString("headers");
+    protected static final DirectBuffer TYPE_KEY = wrapString("type");
+    protected static final DirectBuffer PAYLOAD_KEY = wrapString("payload");
+
+    protected final EnumSet<EventType> eventTypes;
+    protected final DirectBuffer[] states;
+    protected final DirectBuffer bpmnProcessId;
+    protected final DirectBuffer taskType;
+    protected final CompiledJsonCondition payloadCondition;
+
+    protected final MsgPackScanner scanner = new MsgPackScanner();
+    protected final JsonConditionInterpreter conditionInterpreter = new JsonConditionInterpreter();
+    protected final UnsafeBuffer payloadView = new UnsafeBuffer(0, 0);
+
+    protected TopicSubscriptionFilter(
+            EnumSet<EventType> eventTypes,
+            DirectBuffer[] states,
+            DirectBuffer bpmnProcessId,
+            DirectBuffer taskType,
+            CompiledJsonCondition payloadCondition)
+    {
+        this.eventTypes = eventTypes;
+        this.states = states;
+        this.bpmnProcessId = bpmnProcessId;
+        this.taskType = taskType;
+        this.payloadCondition = payloadCondition;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the filter of the subscriber event is not valid
+     */
+    public static TopicSubscriptionFilter fromSubscriberEvent(TopicSubscriberEvent event)
+    {
+        EnumSet<EventType> eventTypes = null;
+        final String[] eventTypeNames = split(event.getEventTypes());
+        if (eventTypeNames != null)
+        {
+            eventTypes = EnumSet.noneOf(EventType.class);
+
+            for (String eventTypeName : eventTypeNames)
+            {
+                try
+                {
+                    eventTypes.add(EventType.valueOf(eventTypeName));
+                }
+                catch (IllegalArgumentException e)
+                {
+                    throw new IllegalArgumentException("Unknown event type '" + eventTypeName + "'.");
+                }
+            }
+        }
+
+        DirectBuffer[] states = null;
+        final String[] stateNames = split(event.getStates());
+        if (stateNames != null)
+        {
+            states = new DirectBuffer[stateNames.length];
+            for (int i = 0; i < stateNames.length; i++)
+            {
+                states[i] = wrapString(stateNames[i]);
+            }
+        }
+
+        final DirectBuffer bpmnProcessId = copyOrNull(event.getBpmnProcessId());
+        final DirectBuffer taskType = copyOrNull(event.getTaskType());
+
+        CompiledJsonCondition payloadCondition = null;
+        if (event.getPayloadCondition().capacity() > 0)
+        {
+            final String expression = bufferAsString(event.getPayloadCondition());
+            payloadCondition = JsonConditionFactory.createCondition(expression);
+
+            if (!payloadCondition.isValid())
+            {
+                throw new IllegalArgumentException("The payload condition '" + expression + "' is not valid: " + payloadCondition.getErrorMessage());
+            }
+        }
+
+        if (eventTypes == null && states == null && bpmnProcessId == null && taskType == null && payloadCondition == null)
+        {
+            return NONE;
+        }
+        else
+        {
+            return new TopicSubscriptionFilter(eventTypes, states, bpmnProcessId, taskType, payloadCondition);
+        }
+    }
+
+    protected static String[] split(DirectBuffer values)
+    {
+        if (values.capacity() == 0)
+        {
+            return null;
+        }
+
+        final String[] result = bufferAsString(values).split(",");
+        for (int i = 0; i < result.length; i++)
+        {
+            result[i] = result[i].trim();
+        }
+        return result;
+    }
+
+    protected static DirectBuffer copyOrNull(DirectBuffer value)
+    {
+        if (value.capacity() == 0)
+        {
+            return null;
+        }
+
+        final byte[] bytes = new byte[value.capacity()];
+        value.getBytes(0, bytes);
+        return new UnsafeBuffer(bytes);
+    }
+
+    /**
+     * @return <code>true</code>, if the event should be pushed to the subscription
+     */
+    public boolean applies(BrokerEventMetadata metadata, LoggedEvent event)
+    {
+        if (this == NONE)
+        {
+            return true;
+        }
+
+        if (eventTypes != null && !eventTypes.contains(metadata.getEventType()))
+        {
+            return false;
+        }
+
+        final DirectBuffer valueBuffer = event.getValueBuffer();
+        final int valueOffset = event.getValueOffset();
+        final int valueLength = event.getValueLength();
+
+        if (states != null)
+        {
+            scanner.wrap(valueBuffer, valueOffset, valueLength);
+
+            if (!scanner.readProperty(STATE_KEY) || !scanner.readToken() || !isState())
+            {
+                return false;
+            }
+        }
+
+        if (bpmnProcessId != null)
+        {
+            scanner.wrap(valueBuffer, valueOffset, valueLength);
+            boolean matches = scanner.readProperty(BPMN_PROCESS_ID_KEY) && scanner.readToken() && scanner.tokenEquals(bpmnProcessId);
+
+            if (!matches)
+            {
+                // tasks carry the workflow context in their headers
+                scanner.wrap(valueBuffer, valueOffset, valueLength);
+                matches = scanner.readProperty(HEADERS_KEY) &&
+                        scanner.readProperty(BPMN_PROCESS_ID_KEY) &&
+                        scanner.readToken() &&
+                        scanner.tokenEquals(bpmnProcessId);
+            }
+
+            if (!matches)
+            {
+                return false;
+            }
+        }
+
+        if (taskType != null)
+        {
+            if (metadata.getEventType() != EventType.TASK_EVENT)
+            {
+                return false;
+            }
+
+            scanner.wrap(valueBuffer, valueOffset, valueLength);
+            if (!scanner.readProperty(TYPE_KEY) || !scanner.readToken() || !scanner.tokenEquals(taskType))
+            {
+                return false;
+            }
+        }
+
+        if (payloadCondition != null)
+        {
+            scanner.wrap(valueBuffer, valueOffset, valueLength);
+            if (!scanner.readProperty(PAYLOAD_KEY) || !scanner.readToken() || scanner.getTokenType() != MsgPackScanner.TOKEN_BINARY)
+            {
+                return false;
+            }
+
+            payloadView.wrap(valueBuffer, scanner.getTokenValueOffset(), (int) scanner.getTokenLength());
+
+            try
+            {
+                return conditionInterpreter.eval(payloadCondition.getCondition(), payloadView);
+            }
+            catch (RuntimeException e)
+            {
+                // e.g. the payload is not a document or doesn't contain the compared values
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    protected boolean isState()
+    {
+        for (int i = 0; i < states.length; i++)
+        {
+            if (scanner.tokenEquals(states[i]))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -18,7 +18,7 @@
 package io.zeebe.broker.event.processor;
 
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.SNAPSHOT_STORAGE_SERVICE;
-import static io.zeebe.broker.system.SystemServiceNames.ACTOR_SCHEDULER_SERVICE;
+import static io.zeebe.broker.system.SystemServiceNames.PARTITION_ACTOR_SCHEDULERS_SERVICE;
 
 import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
@@ -81,6 +81,10 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
     protected final TopicSubscriberEvent subscriberEvent = new TopicSubscriberEvent();
     protected LoggedEvent currentEvent;
 
+    protected LogStreamWriter logStreamWriter;
+    protected final BrokerEventMetadata skippedEventsAckMetadata = new BrokerEventMetadata();
+    protected final TopicSubscriptionEvent skippedEventsAck = new TopicSubscriptionEvent();
+
     public TopicSubscriptionManagementProcessor(
             ServiceName<LogStream> streamServiceName,
             CommandResponseWriter responseWriter,
@@ -106,6 +110,7 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
         this.logStreamPartitionId = sourceStream.getPartitionId();
 
         targetStream = context.getTargetStream();
+        logStreamWriter = context.getLogStreamWriter();
     }
 
     @Override
@@ -182,9 +187,19 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
         }
     }
 
+    /**
+     * The subscriber's acknowledgements and the ones for skipped events are written
+     * independently, so an acknowledgement can be processed after a newer one. The
+     * acknowledged position never moves backwards.
+     */
     protected void putAck(DirectBuffer subscriptionName, long ackPosition)
     {
-        ackMap.put(subscriptionName, 0, subscriptionName.capacity(), ackPosition);
+        final long lastAckedPosition = ackMap.get(subscriptionName, 0, subscriptionName.capacity(), -1L);
+
+        if (ackPosition > lastAckedPosition)
+        {
+            ackMap.put(subscriptionName, 0, subscriptionName.capacity(), ackPosition);
+        }
     }
 
     public CompletableFuture<Void> closePushProcessorAsync(long subscriberKey)
@@ -240,7 +255,8 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
             long subscriberKey,
             long resumePosition,
             DirectBuffer subscriptionName,
-            int prefetchCapacity)
+            int prefetchCapacity,
+            TopicSubscriptionFilter filter)
     {
         final TopicSubscriptionPushProcessor processor = new TopicSubscriptionPushProcessor(
                 clientChannelId,
@@ -248,7 +264,9 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
                 resumePosition,
                 subscriptionName,
                 prefetchCapacity,
-                eventWriterFactory.get());
+                filter,
+                eventWriterFactory.get(),
+                this::acknowledgeSkippedEventsAsync);
 
         final ServiceName<StreamProcessorController> serviceName = TopicSubscriptionServiceNames.subscriptionPushServiceName(streamServiceName.getName(), processor.getNameAsString());
 
@@ -263,11 +281,43 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
             .dependency(streamServiceName, streamProcessorService.getSourceStreamInjector())
             .dependency(streamServiceName, streamProcessorService.getTargetStreamInjector())
             .dependency(SNAPSHOT_STORAGE_SERVICE, streamProcessorService.getSnapshotStorageInjector())
-            .dependency(ACTOR_SCHEDULER_SERVICE, streamProcessorService.getActorSchedulerInjector())
+            .dependency(PARTITION_ACTOR_SCHEDULERS_SERVICE, streamProcessorService.getActorSchedulersInjector())
             .install()
             .thenApply((v) -> processor);
     }
 
+    /**
+     * Acknowledges events which are not pushed to the subscriber because they
+     * don't match the subscription's filter, so that they are not scanned again
+     * when the subscription is resumed. The acknowledgement is written as command
+     * and is processed like the acknowledgements of the client.
+     */
+    public void acknowledgeSkippedEventsAsync(DirectBuffer subscriptionName, long ackPosition)
+    {
+        cmdContext.runAsync(() ->
+        {
+            skippedEventsAck.reset();
+            skippedEventsAck.setState(TopicSubscriptionState.ACKNOWLEDGE)
+                .setName(subscriptionName, 0, subscriptionName.capacity())
+                .setAckPosition(ackPosition);
+
+            skippedEventsAckMetadata
+                .reset()
+                .protocolVersion(Protocol.PROTOCOL_VERSION)
+                .eventType(EventType.SUBSCRIPTION_EVENT)
+                .requestStreamId(-1)
+                .requestId(-1);
+
+            // if the write fails, the events are acknowledged by the next request
+            // or are scanned again on resume
+            logStreamWriter
+                .positionAsKey()
+                .metadataWriter(skippedEventsAckMetadata)
+                .valueWriter(skippedEventsAck)
+                .tryWrite();
+        });
+    }
+
     public boolean writeRequestResponseError(BrokerEventMetadata metadata, LoggedEvent event, String error)
     {
         return errorWriter
@@ -309,9 +359,16 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
 
     protected class AckProcessor implements EventProcessor
     {
+        protected boolean isOutdated;
+
         @Override
         public void processEvent()
         {
+            final DirectBuffer subscriptionName = subscriptionEvent.getName();
+            final long lastAckedPosition = ackMap.get(subscriptionName, 0, subscriptionName.capacity(), -1L);
+
+            isOutdated = subscriptionEvent.getAckPosition() < lastAckedPosition;
+
             subscriptionEvent.setState(TopicSubscriptionState.ACKNOWLEDGED);
         }
 
@@ -332,7 +389,7 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
         {
             final TopicSubscriptionPushProcessor subscriptionProcessor = subscriptionRegistry.getProcessorByName(subscriptionEvent.getName());
 
-            if (subscriptionProcessor != null)
+            if (subscriptionProcessor != null && !isOutdated)
             {
                 subscriptionProcessor.onAck(subscriptionEvent.getAckPosition());
             }
@@ -354,7 +411,10 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
         @Override
         public void updateState()
         {
-            putAck(subscriptionEvent.getName(), subscriptionEvent.getAckPosition());
+            if (!isOutdated)
+            {
+                putAck(subscriptionEvent.getName(), subscriptionEvent.getAckPosition());
+            }
         }
     }
 
@@ -406,6 +466,17 @@ public class TopicSubscriptionManagementProcessor implements StreamProcessor
                     .valueWriter(subscriptionEvent)
                     .tryWrite();
         }
+
+        @Override
+        public void updateState()
+        {
+            if (subscriberEvent.getForceStart())
+            {
+                // the subscription is reset to the forced start position, which can be lower than the acknowledged one
+                final DirectBuffer subscriptionName = subscriberEvent.getName();
+                ackMap.put(subscriptionName, 0, subscriptionName.capacity(), subscriberEvent.getStartPosition() - 1);
+            }
+        }
     }
 
 }
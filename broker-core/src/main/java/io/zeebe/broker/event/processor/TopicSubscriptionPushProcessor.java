@@ -20,6 +20,8 @@ package io.zeebe.broker.event.processor;
 import static io.zeebe.util.buffer.BufferUtil.cloneBuffer;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjLongConsumer;
 
 import org.agrona.DirectBuffer;
 
@@ -40,6 +42,11 @@ import io.zeebe.util.collection.LongRingBuffer;
 
 public class TopicSubscriptionPushProcessor implements StreamProcessor, EventProcessor
 {
+    /**
+     * The number of events which are skipped by the filter while no pushed event
+     * is pending, after which their position is acknowledged on behalf of the subscriber
+     */
+    public static final int SKIPPED_EVENTS_ACK_THRESHOLD = 100;
 
     protected final BrokerEventMetadata metadata = new BrokerEventMetadata();
 
@@ -54,20 +61,30 @@ public class TopicSubscriptionPushProcessor implements StreamProcessor, EventPro
 
     protected final SnapshotSupport snapshotSupport = new NoopSnapshotSupport();
     protected final SubscribedEventWriter channelWriter;
+    protected final TopicSubscriptionFilter filter;
 
     protected LongRingBuffer pendingEvents;
     protected LongRingBuffer pendingAcks;
     protected AtomicBoolean enabled;
 
+    protected final ObjLongConsumer<DirectBuffer> skippedEventsAcknowledger;
+    protected final AtomicLong acknowledgedPosition = new AtomicLong(-1L);
+    protected long lastPushedPosition = -1L;
+    protected int skippedEventsCount = 0;
+
     public TopicSubscriptionPushProcessor(
             int clientStreamId,
             long subscriberKey,
             long startPosition,
             DirectBuffer name,
             int prefetchCapacity,
-            SubscribedEventWriter channelWriter)
+            TopicSubscriptionFilter filter,
+            SubscribedEventWriter channelWriter,
+            ObjLongConsumer<DirectBuffer> skippedEventsAcknowledger)
     {
         this.channelWriter = channelWriter;
+        this.skippedEventsAcknowledger = skippedEventsAcknowledger;
+        this.filter = filter;
         this.clientStreamId = clientStreamId;
         this.subscriberKey = subscriberKey;
         this.startPosition = startPosition;
@@ -144,6 +161,12 @@ public class TopicSubscriptionPushProcessor implements StreamProcessor, EventPro
     {
         event.readMetadata(metadata);
 
+        if (!filter.applies(metadata, event))
+        {
+            onEventSkipped(event.getPosition());
+            return true;
+        }
+
         final boolean success = channelWriter
             .partitionId(logStreamPartitionId)
             .eventType(metadata.getEventType())
@@ -154,18 +177,44 @@ public class TopicSubscriptionPushProcessor implements StreamProcessor, EventPro
             .event(event.getValueBuffer(), event.getValueOffset(), event.getValueLength())
             .tryWriteMessage(clientStreamId);
 
-        if (success && recordsPendingEvents())
+        if (success)
         {
-            final boolean elementAdded = pendingEvents.addElementToHead(event.getPosition());
-            if (!elementAdded)
+            lastPushedPosition = event.getPosition();
+            skippedEventsCount = 0;
+
+            if (recordsPendingEvents())
             {
-                throw new RuntimeException("Cannot record pending event " + elementAdded);
+                final boolean elementAdded = pendingEvents.addElementToHead(event.getPosition());
+                if (!elementAdded)
+                {
+                    throw new RuntimeException("Cannot record pending event " + elementAdded);
+                }
             }
         }
 
         return success;
     }
 
+    /**
+     * A skipped event is not recorded as pending, so it doesn't need to be acknowledged
+     * and doesn't occupy prefetch capacity. However, the subscriber only acknowledges pushed
+     * events. If no pushed event is pending, the skipped events are acknowledged on behalf of
+     * the subscriber from time to time, so that they are not scanned again on resume.
+     */
+    protected void onEventSkipped(long position)
+    {
+        if (lastPushedPosition <= acknowledgedPosition.get())
+        {
+            skippedEventsCount += 1;
+
+            if (skippedEventsCount >= SKIPPED_EVENTS_ACK_THRESHOLD)
+            {
+                skippedEventsAcknowledger.accept(name, position);
+                skippedEventsCount = 0;
+            }
+        }
+    }
+
     @Override
     public boolean isSuspended()
     {
@@ -203,6 +252,14 @@ public class TopicSubscriptionPushProcessor implements StreamProcessor, EventPro
 
     public void onAck(long eventPosition)
     {
+        final long previousAckPosition = acknowledgedPosition.getAndAccumulate(eventPosition, Math::max);
+
+        if (eventPosition <= previousAckPosition)
+        {
+            // an outdated acknowledgement, e.g. of skipped events
+            return;
+        }
+
         if (recordsPendingEvents())
         {
             final boolean elementAdded = pendingAcks.addElementToHead(eventPosition);
@@ -18,7 +18,7 @@
 package io.zeebe.broker.event.processor;
 
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.SNAPSHOT_STORAGE_SERVICE;
-import static io.zeebe.broker.system.SystemServiceNames.ACTOR_SCHEDULER_SERVICE;
+import static io.zeebe.broker.system.SystemServiceNames.PARTITION_ACTOR_SCHEDULERS_SERVICE;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -161,7 +161,7 @@ public class TopicSubscriptionService implements Service<TopicSubscriptionServic
             .dependency(logStreamName, streamProcessorService.getSourceStreamInjector())
             .dependency(logStreamName, streamProcessorService.getTargetStreamInjector())
             .dependency(SNAPSHOT_STORAGE_SERVICE, streamProcessorService.getSnapshotStorageInjector())
-            .dependency(ACTOR_SCHEDULER_SERVICE, streamProcessorService.getActorSchedulerInjector())
+            .dependency(PARTITION_ACTOR_SCHEDULERS_SERVICE, streamProcessorService.getActorSchedulersInjector())
             .install();
     }
 
@@ -20,6 +20,7 @@ package io.zeebe.broker.logstreams;
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.LOG_STREAMS_MANAGER_SERVICE;
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.SNAPSHOT_STORAGE_SERVICE;
 import static io.zeebe.broker.system.SystemServiceNames.ACTOR_SCHEDULER_SERVICE;
+import static io.zeebe.broker.system.SystemServiceNames.PARTITION_ACTOR_SCHEDULERS_SERVICE;
 
 import io.zeebe.broker.event.TopicSubscriptionServiceNames;
 import io.zeebe.broker.event.processor.TopicSubscriptionService;
@@ -35,7 +36,7 @@ public class LogStreamsComponent implements Component
     {
         final LogStreamsManagerService streamsManager = new LogStreamsManagerService(context.getConfigurationManager());
         context.getServiceContainer().createService(LOG_STREAMS_MANAGER_SERVICE, streamsManager)
-            .dependency(ACTOR_SCHEDULER_SERVICE, streamsManager.getActorSchedulerInjector())
+            .dependency(PARTITION_ACTOR_SCHEDULERS_SERVICE, streamsManager.getActorSchedulersInjector())
             .install();
 
         final SnapshotStorageService snapshotStorageService = new SnapshotStorageService(context.getConfigurationManager());
@@ -29,22 +29,22 @@ import org.agrona.DirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
 
 import io.zeebe.broker.logstreams.cfg.LogStreamsCfg;
+import io.zeebe.broker.system.threads.PartitionActorSchedulers;
 import io.zeebe.logstreams.LogStreams;
 import io.zeebe.logstreams.fs.FsLogStreamBuilder;
 import io.zeebe.logstreams.log.LogStream;
-import io.zeebe.util.actor.ActorScheduler;
 
 
 public class LogStreamsManager
 {
     protected LogStreamsCfg logStreamsCfg;
-    protected ActorScheduler actorScheduler;
+    protected PartitionActorSchedulers actorSchedulers;
     protected Int2ObjectHashMap<LogStream> logStreams;
 
-    public LogStreamsManager(final LogStreamsCfg logStreamsCfg, final ActorScheduler actorScheduler)
+    public LogStreamsManager(final LogStreamsCfg logStreamsCfg, final PartitionActorSchedulers actorSchedulers)
     {
         this.logStreamsCfg = logStreamsCfg;
-        this.actorScheduler = actorScheduler;
+        this.actorSchedulers = actorSchedulers;
         this.logStreams = new Int2ObjectHashMap<>();
     }
 
@@ -100,7 +100,7 @@ public class LogStreamsManager
         final LogStream logStream = logStreamBuilder
             .deleteOnClose(deleteOnExit)
             .logDirectory(logDirectory)
-            .actorScheduler(actorScheduler)
+            .actorScheduler(actorSchedulers.forPartition(partitionId))
             .logSegmentSize(logSegmentSize)
             .logStreamControllerDisabled(true)
             .build();
@@ -116,7 +116,7 @@ public class LogStreamsManager
             LogStreams.createFsLogStream(topicName, partitionId)
                       .deleteOnClose(false)
                       .logDirectory(logDirectory)
-                      .actorScheduler(actorScheduler)
+                      .actorScheduler(actorSchedulers.forPartition(partitionId))
                       .logSegmentSize(logStreamsCfg.defaultLogSegmentSize * 1024 * 1024)
                       .logStreamControllerDisabled(true)
                       .build();
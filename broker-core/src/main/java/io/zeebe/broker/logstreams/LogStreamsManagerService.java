@@ -19,16 +19,16 @@ package io.zeebe.broker.logstreams;
 
 import io.zeebe.broker.logstreams.cfg.LogStreamsCfg;
 import io.zeebe.broker.system.ConfigurationManager;
+import io.zeebe.broker.system.threads.PartitionActorSchedulers;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
-import io.zeebe.util.actor.ActorScheduler;
 
 public class LogStreamsManagerService implements Service<LogStreamsManager>
 {
 
-    protected final Injector<ActorScheduler> actorSchedulerInjector = new Injector<>();
+    protected final Injector<PartitionActorSchedulers> actorSchedulersInjector = new Injector<>();
 
     protected LogStreamsCfg logStreamsCfg;
 
@@ -42,7 +42,7 @@ public class LogStreamsManagerService implements Service<LogStreamsManager>
     @Override
     public void start(ServiceStartContext serviceContext)
     {
-        service = new LogStreamsManager(logStreamsCfg, actorSchedulerInjector.getValue());
+        service = new LogStreamsManager(logStreamsCfg, actorSchedulersInjector.getValue());
     }
 
     @Override
@@ -57,9 +57,9 @@ public class LogStreamsManagerService implements Service<LogStreamsManager>
         return service;
     }
 
-    public Injector<ActorScheduler> getActorSchedulerInjector()
+    public Injector<PartitionActorSchedulers> getActorSchedulersInjector()
     {
-        return actorSchedulerInjector;
+        return actorSchedulersInjector;
     }
 
 }
@@ -19,6 +19,7 @@ package io.zeebe.broker.logstreams.processor;
 
 import java.time.Duration;
 
+import io.zeebe.broker.system.threads.PartitionActorSchedulers;
 import io.zeebe.logstreams.LogStreams;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LoggedEvent;
@@ -36,7 +37,7 @@ public class StreamProcessorService implements Service<StreamProcessorController
     private final Injector<LogStream> sourceStreamInjector = new Injector<>();
     private final Injector<LogStream> targetStreamInjector = new Injector<>();
     private final Injector<SnapshotStorage> snapshotStorageInjector = new Injector<>();
-    private final Injector<ActorScheduler> actorSchedulerInjector = new Injector<>();
+    private final Injector<PartitionActorSchedulers> actorSchedulersInjector = new Injector<>();
 
     private final String name;
     private final int id;
@@ -101,7 +102,7 @@ public class StreamProcessorService implements Service<StreamProcessorController
 
         final SnapshotStorage snapshotStorage = snapshotStorageInjector.getValue();
 
-        final ActorScheduler actorScheduler = actorSchedulerInjector.getValue();
+        final ActorScheduler actorScheduler = actorSchedulersInjector.getValue().forPartition(sourceStream.getPartitionId());
 
         MetadataFilter metadataFilter = versionFilter;
         if (customEventFilter != null)
@@ -148,9 +149,9 @@ public class StreamProcessorService implements Service<StreamProcessorController
         return snapshotStorageInjector;
     }
 
-    public Injector<ActorScheduler> getActorSchedulerInjector()
+    public Injector<PartitionActorSchedulers> getActorSchedulersInjector()
     {
-        return actorSchedulerInjector;
+        return actorSchedulersInjector;
     }
 
     public Injector<LogStream> getSourceStreamInjector()
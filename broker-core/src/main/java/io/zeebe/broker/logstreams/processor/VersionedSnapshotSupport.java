@@ -0,0 +1,104 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.logstreams.processor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.zeebe.logstreams.spi.SnapshotSupport;
+
+/**
+ * Prefixes the snapshot of the given resource with a header that contains the
+ * version of the snapshot format. A snapshot with a different (or without a)
+ * version is rejected on recovery instead of being read as garbage.
+ *
+ * <p>
+ * The version must be incremented whenever the state of the resource
+ * changes its layout, e.g. a map gets a new value field or a map is added to a
+ * composed snapshot.
+ */
+public class VersionedSnapshotSupport implements SnapshotSupport
+{
+    public static final int MAGIC = 0x5A425356; // "ZBSV"
+
+    protected final SnapshotSupport delegate;
+    protected final int version;
+
+    public VersionedSnapshotSupport(int version, SnapshotSupport delegate)
+    {
+        this.version = version;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void writeSnapshot(OutputStream outputStream) throws Exception
+    {
+        // do not close the data stream; the delegate continues writing to the underlying stream
+        final DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(MAGIC);
+        dataOutputStream.writeInt(version);
+        dataOutputStream.flush();
+
+        delegate.writeSnapshot(outputStream);
+    }
+
+    @Override
+    public void recoverFromSnapshot(InputStream inputStream) throws Exception
+    {
+        final DataInputStream dataInputStream = new DataInputStream(inputStream);
+
+        int magic = 0;
+        int snapshotVersion = -1;
+        try
+        {
+            magic = dataInputStream.readInt();
+            snapshotVersion = dataInputStream.readInt();
+        }
+        catch (EOFException e)
+        {
+            // handled below
+        }
+
+        if (magic != MAGIC)
+        {
+            throw new IllegalStateException(String.format("Cannot recover from snapshot: the snapshot has no version header " +
+                    "(written by an older broker version). Expected version %d. Delete the snapshot to rebuild the state from the log.", version));
+        }
+        else if (snapshotVersion != version)
+        {
+            throw new IllegalStateException(String.format("Cannot recover from snapshot: unsupported snapshot version %d, expected %d. " +
+                    "Delete the snapshot to rebuild the state from the log.", snapshotVersion, version));
+        }
+
+        delegate.recoverFromSnapshot(inputStream);
+    }
+
+    @Override
+    public void reset()
+    {
+        delegate.reset();
+    }
+
+    public int getVersion()
+    {
+        return version;
+    }
+}
@@ -28,6 +28,7 @@ import io.zeebe.broker.system.executor.ScheduledExecutorService;
 import io.zeebe.broker.system.log.PartitionManagerService;
 import io.zeebe.broker.system.log.SystemPartitionManager;
 import io.zeebe.broker.system.threads.ActorSchedulerService;
+import io.zeebe.broker.system.threads.PartitionActorSchedulersService;
 import io.zeebe.broker.transport.TransportServiceNames;
 import io.zeebe.servicecontainer.ServiceContainer;
 
@@ -47,6 +48,11 @@ public class SystemComponent implements Component
         serviceContainer.createService(ACTOR_SCHEDULER_SERVICE, agentRunnerService)
             .install();
 
+        final PartitionActorSchedulersService partitionSchedulersService = new PartitionActorSchedulersService(context.getConfigurationManager());
+        serviceContainer.createService(PARTITION_ACTOR_SCHEDULERS_SERVICE, partitionSchedulersService)
+            .dependency(ACTOR_SCHEDULER_SERVICE, partitionSchedulersService.getActorSchedulerInjector())
+            .install();
+
         final ScheduledExecutorService executorService = new ScheduledExecutorService();
         serviceContainer.createService(EXECUTOR_SERVICE, executorService)
             .dependency(ACTOR_SCHEDULER_SERVICE, executorService.getActorSchedulerInjector())
@@ -74,6 +80,7 @@ public class SystemComponent implements Component
             .dependency(TransportServiceNames.serverTransport(TransportServiceNames.CLIENT_API_SERVER_NAME), deploymentManagerService.getClientApiTransportInjector())
             .dependency(PARTITION_MANAGER_SERVICE, deploymentManagerService.getPartitionManagerInjector())
             .dependency(EXECUTOR_SERVICE, deploymentManagerService.getScheduledExecutorInjector())
+            .dependency(ACTOR_SCHEDULER_SERVICE, deploymentManagerService.getActorSchedulerInjector())
             .groupReference(LogStreamServiceNames.SYSTEM_STREAM_GROUP, deploymentManagerService.getSystemStreamGroupReference())
             .install();
 
@@ -23,6 +23,7 @@ import io.zeebe.broker.system.deployment.handler.WorkflowRequestMessageHandler;
 import io.zeebe.broker.system.deployment.service.DeploymentManager;
 import io.zeebe.broker.system.executor.ScheduledExecutor;
 import io.zeebe.broker.system.log.SystemPartitionManager;
+import io.zeebe.broker.system.threads.PartitionActorSchedulers;
 import io.zeebe.logstreams.processor.StreamProcessorController;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.util.actor.ActorScheduler;
@@ -30,6 +31,7 @@ import io.zeebe.util.actor.ActorScheduler;
 public class SystemServiceNames
 {
     public static final ServiceName<ActorScheduler> ACTOR_SCHEDULER_SERVICE = ServiceName.newServiceName("broker.task.scheduler", ActorScheduler.class);
+    public static final ServiceName<PartitionActorSchedulers> PARTITION_ACTOR_SCHEDULERS_SERVICE = ServiceName.newServiceName("broker.task.scheduler.partitions", PartitionActorSchedulers.class);
 
     public static final ServiceName<Counters> COUNTERS_MANAGER_SERVICE = ServiceName.newServiceName("broker.countersManager", Counters.class);
 
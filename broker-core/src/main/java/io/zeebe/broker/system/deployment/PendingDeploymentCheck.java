@@ -17,10 +17,8 @@
  */
 package io.zeebe.broker.system.deployment;
 
-import java.util.Iterator;
 import java.util.function.Consumer;
 
-import io.zeebe.broker.Loggers;
 import io.zeebe.broker.logstreams.processor.*;
 import io.zeebe.broker.system.deployment.data.PendingDeployments;
 import io.zeebe.broker.system.deployment.data.PendingDeployments.PendingDeployment;
@@ -28,37 +26,26 @@ import io.zeebe.broker.system.deployment.data.PendingDeployments.PendingDeployme
 import io.zeebe.broker.system.deployment.data.PendingWorkflows;
 import io.zeebe.broker.system.deployment.data.PendingWorkflows.PendingWorkflow;
 import io.zeebe.broker.system.deployment.data.PendingWorkflows.PendingWorkflowIterator;
-import io.zeebe.broker.system.deployment.handler.WorkflowRequestMessageSender;
-import io.zeebe.broker.system.deployment.message.CreateWorkflowResponse;
 import io.zeebe.broker.workflow.data.DeploymentEvent;
 import io.zeebe.broker.workflow.data.DeploymentState;
 import io.zeebe.protocol.impl.BrokerEventMetadata;
-import io.zeebe.transport.ClientRequest;
 import io.zeebe.util.time.ClockUtil;
-import org.agrona.DirectBuffer;
 import org.agrona.collections.LongArrayList;
-import org.slf4j.Logger;
 
 public class PendingDeploymentCheck implements Runnable
 {
-    private static final Logger LOG = Loggers.SYSTEM_LOGGER;
-
     private final PendingDeployments pendingDeployments;
     private final PendingWorkflows pendingWorkflows;
 
-    private final WorkflowRequestMessageSender workflowRequestSender;
-
     private final TypedStreamWriter writer;
     private final TypedStreamReader reader;
 
-    private final CreateWorkflowResponse response = new CreateWorkflowResponse();
-
     private final LongArrayList pendingDeploymentKeys = new LongArrayList();
     private final LongArrayList distributedDeploymentKeys = new LongArrayList();
     private final LongArrayList timedOutDeploymentKeys = new LongArrayList();
+    private final LongArrayList createdWorkflowKeys = new LongArrayList();
 
     public PendingDeploymentCheck(
-            WorkflowRequestMessageSender workflowRequestSender,
             TypedStreamReader reader,
             TypedStreamWriter writer,
             PendingDeployments pendingDeployments,
@@ -66,7 +53,6 @@ public class PendingDeploymentCheck implements Runnable
     {
         this.pendingDeployments = pendingDeployments;
         this.pendingWorkflows = pendingWorkflows;
-        this.workflowRequestSender = workflowRequestSender;
         this.writer = writer;
         this.reader = reader;
     }
@@ -76,48 +62,46 @@ public class PendingDeploymentCheck implements Runnable
     {
         if (!pendingDeployments.isEmpty())
         {
-            checkPendingRequests();
-
             checkPendingWorkflows();
         }
     }
 
-    private void checkPendingRequests()
+    /**
+     * Handles the response of a partition which has created the workflows of a
+     * deployment. Writes the distributed event immediately if it was the last
+     * pending partition of the deployment.
+     *
+     * @param lastWorkflowKey
+     *            the key of the last workflow which is created by the partition
+     */
+    public void onWorkflowsCreated(long deploymentKey, int partitionId, long lastWorkflowKey)
     {
-        // it's okay to work on the pending request because
-        // the command runs in the context of the stream processor which creates new requests
-        final Iterator<ClientRequest> iterator = workflowRequestSender.getPendingRequests().iterator();
+        createdWorkflowKeys.clear();
+
+        final PendingWorkflowIterator iterator = pendingWorkflows.iterator();
         while (iterator.hasNext())
         {
-            final ClientRequest pendingRequest = iterator.next();
+            final PendingWorkflow pendingWorkflow = iterator.next();
 
-            if (pendingRequest.isDone())
+            // ignore response if pending workflow or deployment is already processed
+            if (pendingWorkflow.getDeploymentKey() == deploymentKey
+                    && pendingWorkflow.getPartitionId() == partitionId
+                    && pendingWorkflow.getState() == PendingWorkflows.STATE_CREATE
+                    && pendingWorkflow.getWorkflowKey() <= lastWorkflowKey)
             {
-                if (pendingRequest.isFailed())
-                {
-                    LOG.info("Create workflow request with id '{}' failed.", pendingRequest.getRequestId());
-                }
-                else
-                {
-                    final DirectBuffer responseBuffer = pendingRequest.join();
-                    response.wrap(responseBuffer, 0, responseBuffer.capacity());
-
-                    final long workflowKey = response.getWorkflowKey();
-                    final int partitionId = response.getPartitionId();
-                    final long deploymentKey = response.getDeploymentKey();
-
-                    final PendingWorkflow pendingWorkflow = pendingWorkflows.get(workflowKey, partitionId);
-                    if (pendingWorkflow != null && pendingWorkflow.getState() == PendingWorkflows.STATE_CREATE)
-                    {
-                        // ignore response if pending workflow or deployment is already processed
-                        pendingWorkflows.put(workflowKey, partitionId, PendingWorkflows.STATE_CREATED, deploymentKey);
-                    }
-                }
-
-                // remove completed request
-                iterator.remove();
+                createdWorkflowKeys.addLong(pendingWorkflow.getWorkflowKey());
             }
         }
+
+        for (int i = 0; i < createdWorkflowKeys.size(); i++)
+        {
+            pendingWorkflows.put(createdWorkflowKeys.getLong(i), partitionId, PendingWorkflows.STATE_CREATED, deploymentKey);
+        }
+
+        if (!createdWorkflowKeys.isEmpty())
+        {
+            checkPendingWorkflows();
+        }
     }
 
     private void checkPendingWorkflows()
@@ -30,15 +30,16 @@ import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 /**
- * deployment-key -> (deployment-event-position, timeout, topic-name)
+ * deployment-key -> (deployment-event-position, timeout, workflow-count, topic-name)
  */
 public class PendingDeployments
 {
-    private static final int VALUE_LENGTH = 2 * SIZE_OF_LONG + SIZE_OF_INT + LogStream.MAX_TOPIC_NAME_LENGTH;
+    private static final int VALUE_LENGTH = 2 * SIZE_OF_LONG + 2 * SIZE_OF_INT + LogStream.MAX_TOPIC_NAME_LENGTH;
 
     private static final int DEPLOYMENT_EVENT_POSITION_OFFSET = 0;
     private static final int TIMEOUT_OFFSET = DEPLOYMENT_EVENT_POSITION_OFFSET + SIZE_OF_LONG;
-    private static final int TOPIC_NAME_LENGTH_OFFSET = TIMEOUT_OFFSET + SIZE_OF_LONG;
+    private static final int WORKFLOW_COUNT_OFFSET = TIMEOUT_OFFSET + SIZE_OF_LONG;
+    private static final int TOPIC_NAME_LENGTH_OFFSET = WORKFLOW_COUNT_OFFSET + SIZE_OF_INT;
     private static final int TOPIC_NAME_OFFSET = TOPIC_NAME_LENGTH_OFFSET + SIZE_OF_INT;
 
     private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
@@ -71,10 +72,11 @@ public class PendingDeployments
         }
     }
 
-    public void put(long deploymentKey, long deploymentEventPosition, long timeout, DirectBuffer topicName)
+    public void put(long deploymentKey, long deploymentEventPosition, long timeout, int workflowCount, DirectBuffer topicName)
     {
         buffer.putLong(DEPLOYMENT_EVENT_POSITION_OFFSET, deploymentEventPosition, BYTE_ORDER);
         buffer.putLong(TIMEOUT_OFFSET, timeout, BYTE_ORDER);
+        buffer.putInt(WORKFLOW_COUNT_OFFSET, workflowCount, BYTE_ORDER);
 
         final int topicNameLength = topicName.capacity();
         buffer.putInt(TOPIC_NAME_LENGTH_OFFSET, topicNameLength, BYTE_ORDER);
@@ -151,6 +153,14 @@ public class PendingDeployments
             return currentValue.getLong(TIMEOUT_OFFSET, BYTE_ORDER);
         }
 
+        /**
+         * @return the number of workflows which are created by the deployment
+         */
+        public int getWorkflowCount()
+        {
+            return currentValue.getInt(WORKFLOW_COUNT_OFFSET, BYTE_ORDER);
+        }
+
         public DirectBuffer getTopicName()
         {
             final int length = currentValue.getInt(TOPIC_NAME_LENGTH_OFFSET, BYTE_ORDER);
@@ -0,0 +1,88 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.deployment.handler;
+
+import io.zeebe.broker.system.deployment.message.CreateWorkflowResponse;
+import io.zeebe.clustering.management.CreateWorkflowResponseDecoder;
+import io.zeebe.clustering.management.MessageHeaderDecoder;
+import io.zeebe.transport.*;
+import io.zeebe.util.actor.Actor;
+import org.agrona.DirectBuffer;
+
+/**
+ * Receives the responses of the partitions which have created the workflows of
+ * a deployment, and passes them on as soon as they arrive.
+ */
+public class CreateWorkflowResponseHandler implements Actor, ClientMessageHandler
+{
+    private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+    private final CreateWorkflowResponse response = new CreateWorkflowResponse();
+
+    private final ClientTransport managementClient;
+    private final WorkflowsCreatedListener listener;
+
+    private ClientInputMessageSubscription subscription;
+
+    public CreateWorkflowResponseHandler(ClientTransport managementClient, WorkflowsCreatedListener listener)
+    {
+        this.managementClient = managementClient;
+        this.listener = listener;
+    }
+
+    public void open()
+    {
+        subscription = managementClient
+                .openSubscription("create-workflow-responses", this)
+                .join();
+    }
+
+    @Override
+    public String name()
+    {
+        return "create-workflow-responses";
+    }
+
+    @Override
+    public int doWork() throws Exception
+    {
+        return subscription.poll();
+    }
+
+    @Override
+    public boolean onMessage(ClientOutput output, RemoteAddress remoteAddress, DirectBuffer buffer, int offset, int length)
+    {
+        headerDecoder.wrap(buffer, offset);
+
+        if (headerDecoder.schemaId() == CreateWorkflowResponseDecoder.SCHEMA_ID
+                && headerDecoder.templateId() == CreateWorkflowResponseDecoder.TEMPLATE_ID)
+        {
+            response.wrap(buffer, offset, length);
+
+            listener.onWorkflowsCreated(response.getDeploymentKey(), response.getPartitionId(), response.getWorkflowKey());
+        }
+
+        return true;
+    }
+
+    @FunctionalInterface
+    public interface WorkflowsCreatedListener
+    {
+        void onWorkflowsCreated(long deploymentKey, int partitionId, long lastWorkflowKey);
+    }
+
+}
@@ -28,7 +28,7 @@ public class CreateWorkflowResponseSender
 
     private final CreateWorkflowResponse response = new CreateWorkflowResponse();
 
-    private final ServerResponse serverResponse = new ServerResponse();
+    private final TransportMessage transportMessage = new TransportMessage();
 
     private final ServerOutput output;
 
@@ -37,27 +37,33 @@ public class CreateWorkflowResponseSender
         this.output = managementServer.getOutput();
     }
 
+    /**
+     * Acknowledges that the workflows of a create workflow request are
+     * created on the partition. The response is sent as message so that the
+     * deployment processor can handle it when it arrives.
+     *
+     * @param workflowKey
+     *            the key of the last created workflow of the request
+     */
     public boolean sendCreateWorkflowResponse(
             int partitionId,
             long workflowKey,
             long deploymentKey,
-            long requestId,
             int requestStreamId)
     {
-        LOG.debug("Respond to create workflow request with id '{}'. Deployment-Key: {}, Workflow-Key: {}",
-                  requestId, deploymentKey, workflowKey);
+        LOG.debug("Respond to create workflow request of partition '{}'. Deployment-Key: {}, Workflow-Key: {}",
+                  partitionId, deploymentKey, workflowKey);
 
         response
             .partitionId(partitionId)
             .workflowKey(workflowKey)
             .deploymentKey(deploymentKey);
 
-        serverResponse.reset()
-                .requestId(requestId)
+        transportMessage.reset()
                 .remoteStreamId(requestStreamId)
                 .writer(response);
 
-        return output.sendResponse(serverResponse);
+        return output.sendMessage(transportMessage);
     }
 
 }
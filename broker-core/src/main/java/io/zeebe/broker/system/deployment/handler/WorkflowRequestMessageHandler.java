@@ -18,6 +18,7 @@
 package io.zeebe.broker.system.deployment.handler;
 
 import io.zeebe.broker.system.deployment.message.CreateWorkflowRequest;
+import io.zeebe.broker.system.deployment.message.CreateWorkflowRequest.WorkflowEntry;
 import io.zeebe.broker.system.deployment.message.DeleteWorkflowMessage;
 import io.zeebe.broker.workflow.data.WorkflowEvent;
 import io.zeebe.broker.workflow.data.WorkflowState;
@@ -29,6 +30,7 @@ import io.zeebe.transport.RemoteAddress;
 import io.zeebe.util.DeferredCommandContext;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.IntArrayList;
 
 public class WorkflowRequestMessageHandler
 {
@@ -41,41 +43,118 @@ public class WorkflowRequestMessageHandler
     private final DeferredCommandContext deferredContext = new DeferredCommandContext();
 
     private final Int2ObjectHashMap<LogStream> logStreams = new Int2ObjectHashMap<>();
+    private final Int2ObjectHashMap<LogStreamBatchWriter> batchWriters = new Int2ObjectHashMap<>();
 
     private final LogStreamWriter logStreamWriter = new LogStreamWriterImpl();
 
+    // a request which is not written to all partitions is delivered again - these partitions are skipped then
+    private long partiallyWrittenDeploymentKey = -1;
+    private final IntArrayList writtenPartitions = new IntArrayList();
+
+    /**
+     * Writes the workflows of the request as one batch to each partition.
+     * Only the last event of a batch carries the request metadata, so that the
+     * partition acknowledges the request once all workflows are processed.
+     *
+     * @return <code>false</code> if the request could not be written to all
+     *         partitions and must be handled again
+     */
     public boolean onCreateWorkflowRequest(
             DirectBuffer buffer,
             int offset,
             int length,
-            RemoteAddress remoteAddress,
-            long requestId)
+            RemoteAddress remoteAddress)
     {
-        eventMetadata.reset()
-            .requestId(requestId)
-            .requestStreamId(remoteAddress.getStreamId())
-            .protocolVersion(Protocol.PROTOCOL_VERSION)
-            .eventType(EventType.WORKFLOW_EVENT);
-
         createRequest.wrap(buffer, offset, length);
 
-        final LogStream logStream = getLogStream(createRequest.getPartitionId());
-        if (logStream != null)
+        final IntArrayList partitionIds = createRequest.getPartitionIds();
+        final int workflowCount = createRequest.getWorkflowCount();
+        final long deploymentKey = createRequest.getDeploymentKey();
+
+        if (deploymentKey != partiallyWrittenDeploymentKey)
         {
-            workflowEvent.reset();
-            workflowEvent
-                .setState(WorkflowState.CREATE)
-                .setDeploymentKey(createRequest.getDeploymentKey())
-                .setBpmnProcessId(createRequest.getBpmnProcessId())
-                .setVersion(createRequest.getVersion())
-                .setBpmnXml(createRequest.getBpmnXml());
+            writtenPartitions.clear();
+        }
+
+        boolean success = true;
+
+        for (int p = 0; p < partitionIds.size(); p++)
+        {
+            final int partitionId = partitionIds.getInt(p);
+
+            final LogStream logStream = getLogStream(partitionId);
+            if (logStream != null && workflowCount > 0 && !isWritten(partitionId))
+            {
+                final LogStreamBatchWriter logStreamBatchWriter = batchWriters.get(partitionId);
+                logStreamBatchWriter.reset();
+                logStreamBatchWriter.raftTermId(logStream.getTerm());
+
+                for (int w = 0; w < workflowCount; w++)
+                {
+                    final WorkflowEntry workflow = createRequest.getWorkflow(w);
+
+                    eventMetadata.reset()
+                        .protocolVersion(Protocol.PROTOCOL_VERSION)
+                        .eventType(EventType.WORKFLOW_EVENT);
+
+                    if (w == workflowCount - 1)
+                    {
+                        eventMetadata
+                            .requestId(createRequest.getDeploymentKey())
+                            .requestStreamId(remoteAddress.getStreamId());
+                    }
+
+                    workflowEvent.reset();
+                    workflowEvent
+                        .setState(WorkflowState.CREATE)
+                        .setDeploymentKey(createRequest.getDeploymentKey())
+                        .setBpmnProcessId(workflow.getBpmnProcessId())
+                        .setVersion(workflow.getVersion())
+                        .setBpmnXml(workflow.getBpmnXml())
+                        .setWorkflow(workflow.getWorkflow());
+
+                    logStreamBatchWriter.event()
+                        .key(workflow.getWorkflowKey())
+                        .metadataWriter(eventMetadata)
+                        .valueWriter(workflowEvent)
+                        .done();
+                }
+
+                if (logStreamBatchWriter.tryWrite() > 0)
+                {
+                    writtenPartitions.addInt(partitionId);
+                }
+                else
+                {
+                    success = false;
+                }
+            }
+        }
 
-            return writeWorkflowEvent(createRequest.getWorkflowKey(), logStream);
+        if (success)
+        {
+            partiallyWrittenDeploymentKey = -1;
+            writtenPartitions.clear();
         }
         else
         {
-            return true;
+            partiallyWrittenDeploymentKey = deploymentKey;
+        }
+
+        return success;
+    }
+
+    private boolean isWritten(int partitionId)
+    {
+        for (int i = 0; i < writtenPartitions.size(); i++)
+        {
+            if (writtenPartitions.getInt(i) == partitionId)
+            {
+                return true;
+            }
         }
+
+        return false;
     }
 
     public boolean onDeleteWorkflowMessage(
@@ -132,11 +211,19 @@ public class WorkflowRequestMessageHandler
 
     public void addStream(final LogStream logStream)
     {
-        deferredContext.runAsync(() -> logStreams.put(logStream.getPartitionId(), logStream));
+        deferredContext.runAsync(() ->
+        {
+            logStreams.put(logStream.getPartitionId(), logStream);
+            batchWriters.put(logStream.getPartitionId(), new LogStreamBatchWriterImpl(logStream));
+        });
     }
 
     public void removeStream(final LogStream logStream)
     {
-        deferredContext.runAsync(() -> logStreams.remove(logStream.getPartitionId()));
+        deferredContext.runAsync(() ->
+        {
+            logStreams.remove(logStream.getPartitionId());
+            batchWriters.remove(logStream.getPartitionId());
+        });
     }
 }
@@ -27,8 +27,10 @@ import io.zeebe.broker.system.deployment.message.CreateWorkflowRequest;
 import io.zeebe.broker.system.deployment.message.DeleteWorkflowMessage;
 import io.zeebe.broker.workflow.data.WorkflowEvent;
 import io.zeebe.transport.*;
+import io.zeebe.util.buffer.BufferUtil;
 import io.zeebe.util.buffer.BufferWriter;
 import io.zeebe.util.collection.IntIterator;
+import org.agrona.DirectBuffer;
 import org.agrona.collections.IntArrayList;
 import org.slf4j.Logger;
 
@@ -42,7 +44,10 @@ public class WorkflowRequestMessageSender
 
     private final TransportMessage transportMessage = new TransportMessage();
 
-    private final Queue<ClientRequest> pendingRequests = new ArrayDeque<>();
+    private final IntArrayList memberPartitionIds = new IntArrayList();
+
+    private final List<BufferedWorkflow> bufferedWorkflows = new ArrayList<>();
+    private long bufferedDeploymentKey = -1L;
 
     private final PartitionManager partitionManager;
     private final ClientTransport managementClient;
@@ -55,27 +60,97 @@ public class WorkflowRequestMessageSender
         this.output = managementClient.getOutput();
     }
 
+    /**
+     * Collects the workflows of a deployment and sends them when the last one
+     * is added. Each broker receives one message with all workflows for all
+     * partitions of the topic which it leads.
+     *
+     * <p>
+     * The workflows of a deployment are written as one batch, so they are
+     * processed one after another. Adding the same workflow again (e.g. when
+     * the side effect is retried) has no effect.
+     *
+     * @param workflowCount
+     *            the number of workflows of the deployment
+     * @return <code>false</code>, if the workflows could not be sent and the
+     *         operation should be retried
+     */
     public boolean sendCreateWorkflowRequest(
             IntArrayList partitionIds,
+            int workflowCount,
             long workflowKey,
             WorkflowEvent event)
     {
-        createRequest
-            .workflowKey(workflowKey)
-            .deploymentKey(event.getDeploymentKey())
-            .version(event.getVersion())
-            .bpmnProcessId(event.getBpmnProcessId())
-            .bpmnXml(event.getBpmnXml());
+        final long deploymentKey = event.getDeploymentKey();
+
+        if (deploymentKey != bufferedDeploymentKey)
+        {
+            // discard the workflows of a deployment that was not completed
+            bufferedWorkflows.clear();
+            bufferedDeploymentKey = deploymentKey;
+        }
 
-        return forEachPartition(partitionIds, createRequest::partitionId, addr ->
+        final int bufferedCount = bufferedWorkflows.size();
+        if (bufferedCount == 0 || bufferedWorkflows.get(bufferedCount - 1).workflowKey != workflowKey)
         {
-            final long requestId = sendRequest(createRequest, addr);
+            bufferedWorkflows.add(new BufferedWorkflow(workflowKey, event));
+        }
 
-            LOG.debug("Send create workflow request to '{}'. Request-Id: {}, Deployment-Key: {}, Workflow-Key: {}",
-                      addr, requestId, event.getDeploymentKey(), workflowKey);
+        if (bufferedWorkflows.size() < workflowCount)
+        {
+            return true;
+        }
 
-            return requestId >= 0;
-        });
+        final boolean success = forEachMember(partitionIds, (addr, memberPartitionIds) -> sendCreateWorkflowRequests(deploymentKey, addr, memberPartitionIds));
+
+        if (success)
+        {
+            bufferedWorkflows.clear();
+            bufferedDeploymentKey = -1L;
+        }
+
+        return success;
+    }
+
+    private boolean sendCreateWorkflowRequests(long deploymentKey, SocketAddress addr, IntArrayList memberPartitionIds)
+    {
+        boolean success = true;
+
+        // split the message if it exceeds the group limits
+        for (int p = 0; p < memberPartitionIds.size() && success; p += CreateWorkflowRequest.MAX_GROUP_SIZE)
+        {
+            for (int w = 0; w < bufferedWorkflows.size() && success; w += CreateWorkflowRequest.MAX_GROUP_SIZE)
+            {
+                createRequest.reset()
+                    .deploymentKey(deploymentKey);
+
+                final int partitionLimit = Math.min(p + CreateWorkflowRequest.MAX_GROUP_SIZE, memberPartitionIds.size());
+                for (int i = p; i < partitionLimit; i++)
+                {
+                    createRequest.addPartitionId(memberPartitionIds.getInt(i));
+                }
+
+                final int workflowLimit = Math.min(w + CreateWorkflowRequest.MAX_GROUP_SIZE, bufferedWorkflows.size());
+                for (int i = w; i < workflowLimit; i++)
+                {
+                    final BufferedWorkflow workflow = bufferedWorkflows.get(i);
+
+                    createRequest.addWorkflow(
+                            workflow.workflowKey,
+                            workflow.version,
+                            workflow.bpmnProcessId,
+                            workflow.bpmnXml,
+                            workflow.workflow);
+                }
+
+                LOG.debug("Send create workflow request to '{}'. Deployment-Key: {}, Partitions: {}, Workflows: {}",
+                          addr, deploymentKey, partitionLimit - p, workflowLimit - w);
+
+                success = sendMessage(createRequest, addr);
+            }
+        }
+
+        return success;
     }
 
     public boolean sendDeleteWorkflowMessage(
@@ -125,22 +200,35 @@ public class WorkflowRequestMessageSender
         return success;
     }
 
-    private long sendRequest(final BufferWriter request, final SocketAddress addr)
+    private boolean forEachMember(IntArrayList partitionIds, BiBooleanConsumer<SocketAddress, IntArrayList> action)
     {
-        final RemoteAddress remoteAddress = managementClient.registerRemoteAddress(addr);
-
-        final ClientRequest clientRequest = output.sendRequest(remoteAddress, request);
+        boolean success = true;
 
-        if (clientRequest != null)
+        final Iterator<Member> members = partitionManager.getKnownMembers();
+        while (members.hasNext() && success)
         {
-            pendingRequests.add(clientRequest);
+            final Member member = members.next();
 
-            return clientRequest.getRequestId();
-        }
-        else
-        {
-            return -1L;
+            memberPartitionIds.clear();
+
+            final IntIterator leadingPartitions = member.getLeadingPartitions();
+            while (leadingPartitions.hasNext())
+            {
+                final int partitionId = leadingPartitions.nextInt();
+
+                if (partitionIds.containsInt(partitionId))
+                {
+                    memberPartitionIds.addInt(partitionId);
+                }
+            }
+
+            if (!memberPartitionIds.isEmpty())
+            {
+                success = action.apply(member.getManagementAddress(), memberPartitionIds);
+            }
         }
+
+        return success;
     }
 
     private boolean sendMessage(final BufferWriter message, final SocketAddress addr)
@@ -152,15 +240,37 @@ public class WorkflowRequestMessageSender
         return output.sendMessage(transportMessage);
     }
 
-    public Collection<ClientRequest> getPendingRequests()
+    @FunctionalInterface
+    private interface BooleanConsumer<T>
     {
-        return pendingRequests;
+        boolean apply(T value);
     }
 
     @FunctionalInterface
-    private interface BooleanConsumer<T>
+    private interface BiBooleanConsumer<T, U>
     {
-        boolean apply(T value);
+        boolean apply(T value, U otherValue);
+    }
+
+    private static class BufferedWorkflow
+    {
+        private final long workflowKey;
+        private final int version;
+
+        private final DirectBuffer bpmnProcessId;
+        private final DirectBuffer bpmnXml;
+        private final DirectBuffer workflow;
+
+        BufferedWorkflow(long workflowKey, WorkflowEvent event)
+        {
+            this.workflowKey = workflowKey;
+            this.version = event.getVersion();
+
+            // the event is reused by the stream processor
+            this.bpmnProcessId = BufferUtil.cloneBuffer(event.getBpmnProcessId());
+            this.bpmnXml = BufferUtil.cloneBuffer(event.getBpmnXml());
+            this.workflow = BufferUtil.cloneBuffer(event.getWorkflow());
+        }
     }
 
 }
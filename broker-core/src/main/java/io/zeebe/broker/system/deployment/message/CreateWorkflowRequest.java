@@ -17,15 +17,37 @@
  */
 package io.zeebe.broker.system.deployment.message;
 
+import static io.zeebe.clustering.management.CreateWorkflowRequestEncoder.WorkflowsEncoder.bpmnProcessIdHeaderLength;
+import static io.zeebe.clustering.management.CreateWorkflowRequestEncoder.WorkflowsEncoder.bpmnXmlHeaderLength;
+import static io.zeebe.clustering.management.CreateWorkflowRequestEncoder.WorkflowsEncoder.workflowHeaderLength;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import io.zeebe.clustering.management.*;
+import io.zeebe.clustering.management.CreateWorkflowRequestDecoder.PartitionsDecoder;
+import io.zeebe.clustering.management.CreateWorkflowRequestDecoder.WorkflowsDecoder;
+import io.zeebe.clustering.management.CreateWorkflowRequestEncoder.PartitionsEncoder;
+import io.zeebe.clustering.management.CreateWorkflowRequestEncoder.WorkflowsEncoder;
 import io.zeebe.util.buffer.BufferReader;
 import io.zeebe.util.buffer.BufferWriter;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.IntArrayList;
 import org.agrona.concurrent.UnsafeBuffer;
 
+/**
+ * Creates the workflows of a deployment on all given partitions. A broker
+ * receives one message for all partitions of the topic which it leads.
+ */
 public class CreateWorkflowRequest implements BufferReader, BufferWriter
 {
+    /**
+     * The maximum number of partitions and workflows which can be sent with
+     * one message, limited by the size of the message groups.
+     */
+    public static final int MAX_GROUP_SIZE = 255;
 
     private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
     private final CreateWorkflowRequestEncoder bodyEncoder = new CreateWorkflowRequestEncoder();
@@ -33,35 +55,46 @@ public class CreateWorkflowRequest implements BufferReader, BufferWriter
     private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
     private final CreateWorkflowRequestDecoder bodyDecoder = new CreateWorkflowRequestDecoder();
 
-    private int partitionId = CreateWorkflowRequestEncoder.partitionIdNullValue();
-    private long workflowKey = CreateWorkflowRequestEncoder.workflowKeyNullValue();
     private long deploymentKey = CreateWorkflowRequestEncoder.deploymentKeyNullValue();
-    private int version = CreateWorkflowRequestEncoder.versionNullValue();
 
-    private final DirectBuffer bpmnProcessId = new UnsafeBuffer(0, 0);
-    private final DirectBuffer bpmnXml = new UnsafeBuffer(0, 0);
+    private final IntArrayList partitionIds = new IntArrayList();
 
-    @Override
-    public int getLength()
-    {
-        return headerEncoder.encodedLength() +
-                bodyEncoder.sbeBlockLength() +
-                CreateWorkflowRequestEncoder.bpmnProcessIdHeaderLength() +
-                bpmnProcessId.capacity() +
-                CreateWorkflowRequestEncoder.bpmnXmlHeaderLength() +
-                bpmnXml.capacity();
-    }
+    // workflow entries are reused, only the first workflowCount ones are valid
+    private final List<WorkflowEntry> workflows = new ArrayList<>();
+    private int workflowCount = 0;
 
-    public CreateWorkflowRequest partitionId(int partitionId)
+    public CreateWorkflowRequest reset()
     {
-        this.partitionId = partitionId;
+        deploymentKey = CreateWorkflowRequestEncoder.deploymentKeyNullValue();
+        partitionIds.clear();
+        workflowCount = 0;
+
         return this;
     }
 
-    public CreateWorkflowRequest workflowKey(long workflowKey)
+    @Override
+    public int getLength()
     {
-        this.workflowKey = workflowKey;
-        return this;
+        int length = headerEncoder.encodedLength() + bodyEncoder.sbeBlockLength();
+
+        length += PartitionsEncoder.sbeHeaderSize() + PartitionsEncoder.sbeBlockLength() * partitionIds.size();
+
+        length += WorkflowsEncoder.sbeHeaderSize();
+
+        for (int i = 0; i < workflowCount; i++)
+        {
+            final WorkflowEntry workflow = workflows.get(i);
+
+            length += WorkflowsEncoder.sbeBlockLength() +
+                    bpmnProcessIdHeaderLength() +
+                    workflow.bpmnProcessId.capacity() +
+                    bpmnXmlHeaderLength() +
+                    workflow.bpmnXml.capacity() +
+                    workflowHeaderLength() +
+                    workflow.workflow.capacity();
+        }
+
+        return length;
     }
 
     public CreateWorkflowRequest deploymentKey(long deploymentKey)
@@ -70,22 +103,45 @@ public class CreateWorkflowRequest implements BufferReader, BufferWriter
         return this;
     }
 
-    public CreateWorkflowRequest version(int version)
+    public CreateWorkflowRequest addPartitionId(int partitionId)
     {
-        this.version = version;
+        partitionIds.addInt(partitionId);
         return this;
     }
 
-    public CreateWorkflowRequest bpmnProcessId(DirectBuffer bpmnProcessId)
+    /**
+     * Adds a workflow to the request. The buffers are not copied and must be
+     * valid until the request is written.
+     */
+    public CreateWorkflowRequest addWorkflow(
+            long workflowKey,
+            int version,
+            DirectBuffer bpmnProcessId,
+            DirectBuffer bpmnXml,
+            DirectBuffer workflow)
     {
-        this.bpmnProcessId.wrap(bpmnProcessId);
+        final WorkflowEntry entry = nextWorkflowEntry();
+
+        entry.workflowKey = workflowKey;
+        entry.version = version;
+        entry.bpmnProcessId.wrap(bpmnProcessId);
+        entry.bpmnXml.wrap(bpmnXml);
+        entry.workflow.wrap(workflow);
+
         return this;
     }
 
-    public CreateWorkflowRequest bpmnXml(DirectBuffer bpmnXml)
+    private WorkflowEntry nextWorkflowEntry()
     {
-        this.bpmnXml.wrap(bpmnXml);
-        return this;
+        if (workflowCount == workflows.size())
+        {
+            workflows.add(new WorkflowEntry());
+        }
+
+        final WorkflowEntry entry = workflows.get(workflowCount);
+        workflowCount += 1;
+
+        return entry;
     }
 
     @Override
@@ -98,19 +154,38 @@ public class CreateWorkflowRequest implements BufferReader, BufferWriter
             .version(bodyEncoder.sbeSchemaVersion());
 
         bodyEncoder.wrap(buffer, offset + headerEncoder.encodedLength())
-            .partitionId(partitionId)
-            .workflowKey(workflowKey)
-            .deploymentKey(deploymentKey)
-            .version(version)
-            .putBpmnProcessId(bpmnProcessId, 0, bpmnProcessId.capacity())
-            .putBpmnXml(bpmnXml, 0, bpmnXml.capacity());
+            .deploymentKey(deploymentKey);
+
+        final int partitionCount = partitionIds.size();
+        final PartitionsEncoder partitionsEncoder = bodyEncoder.partitionsCount(partitionCount);
+
+        for (int i = 0; i < partitionCount; i++)
+        {
+            partitionsEncoder.next()
+                .partitionId(partitionIds.getInt(i));
+        }
+
+        final WorkflowsEncoder workflowsEncoder = bodyEncoder.workflowsCount(workflowCount);
+
+        for (int i = 0; i < workflowCount; i++)
+        {
+            final WorkflowEntry workflow = workflows.get(i);
+
+            workflowsEncoder.next()
+                .workflowKey(workflow.workflowKey)
+                .version(workflow.version)
+                .putBpmnProcessId(workflow.bpmnProcessId, 0, workflow.bpmnProcessId.capacity())
+                .putBpmnXml(workflow.bpmnXml, 0, workflow.bpmnXml.capacity())
+                .putWorkflow(workflow.workflow, 0, workflow.workflow.capacity());
+        }
     }
 
     @Override
     public void wrap(DirectBuffer buffer, int offset, int length)
     {
-        headerDecoder.wrap(buffer, offset);
+        reset();
 
+        headerDecoder.wrap(buffer, offset);
         offset += headerDecoder.encodedLength();
 
         bodyDecoder.wrap(buffer,
@@ -118,35 +193,36 @@ public class CreateWorkflowRequest implements BufferReader, BufferWriter
                 headerDecoder.blockLength(),
                 headerDecoder.version());
 
-        partitionId = bodyDecoder.partitionId();
-        workflowKey = bodyDecoder.workflowKey();
         deploymentKey = bodyDecoder.deploymentKey();
-        version = bodyDecoder.version();
-
-        offset += headerDecoder.blockLength();
-
-        final int bpmnProcessIdLength = bodyDecoder.bpmnProcessIdLength();
-        offset += CreateWorkflowRequestEncoder.bpmnProcessIdHeaderLength();
-
-        bpmnProcessId.wrap(buffer, offset, bpmnProcessIdLength);
 
-        offset += bpmnProcessIdLength;
-        bodyDecoder.limit(offset);
-
-        final int bpmnXmlLength = bodyDecoder.bpmnXmlLength();
-        offset += CreateWorkflowRequestEncoder.bpmnXmlHeaderLength();
-
-        bpmnXml.wrap(buffer, offset, bpmnXmlLength);
+        final Iterator<PartitionsDecoder> partitions = bodyDecoder.partitions().iterator();
+        while (partitions.hasNext())
+        {
+            partitionIds.addInt(partitions.next().partitionId());
+        }
+
+        final Iterator<WorkflowsDecoder> workflowsIterator = bodyDecoder.workflows().iterator();
+        while (workflowsIterator.hasNext())
+        {
+            final WorkflowsDecoder decoder = workflowsIterator.next();
+            final WorkflowEntry entry = nextWorkflowEntry();
+
+            entry.workflowKey = decoder.workflowKey();
+            entry.version = decoder.version();
+
+            // wrap the var data instead of copying it
+            wrapVarData(buffer, decoder.bpmnProcessIdLength(), bpmnProcessIdHeaderLength(), entry.bpmnProcessId);
+            wrapVarData(buffer, decoder.bpmnXmlLength(), bpmnXmlHeaderLength(), entry.bpmnXml);
+            wrapVarData(buffer, decoder.workflowLength(), workflowHeaderLength(), entry.workflow);
+        }
     }
 
-    public int getPartitionId()
+    private void wrapVarData(DirectBuffer buffer, int length, int headerLength, UnsafeBuffer view)
     {
-        return partitionId;
-    }
+        final int offset = bodyDecoder.limit() + headerLength;
+        view.wrap(buffer, offset, length);
 
-    public long getWorkflowKey()
-    {
-        return workflowKey;
+        bodyDecoder.limit(offset + length);
     }
 
     public long getDeploymentKey()
@@ -154,19 +230,59 @@ public class CreateWorkflowRequest implements BufferReader, BufferWriter
         return deploymentKey;
     }
 
-    public int getVersion()
+    public IntArrayList getPartitionIds()
     {
-        return version;
+        return partitionIds;
     }
 
-    public DirectBuffer getBpmnProcessId()
+    public int getWorkflowCount()
     {
-        return bpmnProcessId;
+        return workflowCount;
+    }
+
+    public WorkflowEntry getWorkflow(int index)
+    {
+        if (index >= workflowCount)
+        {
+            throw new IndexOutOfBoundsException("Index " + index + " exceeds workflow count " + workflowCount);
+        }
+
+        return workflows.get(index);
     }
 
-    public DirectBuffer getBpmnXml()
+    public static class WorkflowEntry
     {
-        return bpmnXml;
+        private long workflowKey;
+        private int version;
+
+        private final UnsafeBuffer bpmnProcessId = new UnsafeBuffer(0, 0);
+        private final UnsafeBuffer bpmnXml = new UnsafeBuffer(0, 0);
+        private final UnsafeBuffer workflow = new UnsafeBuffer(0, 0);
+
+        public long getWorkflowKey()
+        {
+            return workflowKey;
+        }
+
+        public int getVersion()
+        {
+            return version;
+        }
+
+        public DirectBuffer getBpmnProcessId()
+        {
+            return bpmnProcessId;
+        }
+
+        public DirectBuffer getBpmnXml()
+        {
+            return bpmnXml;
+        }
+
+        public DirectBuffer getWorkflow()
+        {
+            return workflow;
+        }
     }
 
 }
@@ -25,7 +25,9 @@ import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Consumer;
 
 import io.zeebe.broker.Loggers;
@@ -36,6 +38,7 @@ import io.zeebe.broker.system.deployment.data.PendingDeployments.PendingDeployme
 import io.zeebe.broker.system.deployment.data.TopicPartitions.TopicPartition;
 import io.zeebe.broker.system.deployment.data.TopicPartitions.TopicPartitionIterator;
 import io.zeebe.broker.workflow.data.*;
+import io.zeebe.broker.workflow.graph.WorkflowGraphCompiler;
 import io.zeebe.model.bpmn.BpmnModelApi;
 import io.zeebe.model.bpmn.ValidationResult;
 import io.zeebe.model.bpmn.instance.Workflow;
@@ -54,6 +57,7 @@ public class DeploymentCreateProcessor implements TypedEventProcessor<Deployment
     private static final Logger LOG = Loggers.SYSTEM_LOGGER;
 
     private final BpmnModelApi bpmn = new BpmnModelApi();
+    private final WorkflowGraphCompiler workflowCompiler = new WorkflowGraphCompiler();
 
     private final WorkflowEvent workflowEvent = new WorkflowEvent();
 
@@ -65,6 +69,9 @@ public class DeploymentCreateProcessor implements TypedEventProcessor<Deployment
 
     private final DeploymentResourceIterator deploymentResourceIterator = new DeploymentResourceIterator();
 
+    // compiled once here and distributed to the partitions - in the order of the deployed workflows
+    private final List<DirectBuffer> compiledWorkflows = new ArrayList<>();
+
     public DeploymentCreateProcessor(
             TopicPartitions topicPartitions,
             WorkflowVersions workflowVersions,
@@ -148,6 +155,7 @@ public class DeploymentCreateProcessor implements TypedEventProcessor<Deployment
         boolean success = true;
 
         deploymentResourceIterator.wrap(deploymentEvent);
+        compiledWorkflows.clear();
 
         if (!deploymentResourceIterator.hasNext())
         {
@@ -245,6 +253,8 @@ public class DeploymentCreateProcessor implements TypedEventProcessor<Deployment
                 resourceIterator.addDeployedWorkflow()
                     .setBpmnProcessId(bpmnProcessId)
                     .setVersion(latestVersion + 1);
+
+                compiledWorkflows.add(workflowCompiler.compile(workflow));
             }
         }
     }
@@ -288,6 +298,8 @@ public class DeploymentCreateProcessor implements TypedEventProcessor<Deployment
 
             batch.addFollowUpEvent(event.getKey(), deploymentEvent, addRequestMetadata(event));
 
+            int workflowIndex = 0;
+
             final DeployedWorkflowIterator deployedWorkflowIterator = deploymentResourceIterator.getDeployedWorkflows();
             while (deployedWorkflowIterator.hasNext())
             {
@@ -298,8 +310,11 @@ public class DeploymentCreateProcessor implements TypedEventProcessor<Deployment
                     .setBpmnProcessId(deployedWorkflow.getBpmnProcessId())
                     .setVersion(deployedWorkflow.getVersion())
                     .setBpmnXml(deployedWorkflowIterator.getDeploymentResource().getResource())
+                    .setWorkflow(compiledWorkflows.get(workflowIndex))
                     .setDeploymentKey(event.getKey());
 
+                workflowIndex += 1;
+
                 batch.addNewEvent(workflowEvent);
             }
 
@@ -326,7 +341,7 @@ public class DeploymentCreateProcessor implements TypedEventProcessor<Deployment
 
             final long timeout = ClockUtil.getCurrentTimeInMillis() + timeoutInMillis;
 
-            pendingDeployments.put(event.getKey(), -1L, timeout, deploymentEvent.getTopicName());
+            pendingDeployments.put(event.getKey(), -1L, timeout, compiledWorkflows.size(), deploymentEvent.getTopicName());
         }
     }
 
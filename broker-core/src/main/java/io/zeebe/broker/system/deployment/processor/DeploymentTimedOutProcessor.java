@@ -133,7 +133,9 @@ public class DeploymentTimedOutProcessor implements TypedEventProcessor<Deployme
         {
             // reset timeout to avoid another invocation
             // -- remove the pending deployment when all delete workflow messages are sent while process the reject event
-            pendingDeployments.put(event.getKey(), event.getPosition(), -1L, deploymentEvent.getTopicName());
+            final PendingDeployment pendingDeployment = pendingDeployments.get(event.getKey());
+
+            pendingDeployments.put(event.getKey(), event.getPosition(), -1L, pendingDeployment.getWorkflowCount(), deploymentEvent.getTopicName());
         }
     }
 }
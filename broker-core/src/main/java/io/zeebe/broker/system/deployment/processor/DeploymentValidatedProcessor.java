@@ -55,7 +55,7 @@ public class DeploymentValidatedProcessor implements TypedEventProcessor<Deploym
         final PendingDeployment pendingDeployment = pendingDeployments.get(deploymentKey);
         ensureNotNull("pending deployment", pendingDeployment);
 
-        pendingDeployments.put(deploymentKey, event.getPosition(), pendingDeployment.getTimeout(), pendingDeployment.getTopicName());
+        pendingDeployments.put(deploymentKey, event.getPosition(), pendingDeployment.getTimeout(), pendingDeployment.getWorkflowCount(), pendingDeployment.getTopicName());
     }
 
 }
@@ -40,6 +40,7 @@ public class WorkflowCreateProcessor implements TypedEventProcessor<WorkflowEven
     private final WorkflowRequestMessageSender workflowRequestSender;
 
     private final IntArrayList partitionIds = new IntArrayList();
+    private int workflowCount;
 
     public WorkflowCreateProcessor(
             TopicPartitions topicPartitions,
@@ -63,6 +64,8 @@ public class WorkflowCreateProcessor implements TypedEventProcessor<WorkflowEven
         final PendingDeployment pendingDeployment = pendingDeployments.get(workflowEvent.getDeploymentKey());
         ensureNotNull("pending deployment", pendingDeployment);
 
+        workflowCount = pendingDeployment.getWorkflowCount();
+
         final DirectBuffer topicName = pendingDeployment.getTopicName();
 
         final TopicPartitionIterator iterator = topicPartitions.iterator();
@@ -84,6 +87,7 @@ public class WorkflowCreateProcessor implements TypedEventProcessor<WorkflowEven
     {
         return workflowRequestSender.sendCreateWorkflowRequest(
                    partitionIds,
+                   workflowCount,
                    event.getKey(),
                    event.getValue());
     }
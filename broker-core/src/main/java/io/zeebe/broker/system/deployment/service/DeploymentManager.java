@@ -33,6 +33,7 @@ import io.zeebe.broker.system.deployment.data.PendingDeployments;
 import io.zeebe.broker.system.deployment.data.PendingWorkflows;
 import io.zeebe.broker.system.deployment.data.TopicPartitions;
 import io.zeebe.broker.system.deployment.data.WorkflowVersions;
+import io.zeebe.broker.system.deployment.handler.CreateWorkflowResponseHandler;
 import io.zeebe.broker.system.deployment.handler.WorkflowRequestMessageSender;
 import io.zeebe.broker.system.deployment.processor.DeploymentCreateProcessor;
 import io.zeebe.broker.system.deployment.processor.DeploymentDistributedProcessor;
@@ -56,6 +57,8 @@ import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.transport.ClientTransport;
 import io.zeebe.transport.ServerTransport;
+import io.zeebe.util.actor.ActorReference;
+import io.zeebe.util.actor.ActorScheduler;
 
 public class DeploymentManager implements Service<DeploymentManager>
 {
@@ -63,6 +66,7 @@ public class DeploymentManager implements Service<DeploymentManager>
     private final Injector<ClientTransport> managementClientInjector = new Injector<>();
     private final Injector<ServerTransport> clientApiTransportInjector = new Injector<>();
     private final Injector<ScheduledExecutor> scheduledExecutorInjector = new Injector<>();
+    private final Injector<ActorScheduler> actorSchedulerInjector = new Injector<>();
 
     private final SystemConfiguration systemConfiguration;
 
@@ -72,8 +76,10 @@ public class DeploymentManager implements Service<DeploymentManager>
     private ClientTransport managementClient;
     private ServerTransport clientApiTransport;
     private ScheduledExecutor scheduledExecutor;
+    private ActorScheduler actorScheduler;
 
     private ScheduledCommand scheduledChecker;
+    private ActorReference responseHandlerRef;
 
     private final ServiceGroupReference<LogStream> systemStreamGroupReference = ServiceGroupReference.<LogStream>create()
             .onAdd((name, stream) -> installDeploymentStreamProcessor(stream, name))
@@ -93,6 +99,7 @@ public class DeploymentManager implements Service<DeploymentManager>
         managementClient = managementClientInjector.getValue();
         clientApiTransport = clientApiTransportInjector.getValue();
         scheduledExecutor = getScheduledExecutorInjector().getValue();
+        actorScheduler = actorSchedulerInjector.getValue();
     }
 
     private void installDeploymentStreamProcessor(final LogStream logStream, ServiceName<LogStream> serviceName)
@@ -136,31 +143,29 @@ public class DeploymentManager implements Service<DeploymentManager>
              .dependency(serviceName, streamProcessorService.getSourceStreamInjector())
              .dependency(serviceName, streamProcessorService.getTargetStreamInjector())
              .dependency(LogStreamServiceNames.SNAPSHOT_STORAGE_SERVICE, streamProcessorService.getSnapshotStorageInjector())
-             .dependency(SystemServiceNames.ACTOR_SCHEDULER_SERVICE, streamProcessorService.getActorSchedulerInjector())
+             .dependency(SystemServiceNames.PARTITION_ACTOR_SCHEDULERS_SERVICE, streamProcessorService.getActorSchedulersInjector())
              .install()
              .thenRun(() ->
              {
-                 scheduledChecker = scheduleChecker(streamEnvironment, streamProcessor, workflowRequestMessageSender, pendingDeployments, pendingWorkflows);
+                 final PendingDeploymentCheck pendingDeploymentCheck = new PendingDeploymentCheck(
+                        streamEnvironment.buildStreamReader(),
+                        streamEnvironment.buildStreamWriter(),
+                        pendingDeployments,
+                        pendingWorkflows);
+
+                 // responses are handled when they arrive - the check detects timed out
+                 // deployments and retries to write the events if it failed before
+                 scheduledChecker = scheduledExecutor.scheduleAtFixedRate(() -> streamProcessor.runAsync(pendingDeploymentCheck), Duration.ofMillis(250));
+
+                 final CreateWorkflowResponseHandler responseHandler = new CreateWorkflowResponseHandler(managementClient,
+                     (deploymentKey, partitionId, lastWorkflowKey) ->
+                         streamProcessor.runAsync(() -> pendingDeploymentCheck.onWorkflowsCreated(deploymentKey, partitionId, lastWorkflowKey)));
+
+                 responseHandler.open();
+                 responseHandlerRef = actorScheduler.schedule(responseHandler);
              });
     }
 
-    private ScheduledCommand scheduleChecker(
-            final TypedStreamEnvironment streamEnvironment,
-            final TypedStreamProcessor streamProcessor,
-            final WorkflowRequestMessageSender workflowRequestSender,
-            final PendingDeployments pendingDeployments,
-            final PendingWorkflows pendingWorkflows)
-    {
-        final PendingDeploymentCheck command = new PendingDeploymentCheck(
-               workflowRequestSender,
-               streamEnvironment.buildStreamReader(),
-               streamEnvironment.buildStreamWriter(),
-               pendingDeployments,
-               pendingWorkflows);
-
-        return scheduledExecutor.scheduleAtFixedRate(() -> streamProcessor.runAsync(command), Duration.ofMillis(250));
-    }
-
     @Override
     public void stop(ServiceStopContext stopContext)
     {
@@ -168,6 +173,11 @@ public class DeploymentManager implements Service<DeploymentManager>
         {
             scheduledChecker.cancel();
         }
+
+        if (responseHandlerRef != null)
+        {
+            responseHandlerRef.close();
+        }
     }
 
     @Override
@@ -200,4 +210,9 @@ public class DeploymentManager implements Service<DeploymentManager>
         return scheduledExecutorInjector;
     }
 
+    public Injector<ActorScheduler> getActorSchedulerInjector()
+    {
+        return actorSchedulerInjector;
+    }
+
 }
@@ -103,7 +103,7 @@ public class SystemPartitionManager implements Service<SystemPartitionManager>
             .dependency(logStreamName, streamProcessorService.getSourceStreamInjector())
             .dependency(logStreamName, streamProcessorService.getTargetStreamInjector())
             .dependency(LogStreamServiceNames.SNAPSHOT_STORAGE_SERVICE, streamProcessorService.getSnapshotStorageInjector())
-            .dependency(SystemServiceNames.ACTOR_SCHEDULER_SERVICE, streamProcessorService.getActorSchedulerInjector())
+            .dependency(SystemServiceNames.PARTITION_ACTOR_SCHEDULERS_SERVICE, streamProcessorService.getActorSchedulersInjector())
             .install();
 
 
@@ -143,7 +143,7 @@ public class SystemPartitionManager implements Service<SystemPartitionManager>
             .dependency(logStreamName, streamProcessorService.getSourceStreamInjector())
             .dependency(logStreamName, streamProcessorService.getTargetStreamInjector())
             .dependency(LogStreamServiceNames.SNAPSHOT_STORAGE_SERVICE, streamProcessorService.getSnapshotStorageInjector())
-            .dependency(SystemServiceNames.ACTOR_SCHEDULER_SERVICE, streamProcessorService.getActorSchedulerInjector())
+            .dependency(SystemServiceNames.PARTITION_ACTOR_SCHEDULERS_SERVICE, streamProcessorService.getActorSchedulersInjector())
             .install();
     }
 
@@ -81,7 +81,7 @@ public class ActorSchedulerService implements Service<ActorScheduler>
     @Override
     public void start(ServiceStartContext serviceContext)
     {
-        final IdleStrategy idleStrategy = createIdleStrategy(brokerIdleStrategy);
+        final IdleStrategy idleStrategy = createIdleStrategy(brokerIdleStrategy, maxIdleTimeMs);
         final ErrorHandler errorHandler = t -> t.printStackTrace();
 
         scheduler = new ActorSchedulerBuilder()
@@ -113,7 +113,7 @@ public class ActorSchedulerService implements Service<ActorScheduler>
         return scheduler;
     }
 
-    protected IdleStrategy createIdleStrategy(BrokerIdleStrategy idleStrategy)
+    protected static IdleStrategy createIdleStrategy(BrokerIdleStrategy idleStrategy, int maxIdleTimeMs)
     {
         switch (idleStrategy)
         {
@@ -0,0 +1,74 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.threads;
+
+import io.zeebe.util.actor.ActorScheduler;
+
+/**
+ * Assigns the actors of a partition to a scheduler. If partition affinity is
+ * disabled, all partitions share the broker's default scheduler. Otherwise,
+ * each partition is assigned to one of the partition schedulers (which run a
+ * single thread each), so that its log stream, raft and stream processor
+ * actors always run on the same thread.
+ */
+public class PartitionActorSchedulers
+{
+    protected final ActorScheduler defaultScheduler;
+    protected final ActorScheduler[] partitionSchedulers;
+
+    public PartitionActorSchedulers(ActorScheduler defaultScheduler)
+    {
+        this(defaultScheduler, new ActorScheduler[0]);
+    }
+
+    public PartitionActorSchedulers(ActorScheduler defaultScheduler, ActorScheduler[] partitionSchedulers)
+    {
+        this.defaultScheduler = defaultScheduler;
+        this.partitionSchedulers = partitionSchedulers;
+    }
+
+    public ActorScheduler forPartition(int partitionId)
+    {
+        if (partitionSchedulers.length == 0)
+        {
+            return defaultScheduler;
+        }
+        else
+        {
+            return partitionSchedulers[partitionId % partitionSchedulers.length];
+        }
+    }
+
+    public ActorScheduler getDefaultScheduler()
+    {
+        return defaultScheduler;
+    }
+
+    public int getPartitionSchedulerCount()
+    {
+        return partitionSchedulers.length;
+    }
+
+    public void close()
+    {
+        for (int i = 0; i < partitionSchedulers.length; i++)
+        {
+            partitionSchedulers[i].close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.threads;
+
+import org.agrona.ErrorHandler;
+import org.slf4j.Logger;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.broker.system.ConfigurationManager;
+import io.zeebe.broker.system.threads.cfg.ThreadingCfg;
+import io.zeebe.broker.system.threads.cfg.ThreadingCfg.BrokerIdleStrategy;
+import io.zeebe.servicecontainer.Injector;
+import io.zeebe.servicecontainer.Service;
+import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.servicecontainer.ServiceStopContext;
+import io.zeebe.util.actor.ActorScheduler;
+import io.zeebe.util.actor.ActorSchedulerBuilder;
+
+public class PartitionActorSchedulersService implements Service<PartitionActorSchedulers>
+{
+    public static final Logger LOG = Loggers.SYSTEM_LOGGER;
+
+    protected final Injector<ActorScheduler> actorSchedulerInjector = new Injector<>();
+
+    protected final boolean partitionAffinity;
+    protected final int partitionThreads;
+
+    protected final BrokerIdleStrategy brokerIdleStrategy;
+    protected final int maxIdleTimeMs;
+
+    protected PartitionActorSchedulers schedulers;
+
+    public PartitionActorSchedulersService(ConfigurationManager configurationManager)
+    {
+        final ThreadingCfg cfg = configurationManager.readEntry("threading", ThreadingCfg.class);
+
+        int numberOfPartitionThreads = cfg.numberOfPartitionThreads;
+
+        if (numberOfPartitionThreads < 1)
+        {
+            numberOfPartitionThreads = ActorSchedulerService.maxThreadCount;
+        }
+
+        partitionAffinity = cfg.partitionAffinity;
+        partitionThreads = numberOfPartitionThreads;
+        brokerIdleStrategy = cfg.idleStrategy;
+        maxIdleTimeMs = cfg.maxIdleTimeMs;
+    }
+
+    @Override
+    public void start(ServiceStartContext startContext)
+    {
+        final ActorScheduler defaultScheduler = actorSchedulerInjector.getValue();
+
+        if (partitionAffinity)
+        {
+            final ErrorHandler errorHandler = t -> t.printStackTrace();
+            final ActorScheduler[] partitionSchedulers = new ActorScheduler[partitionThreads];
+
+            for (int i = 0; i < partitionThreads; i++)
+            {
+                // one runner per scheduler, i.e. the actors of a partition never move to another thread
+                partitionSchedulers[i] = new ActorSchedulerBuilder()
+                        .name("partition-" + i)
+                        .threadCount(1)
+                        .runnerIdleStrategy(ActorSchedulerService.createIdleStrategy(brokerIdleStrategy, maxIdleTimeMs))
+                        .runnerErrorHander(errorHandler)
+                        .baseIterationsPerActor(37)
+                        .build();
+            }
+
+            schedulers = new PartitionActorSchedulers(defaultScheduler, partitionSchedulers);
+
+            LOG.info("Assign partitions to {} partition threads", partitionThreads);
+        }
+        else
+        {
+            schedulers = new PartitionActorSchedulers(defaultScheduler);
+        }
+    }
+
+    @Override
+    public void stop(ServiceStopContext stopContext)
+    {
+        try
+        {
+            schedulers.close();
+        }
+        catch (Exception e)
+        {
+            LOG.error("Unable to stop partition actor schedulers", e);
+        }
+    }
+
+    @Override
+    public PartitionActorSchedulers get()
+    {
+        return schedulers;
+    }
+
+    public Injector<ActorScheduler> getActorSchedulerInjector()
+    {
+        return actorSchedulerInjector;
+    }
+}
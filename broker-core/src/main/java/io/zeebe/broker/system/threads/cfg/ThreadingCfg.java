@@ -29,4 +29,12 @@ public class ThreadingCfg extends ComponentConfiguration
     public int numberOfThreads = -1;
     public int maxIdleTimeMs = 200;
     public BrokerIdleStrategy idleStrategy = BrokerIdleStrategy.BACKOFF;
+
+    /**
+     * If enabled, the actors of a partition (log stream, raft and stream processors)
+     * run on a dedicated partition thread. Transport and management actors keep
+     * running on the shared threads.
+     */
+    public boolean partitionAffinity = false;
+    public int numberOfPartitionThreads = -1;
 }
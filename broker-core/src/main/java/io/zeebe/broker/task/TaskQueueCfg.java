@@ -0,0 +1,30 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.task;
+
+import io.zeebe.broker.system.ComponentConfiguration;
+
+public class TaskQueueCfg extends ComponentConfiguration
+{
+    /**
+     * If true, the tasks of a type are distributed to the subscriptions according
+     * to their capacity (i.e. the credits of the subscription request).
+     * Otherwise, they are distributed round-robin.
+     */
+    public boolean weightedDistribution = false;
+}
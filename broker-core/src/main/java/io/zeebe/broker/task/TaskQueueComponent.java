@@ -37,7 +37,7 @@ public class TaskQueueComponent implements Component
     {
         final ServiceContainer serviceContainer = context.getServiceContainer();
 
-        final TaskSubscriptionManagerService taskSubscriptionManagerService = new TaskSubscriptionManagerService();
+        final TaskSubscriptionManagerService taskSubscriptionManagerService = new TaskSubscriptionManagerService(context.getConfigurationManager());
         serviceContainer.createService(TASK_QUEUE_SUBSCRIPTION_MANAGER, taskSubscriptionManagerService)
             .dependency(ACTOR_SCHEDULER_SERVICE, taskSubscriptionManagerService.getActorSchedulerInjector())
             .dependency(TransportServiceNames.serverTransport(TransportServiceNames.CLIENT_API_SERVER_NAME), taskSubscriptionManagerService.getClientApiTransportInjector())
@@ -21,7 +21,7 @@ import static io.zeebe.broker.logstreams.LogStreamServiceNames.SNAPSHOT_STORAGE_
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.logStreamServiceName;
 import static io.zeebe.broker.logstreams.processor.StreamProcessorIds.TASK_EXPIRE_LOCK_STREAM_PROCESSOR_ID;
 import static io.zeebe.broker.logstreams.processor.StreamProcessorIds.TASK_QUEUE_STREAM_PROCESSOR_ID;
-import static io.zeebe.broker.system.SystemServiceNames.ACTOR_SCHEDULER_SERVICE;
+import static io.zeebe.broker.system.SystemServiceNames.PARTITION_ACTOR_SCHEDULERS_SERVICE;
 import static io.zeebe.broker.task.TaskQueueServiceNames.TASK_QUEUE_STREAM_PROCESSOR_SERVICE_GROUP_NAME;
 import static io.zeebe.broker.task.TaskQueueServiceNames.taskQueueExpireLockStreamProcessorServiceName;
 import static io.zeebe.broker.task.TaskQueueServiceNames.taskQueueInstanceStreamProcessorServiceName;
@@ -100,7 +100,7 @@ public class TaskQueueManagerService implements Service<TaskQueueManager>, TaskQ
               .dependency(logStreamServiceName, taskInstanceStreamProcessorService.getSourceStreamInjector())
               .dependency(logStreamServiceName, taskInstanceStreamProcessorService.getTargetStreamInjector())
               .dependency(SNAPSHOT_STORAGE_SERVICE, taskInstanceStreamProcessorService.getSnapshotStorageInjector())
-              .dependency(ACTOR_SCHEDULER_SERVICE, taskInstanceStreamProcessorService.getActorSchedulerInjector())
+              .dependency(PARTITION_ACTOR_SCHEDULERS_SERVICE, taskInstanceStreamProcessorService.getActorSchedulersInjector())
               .install();
 
         startExpireLockService(logName, logStreamServiceName);
@@ -123,7 +123,7 @@ public class TaskQueueManagerService implements Service<TaskQueueManager>, TaskQ
             .dependency(logStreamServiceName, expireLockStreamProcessorService.getSourceStreamInjector())
             .dependency(logStreamServiceName, expireLockStreamProcessorService.getTargetStreamInjector())
             .dependency(SNAPSHOT_STORAGE_SERVICE, expireLockStreamProcessorService.getSnapshotStorageInjector())
-            .dependency(ACTOR_SCHEDULER_SERVICE, expireLockStreamProcessorService.getActorSchedulerInjector())
+            .dependency(PARTITION_ACTOR_SCHEDULERS_SERVICE, expireLockStreamProcessorService.getActorSchedulersInjector())
             .install()
             .thenRun(() ->
             {
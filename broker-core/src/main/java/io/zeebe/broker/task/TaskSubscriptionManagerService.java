@@ -19,6 +19,8 @@ package io.zeebe.broker.task;
 
 import java.util.concurrent.CompletableFuture;
 
+import io.zeebe.broker.system.ConfigurationManager;
+import io.zeebe.broker.task.processor.LockTaskStreamProcessor;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
@@ -34,6 +36,8 @@ public class TaskSubscriptionManagerService implements Service<TaskSubscriptionM
     protected final Injector<ActorScheduler> actorSchedulerInjector = new Injector<>();
     protected final Injector<ServerTransport> transportInjector = new Injector<>();
 
+    protected final TaskQueueCfg taskQueueCfg;
+
     protected TaskSubscriptionManager service;
     protected ActorReference actorRef;
 
@@ -42,11 +46,17 @@ public class TaskSubscriptionManagerService implements Service<TaskSubscriptionM
         .onRemove((name, stream) -> service.removeStream(stream))
         .build();
 
+    public TaskSubscriptionManagerService(ConfigurationManager configurationManager)
+    {
+        taskQueueCfg = configurationManager.readEntry("tasks", TaskQueueCfg.class);
+    }
+
     @Override
     public void start(ServiceStartContext startContext)
     {
         final ActorScheduler actorScheduler = actorSchedulerInjector.getValue();
-        service = new TaskSubscriptionManager(startContext);
+        final boolean weightedDistribution = taskQueueCfg.weightedDistribution;
+        service = new TaskSubscriptionManager(startContext, taskType -> new LockTaskStreamProcessor(taskType, weightedDistribution));
         actorRef = actorScheduler.schedule(service);
 
         final ServerTransport clientApiTransport = transportInjector.getValue();
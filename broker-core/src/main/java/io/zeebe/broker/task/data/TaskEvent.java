@@ -38,6 +38,7 @@ public class TaskEvent extends UnpackedObject
     private final ObjectProperty<TaskHeaders> headersProp = new ObjectProperty<>("headers", new TaskHeaders());
     private final PackedProperty customHeadersProp = new PackedProperty("customHeaders", NO_HEADERS);
     private final BinaryProperty payloadProp = new BinaryProperty("payload", NO_PAYLOAD);
+    private final StringProperty payloadProjectionProp = new StringProperty("payloadProjection", "");
 
     public TaskEvent()
     {
@@ -48,7 +49,8 @@ public class TaskEvent extends UnpackedObject
             .declareProperty(typeProp)
             .declareProperty(headersProp)
             .declareProperty(customHeadersProp)
-            .declareProperty(payloadProp);
+            .declareProperty(payloadProp)
+            .declareProperty(payloadProjectionProp);
     }
 
     public TaskState getState()
@@ -133,6 +135,22 @@ public class TaskEvent extends UnpackedObject
         return this;
     }
 
+    /**
+     * @return the JSON paths the payload was projected to when the task was
+     *         pushed to its subscription, or an empty buffer if the payload
+     *         was pushed completely
+     */
+    public DirectBuffer getPayloadProjection()
+    {
+        return payloadProjectionProp.getValue();
+    }
+
+    public TaskEvent setPayloadProjection(DirectBuffer payloadProjection)
+    {
+        payloadProjectionProp.setValue(payloadProjection, 0, payloadProjection.capacity());
+        return this;
+    }
+
     public TaskHeaders headers()
     {
         return headersProp.getValue();
@@ -33,14 +33,19 @@ import org.agrona.concurrent.UnsafeBuffer;
  * <li> state
  * <li> lock owner length
  * <li> lock owner (max 64 chars)
+ * <li> position of the event with the complete payload, if the payload was
+ * projected when the task was locked
  */
 public class TaskInstanceMap
 {
-    private static final int MAP_VALUE_SIZE = SIZE_OF_SHORT + SIZE_OF_INT + SIZE_OF_CHAR * TaskSubscription.LOCK_OWNER_MAX_LENGTH;
+    private static final int LOCK_OWNER_MAX_LENGTH = SIZE_OF_CHAR * TaskSubscription.LOCK_OWNER_MAX_LENGTH;
+
+    private static final int MAP_VALUE_SIZE = SIZE_OF_SHORT + SIZE_OF_INT + LOCK_OWNER_MAX_LENGTH + SIZE_OF_LONG;
 
     private static final int STATE_OFFSET = 0;
     private static final int LOCK_OWNER_LENGTH_OFFSET = STATE_OFFSET + SIZE_OF_SHORT;
     private static final int LOCK_OWNER_OFFSET = LOCK_OWNER_LENGTH_OFFSET + SIZE_OF_INT;
+    private static final int PAYLOAD_POSITION_OFFSET = LOCK_OWNER_OFFSET + LOCK_OWNER_MAX_LENGTH;
 
     private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
 
@@ -107,10 +112,17 @@ public class TaskInstanceMap
         return lockOwnerBuffer;
     }
 
+    public long getPayloadPosition()
+    {
+        return isRead ? buffer.getLong(PAYLOAD_POSITION_OFFSET, BYTE_ORDER) : -1L;
+    }
+
     public TaskInstanceMap newTaskInstance(long taskInstanceKey)
     {
         key = taskInstanceKey;
         isRead = true;
+        buffer.putInt(LOCK_OWNER_LENGTH_OFFSET, 0, BYTE_ORDER);
+        buffer.putLong(PAYLOAD_POSITION_OFFSET, -1L, BYTE_ORDER);
         return this;
     }
 
@@ -135,6 +147,13 @@ public class TaskInstanceMap
         return this;
     }
 
+    public TaskInstanceMap setPayloadPosition(long position)
+    {
+        ensureRead();
+        buffer.putLong(PAYLOAD_POSITION_OFFSET, position, BYTE_ORDER);
+        return this;
+    }
+
     private void ensureRead()
     {
         if (!isRead)
@@ -57,8 +57,7 @@ public class LockTaskStreamProcessor implements StreamProcessor, EventProcessor
     protected DeferredCommandContext cmdQueue;
     protected CreditsRequestBuffer creditsBuffer = new CreditsRequestBuffer(TaskSubscriptionManager.NUM_CONCURRENT_REQUESTS, this::increaseSubscriptionCredits);
 
-    protected final TaskSubscriptions subscriptions = new TaskSubscriptions(8);
-    protected final SubscriptionIterator taskDistributionIterator;
+    protected final TaskSubscriptions subscriptions;
     protected final SubscriptionIterator managementIterator;
 
     protected final DirectBuffer subscribedTaskType;
@@ -77,9 +76,18 @@ public class LockTaskStreamProcessor implements StreamProcessor, EventProcessor
     protected boolean isSuspended = true;
 
     public LockTaskStreamProcessor(DirectBuffer taskType)
+    {
+        this(taskType, false);
+    }
+
+    /**
+     * @param weightedDistribution if true, tasks are distributed to the subscriptions according
+     *   to their capacity, otherwise round-robin
+     */
+    public LockTaskStreamProcessor(DirectBuffer taskType, boolean weightedDistribution)
     {
         this.subscribedTaskType = taskType;
-        this.taskDistributionIterator = subscriptions.iterator();
+        this.subscriptions = new TaskSubscriptions(8, weightedDistribution);
         this.managementIterator = subscriptions.iterator();
     }
 
@@ -193,31 +201,7 @@ public class LockTaskStreamProcessor implements StreamProcessor, EventProcessor
 
     protected TaskSubscription getNextAvailableSubscription()
     {
-        TaskSubscription nextSubscription = null;
-
-        if (subscriptions.getTotalCredits() > 0)
-        {
-
-            final int subscriptionSize = subscriptions.size();
-            int seenSubscriptions = 0;
-
-            while (seenSubscriptions < subscriptionSize && nextSubscription == null)
-            {
-                if (!taskDistributionIterator.hasNext())
-                {
-                    taskDistributionIterator.reset();
-                }
-
-                final TaskSubscription subscription = taskDistributionIterator.next();
-                if (subscription.getCredits() > 0)
-                {
-                    nextSubscription = subscription;
-                }
-
-                seenSubscriptions += 1;
-            }
-        }
-        return nextSubscription;
+        return subscriptions.nextReadySubscription();
     }
 
     public static MetadataFilter eventFilter()
@@ -281,7 +265,8 @@ public class LockTaskStreamProcessor implements StreamProcessor, EventProcessor
                 taskEvent
                     .setState(TaskState.LOCK)
                     .setLockTime(lockTimeout)
-                    .setLockOwner(lockSubscription.getLockOwner());
+                    .setLockOwner(lockSubscription.getLockOwner())
+                    .setPayloadProjection(lockSubscription.getPayloadProjection());
 
                 hasLockedTask = true;
             }
@@ -23,9 +23,11 @@ import static io.zeebe.protocol.clientapi.EventType.TASK_EVENT;
 
 import io.zeebe.protocol.Protocol;
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 import io.zeebe.protocol.impl.BrokerEventMetadata;
 import io.zeebe.broker.logstreams.processor.MetadataFilter;
+import io.zeebe.broker.logstreams.processor.VersionedSnapshotSupport;
 import io.zeebe.broker.task.CreditsRequest;
 import io.zeebe.broker.task.TaskSubscriptionManager;
 import io.zeebe.broker.task.data.TaskEvent;
@@ -33,13 +35,16 @@ import io.zeebe.broker.task.data.TaskState;
 import io.zeebe.broker.task.map.TaskInstanceMap;
 import io.zeebe.broker.transport.clientapi.CommandResponseWriter;
 import io.zeebe.broker.transport.clientapi.SubscribedEventWriter;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LogStreamWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.logstreams.processor.EventProcessor;
 import io.zeebe.logstreams.processor.StreamProcessor;
 import io.zeebe.logstreams.processor.StreamProcessorContext;
 import io.zeebe.logstreams.spi.SnapshotSupport;
+import io.zeebe.msgpack.mapping.MappingException;
 import io.zeebe.protocol.clientapi.EventType;
 import io.zeebe.protocol.clientapi.SubscriptionType;
 import io.zeebe.util.actor.Actor;
@@ -52,6 +57,13 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
     protected static final short STATE_FAILED = 3;
     protected static final short STATE_LOCK_EXPIRED = 4;
 
+    /**
+     * Version of the task instance map layout; must be incremented on every change of it.
+     */
+    protected static final int SNAPSHOT_VERSION = 1;
+
+    protected static final DirectBuffer NO_PAYLOAD_PROJECTION = new UnsafeBuffer(0, 0);
+
     protected BrokerEventMetadata sourceEventMetadata = new BrokerEventMetadata();
     protected final BrokerEventMetadata targetEventMetadata = new BrokerEventMetadata();
 
@@ -68,13 +80,19 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
     protected final CancelTaskProcessor cancelTaskProcessor = new CancelTaskProcessor();
 
     protected final TaskInstanceMap taskIndex;
+    protected final SnapshotSupport snapshotSupport;
 
     protected final TaskEvent taskEvent = new TaskEvent();
     protected final CreditsRequest creditsRequest = new CreditsRequest();
+    protected final TaskPayloadProjection payloadProjection = new TaskPayloadProjection();
+    protected final TaskEvent completePayloadEvent = new TaskEvent();
+    // only needed to restore projected payloads, so it is created on demand
+    protected LogStreamReader logStreamReader;
 
     protected DirectBuffer logStreamTopicName;
     protected int logStreamPartitionId;
 
+    protected LogStream sourceStream;
     protected LogStream targetStream;
 
     protected long eventKey = 0;
@@ -87,6 +105,7 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
         this.taskSubscriptionManager = taskSubscriptionManager;
 
         this.taskIndex = new TaskInstanceMap();
+        this.snapshotSupport = new VersionedSnapshotSupport(SNAPSHOT_VERSION, taskIndex.getSnapshotSupport());
     }
 
     @Override
@@ -98,13 +117,13 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
     @Override
     public SnapshotSupport getStateResource()
     {
-        return taskIndex.getSnapshotSupport();
+        return snapshotSupport;
     }
 
     @Override
     public void onOpen(StreamProcessorContext context)
     {
-        final LogStream sourceStream = context.getSourceStream();
+        sourceStream = context.getSourceStream();
         logStreamTopicName = sourceStream.getTopicName();
         logStreamPartitionId = sourceStream.getPartitionId();
 
@@ -114,6 +133,10 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
     @Override
     public void onClose()
     {
+        if (logStreamReader != null)
+        {
+            logStreamReader.close();
+        }
         taskIndex.close();
     }
 
@@ -198,6 +221,67 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
             .tryWrite();
     }
 
+    /**
+     * If the payload of the task was projected when it was pushed to its
+     * subscription, then the command contains the projected payload only. It
+     * is merged into the complete payload which is read from the lock event.
+     * Must be called after the task index is wrapped.
+     *
+     * @return <code>false</code> if the payload of the command doesn't contain
+     *         the projected paths. In this case, the complete payload is restored
+     *         without the changes of the command.
+     */
+    protected boolean restoreProjectedPayload()
+    {
+        final long payloadPosition = taskIndex.getPayloadPosition();
+        if (payloadPosition < 0)
+        {
+            return true;
+        }
+
+        if (logStreamReader == null)
+        {
+            logStreamReader = new BufferedLogStreamReader(sourceStream);
+        }
+
+        if (!logStreamReader.seek(payloadPosition) || !logStreamReader.hasNext())
+        {
+            throw new IllegalStateException("Cannot find the complete payload of task with key " + eventKey + " at position " + payloadPosition);
+        }
+
+        final LoggedEvent event = logStreamReader.next();
+        completePayloadEvent.reset();
+        event.readValue(completePayloadEvent);
+
+        final DirectBuffer completePayload = completePayloadEvent.getPayload();
+        final DirectBuffer payload = taskEvent.getPayload();
+
+        boolean isMerged = true;
+
+        if (isNilPayload(payload))
+        {
+            taskEvent.setPayload(completePayload);
+        }
+        else
+        {
+            try
+            {
+                final int length = payloadProjection
+                        .wrap(completePayloadEvent.getPayloadProjection())
+                        .merge(payload, completePayload);
+
+                taskEvent.setPayload(payloadProjection.getResultBuffer(), 0, length);
+            }
+            catch (MappingException e)
+            {
+                taskEvent.setPayload(completePayload);
+                isMerged = false;
+            }
+        }
+
+        return isMerged;
+    }
+
     private class CreateTaskProcessor implements EventProcessor
     {
 
@@ -237,12 +321,16 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
 
     private class LockTaskProcessor implements EventProcessor
     {
+        protected final UnsafeBuffer payload = new UnsafeBuffer(0, 0);
+
         protected boolean isLocked;
+        protected int projectedPayloadLength;
 
         @Override
         public void processEvent()
         {
             isLocked = false;
+            projectedPayloadLength = -1;
 
             final short state = taskIndex.wrapTaskInstanceKey(eventKey).getState();
 
@@ -250,6 +338,8 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
             {
                 taskEvent.setState(TaskState.LOCKED);
                 isLocked = true;
+
+                projectPayload();
             }
 
             if (!isLocked)
@@ -258,6 +348,25 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
             }
         }
 
+        protected void projectPayload()
+        {
+            final DirectBuffer projection = taskEvent.getPayloadProjection();
+
+            if (!TaskPayloadProjection.isEmpty(projection) && !isNilPayload(taskEvent.getPayload()))
+            {
+                try
+                {
+                    projectedPayloadLength = payloadProjection.wrap(projection).project(taskEvent.getPayload());
+                }
+                catch (MappingException e)
+                {
+                    // the payload doesn't contain all requested paths - push the complete payload
+                    // and don't record the projection, so that the result is not merged on completion
+                    taskEvent.setPayloadProjection(NO_PAYLOAD_PROJECTION);
+                }
+            }
+        }
+
         @Override
         public boolean executeSideEffects()
         {
@@ -265,6 +374,14 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
 
             if (isLocked)
             {
+                // the log keeps the complete payload, only the subscriber receives the projection
+                final boolean isProjected = projectedPayloadLength >= 0;
+                if (isProjected)
+                {
+                    payload.wrap(taskEvent.getPayload());
+                    taskEvent.setPayload(payloadProjection.getResultBuffer(), 0, projectedPayloadLength);
+                }
+
                 success = subscribedEventWriter
                         .partitionId(logStreamPartitionId)
                         .position(eventPosition)
@@ -274,6 +391,11 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
                         .eventType(TASK_EVENT)
                         .eventWriter(taskEvent)
                         .tryWriteMessage(sourceEventMetadata.getRequestStreamId());
+
+                if (isProjected)
+                {
+                    taskEvent.setPayload(payload);
+                }
             }
             else
             {
@@ -301,6 +423,7 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
                 taskIndex
                     .setState(STATE_LOCKED)
                     .setLockOwner(taskEvent.getLockOwner())
+                    .setPayloadPosition(projectedPayloadLength >= 0 ? eventPosition : -1L)
                     .write();
             }
         }
@@ -328,8 +451,13 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
                 {
                     if (BufferUtil.contentsEqual(taskIndex.getLockOwner(), taskEvent.getLockOwner()))
                     {
-                        taskEventType = TaskState.COMPLETED;
-                        isCompleted = true;
+                        // a completion without payload doesn't change the payload of the workflow instance
+                        isCompleted = isNilPayload(payload) || restoreProjectedPayload();
+
+                        if (isCompleted)
+                        {
+                            taskEventType = TaskState.COMPLETED;
+                        }
                     }
                 }
             }
@@ -371,6 +499,8 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
             taskIndex.wrapTaskInstanceKey(eventKey);
             if (taskIndex.getState() == STATE_LOCKED && BufferUtil.contentsEqual(taskIndex.getLockOwner(), taskEvent.getLockOwner()))
             {
+                restoreProjectedPayload();
+
                 taskEvent.setState(TaskState.FAILED);
                 isFailed = true;
             }
@@ -454,6 +584,8 @@ public class TaskInstanceStreamProcessor implements StreamProcessor
 
             if (state == STATE_FAILED && taskEvent.getRetries() > 0)
             {
+                restoreProjectedPayload();
+
                 taskEvent.setState(TaskState.RETRIES_UPDATED);
             }
             else
@@ -0,0 +1,128 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.task.processor;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import io.zeebe.msgpack.jsonpath.JsonPathQuery;
+import io.zeebe.msgpack.jsonpath.JsonPathQueryCompiler;
+import io.zeebe.msgpack.mapping.Mapping;
+import io.zeebe.msgpack.mapping.MappingProcessor;
+import io.zeebe.util.buffer.BufferUtil;
+
+/**
+ * Projects the payload of a task to the JSON paths which are requested by a
+ * task subscription, and merges the payload of the worker back into the
+ * complete payload. The projection is a comma-separated list of JSON paths,
+ * e.g. <code>$.orderId,$.customer.address</code>. Each path is extracted to
+ * and merged back from the same path.
+ *
+ * <p>
+ * The mappings of the last used projection are cached because usually all
+ * tasks of a type are locked by subscriptions with the same projection.
+ */
+public class TaskPayloadProjection
+{
+    public static final int MAX_LENGTH = 1024;
+
+    protected static final String PATH_SEPARATOR = ",";
+
+    protected final JsonPathQueryCompiler queryCompiler = new JsonPathQueryCompiler();
+    protected final MappingProcessor mappingProcessor = new MappingProcessor(4096);
+
+    protected final UnsafeBuffer projection = new UnsafeBuffer(new byte[MAX_LENGTH], 0, 0);
+    protected Mapping[] mappings = new Mapping[0];
+
+    public static boolean isEmpty(DirectBuffer projection)
+    {
+        return projection.capacity() == 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the projection is too long or contains an invalid JSON path
+     */
+    public static void validate(DirectBuffer projection)
+    {
+        compile(new JsonPathQueryCompiler(), projection);
+    }
+
+    protected static Mapping[] compile(JsonPathQueryCompiler queryCompiler, DirectBuffer projection)
+    {
+        if (projection.capacity() > MAX_LENGTH)
+        {
+            throw new IllegalArgumentException(String.format("Payload projection must be %d bytes or shorter.", MAX_LENGTH));
+        }
+
+        final String[] paths = bufferAsString(projection).split(PATH_SEPARATOR);
+        final Mapping[] mappings = new Mapping[paths.length];
+
+        for (int i = 0; i < paths.length; i++)
+        {
+            final String path = paths[i].trim();
+            final JsonPathQuery query = queryCompiler.compile(path);
+
+            if (!query.isValid())
+            {
+                throw new IllegalArgumentException(String.format("Invalid JSON path '%s' in payload projection: %s", path, query.getErrorReason()));
+            }
+
+            mappings[i] = new Mapping(query, path);
+        }
+
+        return mappings;
+    }
+
+    public TaskPayloadProjection wrap(DirectBuffer projection)
+    {
+        if (!BufferUtil.equals(this.projection, projection))
+        {
+            mappings = compile(queryCompiler, projection);
+
+            this.projection.putBytes(0, projection, 0, projection.capacity());
+            this.projection.wrap(this.projection.byteArray(), 0, projection.capacity());
+        }
+        return this;
+    }
+
+    /**
+     * @return the length of the projected payload in the {@link #getResultBuffer() result buffer}
+     * @throws io.zeebe.msgpack.mapping.MappingException if a path doesn't match the payload
+     */
+    public int project(DirectBuffer payload)
+    {
+        return mappingProcessor.extract(payload, mappings);
+    }
+
+    /**
+     * @return the length of the merged payload in the {@link #getResultBuffer() result buffer}
+     * @throws io.zeebe.msgpack.mapping.MappingException if a path doesn't match the projected payload
+     */
+    public int merge(DirectBuffer projectedPayload, DirectBuffer payload)
+    {
+        return mappingProcessor.merge(projectedPayload, payload, mappings);
+    }
+
+    public MutableDirectBuffer getResultBuffer()
+    {
+        return mappingProcessor.getResultBuffer();
+    }
+}
@@ -20,11 +20,14 @@ package io.zeebe.broker.task.processor;
 import static io.zeebe.util.buffer.BufferUtil.cloneBuffer;
 
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public class TaskSubscription
 {
     public static final int LOCK_OWNER_MAX_LENGTH = 64;
 
+    private static final DirectBuffer NO_PAYLOAD_PROJECTION = new UnsafeBuffer(0, 0);
+
     private final int partitionId;
 
     private final DirectBuffer lockTaskType;
@@ -32,6 +35,8 @@ public class TaskSubscription
     private final long lockDuration;
     private final DirectBuffer lockOwner;
 
+    private final DirectBuffer payloadProjection;
+
     private final int streamId;
 
     private long subscriberKey;
@@ -39,11 +44,17 @@ public class TaskSubscription
     private int credits;
 
     public TaskSubscription(int partitionId, DirectBuffer lockTaskType, long lockDuration, DirectBuffer lockOwner, int streamId)
+    {
+        this(partitionId, lockTaskType, lockDuration, lockOwner, NO_PAYLOAD_PROJECTION, streamId);
+    }
+
+    public TaskSubscription(int partitionId, DirectBuffer lockTaskType, long lockDuration, DirectBuffer lockOwner, DirectBuffer payloadProjection, int streamId)
     {
         this.partitionId = partitionId;
         this.lockTaskType = cloneBuffer(lockTaskType);
         this.lockDuration = lockDuration;
         this.lockOwner = cloneBuffer(lockOwner);
+        this.payloadProjection = cloneBuffer(payloadProjection);
         this.streamId = streamId;
     }
 
@@ -77,6 +88,15 @@ public class TaskSubscription
         return lockOwner;
     }
 
+    /**
+     * @return the comma-separated JSON paths the payload of locked tasks is
+     *         projected to, or an empty buffer if the complete payload is pushed
+     */
+    public DirectBuffer getPayloadProjection()
+    {
+        return payloadProjection;
+    }
+
     public int getStreamId()
     {
         return streamId;
@@ -32,13 +32,16 @@ public class TaskSubscriptionRequest extends UnpackedObject
 
     protected IntegerProperty creditsProp = new IntegerProperty("credits", -1);
 
+    protected StringProperty payloadProjectionProp = new StringProperty("payloadProjection", "");
+
     public TaskSubscriptionRequest()
     {
         this.declareProperty(subscriberKeyProp)
             .declareProperty(taskTypeProp)
             .declareProperty(lockDurationProp)
             .declareProperty(lockOwnerProp)
-            .declareProperty(creditsProp);
+            .declareProperty(creditsProp)
+            .declareProperty(payloadProjectionProp);
     }
 
     public TaskSubscriptionRequest setSubscriberKey(long subscriberKey)
@@ -71,6 +74,12 @@ public class TaskSubscriptionRequest extends UnpackedObject
         return this;
     }
 
+    public TaskSubscriptionRequest setPayloadProjection(DirectBuffer payloadProjection)
+    {
+        this.payloadProjectionProp.setValue(payloadProjection);
+        return this;
+    }
+
     public long getSubscriberKey()
     {
         return subscriberKeyProp.getValue();
@@ -96,4 +105,9 @@ public class TaskSubscriptionRequest extends UnpackedObject
         return lockOwnerProp.getValue();
     }
 
+    public DirectBuffer getPayloadProjection()
+    {
+        return payloadProjectionProp.getValue();
+    }
+
 }
@@ -17,45 +17,115 @@
  */
 package io.zeebe.broker.task.processor;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 import org.agrona.collections.ArrayUtil;
 import org.agrona.collections.Long2LongHashMap;
 
+/**
+ * The subscriptions of a task type. The subscriptions which have credits are
+ * linked in a ready ring, so that the next subscription to lock a task for can
+ * be selected in constant time, independent of the number of subscriptions.
+ *
+ * <p>
+ * By default, the ready subscriptions are selected round-robin. If the
+ * distribution is weighted, a subscription is selected multiple times in a row
+ * according to its advertised capacity (i.e. its initial credits) relative to
+ * the smallest capacity of all subscriptions.
+ */
 public class TaskSubscriptions implements Iterable<TaskSubscription>
 {
+    protected static final int NOT_READY = -1;
+
+    protected final boolean weightedDistribution;
 
     protected TaskSubscription[] subscriptions;
     protected Long2LongHashMap lookupTable = new Long2LongHashMap(-1);
     protected int totalCredits = 0;
 
+    // slot index => next / previous slot in the ready ring
+    protected int[] nextReady;
+    protected int[] prevReady;
+    protected int[] capacities;
+
+    protected int[] freeSlots;
+    protected int freeSlotCount;
+    protected int usedSlots;
+
+    protected int readyCursor = NOT_READY;
+    protected int remainingTurn;
+    protected int minCapacity = Integer.MAX_VALUE;
+
     public TaskSubscriptions(int initialCapacity)
     {
+        this(initialCapacity, false);
+    }
+
+    public TaskSubscriptions(int initialCapacity, boolean weightedDistribution)
+    {
+        this.weightedDistribution = weightedDistribution;
         this.subscriptions = new TaskSubscription[initialCapacity];
+        this.nextReady = newSlots(initialCapacity);
+        this.prevReady = newSlots(initialCapacity);
+        this.capacities = new int[initialCapacity];
+        this.freeSlots = new int[initialCapacity];
+    }
+
+    protected static int[] newSlots(int length)
+    {
+        final int[] slots = new int[length];
+        Arrays.fill(slots, NOT_READY);
+        return slots;
     }
 
     public void addSubscription(TaskSubscription subscription)
     {
-        int insertIndex = -1;
-        final int currentSubscriptionsLength = subscriptions.length;
-        for (int i = 0; i < currentSubscriptionsLength; i++)
+        final int insertIndex;
+
+        if (freeSlotCount > 0)
+        {
+            freeSlotCount -= 1;
+            insertIndex = freeSlots[freeSlotCount];
+        }
+        else
         {
-            if (subscriptions[i] == null)
+            if (usedSlots == subscriptions.length)
             {
-                insertIndex = i;
-                break;
+                grow();
             }
-        }
 
-        if (insertIndex < 0)
-        {
-            subscriptions = ArrayUtil.ensureCapacity(subscriptions, subscriptions.length * 2);
-            insertIndex = currentSubscriptionsLength;
+            insertIndex = usedSlots;
+            usedSlots += 1;
         }
 
+        final int credits = subscription.getCredits();
+
         subscriptions[insertIndex] = subscription;
+        capacities[insertIndex] = credits;
         lookupTable.put(subscription.getSubscriberKey(), insertIndex);
-        totalCredits += subscription.getCredits();
+        totalCredits += credits;
+        minCapacity = Math.min(minCapacity, Math.max(credits, 1));
+
+        if (credits > 0)
+        {
+            linkReady(insertIndex);
+        }
+    }
+
+    protected void grow()
+    {
+        final int currentLength = subscriptions.length;
+        final int newLength = currentLength * 2;
+
+        subscriptions = ArrayUtil.ensureCapacity(subscriptions, newLength);
+        capacities = Arrays.copyOf(capacities, newLength);
+        freeSlots = Arrays.copyOf(freeSlots, newLength);
+
+        nextReady = Arrays.copyOf(nextReady, newLength);
+        prevReady = Arrays.copyOf(prevReady, newLength);
+        Arrays.fill(nextReady, currentLength, newLength, NOT_READY);
+        Arrays.fill(prevReady, currentLength, newLength, NOT_READY);
     }
 
     public void removeSubscription(long subscriberKey)
@@ -72,9 +142,40 @@ public class TaskSubscriptions implements Iterable<TaskSubscription>
         final TaskSubscription currentValue = subscriptions[index];
         if (currentValue != null)
         {
+            final int capacity = Math.max(capacities[index], 1);
+
             subscriptions[index] = null;
+            capacities[index] = 0;
             lookupTable.remove(currentValue.getSubscriberKey());
             totalCredits -= currentValue.getCredits();
+
+            if (capacity <= minCapacity)
+            {
+                // before unlinking, so that the turn of the next subscription is based on the remaining ones
+                updateMinCapacity();
+            }
+
+            unlinkReady(index);
+
+            freeSlots[freeSlotCount] = index;
+            freeSlotCount += 1;
+        }
+    }
+
+    /**
+     * Determines the smallest capacity of the remaining subscriptions. This is
+     * only necessary when the subscription with the smallest capacity is removed.
+     */
+    protected void updateMinCapacity()
+    {
+        minCapacity = Integer.MAX_VALUE;
+
+        for (int i = 0; i < usedSlots; i++)
+        {
+            if (subscriptions[i] != null)
+            {
+                minCapacity = Math.min(minCapacity, Math.max(capacities[i], 1));
+            }
         }
     }
 
@@ -95,10 +196,125 @@ public class TaskSubscriptions implements Iterable<TaskSubscription>
 
         if (idx >= 0)
         {
-            final TaskSubscription subscription = subscriptions[(int) idx];
-            subscription.setCredits(subscription.getCredits() + credits);
+            final int index = (int) idx;
+            final TaskSubscription subscription = subscriptions[index];
+            final int newCredits = subscription.getCredits() + credits;
+
+            subscription.setCredits(newCredits);
             totalCredits += credits;
+
+            if (newCredits > 0)
+            {
+                linkReady(index);
+            }
+            else
+            {
+                unlinkReady(index);
+            }
+        }
+    }
+
+    /**
+     * Selects the next subscription which has credits. Does not consume any credits.
+     *
+     * @return the selected subscription, or <code>null</code> if no subscription has credits
+     */
+    public TaskSubscription nextReadySubscription()
+    {
+        if (readyCursor == NOT_READY)
+        {
+            return null;
+        }
+
+        final TaskSubscription subscription = subscriptions[readyCursor];
+
+        remainingTurn -= 1;
+        if (remainingTurn <= 0)
+        {
+            moveCursor(nextReady[readyCursor]);
+        }
+
+        return subscription;
+    }
+
+    protected void moveCursor(int index)
+    {
+        readyCursor = index;
+        remainingTurn = index != NOT_READY ? turnLength(index) : 0;
+    }
+
+    protected int turnLength(int index)
+    {
+        if (weightedDistribution)
+        {
+            return Math.max(1, capacities[index] / minCapacity);
+        }
+        else
+        {
+            return 1;
+        }
+    }
+
+    protected boolean isReady(int index)
+    {
+        return nextReady[index] != NOT_READY;
+    }
+
+    /**
+     * Appends the subscription to the ready ring, i.e. it is selected after all
+     * other ready subscriptions.
+     */
+    protected void linkReady(int index)
+    {
+        if (isReady(index))
+        {
+            return;
+        }
+
+        if (readyCursor == NOT_READY)
+        {
+            nextReady[index] = index;
+            prevReady[index] = index;
+            moveCursor(index);
+        }
+        else
+        {
+            final int last = prevReady[readyCursor];
+
+            nextReady[last] = index;
+            prevReady[index] = last;
+            nextReady[index] = readyCursor;
+            prevReady[readyCursor] = index;
+        }
+    }
+
+    protected void unlinkReady(int index)
+    {
+        if (!isReady(index))
+        {
+            return;
+        }
+
+        final int next = nextReady[index];
+        final int prev = prevReady[index];
+
+        if (next == index)
+        {
+            moveCursor(NOT_READY);
         }
+        else
+        {
+            nextReady[prev] = next;
+            prevReady[next] = prev;
+
+            if (readyCursor == index)
+            {
+                moveCursor(next);
+            }
+        }
+
+        nextReady[index] = NOT_READY;
+        prevReady[index] = NOT_READY;
     }
 
     public int getTotalCredits()
@@ -123,14 +339,14 @@ public class TaskSubscriptions implements Iterable<TaskSubscription>
         @Override
         public boolean hasNext()
         {
-            return findNext() < subscriptions.length;
+            return findNext() < usedSlots;
         }
 
         @Override
         public TaskSubscription next()
         {
             final int nextElementIdx = findNext();
-            if (nextElementIdx < subscriptions.length)
+            if (nextElementIdx < usedSlots)
             {
                 index = nextElementIdx;
                 return subscriptions[index];
@@ -148,7 +364,7 @@ public class TaskSubscriptions implements Iterable<TaskSubscription>
             {
                 currIndex++;
             }
-            while (currIndex < subscriptions.length && subscriptions[currIndex] == null);
+            while (currIndex < usedSlots && subscriptions[currIndex] == null);
 
             return currIndex;
         }
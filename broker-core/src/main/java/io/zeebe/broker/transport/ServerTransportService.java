@@ -39,13 +39,20 @@ public class ServerTransportService implements Service<ServerTransport>
 
     protected final String readableName;
     protected final InetSocketAddress bindAddress;
+    protected final ServerTransportFactory transportFactory;
 
     protected ServerTransport serverTransport;
 
     public ServerTransportService(String readableName, InetSocketAddress bindAddress)
+    {
+        this(readableName, bindAddress, new TcpServerTransportFactory());
+    }
+
+    public ServerTransportService(String readableName, InetSocketAddress bindAddress, ServerTransportFactory transportFactory)
     {
         this.readableName = readableName;
         this.bindAddress = bindAddress;
+        this.transportFactory = transportFactory;
     }
 
     @Override
@@ -56,11 +63,7 @@ public class ServerTransportService implements Service<ServerTransport>
         final ServerRequestHandler requestHandler = requestHandlerInjector.getValue();
         final ServerMessageHandler messageHandler = messageHandlerInjector.getValue();
 
-        serverTransport = Transports.newServerTransport()
-            .bindAddress(bindAddress)
-            .sendBuffer(sendBuffer)
-            .scheduler(scheduler)
-            .build(messageHandler, requestHandler);
+        serverTransport = transportFactory.createTransport(bindAddress, scheduler, sendBuffer, messageHandler, requestHandler);
 
         LOG.info("Bound {} to {}", readableName, bindAddress);
     }
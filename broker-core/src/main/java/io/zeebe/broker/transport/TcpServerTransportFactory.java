@@ -0,0 +1,48 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport;
+
+import java.net.InetSocketAddress;
+
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.transport.ServerMessageHandler;
+import io.zeebe.transport.ServerRequestHandler;
+import io.zeebe.transport.ServerTransport;
+import io.zeebe.transport.Transports;
+import io.zeebe.util.actor.ActorScheduler;
+
+/**
+ * Creates server transports which accept connections via TCP.
+ */
+public class TcpServerTransportFactory implements ServerTransportFactory
+{
+    @Override
+    public ServerTransport createTransport(
+            InetSocketAddress bindAddress,
+            ActorScheduler scheduler,
+            Dispatcher sendBuffer,
+            ServerMessageHandler messageHandler,
+            ServerRequestHandler requestHandler)
+    {
+        return Transports.newServerTransport()
+            .bindAddress(bindAddress)
+            .sendBuffer(sendBuffer)
+            .scheduler(scheduler)
+            .build(messageHandler, requestHandler);
+    }
+}
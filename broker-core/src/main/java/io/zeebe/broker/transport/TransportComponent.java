@@ -40,6 +40,7 @@ import io.zeebe.broker.system.SystemServiceNames;
 import io.zeebe.broker.task.TaskQueueServiceNames;
 import io.zeebe.broker.transport.cfg.SocketBindingCfg;
 import io.zeebe.broker.transport.cfg.TransportComponentCfg;
+import io.zeebe.broker.transport.clientapi.ClientApiMessageHandler;
 import io.zeebe.broker.transport.clientapi.ClientApiMessageHandlerService;
 import io.zeebe.broker.transport.controlmessage.ControlMessageHandlerManagerService;
 import io.zeebe.dispatcher.Dispatcher;
@@ -56,6 +57,22 @@ public class TransportComponent implements Component
 {
     protected static final int MGMT_REQUEST_POOL_SIZE = 128;
 
+    protected final ServerTransportFactory clientApiTransportFactory;
+
+    public TransportComponent()
+    {
+        this(new TcpServerTransportFactory());
+    }
+
+    /**
+     * @param clientApiTransportFactory creates the transport of the client API, e.g. to accept
+     *   clients in the same JVM without the network stack
+     */
+    public TransportComponent(ServerTransportFactory clientApiTransportFactory)
+    {
+        this.clientApiTransportFactory = clientApiTransportFactory;
+    }
+
     @Override
     public void init(SystemContext context)
     {
@@ -98,7 +115,9 @@ public class TransportComponent implements Component
             transportComponentCfg.clientApi.getReceiveBufferSize(transportComponentCfg.defaultReceiveBufferSize),
             DispatcherSubscriptionNames.TRANSPORT_CONTROL_MESSAGE_HANDLER_SUBSCRIPTION);
 
-        final ClientApiMessageHandlerService messageHandlerService = new ClientApiMessageHandlerService();
+        final int maxInFlightCommandsPerPartition = transportComponentCfg.clientApi.getMaxInFlightCommandsPerPartition(ClientApiMessageHandler.DEFAULT_MAX_IN_FLIGHT_COMMANDS);
+
+        final ClientApiMessageHandlerService messageHandlerService = new ClientApiMessageHandlerService(maxInFlightCommandsPerPartition);
         serviceContainer.createService(CLIENT_API_MESSAGE_HANDLER, messageHandlerService)
             .dependency(controlMessageBufferService, messageHandlerService.getControlMessageBufferInjector())
             .groupReference(LogStreamServiceNames.WORKFLOW_STREAM_GROUP, messageHandlerService.getLogStreamsGroupReference())
@@ -177,7 +196,7 @@ public class TransportComponent implements Component
     {
         final ServiceName<Dispatcher> sendBufferName = createSendBuffer(serviceContainer, name, sendBufferSize);
 
-        final ServerTransportService service = new ServerTransportService(name, bindAddress);
+        final ServerTransportService service = new ServerTransportService(name, bindAddress, clientApiTransportFactory);
 
         return serviceContainer.createService(TransportServiceNames.serverTransport(name), service)
             .dependency(sendBufferName, service.getSendBufferInjector())
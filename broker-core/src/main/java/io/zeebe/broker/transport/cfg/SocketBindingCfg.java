@@ -26,6 +26,7 @@ public class SocketBindingCfg extends ComponentConfiguration
     public int receiveBufferSize = -1;
     public int sendBufferSize = -1;
     public long controlMessageRequestTimeoutInMillis = 10_000;
+    public int maxInFlightCommandsPerPartition = -1;
 
     public String getHost(String defaultValue)
     {
@@ -67,4 +68,14 @@ public class SocketBindingCfg extends ComponentConfiguration
         }
         return returnValue;
     }
+
+    public int getMaxInFlightCommandsPerPartition(int defaultValue)
+    {
+        int returnValue = maxInFlightCommandsPerPartition;
+        if (returnValue <= 0)
+        {
+            returnValue = defaultValue;
+        }
+        return returnValue;
+    }
 }
@@ -30,6 +30,8 @@ import io.zeebe.broker.event.processor.TopicSubscriptionEvent;
 import io.zeebe.broker.system.log.TopicEvent;
 import io.zeebe.broker.task.data.TaskEvent;
 import io.zeebe.broker.transport.controlmessage.ControlMessageRequestHeaderDescriptor;
+import io.zeebe.broker.util.msgpack.MsgPackSchema;
+import io.zeebe.broker.util.msgpack.MsgPackSchemaValidator;
 import io.zeebe.broker.workflow.data.DeploymentEvent;
 import io.zeebe.broker.workflow.data.WorkflowInstanceEvent;
 import io.zeebe.dispatcher.ClaimedFragment;
@@ -53,6 +55,7 @@ import io.zeebe.transport.ServerRequestHandler;
 
 public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequestHandler
 {
+    public static final int DEFAULT_MAX_IN_FLIGHT_COMMANDS = 1000;
 
     protected final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
     protected final ExecuteCommandRequestDecoder executeCommandRequestDecoder = new ExecuteCommandRequestDecoder();
@@ -62,6 +65,8 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
     protected final Consumer<Runnable> cmdConsumer = (c) -> c.run();
 
     protected final Int2ObjectHashMap<LogStream> logStreams = new Int2ObjectHashMap<>();
+    protected final Int2ObjectHashMap<InFlightCommands> inFlightCommands = new Int2ObjectHashMap<>();
+    protected final int maxInFlightCommands;
     protected final BrokerEventMetadata eventMetadata = new BrokerEventMetadata();
     protected final LogStreamWriter logStreamWriter = new LogStreamWriterImpl();
 
@@ -71,11 +76,25 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
 
     protected final EnumMap<EventType, UnpackedObject> eventsByType = new EnumMap<>(EventType.class);
 
+    /**
+     * Commands of these types are validated by scanning the msgpack document
+     * instead of deserializing it; all others are deserialized.
+     */
+    protected final EnumMap<EventType, MsgPackSchema> schemasByType = new EnumMap<>(EventType.class);
+    protected final MsgPackSchemaValidator schemaValidator = new MsgPackSchemaValidator();
+
     public ClientApiMessageHandler(final Dispatcher controlMessageDispatcher)
+    {
+        this(controlMessageDispatcher, DEFAULT_MAX_IN_FLIGHT_COMMANDS);
+    }
+
+    public ClientApiMessageHandler(final Dispatcher controlMessageDispatcher, final int maxInFlightCommands)
     {
         this.controlMessageDispatcher = controlMessageDispatcher;
+        this.maxInFlightCommands = maxInFlightCommands;
 
         initEventTypeMap();
+        initSchemaMap();
     }
 
     private void initEventTypeMap()
@@ -88,6 +107,12 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
         eventsByType.put(EventType.TOPIC_EVENT, new TopicEvent());
     }
 
+    private void initSchemaMap()
+    {
+        schemasByType.put(EventType.TASK_EVENT, CommandSchemas.TASK_EVENT);
+        schemasByType.put(EventType.WORKFLOW_INSTANCE_EVENT, CommandSchemas.WORKFLOW_INSTANCE_EVENT);
+    }
+
     private boolean handleExecuteCommandRequest(
             final ServerOutput output,
             final RemoteAddress requestAddress,
@@ -128,18 +153,48 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
         final int eventOffset = executeCommandRequestDecoder.limit() + ExecuteCommandRequestDecoder.commandHeaderLength();
         final int eventLength = executeCommandRequestDecoder.commandLength();
 
-        event.reset();
+        final MsgPackSchema schema = schemasByType.get(eventType);
 
-        try
+        if (schema != null)
         {
-            // verify that the event / command is valid
-            event.wrap(buffer, eventOffset, eventLength);
+            // verify that the command is valid without deserializing it;
+            // it is deserialized by the stream processor anyway
+            if (!schemaValidator.validate(schema, buffer, eventOffset, eventLength))
+            {
+                return errorResponseWriter
+                        .errorCode(ErrorCode.INVALID_MESSAGE)
+                        .errorMessage("Cannot deserialize command: '%s'.", schemaValidator.getErrorMessage())
+                        .failedRequest(buffer, messageOffset, messageLength)
+                        .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+            }
         }
-        catch (Throwable t)
+        else
+        {
+            event.reset();
+
+            try
+            {
+                // verify that the event / command is valid
+                event.wrap(buffer, eventOffset, eventLength);
+            }
+            catch (Throwable t)
+            {
+                return errorResponseWriter
+                        .errorCode(ErrorCode.INVALID_MESSAGE)
+                        .errorMessage("Cannot deserialize command: '%s'.", concatErrorMessages(t))
+                        .failedRequest(buffer, messageOffset, messageLength)
+                        .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+            }
+        }
+
+        final InFlightCommands partitionInFlightCommands = inFlightCommands.get(partitionId);
+
+        if (!partitionInFlightCommands.tryAdmit())
         {
             return errorResponseWriter
-                    .errorCode(ErrorCode.INVALID_MESSAGE)
-                    .errorMessage("Cannot deserialize command: '%s'.", concatErrorMessages(t))
+                    .errorCode(ErrorCode.REQUEST_WRITE_FAILURE)
+                    .errorMessage("Cannot execute command. Partition with id '%d' is overloaded: %d commands are not committed yet.",
+                        partitionId, partitionInFlightCommands.size())
                     .failedRequest(buffer, messageOffset, messageLength)
                     .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
         }
@@ -163,7 +218,20 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
                 .value(buffer, eventOffset, eventLength)
                 .tryWrite();
 
-        return eventPosition >= 0;
+        if (eventPosition < 0)
+        {
+            // the log stream's write buffer is full; reject the command explicitly
+            // so that the client can back off instead of running into the request timeout
+            return errorResponseWriter
+                    .errorCode(ErrorCode.REQUEST_WRITE_FAILURE)
+                    .errorMessage("Cannot execute command. Failed to write command to partition with id '%d'.", partitionId)
+                    .failedRequest(buffer, messageOffset, messageLength)
+                    .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+        }
+
+        partitionInFlightCommands.add(eventPosition);
+
+        return true;
     }
 
     private String concatErrorMessages(Throwable t)
@@ -222,12 +290,20 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
 
     public void addStream(final LogStream logStream)
     {
-        cmdQueue.add(() -> logStreams.put(logStream.getPartitionId(), logStream));
+        cmdQueue.add(() ->
+        {
+            logStreams.put(logStream.getPartitionId(), logStream);
+            inFlightCommands.put(logStream.getPartitionId(), new InFlightCommands(logStream, maxInFlightCommands));
+        });
     }
 
     public void removeStream(final LogStream logStream)
     {
-        cmdQueue.add(() -> logStreams.remove(logStream.getPartitionId()));
+        cmdQueue.add(() ->
+        {
+            logStreams.remove(logStream.getPartitionId());
+            inFlightCommands.remove(logStream.getPartitionId());
+        });
     }
 
     @Override
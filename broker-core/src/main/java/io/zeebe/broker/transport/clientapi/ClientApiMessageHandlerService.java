@@ -30,16 +30,23 @@ public class ClientApiMessageHandlerService implements Service<ClientApiMessageH
     private final Injector<Dispatcher> controlMessageBufferInjector = new Injector<>();
     protected ClientApiMessageHandler service;
 
+    protected final int maxInFlightCommandsPerPartition;
+
     protected final ServiceGroupReference<LogStream> logStreamsGroupReference = ServiceGroupReference.<LogStream>create()
         .onAdd((name, stream) -> service.addStream(stream))
         .onRemove((name, stream) -> service.removeStream(stream))
         .build();
 
+    public ClientApiMessageHandlerService(int maxInFlightCommandsPerPartition)
+    {
+        this.maxInFlightCommandsPerPartition = maxInFlightCommandsPerPartition;
+    }
+
     @Override
     public void start(ServiceStartContext startContext)
     {
         final Dispatcher controlMessageBuffer = controlMessageBufferInjector.getValue();
-        service = new ClientApiMessageHandler(controlMessageBuffer);
+        service = new ClientApiMessageHandler(controlMessageBuffer, maxInFlightCommandsPerPartition);
     }
 
     @Override
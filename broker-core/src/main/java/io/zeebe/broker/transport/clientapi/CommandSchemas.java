@@ -0,0 +1,92 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.ANY;
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.BINARY;
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.INTEGER;
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.LONG;
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.STRING;
+import static io.zeebe.broker.workflow.data.WorkflowInstanceEvent.*;
+import static org.agrona.BitUtil.SIZE_OF_CHAR;
+
+import io.zeebe.broker.task.data.TaskEvent;
+import io.zeebe.broker.task.data.TaskHeaders;
+import io.zeebe.broker.task.data.TaskState;
+import io.zeebe.broker.task.processor.TaskPayloadProjection;
+import io.zeebe.broker.task.processor.TaskSubscription;
+import io.zeebe.broker.util.msgpack.MsgPackSchema;
+import io.zeebe.broker.workflow.data.WorkflowInstanceEvent;
+import io.zeebe.broker.workflow.data.WorkflowInstanceState;
+import io.zeebe.model.bpmn.impl.ZeebeConstraints;
+
+/**
+ * Schemas of the commands which are validated on the request path without
+ * deserializing them. They must be kept in sync with the properties declared
+ * by the events, which is verified by CommandSchemasTest.
+ */
+public final class CommandSchemas
+{
+    /**
+     * ids are interned by the stream processors, so they are limited to the max id length
+     */
+    private static final int MAX_ID_LENGTH = ZeebeConstraints.ID_MAX_LENGTH * SIZE_OF_CHAR;
+
+    private static final int MAX_LOCK_OWNER_LENGTH = TaskSubscription.LOCK_OWNER_MAX_LENGTH * SIZE_OF_CHAR;
+
+    /**
+     * @see TaskHeaders
+     */
+    public static final MsgPackSchema TASK_HEADERS = new MsgPackSchema()
+        .property(PROP_WORKFLOW_BPMN_PROCESS_ID, STRING, MAX_ID_LENGTH)
+        .property("workflowDefinitionVersion", INTEGER)
+        .property("workflowKey", LONG)
+        .property(PROP_WORKFLOW_INSTANCE_KEY, LONG)
+        .property(PROP_WORKFLOW_ACTIVITY_ID, STRING, MAX_ID_LENGTH)
+        .property("activityInstanceKey", LONG);
+
+    /**
+     * @see TaskEvent
+     */
+    public static final MsgPackSchema TASK_EVENT = new MsgPackSchema()
+        .requiredEnumProperty("state", TaskState.class)
+        .property("lockTime", LONG)
+        .property("lockOwner", STRING, MAX_LOCK_OWNER_LENGTH)
+        .property("retries", INTEGER)
+        .requiredProperty("type", STRING)
+        .objectProperty("headers", TASK_HEADERS)
+        .property("customHeaders", ANY)
+        .property("payload", BINARY)
+        .property("payloadProjection", STRING, TaskPayloadProjection.MAX_LENGTH);
+
+    /**
+     * @see WorkflowInstanceEvent
+     */
+    public static final MsgPackSchema WORKFLOW_INSTANCE_EVENT = new MsgPackSchema()
+        .requiredEnumProperty(PROP_STATE, WorkflowInstanceState.class)
+        .property(PROP_WORKFLOW_BPMN_PROCESS_ID, STRING, MAX_ID_LENGTH)
+        .property(PROP_WORKFLOW_VERSION, INTEGER)
+        .property(PROP_WORKFLOW_KEY, LONG)
+        .property(PROP_WORKFLOW_INSTANCE_KEY, LONG)
+        .property(PROP_WORKFLOW_ACTIVITY_ID, STRING, MAX_ID_LENGTH)
+        .property(PROP_WORKFLOW_PAYLOAD, BINARY);
+
+    private CommandSchemas()
+    {
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import io.zeebe.logstreams.log.LogStream;
+
+/**
+ * Tracks the commands of a partition which are written to the log stream but
+ * not committed yet. A command is in flight until the commit position of the
+ * log stream reaches its position. If the configured limit is reached then new
+ * commands are not admitted, so that the broker rejects them immediately
+ * instead of letting the request time out.
+ *
+ * <p>
+ * Not thread-safe. Only accessed by the client api message handler.
+ */
+public class InFlightCommands
+{
+    protected final LogStream logStream;
+
+    /** ring buffer of the positions of the in-flight commands, ascending */
+    protected final long[] positions;
+    protected int head = 0;
+    protected int size = 0;
+
+    public InFlightCommands(LogStream logStream, int limit)
+    {
+        this.logStream = logStream;
+        this.positions = new long[limit];
+    }
+
+    /**
+     * @return <code>true</code>, if a new command can be written to the log
+     *         stream without exceeding the limit
+     */
+    public boolean tryAdmit()
+    {
+        final long commitPosition = logStream.getCommitPosition();
+
+        while (size > 0 && positions[head] <= commitPosition)
+        {
+            head = (head + 1) % positions.length;
+            size -= 1;
+        }
+
+        return size < positions.length;
+    }
+
+    /**
+     * Must only be called after {@link #tryAdmit()} returned <code>true</code>.
+     */
+    public void add(long position)
+    {
+        final int tail = (head + size) % positions.length;
+        positions[tail] = position;
+        size += 1;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public int getLimit()
+    {
+        return positions.length;
+    }
+}
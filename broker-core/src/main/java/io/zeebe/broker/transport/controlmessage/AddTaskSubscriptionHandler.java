@@ -20,6 +20,7 @@ package io.zeebe.broker.transport.controlmessage;
 import java.util.concurrent.CompletableFuture;
 
 import io.zeebe.broker.task.TaskSubscriptionManager;
+import io.zeebe.broker.task.processor.TaskPayloadProjection;
 import io.zeebe.broker.task.processor.TaskSubscription;
 import io.zeebe.broker.task.processor.TaskSubscriptionRequest;
 import io.zeebe.broker.transport.clientapi.ErrorResponseWriter;
@@ -60,8 +61,27 @@ public class AddTaskSubscriptionHandler implements ControlMessageHandler
         final long requestId = eventMetada.getRequestId();
         final int requestStreamId = eventMetada.getRequestStreamId();
 
+        final DirectBuffer payloadProjection = request.getPayloadProjection();
+        if (!TaskPayloadProjection.isEmpty(payloadProjection))
+        {
+            try
+            {
+                TaskPayloadProjection.validate(payloadProjection);
+            }
+            catch (IllegalArgumentException e)
+            {
+                errorResponseWriter
+                    .errorCode(ErrorCode.REQUEST_PROCESSING_FAILURE)
+                    .errorMessage("Cannot add task subscription. %s", e.getMessage())
+                    .failedRequest(buffer, 0, buffer.capacity())
+                    .tryWriteResponseOrLogFailure(requestStreamId, requestId);
+
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+
         final TaskSubscription taskSubscription = new TaskSubscription(partitionId, request.getLockTaskType(),
-                request.getLockDuration(), request.getLockOwner(), requestStreamId);
+                request.getLockDuration(), request.getLockOwner(), payloadProjection, requestStreamId);
         taskSubscription.setCredits(request.getCredits());
 
         final CompletableFuture<Void> future = manager.addSubscription(taskSubscription);
@@ -0,0 +1,204 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.util;
+
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+import java.nio.ByteOrder;
+
+import io.zeebe.logstreams.snapshot.ZbMapSnapshotSupport;
+import io.zeebe.map.Bytes2LongZbMap;
+import io.zeebe.map.Long2BytesZbMap;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Dictionary which interns buffers (e.g. activity ids, lock owners or BPMN
+ * process ids) and maps them to small integer ids. Maps with fixed-width
+ * values can store the id instead of reserving space for the longest possible
+ * buffer.
+ *
+ * <p>
+ * Interned buffers are never removed, i.e. an id is stable for the lifetime of
+ * the dictionary (and its snapshots). The dictionary is not thread-safe and is
+ * expected to be owned by a single stream processor.
+ */
+public class BufferInternMap implements AutoCloseable
+{
+    public static final int MISSING_ID = -1;
+
+    private static final long NEXT_ID_KEY = -1L;
+
+    private static final int LENGTH_OFFSET = 0;
+    private static final int VALUE_OFFSET = LENGTH_OFFSET + SIZE_OF_INT;
+
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final int maxValueLength;
+
+    private final UnsafeBuffer idValueBuffer;
+    private final UnsafeBuffer valueView = new UnsafeBuffer(0, 0);
+
+    private final Bytes2LongZbMap valueToIdMap;
+    private final Long2BytesZbMap idToValueMap;
+
+    private final ZbMapSnapshotSupport<Bytes2LongZbMap> valueToIdSnapshot;
+    private final ZbMapSnapshotSupport<Long2BytesZbMap> idToValueSnapshot;
+
+    public BufferInternMap(int maxValueLength)
+    {
+        this.maxValueLength = maxValueLength;
+
+        final int idValueLength = Math.max(SIZE_OF_INT + maxValueLength, SIZE_OF_LONG);
+        this.idValueBuffer = new UnsafeBuffer(new byte[idValueLength]);
+
+        this.valueToIdMap = new Bytes2LongZbMap(maxValueLength);
+        this.idToValueMap = new Long2BytesZbMap(idValueLength);
+
+        this.valueToIdSnapshot = new ZbMapSnapshotSupport<>(valueToIdMap);
+        this.idToValueSnapshot = new ZbMapSnapshotSupport<>(idToValueMap);
+    }
+
+    public ZbMapSnapshotSupport<Bytes2LongZbMap> getValueToIdSnapshot()
+    {
+        return valueToIdSnapshot;
+    }
+
+    public ZbMapSnapshotSupport<Long2BytesZbMap> getIdToValueSnapshot()
+    {
+        return idToValueSnapshot;
+    }
+
+    /**
+     * @return the id of the given value. If the value is not interned yet then
+     *         it is added to the dictionary.
+     */
+    public int intern(DirectBuffer value)
+    {
+        return intern(value, 0, value.capacity());
+    }
+
+    public int intern(DirectBuffer value, int offset, int length)
+    {
+        int id = lookup(value, offset, length);
+
+        if (id == MISSING_ID)
+        {
+            if (length > maxValueLength)
+            {
+                throw new IllegalArgumentException(String.format("Value length exceeds max length. Length: %d, max: %d", length, maxValueLength));
+            }
+
+            id = nextId();
+
+            idValueBuffer.setMemory(0, idValueBuffer.capacity(), (byte) 0);
+            idValueBuffer.putInt(LENGTH_OFFSET, length, BYTE_ORDER);
+            idValueBuffer.putBytes(VALUE_OFFSET, value, offset, length);
+
+            idToValueMap.put(id, idValueBuffer);
+            valueToIdMap.put(value, offset, length, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * @return the id of the given value, or {@link #MISSING_ID} if the value is
+     *         not interned. Does not modify the dictionary.
+     */
+    public int lookup(DirectBuffer value)
+    {
+        return lookup(value, 0, value.capacity());
+    }
+
+    public int lookup(DirectBuffer value, int offset, int length)
+    {
+        if (length > maxValueLength)
+        {
+            return MISSING_ID;
+        }
+
+        return (int) valueToIdMap.get(value, offset, length, MISSING_ID);
+    }
+
+    public int getMaxValueLength()
+    {
+        return maxValueLength;
+    }
+
+    /**
+     * Copies the interned value with the given id into the given buffer. Use
+     * this instead of {@link #get(int)} if the value must stay valid while the
+     * dictionary is used by others.
+     *
+     * @return the length of the value, or 0 if the id is unknown
+     */
+    public int copy(int id, MutableDirectBuffer target, int offset)
+    {
+        final DirectBuffer value = get(id);
+        target.putBytes(offset, value, 0, value.capacity());
+
+        return value.capacity();
+    }
+
+    /**
+     * @return a view of the interned value with the given id, or an empty buffer
+     *         if the id is unknown. The view is valid until the next call of any
+     *         method of the dictionary.
+     */
+    public DirectBuffer get(int id)
+    {
+        final DirectBuffer result = id >= 0 ? idToValueMap.get(id) : null;
+
+        if (result != null)
+        {
+            idValueBuffer.putBytes(0, result, 0, result.capacity());
+
+            final int length = idValueBuffer.getInt(LENGTH_OFFSET, BYTE_ORDER);
+            valueView.wrap(idValueBuffer, VALUE_OFFSET, length);
+        }
+        else
+        {
+            valueView.wrap(0, 0);
+        }
+
+        return valueView;
+    }
+
+    private int nextId()
+    {
+        // the id counter is stored in the map itself so that it is part of the snapshot
+        final DirectBuffer nextIdValue = idToValueMap.get(NEXT_ID_KEY);
+        final int id = nextIdValue != null ? (int) nextIdValue.getLong(0, BYTE_ORDER) : 0;
+
+        idValueBuffer.setMemory(0, idValueBuffer.capacity(), (byte) 0);
+        idValueBuffer.putLong(0, id + 1, BYTE_ORDER);
+        idToValueMap.put(NEXT_ID_KEY, idValueBuffer);
+
+        return id;
+    }
+
+    @Override
+    public void close()
+    {
+        valueToIdMap.close();
+        idToValueMap.close();
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.util.msgpack;
+
+import java.nio.ByteOrder;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Reads a msgpack document token by token, without materializing values and
+ * with bounds checks against the wrapped region. Does not allocate unless
+ * reading fails. Not thread-safe.
+ */
+public class MsgPackScanner
+{
+    protected static final ByteOrder BYTE_ORDER = ByteOrder.BIG_ENDIAN;
+
+    public static final int TOKEN_NIL = 0;
+    public static final int TOKEN_BOOLEAN = 1;
+    public static final int TOKEN_INTEGER = 2;
+    public static final int TOKEN_FLOAT = 3;
+    public static final int TOKEN_STRING = 4;
+    public static final int TOKEN_BINARY = 5;
+    public static final int TOKEN_ARRAY = 6;
+    public static final int TOKEN_MAP = 7;
+    public static final int TOKEN_EXTENSION = 8;
+
+    protected DirectBuffer buffer;
+    protected int offset;
+    protected int limit;
+
+    // the last read token
+    protected int tokenType;
+    /** length in bytes of strings, binaries and extensions; number of elements of arrays and maps */
+    protected long tokenLength;
+    protected int tokenValueOffset;
+    protected long tokenIntegerValue;
+    /** true if the integer is an uint64 which does not fit into a signed long */
+    protected boolean tokenIntegerOverflow;
+
+    protected String errorMessage;
+
+    public void wrap(DirectBuffer buffer, int offset, int length)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.limit = offset + length;
+        this.errorMessage = null;
+    }
+
+    public String getErrorMessage()
+    {
+        return errorMessage;
+    }
+
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    public int getTokenType()
+    {
+        return tokenType;
+    }
+
+    public long getTokenLength()
+    {
+        return tokenLength;
+    }
+
+    /**
+     * @return the offset of the value of the last string, binary or extension token
+     */
+    public int getTokenValueOffset()
+    {
+        return tokenValueOffset;
+    }
+
+    public long getTokenIntegerValue()
+    {
+        return tokenIntegerValue;
+    }
+
+    /**
+     * @return <code>true</code>, if the last token is a string or binary with
+     *         the given value
+     */
+    public boolean tokenEquals(DirectBuffer value)
+    {
+        return (tokenType == TOKEN_STRING || tokenType == TOKEN_BINARY) &&
+                MsgPackSchema.equals(value, buffer, tokenValueOffset, (int) tokenLength);
+    }
+
+    /**
+     * Reads the map at the current offset until the property with the given
+     * key is found. On success, the offset points to the property's value,
+     * which can be read by {@link #readToken()} or {@link #readProperty(DirectBuffer)}
+     * (if it is a map).
+     *
+     * @return <code>true</code>, if the property exists
+     */
+    public boolean readProperty(DirectBuffer key)
+    {
+        if (!readToken() || tokenType != TOKEN_MAP)
+        {
+            return false;
+        }
+
+        final long size = tokenLength;
+
+        for (long i = 0; i < size; i++)
+        {
+            if (!readToken() || tokenType != TOKEN_STRING)
+            {
+                return false;
+            }
+
+            if (MsgPackSchema.equals(key, buffer, tokenValueOffset, (int) tokenLength))
+            {
+                return true;
+            }
+            else if (!skipValue())
+            {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Skips the next value including all nested values, without recursion.
+     */
+    public boolean skipValue()
+    {
+        long pendingValues = 1;
+
+        while (pendingValues > 0)
+        {
+            if (!readToken())
+            {
+                return false;
+            }
+
+            pendingValues -= 1;
+
+            if (tokenType == TOKEN_MAP)
+            {
+                pendingValues += 2 * tokenLength;
+            }
+            else if (tokenType == TOKEN_ARRAY)
+            {
+                pendingValues += tokenLength;
+            }
+
+            // each value takes at least one byte
+            if (pendingValues > limit - offset)
+            {
+                return fail(null, "Unexpected end of document");
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads the header of the next value. Scalar values (including strings and
+     * binaries) are skipped entirely; for arrays and maps, the offset points to
+     * the first element afterwards.
+     */
+    public boolean readToken()
+    {
+        if (!ensureRemaining(1))
+        {
+            return false;
+        }
+
+        final int header = buffer.getByte(offset) & 0xFF;
+        offset += 1;
+
+        tokenIntegerOverflow = false;
+
+        if (header <= 0x7f)
+        {
+            return setInteger(header);
+        }
+        else if (header <= 0x8f)
+        {
+            return setContainer(TOKEN_MAP, header & 0x0f);
+        }
+        else if (header <= 0x9f)
+        {
+            return setContainer(TOKEN_ARRAY, header & 0x0f);
+        }
+        else if (header <= 0xbf)
+        {
+            return setBytes(TOKEN_STRING, header & 0x1f);
+        }
+        else if (header >= 0xe0)
+        {
+            return setInteger((byte) header);
+        }
+
+        switch (header)
+        {
+            case 0xc0:
+                tokenType = TOKEN_NIL;
+                return true;
+            case 0xc2:
+            case 0xc3:
+                tokenType = TOKEN_BOOLEAN;
+                return true;
+
+            case 0xc4:
+                return ensureRemaining(1) && setBytes(TOKEN_BINARY, readUnsigned(1));
+            case 0xc5:
+                return ensureRemaining(2) && setBytes(TOKEN_BINARY, readUnsigned(2));
+            case 0xc6:
+                return ensureRemaining(4) && setBytes(TOKEN_BINARY, readUnsigned(4));
+
+            case 0xc7:
+                return ensureRemaining(1) && setBytes(TOKEN_EXTENSION, readUnsigned(1) + 1);
+            case 0xc8:
+                return ensureRemaining(2) && setBytes(TOKEN_EXTENSION, readUnsigned(2) + 1);
+            case 0xc9:
+                return ensureRemaining(4) && setBytes(TOKEN_EXTENSION, readUnsigned(4) + 1);
+
+            case 0xca:
+                return setBytes(TOKEN_FLOAT, 4);
+            case 0xcb:
+                return setBytes(TOKEN_FLOAT, 8);
+
+            case 0xcc:
+                return ensureRemaining(1) && setInteger(readUnsigned(1));
+            case 0xcd:
+                return ensureRemaining(2) && setInteger(readUnsigned(2));
+            case 0xce:
+                return ensureRemaining(4) && setInteger(readUnsigned(4));
+            case 0xcf:
+                if (!ensureRemaining(8))
+                {
+                    return false;
+                }
+                final long uint64 = buffer.getLong(offset, BYTE_ORDER);
+                offset += 8;
+                tokenIntegerOverflow = uint64 < 0;
+                return setInteger(uint64);
+
+            case 0xd0:
+                return ensureRemaining(1) && setInteger(readSigned(1));
+            case 0xd1:
+                return ensureRemaining(2) && setInteger(readSigned(2));
+            case 0xd2:
+                return ensureRemaining(4) && setInteger(readSigned(4));
+            case 0xd3:
+                return ensureRemaining(8) && setInteger(readSigned(8));
+
+            case 0xd4:
+                return setBytes(TOKEN_EXTENSION, 1 + 1);
+            case 0xd5:
+                return setBytes(TOKEN_EXTENSION, 1 + 2);
+            case 0xd6:
+                return setBytes(TOKEN_EXTENSION, 1 + 4);
+            case 0xd7:
+                return setBytes(TOKEN_EXTENSION, 1 + 8);
+            case 0xd8:
+                return setBytes(TOKEN_EXTENSION, 1 + 16);
+
+            case 0xd9:
+                return ensureRemaining(1) && setBytes(TOKEN_STRING, readUnsigned(1));
+            case 0xda:
+                return ensureRemaining(2) && setBytes(TOKEN_STRING, readUnsigned(2));
+            case 0xdb:
+                return ensureRemaining(4) && setBytes(TOKEN_STRING, readUnsigned(4));
+
+            case 0xdc:
+                return ensureRemaining(2) && setContainer(TOKEN_ARRAY, readUnsigned(2));
+            case 0xdd:
+                return ensureRemaining(4) && setContainer(TOKEN_ARRAY, readUnsigned(4));
+            case 0xde:
+                return ensureRemaining(2) && setContainer(TOKEN_MAP, readUnsigned(2));
+            case 0xdf:
+                return ensureRemaining(4) && setContainer(TOKEN_MAP, readUnsigned(4));
+
+            default:
+                // 0xc1 is never used
+                return fail(null, String.format("Invalid format byte 0x%02x", header));
+        }
+    }
+
+    protected boolean setInteger(long value)
+    {
+        tokenType = TOKEN_INTEGER;
+        tokenIntegerValue = value;
+        return true;
+    }
+
+    protected boolean setContainer(int type, long size)
+    {
+        tokenType = type;
+        tokenLength = size;
+        return true;
+    }
+
+    protected boolean setBytes(int type, long length)
+    {
+        if (length > limit - offset)
+        {
+            return fail(null, "Unexpected end of document");
+        }
+
+        tokenType = type;
+        tokenLength = length;
+        tokenValueOffset = offset;
+
+        offset += (int) length;
+        return true;
+    }
+
+    protected long readUnsigned(int bytes)
+    {
+        final long value;
+        switch (bytes)
+        {
+            case 1:
+                value = buffer.getByte(offset) & 0xFFL;
+                break;
+            case 2:
+                value = buffer.getShort(offset, BYTE_ORDER) & 0xFFFFL;
+                break;
+            default:
+                value = buffer.getInt(offset, BYTE_ORDER) & 0xFFFF_FFFFL;
+                break;
+        }
+
+        offset += bytes;
+        return value;
+    }
+
+    protected long readSigned(int bytes)
+    {
+        final long value;
+        switch (bytes)
+        {
+            case 1:
+                value = buffer.getByte(offset);
+                break;
+            case 2:
+                value = buffer.getShort(offset, BYTE_ORDER);
+                break;
+            case 4:
+                value = buffer.getInt(offset, BYTE_ORDER);
+                break;
+            default:
+                value = buffer.getLong(offset, BYTE_ORDER);
+                break;
+        }
+
+        offset += bytes;
+        return value;
+    }
+
+    protected boolean ensureRemaining(int bytes)
+    {
+        if (limit - offset < bytes)
+        {
+            return fail(null, "Unexpected end of document");
+        }
+        return true;
+    }
+
+    protected boolean fail(String propertyName, String reason)
+    {
+        if (propertyName != null)
+        {
+            errorMessage = String.format("Could not read property '%s'. %s at offset %d.", propertyName, reason, offset);
+        }
+        else
+        {
+            errorMessage = String.format("%s at offset %d.", reason, offset);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.util.msgpack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.agrona.DirectBuffer;
+
+import io.zeebe.util.buffer.BufferUtil;
+
+/**
+ * Describes the properties of a msgpack document (i.e. a map with string
+ * keys) so that it can be validated by {@link MsgPackSchemaValidator} without
+ * deserializing it. The schema must mirror the properties declared by the
+ * corresponding {@link io.zeebe.msgpack.UnpackedObject}. Properties which are
+ * not declared are ignored.
+ */
+public class MsgPackSchema
+{
+    public static final int NO_MAX_LENGTH = -1;
+
+    /** at most 64 properties, so that the required properties fit in a bit mask */
+    public static final int MAX_PROPERTIES = Long.SIZE;
+
+    public enum PropertyType
+    {
+        STRING,
+        BINARY,
+        INTEGER,
+        LONG,
+        BOOLEAN,
+        ENUM,
+        OBJECT,
+        ANY
+    }
+
+    protected final List<Property> properties = new ArrayList<>();
+    protected long requiredMask = 0L;
+
+    public MsgPackSchema requiredProperty(String name, PropertyType type)
+    {
+        return addProperty(name, type, true, NO_MAX_LENGTH, null, null);
+    }
+
+    public MsgPackSchema property(String name, PropertyType type)
+    {
+        return addProperty(name, type, false, NO_MAX_LENGTH, null, null);
+    }
+
+    /**
+     * @param maxLength the max length in bytes of a string or binary property
+     */
+    public MsgPackSchema property(String name, PropertyType type, int maxLength)
+    {
+        return addProperty(name, type, false, maxLength, null, null);
+    }
+
+    public MsgPackSchema requiredEnumProperty(String name, Class<? extends Enum<?>> enumType)
+    {
+        return addProperty(name, PropertyType.ENUM, true, NO_MAX_LENGTH, enumType, null);
+    }
+
+    public MsgPackSchema enumProperty(String name, Class<? extends Enum<?>> enumType)
+    {
+        return addProperty(name, PropertyType.ENUM, false, NO_MAX_LENGTH, enumType, null);
+    }
+
+    public MsgPackSchema objectProperty(String name, MsgPackSchema schema)
+    {
+        return addProperty(name, PropertyType.OBJECT, false, NO_MAX_LENGTH, null, schema);
+    }
+
+    protected MsgPackSchema addProperty(
+            String name,
+            PropertyType type,
+            boolean isRequired,
+            int maxLength,
+            Class<? extends Enum<?>> enumType,
+            MsgPackSchema objectSchema)
+    {
+        final int index = properties.size();
+
+        if (index >= MAX_PROPERTIES)
+        {
+            throw new IllegalStateException("Schema supports at most " + MAX_PROPERTIES + " properties");
+        }
+
+        DirectBuffer[] enumValues = null;
+        if (enumType != null)
+        {
+            final Enum<?>[] constants = enumType.getEnumConstants();
+            enumValues = new DirectBuffer[constants.length];
+
+            for (int i = 0; i < constants.length; i++)
+            {
+                enumValues[i] = BufferUtil.wrapString(constants[i].name());
+            }
+        }
+
+        properties.add(new Property(name, type, maxLength, enumValues, objectSchema));
+
+        if (isRequired)
+        {
+            requiredMask |= 1L << index;
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the index of the property with the given name, or -1 if the property is not declared
+     */
+    public int indexOf(DirectBuffer buffer, int offset, int length)
+    {
+        for (int i = 0; i < properties.size(); i++)
+        {
+            if (equals(properties.get(i).name, buffer, offset, length))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public Property getProperty(int index)
+    {
+        return properties.get(index);
+    }
+
+    public int getPropertyCount()
+    {
+        return properties.size();
+    }
+
+    public long getRequiredMask()
+    {
+        return requiredMask;
+    }
+
+    protected static boolean equals(DirectBuffer value, DirectBuffer buffer, int offset, int length)
+    {
+        if (value.capacity() != length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++)
+        {
+            if (value.getByte(i) != buffer.getByte(offset + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static class Property
+    {
+        protected final String nameString;
+        protected final DirectBuffer name;
+        protected final PropertyType type;
+        protected final int maxLength;
+        protected final DirectBuffer[] enumValues;
+        protected final MsgPackSchema objectSchema;
+
+        Property(String name, PropertyType type, int maxLength, DirectBuffer[] enumValues, MsgPackSchema objectSchema)
+        {
+            this.nameString = name;
+            this.name = BufferUtil.wrapString(name);
+            this.type = type;
+            this.maxLength = maxLength;
+            this.enumValues = enumValues;
+            this.objectSchema = objectSchema;
+        }
+
+        public String getName()
+        {
+            return nameString;
+        }
+
+        public PropertyType getType()
+        {
+            return type;
+        }
+
+        public int getMaxLength()
+        {
+            return maxLength;
+        }
+
+        public boolean isEnumValue(DirectBuffer buffer, int offset, int length)
+        {
+            for (int i = 0; i < enumValues.length; i++)
+            {
+                if (MsgPackSchema.equals(enumValues[i], buffer, offset, length))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public MsgPackSchema getObjectSchema()
+        {
+            return objectSchema;
+        }
+    }
+}
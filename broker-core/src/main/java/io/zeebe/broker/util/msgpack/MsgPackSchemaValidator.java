@@ -0,0 +1,186 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.util.msgpack;
+
+import org.agrona.DirectBuffer;
+
+import io.zeebe.broker.util.msgpack.MsgPackSchema.Property;
+
+/**
+ * Validates a msgpack document against a {@link MsgPackSchema} in a single
+ * scan, without materializing the properties. Checks that the document is
+ * well-formed and complete, that the declared properties have the expected
+ * types, sizes and enum values and that all required properties are present.
+ *
+ * <p>
+ * Does not allocate unless validation fails. Not thread-safe.
+ */
+public class MsgPackSchemaValidator extends MsgPackScanner
+{
+    /**
+     * @return <code>true</code>, if the document is valid. Otherwise, the
+     *         reason is available via {@link #getErrorMessage()}.
+     */
+    public boolean validate(MsgPackSchema schema, DirectBuffer buffer, int offset, int length)
+    {
+        wrap(buffer, offset, length);
+
+        return validateObject(schema, null);
+    }
+
+    protected boolean validateObject(MsgPackSchema schema, String propertyName)
+    {
+        if (!readToken())
+        {
+            return false;
+        }
+
+        if (tokenType != TOKEN_MAP)
+        {
+            return fail(propertyName, "Expected a map");
+        }
+
+        final long size = tokenLength;
+        long foundProperties = 0L;
+
+        for (long i = 0; i < size; i++)
+        {
+            if (!readToken())
+            {
+                return false;
+            }
+
+            if (tokenType != TOKEN_STRING)
+            {
+                return fail(propertyName, "Expected a string as key");
+            }
+
+            final int index = schema.indexOf(buffer, tokenValueOffset, (int) tokenLength);
+
+            if (index >= 0)
+            {
+                if (!validateProperty(schema.getProperty(index)))
+                {
+                    return false;
+                }
+
+                foundProperties |= 1L << index;
+            }
+            else if (!skipValue())
+            {
+                return false;
+            }
+        }
+
+        final long missingProperties = schema.getRequiredMask() & ~foundProperties;
+        if (missingProperties != 0)
+        {
+            final Property missingProperty = schema.getProperty(Long.numberOfTrailingZeros(missingProperties));
+            return fail(missingProperty.getName(), "No value set");
+        }
+
+        return true;
+    }
+
+    protected boolean validateProperty(Property property)
+    {
+        final String name = property.getName();
+
+        if (property.getType() == MsgPackSchema.PropertyType.OBJECT)
+        {
+            return validateObject(property.getObjectSchema(), name);
+        }
+        else if (property.getType() == MsgPackSchema.PropertyType.ANY)
+        {
+            return skipValue();
+        }
+
+        if (!readToken())
+        {
+            return false;
+        }
+
+        switch (property.getType())
+        {
+            case STRING:
+                return expect(name, TOKEN_STRING) && checkLength(property);
+
+            case BINARY:
+                return expect(name, TOKEN_BINARY) && checkLength(property);
+
+            case ENUM:
+                if (!expect(name, TOKEN_STRING))
+                {
+                    return false;
+                }
+                else if (!property.isEnumValue(buffer, tokenValueOffset, (int) tokenLength))
+                {
+                    return fail(name, "Unknown enum value");
+                }
+                return true;
+
+            case INTEGER:
+                if (!expect(name, TOKEN_INTEGER))
+                {
+                    return false;
+                }
+                else if (tokenIntegerOverflow || tokenIntegerValue < Integer.MIN_VALUE || tokenIntegerValue > Integer.MAX_VALUE)
+                {
+                    return fail(name, "Value is out of integer range");
+                }
+                return true;
+
+            case LONG:
+                if (!expect(name, TOKEN_INTEGER))
+                {
+                    return false;
+                }
+                else if (tokenIntegerOverflow)
+                {
+                    return fail(name, "Value is out of long range");
+                }
+                return true;
+
+            case BOOLEAN:
+                return expect(name, TOKEN_BOOLEAN);
+
+            default:
+                throw new IllegalStateException("Unexpected property type " + property.getType());
+        }
+    }
+
+    protected boolean expect(String propertyName, int expectedTokenType)
+    {
+        if (tokenType != expectedTokenType)
+        {
+            return fail(propertyName, "Unexpected value type");
+        }
+        return true;
+    }
+
+    protected boolean checkLength(Property property)
+    {
+        final int maxLength = property.getMaxLength();
+
+        if (maxLength != MsgPackSchema.NO_MAX_LENGTH && tokenLength > maxLength)
+        {
+            return fail(property.getName(), String.format("Value length exceeds max length. Length: %d, max: %d", tokenLength, maxLength));
+        }
+        return true;
+    }
+}
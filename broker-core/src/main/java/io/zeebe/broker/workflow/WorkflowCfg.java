@@ -24,4 +24,10 @@ public class WorkflowCfg extends ComponentConfiguration
     public int deploymentCacheSize = 32;
 
     public int payloadCacheSize = 64;
+
+    /**
+     * The max number of workflow instances which are processed at once by a
+     * bulk operation (e.g. cancel all instances of a workflow).
+     */
+    public int bulkOperationChunkSize = 100;
 }
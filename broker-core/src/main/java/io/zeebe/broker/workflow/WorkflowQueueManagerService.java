@@ -20,7 +20,7 @@ package io.zeebe.broker.workflow;
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.SNAPSHOT_STORAGE_SERVICE;
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.logStreamServiceName;
 import static io.zeebe.broker.logstreams.processor.StreamProcessorIds.INCIDENT_PROCESSOR_ID;
-import static io.zeebe.broker.system.SystemServiceNames.ACTOR_SCHEDULER_SERVICE;
+import static io.zeebe.broker.system.SystemServiceNames.PARTITION_ACTOR_SCHEDULERS_SERVICE;
 import static io.zeebe.broker.workflow.WorkflowQueueServiceNames.incidentStreamProcessorServiceName;
 import static io.zeebe.broker.workflow.WorkflowQueueServiceNames.workflowInstanceStreamProcessorServiceName;
 
@@ -87,7 +87,8 @@ public class WorkflowQueueManagerService implements Service<WorkflowQueueManager
                 responseWriter,
                 createWorkflowResponseSender,
                 workflowCfg.deploymentCacheSize,
-                workflowCfg.payloadCacheSize);
+                workflowCfg.payloadCacheSize,
+                workflowCfg.bulkOperationChunkSize);
 
         final StreamProcessorService workflowStreamProcessorService = new StreamProcessorService(
                 streamProcessorName,
@@ -99,7 +100,7 @@ public class WorkflowQueueManagerService implements Service<WorkflowQueueManager
                 .dependency(logStreamServiceName, workflowStreamProcessorService.getSourceStreamInjector())
                 .dependency(logStreamServiceName, workflowStreamProcessorService.getTargetStreamInjector())
                 .dependency(SNAPSHOT_STORAGE_SERVICE, workflowStreamProcessorService.getSnapshotStorageInjector())
-                .dependency(ACTOR_SCHEDULER_SERVICE, workflowStreamProcessorService.getActorSchedulerInjector())
+                .dependency(PARTITION_ACTOR_SCHEDULERS_SERVICE, workflowStreamProcessorService.getActorSchedulersInjector())
                 .install();
     }
 
@@ -122,7 +123,7 @@ public class WorkflowQueueManagerService implements Service<WorkflowQueueManager
                 .dependency(logStreamServiceName, incidentStreamProcessorService.getSourceStreamInjector())
                 .dependency(logStreamServiceName, incidentStreamProcessorService.getTargetStreamInjector())
                 .dependency(SNAPSHOT_STORAGE_SERVICE, incidentStreamProcessorService.getSnapshotStorageInjector())
-                .dependency(ACTOR_SCHEDULER_SERVICE, incidentStreamProcessorService.getActorSchedulerInjector())
+                .dependency(PARTITION_ACTOR_SCHEDULERS_SERVICE, incidentStreamProcessorService.getActorSchedulersInjector())
                 .install();
     }
 
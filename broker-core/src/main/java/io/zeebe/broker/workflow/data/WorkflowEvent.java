@@ -20,15 +20,24 @@ package io.zeebe.broker.workflow.data;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.msgpack.property.*;
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public class WorkflowEvent extends UnpackedObject
 {
+    private static final DirectBuffer NO_WORKFLOW = new UnsafeBuffer(0, 0);
+
     private final EnumProperty<WorkflowState> stateProp = new EnumProperty<>("state", WorkflowState.class);
 
     private final StringProperty bpmnProcessIdProp = new StringProperty("bpmnProcessId");
     private final IntegerProperty versionProp = new IntegerProperty("version");
     private final BinaryProperty bpmnXmlProp = new BinaryProperty("bpmnXml");
 
+    /**
+     * the compiled workflow (see {@link io.zeebe.broker.workflow.graph.data.WorkflowGraphRecord}),
+     * the BPMN XML is only kept as deployed resource
+     */
+    private final BinaryProperty workflowProp = new BinaryProperty("workflow", NO_WORKFLOW);
+
     private final LongProperty deploymentKeyProp = new LongProperty("deploymentKey");
 
     public WorkflowEvent()
@@ -37,6 +46,7 @@ public class WorkflowEvent extends UnpackedObject
             .declareProperty(bpmnProcessIdProp)
             .declareProperty(versionProp)
             .declareProperty(bpmnXmlProp)
+            .declareProperty(workflowProp)
             .declareProperty(deploymentKeyProp);
     }
 
@@ -94,6 +104,27 @@ public class WorkflowEvent extends UnpackedObject
         return this;
     }
 
+    public boolean hasWorkflow()
+    {
+        return workflowProp.getValue().capacity() > 0;
+    }
+
+    public DirectBuffer getWorkflow()
+    {
+        return workflowProp.getValue();
+    }
+
+    public WorkflowEvent setWorkflow(DirectBuffer workflow)
+    {
+        return setWorkflow(workflow, 0, workflow.capacity());
+    }
+
+    public WorkflowEvent setWorkflow(DirectBuffer workflow, int offset, int length)
+    {
+        this.workflowProp.setValue(workflow, offset, length);
+        return this;
+    }
+
     public long getDeploymentKey()
     {
         return deploymentKeyProp.getValue();
@@ -44,6 +44,17 @@ public enum WorkflowInstanceState
 
     UPDATE_PAYLOAD,
     PAYLOAD_UPDATED,
-    UPDATE_PAYLOAD_REJECTED;
+    UPDATE_PAYLOAD_REJECTED,
+
+    // bulk operations on all instances of a workflow on a partition
+    CANCEL_WORKFLOW_INSTANCES,
+    WORKFLOW_INSTANCES_CANCELING,
+    WORKFLOW_INSTANCES_CANCELED,
+    CANCEL_WORKFLOW_INSTANCES_REJECTED,
+
+    UPDATE_WORKFLOW_INSTANCES_PAYLOAD,
+    WORKFLOW_INSTANCES_PAYLOAD_UPDATING,
+    WORKFLOW_INSTANCES_PAYLOAD_UPDATED,
+    UPDATE_WORKFLOW_INSTANCES_PAYLOAD_REJECTED;
 
 }
@@ -0,0 +1,204 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.graph;
+
+import java.util.*;
+
+import io.zeebe.broker.workflow.graph.data.FlowElementRecord;
+import io.zeebe.broker.workflow.graph.data.MappingRecord;
+import io.zeebe.broker.workflow.graph.data.WorkflowGraphRecord;
+import io.zeebe.broker.workflow.graph.model.FlowElementType;
+import io.zeebe.model.bpmn.instance.*;
+import io.zeebe.msgpack.mapping.Mapping;
+import io.zeebe.msgpack.value.ValueArray;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Compiles a parsed and validated workflow into the binary execution format
+ * ({@link WorkflowGraphRecord}). The graph is traversed from the start event,
+ * i.e. elements which are not reachable are not part of the result.
+ *
+ * <p>
+ * Conditions and mappings are stored by their expressions which are already
+ * validated, so that they only need to be compiled when the workflow is
+ * loaded.
+ */
+public class WorkflowGraphCompiler
+{
+    private final WorkflowGraphRecord graphRecord = new WorkflowGraphRecord();
+
+    private final List<FlowElement> flowElements = new ArrayList<>();
+    private final Map<FlowElement, Integer> indexOfElement = new IdentityHashMap<>();
+    private final Map<SequenceFlow, FlowNode> sourceOfSequenceFlow = new IdentityHashMap<>();
+
+    public DirectBuffer compile(Workflow workflow)
+    {
+        collectFlowElements(workflow.getInitialStartEvent());
+
+        graphRecord.reset();
+        graphRecord
+            .setFormatVersion(WorkflowGraphRecord.FORMAT_VERSION)
+            .setBpmnProcessId(workflow.getBpmnProcessId())
+            .setStartEvent(indexOfElement.get(workflow.getInitialStartEvent()));
+
+        for (int i = 0; i < flowElements.size(); i++)
+        {
+            writeFlowElement(i, flowElements.get(i));
+        }
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[graphRecord.getLength()]);
+        graphRecord.write(buffer, 0);
+
+        flowElements.clear();
+        indexOfElement.clear();
+        sourceOfSequenceFlow.clear();
+
+        return buffer;
+    }
+
+    private void collectFlowElements(FlowNode startEvent)
+    {
+        final Deque<FlowNode> pendingNodes = new ArrayDeque<>();
+
+        addFlowElement(startEvent);
+        pendingNodes.add(startEvent);
+
+        while (!pendingNodes.isEmpty())
+        {
+            final FlowNode flowNode = pendingNodes.poll();
+
+            for (SequenceFlow sequenceFlow : flowNode.getOutgoingSequenceFlows())
+            {
+                addFlowElement(sequenceFlow);
+                sourceOfSequenceFlow.put(sequenceFlow, flowNode);
+
+                final FlowNode targetNode = sequenceFlow.getTargetNode();
+                if (!indexOfElement.containsKey(targetNode))
+                {
+                    addFlowElement(targetNode);
+                    pendingNodes.add(targetNode);
+                }
+            }
+        }
+    }
+
+    private void addFlowElement(FlowElement flowElement)
+    {
+        indexOfElement.put(flowElement, flowElements.size());
+        flowElements.add(flowElement);
+    }
+
+    private void writeFlowElement(int index, FlowElement flowElement)
+    {
+        final FlowElementRecord elementRecord = graphRecord.elements().add();
+
+        elementRecord
+            .setId(flowElement.getIdAsBuffer())
+            .setType(getType(flowElement));
+
+        if (flowElement.getBpmnAspect() != null)
+        {
+            elementRecord.setAspect(flowElement.getBpmnAspect().name());
+        }
+
+        if (flowElement instanceof SequenceFlow)
+        {
+            final SequenceFlow sequenceFlow = (SequenceFlow) flowElement;
+
+            elementRecord
+                .setSource(indexOfElement.get(sourceOfSequenceFlow.get(sequenceFlow)))
+                .setTarget(indexOfElement.get(sequenceFlow.getTargetNode()));
+
+            if (sequenceFlow.getCondition() != null)
+            {
+                elementRecord.setCondition(sequenceFlow.getCondition().getExpression());
+            }
+        }
+        else if (flowElement instanceof ExclusiveGateway)
+        {
+            final SequenceFlow defaultFlow = ((ExclusiveGateway) flowElement).getDefaultFlow();
+            if (defaultFlow != null)
+            {
+                elementRecord.setDefaultFlow(indexOfElement.get(defaultFlow));
+            }
+        }
+        else if (flowElement instanceof ServiceTask)
+        {
+            final ServiceTask serviceTask = (ServiceTask) flowElement;
+            final TaskDefinition taskDefinition = serviceTask.getTaskDefinition();
+
+            elementRecord
+                .setTaskType(taskDefinition.getTypeAsBuffer())
+                .setTaskRetries(taskDefinition.getRetries());
+
+            final TaskHeaders taskHeaders = serviceTask.getTaskHeaders();
+            if (taskHeaders != null && !taskHeaders.isEmpty())
+            {
+                elementRecord.setTaskHeaders(taskHeaders.asMsgpackEncoded());
+            }
+
+            final InputOutputMapping inputOutputMapping = serviceTask.getInputOutputMapping();
+            if (inputOutputMapping != null)
+            {
+                writeMappings(graphRecord.inputMappings(), index, inputOutputMapping.getInputMappings());
+                writeMappings(graphRecord.outputMappings(), index, inputOutputMapping.getOutputMappings());
+            }
+        }
+    }
+
+    private static void writeMappings(ValueArray<MappingRecord> mappingRecords, int element, Mapping[] mappings)
+    {
+        for (Mapping mapping : mappings)
+        {
+            mappingRecords.add()
+                .setElement(element)
+                .setSource(mapping.getSource().getExpression())
+                .setTarget(mapping.getTargetQueryString());
+        }
+    }
+
+    private static FlowElementType getType(FlowElement flowElement)
+    {
+        if (flowElement instanceof SequenceFlow)
+        {
+            return FlowElementType.SEQUENCE_FLOW;
+        }
+        else if (flowElement instanceof StartEvent)
+        {
+            return FlowElementType.START_EVENT;
+        }
+        else if (flowElement instanceof EndEvent)
+        {
+            return FlowElementType.END_EVENT;
+        }
+        else if (flowElement instanceof ServiceTask)
+        {
+            return FlowElementType.SERVICE_TASK;
+        }
+        else if (flowElement instanceof ExclusiveGateway)
+        {
+            return FlowElementType.EXCLUSIVE_GATEWAY;
+        }
+        else
+        {
+            throw new RuntimeException(String.format("Flow element of type '%s' is not supported.", flowElement));
+        }
+    }
+
+}
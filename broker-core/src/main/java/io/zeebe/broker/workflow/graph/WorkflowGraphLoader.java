@@ -0,0 +1,186 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.graph;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.cloneBuffer;
+
+import java.util.*;
+
+import io.zeebe.broker.workflow.graph.data.FlowElementRecord;
+import io.zeebe.broker.workflow.graph.data.MappingRecord;
+import io.zeebe.broker.workflow.graph.data.WorkflowGraphRecord;
+import io.zeebe.broker.workflow.graph.model.*;
+import io.zeebe.model.bpmn.BpmnAspect;
+import io.zeebe.msgpack.el.JsonConditionFactory;
+import io.zeebe.msgpack.jsonpath.JsonPathQueryCompiler;
+import io.zeebe.msgpack.mapping.Mapping;
+import io.zeebe.msgpack.value.ValueArray;
+import org.agrona.DirectBuffer;
+
+/**
+ * Loads a workflow from the binary execution format. Does not parse the
+ * deployed resource.
+ */
+public class WorkflowGraphLoader
+{
+    private final WorkflowGraphRecord graphRecord = new WorkflowGraphRecord();
+
+    private final JsonPathQueryCompiler queryCompiler = new JsonPathQueryCompiler();
+
+    private final List<ExecutableFlowElement> flowElements = new ArrayList<>();
+
+    public ExecutableWorkflow load(DirectBuffer buffer)
+    {
+        graphRecord.reset();
+        graphRecord.wrap(buffer);
+
+        final int formatVersion = graphRecord.getFormatVersion();
+        if (formatVersion != WorkflowGraphRecord.FORMAT_VERSION)
+        {
+            throw new RuntimeException(String.format("Unsupported workflow format version: %d, expected: %d", formatVersion, WorkflowGraphRecord.FORMAT_VERSION));
+        }
+
+        final ExecutableWorkflow workflow = new ExecutableWorkflow(cloneBuffer(graphRecord.getBpmnProcessId()));
+
+        try
+        {
+            final Iterator<FlowElementRecord> elements = graphRecord.elements().iterator();
+            while (elements.hasNext())
+            {
+                final ExecutableFlowElement flowElement = createFlowElement(elements.next());
+
+                flowElements.add(flowElement);
+                workflow.addFlowElement(flowElement);
+            }
+
+            linkFlowElements();
+
+            readMappings(graphRecord.inputMappings(), true);
+            readMappings(graphRecord.outputMappings(), false);
+
+            workflow.setStartEvent((ExecutableFlowNode) flowElements.get(graphRecord.getStartEvent()));
+        }
+        finally
+        {
+            flowElements.clear();
+        }
+
+        return workflow;
+    }
+
+    private ExecutableFlowElement createFlowElement(FlowElementRecord elementRecord)
+    {
+        final DirectBuffer id = cloneBuffer(elementRecord.getId());
+        final DirectBuffer aspectName = elementRecord.getAspect();
+        final BpmnAspect aspect = aspectName.capacity() > 0 ? BpmnAspect.valueOf(bufferAsString(aspectName)) : null;
+
+        final FlowElementType type = elementRecord.getType();
+        switch (type)
+        {
+            case SEQUENCE_FLOW:
+            {
+                final ExecutableSequenceFlow sequenceFlow = new ExecutableSequenceFlow(id, aspect);
+
+                final DirectBuffer condition = elementRecord.getCondition();
+                if (condition.capacity() > 0)
+                {
+                    sequenceFlow.setCondition(JsonConditionFactory.createCondition(bufferAsString(condition)));
+                }
+                return sequenceFlow;
+            }
+
+            case EXCLUSIVE_GATEWAY:
+                return new ExecutableExclusiveGateway(id, aspect);
+
+            case SERVICE_TASK:
+            {
+                final ExecutableServiceTask serviceTask = new ExecutableServiceTask(id, aspect);
+                serviceTask.setTaskType(cloneBuffer(elementRecord.getTaskType()));
+                serviceTask.setTaskRetries(elementRecord.getTaskRetries());
+                serviceTask.setTaskHeaders(cloneBuffer(elementRecord.getTaskHeaders()));
+                return serviceTask;
+            }
+
+            default:
+                return new ExecutableFlowNode(id, type, aspect);
+        }
+    }
+
+    private void linkFlowElements()
+    {
+        int index = 0;
+
+        final Iterator<FlowElementRecord> elements = graphRecord.elements().iterator();
+        while (elements.hasNext())
+        {
+            final FlowElementRecord elementRecord = elements.next();
+            final ExecutableFlowElement flowElement = flowElements.get(index);
+
+            if (flowElement instanceof ExecutableSequenceFlow)
+            {
+                final ExecutableSequenceFlow sequenceFlow = (ExecutableSequenceFlow) flowElement;
+                final ExecutableFlowNode sourceNode = (ExecutableFlowNode) flowElements.get(elementRecord.getSource());
+
+                sequenceFlow.setSourceNode(sourceNode);
+                sequenceFlow.setTargetNode((ExecutableFlowNode) flowElements.get(elementRecord.getTarget()));
+
+                sourceNode.addOutgoingSequenceFlow(sequenceFlow);
+            }
+            else if (flowElement instanceof ExecutableExclusiveGateway && elementRecord.getDefaultFlow() != FlowElementRecord.NO_ELEMENT)
+            {
+                ((ExecutableExclusiveGateway) flowElement).setDefaultFlow((ExecutableSequenceFlow) flowElements.get(elementRecord.getDefaultFlow()));
+            }
+
+            index += 1;
+        }
+    }
+
+    private void readMappings(ValueArray<MappingRecord> mappingRecords, boolean isInput)
+    {
+        final Map<ExecutableServiceTask, List<Mapping>> mappingsOfTask = new IdentityHashMap<>();
+
+        final Iterator<MappingRecord> iterator = mappingRecords.iterator();
+        while (iterator.hasNext())
+        {
+            final MappingRecord mappingRecord = iterator.next();
+            final ExecutableServiceTask serviceTask = (ExecutableServiceTask) flowElements.get(mappingRecord.getElement());
+
+            final Mapping mapping = new Mapping(
+                    queryCompiler.compile(bufferAsString(mappingRecord.getSource())),
+                    bufferAsString(mappingRecord.getTarget()));
+
+            mappingsOfTask.computeIfAbsent(serviceTask, t -> new ArrayList<>()).add(mapping);
+        }
+
+        mappingsOfTask.forEach((serviceTask, mappings) ->
+        {
+            final Mapping[] mappingArray = mappings.toArray(new Mapping[mappings.size()]);
+
+            if (isInput)
+            {
+                serviceTask.setInputMappings(mappingArray);
+            }
+            else
+            {
+                serviceTask.setOutputMappings(mappingArray);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.graph.data;
+
+import io.zeebe.broker.workflow.graph.model.FlowElementType;
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.msgpack.property.*;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A flow element of a compiled workflow. Elements reference each other by
+ * their index in {@link WorkflowGraphRecord#elements()}. Properties which
+ * don't apply to the type of the element keep their default value.
+ */
+public class FlowElementRecord extends UnpackedObject
+{
+    public static final int NO_ELEMENT = -1;
+
+    private static final DirectBuffer NO_HEADERS = new UnsafeBuffer(0, 0);
+
+    private final StringProperty idProp = new StringProperty("id");
+    private final EnumProperty<FlowElementType> typeProp = new EnumProperty<>("type", FlowElementType.class);
+    private final StringProperty aspectProp = new StringProperty("aspect", "");
+
+    // sequence flow
+    private final IntegerProperty sourceProp = new IntegerProperty("source", NO_ELEMENT);
+    private final IntegerProperty targetProp = new IntegerProperty("target", NO_ELEMENT);
+    private final StringProperty conditionProp = new StringProperty("condition", "");
+
+    // exclusive gateway
+    private final IntegerProperty defaultFlowProp = new IntegerProperty("defaultFlow", NO_ELEMENT);
+
+    // service task
+    private final StringProperty taskTypeProp = new StringProperty("taskType", "");
+    private final IntegerProperty taskRetriesProp = new IntegerProperty("taskRetries", 0);
+    private final BinaryProperty taskHeadersProp = new BinaryProperty("taskHeaders", NO_HEADERS);
+
+    public FlowElementRecord()
+    {
+        this.declareProperty(idProp)
+            .declareProperty(typeProp)
+            .declareProperty(aspectProp)
+            .declareProperty(sourceProp)
+            .declareProperty(targetProp)
+            .declareProperty(conditionProp)
+            .declareProperty(defaultFlowProp)
+            .declareProperty(taskTypeProp)
+            .declareProperty(taskRetriesProp)
+            .declareProperty(taskHeadersProp);
+    }
+
+    public DirectBuffer getId()
+    {
+        return idProp.getValue();
+    }
+
+    public FlowElementRecord setId(DirectBuffer id)
+    {
+        this.idProp.setValue(id, 0, id.capacity());
+        return this;
+    }
+
+    public FlowElementType getType()
+    {
+        return typeProp.getValue();
+    }
+
+    public FlowElementRecord setType(FlowElementType type)
+    {
+        this.typeProp.setValue(type);
+        return this;
+    }
+
+    public DirectBuffer getAspect()
+    {
+        return aspectProp.getValue();
+    }
+
+    public FlowElementRecord setAspect(String aspect)
+    {
+        this.aspectProp.setValue(aspect);
+        return this;
+    }
+
+    public int getSource()
+    {
+        return sourceProp.getValue();
+    }
+
+    public FlowElementRecord setSource(int source)
+    {
+        this.sourceProp.setValue(source);
+        return this;
+    }
+
+    public int getTarget()
+    {
+        return targetProp.getValue();
+    }
+
+    public FlowElementRecord setTarget(int target)
+    {
+        this.targetProp.setValue(target);
+        return this;
+    }
+
+    public DirectBuffer getCondition()
+    {
+        return conditionProp.getValue();
+    }
+
+    public FlowElementRecord setCondition(String condition)
+    {
+        this.conditionProp.setValue(condition);
+        return this;
+    }
+
+    public int getDefaultFlow()
+    {
+        return defaultFlowProp.getValue();
+    }
+
+    public FlowElementRecord setDefaultFlow(int defaultFlow)
+    {
+        this.defaultFlowProp.setValue(defaultFlow);
+        return this;
+    }
+
+    public DirectBuffer getTaskType()
+    {
+        return taskTypeProp.getValue();
+    }
+
+    public FlowElementRecord setTaskType(DirectBuffer taskType)
+    {
+        this.taskTypeProp.setValue(taskType, 0, taskType.capacity());
+        return this;
+    }
+
+    public int getTaskRetries()
+    {
+        return taskRetriesProp.getValue();
+    }
+
+    public FlowElementRecord setTaskRetries(int taskRetries)
+    {
+        this.taskRetriesProp.setValue(taskRetries);
+        return this;
+    }
+
+    public DirectBuffer getTaskHeaders()
+    {
+        return taskHeadersProp.getValue();
+    }
+
+    public FlowElementRecord setTaskHeaders(DirectBuffer taskHeaders)
+    {
+        this.taskHeadersProp.setValue(taskHeaders, 0, taskHeaders.capacity());
+        return this;
+    }
+
+}
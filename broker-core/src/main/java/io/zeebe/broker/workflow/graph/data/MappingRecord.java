@@ -0,0 +1,71 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.graph.data;
+
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.msgpack.property.IntegerProperty;
+import io.zeebe.msgpack.property.StringProperty;
+import org.agrona.DirectBuffer;
+
+public class MappingRecord extends UnpackedObject
+{
+    private final IntegerProperty elementProp = new IntegerProperty("element");
+    private final StringProperty sourceProp = new StringProperty("source");
+    private final StringProperty targetProp = new StringProperty("target");
+
+    public MappingRecord()
+    {
+        this.declareProperty(elementProp)
+            .declareProperty(sourceProp)
+            .declareProperty(targetProp);
+    }
+
+    public int getElement()
+    {
+        return elementProp.getValue();
+    }
+
+    public MappingRecord setElement(int element)
+    {
+        this.elementProp.setValue(element);
+        return this;
+    }
+
+    public DirectBuffer getSource()
+    {
+        return sourceProp.getValue();
+    }
+
+    public MappingRecord setSource(DirectBuffer source)
+    {
+        this.sourceProp.setValue(source, 0, source.capacity());
+        return this;
+    }
+
+    public DirectBuffer getTarget()
+    {
+        return targetProp.getValue();
+    }
+
+    public MappingRecord setTarget(String target)
+    {
+        this.targetProp.setValue(target);
+        return this;
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.graph.data;
+
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.msgpack.property.ArrayProperty;
+import io.zeebe.msgpack.property.IntegerProperty;
+import io.zeebe.msgpack.property.StringProperty;
+import io.zeebe.msgpack.value.ArrayValue;
+import io.zeebe.msgpack.value.ValueArray;
+import org.agrona.DirectBuffer;
+
+/**
+ * Binary execution format of a deployed workflow. It is compiled once by the
+ * system partition and distributed to the partitions together with the
+ * workflow event, so that a partition can load the workflow without parsing
+ * the deployed resource.
+ */
+public class WorkflowGraphRecord extends UnpackedObject
+{
+    /**
+     * Must be increased on any incompatible change of the format.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private final IntegerProperty formatVersionProp = new IntegerProperty("formatVersion");
+    private final StringProperty bpmnProcessIdProp = new StringProperty("bpmnProcessId");
+    private final IntegerProperty startEventProp = new IntegerProperty("startEvent");
+
+    private final ArrayProperty<FlowElementRecord> elementsProp = new ArrayProperty<>(
+            "elements",
+            new FlowElementRecord());
+
+    private final ArrayProperty<MappingRecord> inputMappingsProp = new ArrayProperty<>(
+            "inputMappings",
+            ArrayValue.emptyArray(),
+            new MappingRecord());
+
+    private final ArrayProperty<MappingRecord> outputMappingsProp = new ArrayProperty<>(
+            "outputMappings",
+            ArrayValue.emptyArray(),
+            new MappingRecord());
+
+    public WorkflowGraphRecord()
+    {
+        this.declareProperty(formatVersionProp)
+            .declareProperty(bpmnProcessIdProp)
+            .declareProperty(startEventProp)
+            .declareProperty(elementsProp)
+            .declareProperty(inputMappingsProp)
+            .declareProperty(outputMappingsProp);
+    }
+
+    public int getFormatVersion()
+    {
+        return formatVersionProp.getValue();
+    }
+
+    public WorkflowGraphRecord setFormatVersion(int formatVersion)
+    {
+        this.formatVersionProp.setValue(formatVersion);
+        return this;
+    }
+
+    public DirectBuffer getBpmnProcessId()
+    {
+        return bpmnProcessIdProp.getValue();
+    }
+
+    public WorkflowGraphRecord setBpmnProcessId(DirectBuffer bpmnProcessId)
+    {
+        this.bpmnProcessIdProp.setValue(bpmnProcessId, 0, bpmnProcessId.capacity());
+        return this;
+    }
+
+    public int getStartEvent()
+    {
+        return startEventProp.getValue();
+    }
+
+    public WorkflowGraphRecord setStartEvent(int startEvent)
+    {
+        this.startEventProp.setValue(startEvent);
+        return this;
+    }
+
+    public ValueArray<FlowElementRecord> elements()
+    {
+        return elementsProp;
+    }
+
+    public ValueArray<MappingRecord> inputMappings()
+    {
+        return inputMappingsProp;
+    }
+
+    public ValueArray<MappingRecord> outputMappings()
+    {
+        return outputMappingsProp;
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.graph.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.zeebe.model.bpmn.BpmnAspect;
+import org.agrona.DirectBuffer;
+
+public class ExecutableExclusiveGateway extends ExecutableFlowNode
+{
+    private final List<ExecutableSequenceFlow> outgoingSequenceFlowsWithConditions = new ArrayList<>();
+
+    private ExecutableSequenceFlow defaultFlow;
+
+    public ExecutableExclusiveGateway(DirectBuffer id, BpmnAspect bpmnAspect)
+    {
+        super(id, FlowElementType.EXCLUSIVE_GATEWAY, bpmnAspect);
+    }
+
+    @Override
+    public void addOutgoingSequenceFlow(ExecutableSequenceFlow sequenceFlow)
+    {
+        super.addOutgoingSequenceFlow(sequenceFlow);
+
+        if (sequenceFlow.hasCondition())
+        {
+            outgoingSequenceFlowsWithConditions.add(sequenceFlow);
+        }
+    }
+
+    public List<ExecutableSequenceFlow> getOutgoingSequenceFlowsWithConditions()
+    {
+        return outgoingSequenceFlowsWithConditions;
+    }
+
+    public ExecutableSequenceFlow getDefaultFlow()
+    {
+        return defaultFlow;
+    }
+
+    public void setDefaultFlow(ExecutableSequenceFlow defaultFlow)
+    {
+        this.defaultFlow = defaultFlow;
+    }
+
+}
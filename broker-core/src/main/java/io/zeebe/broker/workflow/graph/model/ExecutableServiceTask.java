@@ -0,0 +1,99 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.graph.model;
+
+import io.zeebe.model.bpmn.BpmnAspect;
+import io.zeebe.msgpack.mapping.Mapping;
+import org.agrona.DirectBuffer;
+
+public class ExecutableServiceTask extends ExecutableFlowNode
+{
+    private static final Mapping[] NO_MAPPINGS = new Mapping[0];
+
+    private DirectBuffer taskType;
+    private int taskRetries;
+
+    /**
+     * msgpack encoded, empty if the task has no custom headers
+     */
+    private DirectBuffer taskHeaders;
+
+    private Mapping[] inputMappings = NO_MAPPINGS;
+    private Mapping[] outputMappings = NO_MAPPINGS;
+
+    public ExecutableServiceTask(DirectBuffer id, BpmnAspect bpmnAspect)
+    {
+        super(id, FlowElementType.SERVICE_TASK, bpmnAspect);
+    }
+
+    public DirectBuffer getTaskType()
+    {
+        return taskType;
+    }
+
+    public void setTaskType(DirectBuffer taskType)
+    {
+        this.taskType = taskType;
+    }
+
+    public int getTaskRetries()
+    {
+        return taskRetries;
+    }
+
+    public void setTaskRetries(int taskRetries)
+    {
+        this.taskRetries = taskRetries;
+    }
+
+    public boolean hasTaskHeaders()
+    {
+        return taskHeaders != null && taskHeaders.capacity() > 0;
+    }
+
+    public DirectBuffer getTaskHeaders()
+    {
+        return taskHeaders;
+    }
+
+    public void setTaskHeaders(DirectBuffer taskHeaders)
+    {
+        this.taskHeaders = taskHeaders;
+    }
+
+    public Mapping[] getInputMappings()
+    {
+        return inputMappings;
+    }
+
+    public void setInputMappings(Mapping[] inputMappings)
+    {
+        this.inputMappings = inputMappings;
+    }
+
+    public Mapping[] getOutputMappings()
+    {
+        return outputMappings;
+    }
+
+    public void setOutputMappings(Mapping[] outputMappings)
+    {
+        this.outputMappings = outputMappings;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.graph.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.agrona.DirectBuffer;
+
+public class ExecutableWorkflow
+{
+    private final DirectBuffer bpmnProcessId;
+
+    private final Map<DirectBuffer, ExecutableFlowElement> flowElementsById = new HashMap<>();
+
+    private ExecutableFlowNode startEvent;
+
+    public ExecutableWorkflow(DirectBuffer bpmnProcessId)
+    {
+        this.bpmnProcessId = bpmnProcessId;
+    }
+
+    public DirectBuffer getBpmnProcessId()
+    {
+        return bpmnProcessId;
+    }
+
+    public ExecutableFlowNode getStartEvent()
+    {
+        return startEvent;
+    }
+
+    public void setStartEvent(ExecutableFlowNode startEvent)
+    {
+        this.startEvent = startEvent;
+    }
+
+    public void addFlowElement(ExecutableFlowElement flowElement)
+    {
+        flowElementsById.put(flowElement.getIdAsBuffer(), flowElement);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends ExecutableFlowElement> T findFlowElementById(DirectBuffer id)
+    {
+        return (T) flowElementsById.get(id);
+    }
+
+}
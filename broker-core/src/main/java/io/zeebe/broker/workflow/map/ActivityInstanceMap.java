@@ -21,9 +21,9 @@ import static org.agrona.BitUtil.*;
 
 import java.nio.ByteOrder;
 
+import io.zeebe.broker.util.BufferInternMap;
 import io.zeebe.logstreams.snapshot.ZbMapSnapshotSupport;
 import io.zeebe.map.Long2BytesZbMap;
-import io.zeebe.model.bpmn.impl.ZeebeConstraints;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -31,22 +31,22 @@ import org.agrona.concurrent.UnsafeBuffer;
  * Maps <b>activity instance key</b> to
  *
  * <li>task instance key
- * <li>activity id length
- * <li>activity id (max 255 chars)
+ * <li>activity id (interned)
  */
 public class ActivityInstanceMap implements AutoCloseable
 {
-    private static final int SIZE_OF_ACTIVITY_ID = ZeebeConstraints.ID_MAX_LENGTH * SIZE_OF_CHAR;
-    private static final int INDEX_VALUE_SIZE = SIZE_OF_LONG + SIZE_OF_INT + SIZE_OF_ACTIVITY_ID;
+    private static final int INDEX_VALUE_SIZE = SIZE_OF_LONG + SIZE_OF_INT;
 
     private static final int TASK_KEY_OFFSET = 0;
-    private static final int ACTIVITY_ID_LENGTH_OFFSET = TASK_KEY_OFFSET + SIZE_OF_LONG;
-    private static final int ACTIVITY_ID_OFFSET = ACTIVITY_ID_LENGTH_OFFSET + SIZE_OF_INT;
+    private static final int ACTIVITY_ID_OFFSET = TASK_KEY_OFFSET + SIZE_OF_LONG;
 
     private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
 
     private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[INDEX_VALUE_SIZE]);
-    private final UnsafeBuffer activityIdBuffer = new UnsafeBuffer(new byte[SIZE_OF_ACTIVITY_ID]);
+    private final UnsafeBuffer activityIdBuffer = new UnsafeBuffer(0, 0);
+    private final UnsafeBuffer activityIdValueBuffer;
+
+    private final BufferInternMap idDictionary;
 
     private final Long2BytesZbMap map;
     private final ZbMapSnapshotSupport<Long2BytesZbMap> snapshotSupport;
@@ -54,8 +54,10 @@ public class ActivityInstanceMap implements AutoCloseable
     private long key;
     private boolean isRead = false;
 
-    public ActivityInstanceMap()
+    public ActivityInstanceMap(BufferInternMap idDictionary)
     {
+        this.idDictionary = idDictionary;
+        this.activityIdValueBuffer = new UnsafeBuffer(new byte[idDictionary.getMaxValueLength()]);
         this.map = new Long2BytesZbMap(INDEX_VALUE_SIZE);
         this.snapshotSupport = new ZbMapSnapshotSupport<>(map);
     }
@@ -98,9 +100,10 @@ public class ActivityInstanceMap implements AutoCloseable
     {
         if (isRead)
         {
-            final int length = buffer.getInt(ACTIVITY_ID_LENGTH_OFFSET, BYTE_ORDER);
+            final int activityId = buffer.getInt(ACTIVITY_ID_OFFSET, BYTE_ORDER);
+            final int length = idDictionary.copy(activityId, activityIdValueBuffer, 0);
 
-            activityIdBuffer.wrap(buffer, ACTIVITY_ID_OFFSET, length);
+            activityIdBuffer.wrap(activityIdValueBuffer, 0, length);
         }
         else
         {
@@ -125,8 +128,7 @@ public class ActivityInstanceMap implements AutoCloseable
     public ActivityInstanceMap setActivityId(DirectBuffer activityId)
     {
         ensureRead();
-        buffer.putInt(ACTIVITY_ID_LENGTH_OFFSET, activityId.capacity(), BYTE_ORDER);
-        buffer.putBytes(ACTIVITY_ID_OFFSET, activityId, 0, activityId.capacity());
+        buffer.putInt(ACTIVITY_ID_OFFSET, idDictionary.intern(activityId), BYTE_ORDER);
         return this;
     }
 
@@ -17,22 +17,22 @@
  */
 package io.zeebe.broker.workflow.map;
 
-import io.zeebe.model.bpmn.instance.Workflow;
+import io.zeebe.broker.workflow.graph.model.ExecutableWorkflow;
 
 public class DeployedWorkflow
 {
-    private final Workflow workflow;
+    private final ExecutableWorkflow workflow;
 
     private final int version;
 
-    public DeployedWorkflow(Workflow workflow, int version)
+    public DeployedWorkflow(ExecutableWorkflow workflow, int version)
     {
         super();
         this.workflow = workflow;
         this.version = version;
     }
 
-    public Workflow getWorkflow()
+    public ExecutableWorkflow getWorkflow()
     {
         return workflow;
     }
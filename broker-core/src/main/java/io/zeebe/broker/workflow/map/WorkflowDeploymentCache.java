@@ -17,146 +17,114 @@
  */
 package io.zeebe.broker.workflow.map;
 
-import static org.agrona.BitUtil.*;
-
-import java.nio.ByteOrder;
 import java.util.Iterator;
 
+import io.zeebe.broker.util.BufferInternMap;
 import io.zeebe.broker.workflow.data.WorkflowEvent;
+import io.zeebe.broker.workflow.graph.WorkflowGraphCompiler;
+import io.zeebe.broker.workflow.graph.WorkflowGraphLoader;
+import io.zeebe.broker.workflow.graph.model.ExecutableWorkflow;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.logstreams.snapshot.ZbMapSnapshotSupport;
-import io.zeebe.map.Bytes2LongZbMap;
-import io.zeebe.map.Long2BytesZbMap;
+import io.zeebe.map.Long2LongZbMap;
 import io.zeebe.model.bpmn.BpmnModelApi;
-import io.zeebe.model.bpmn.impl.ZeebeConstraints;
 import io.zeebe.model.bpmn.instance.Workflow;
 import io.zeebe.model.bpmn.instance.WorkflowDefinition;
 import io.zeebe.util.buffer.BufferUtil;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.LongLruCache;
-import org.agrona.concurrent.UnsafeBuffer;
 
 /**
  * Cache of deployed workflows. It contains an LRU cache which maps the workflow
- * key to the parsed workflow. Additionally, it holds an map which maps BPMN
- * process id + version to workflow key.
+ * key to the executable workflow. Additionally, it holds an map which maps BPMN
+ * process id + version to workflow key. The BPMN process id is interned, so
+ * that the key of this map has a fixed width of one long.
  *
  * <p>
- * When a workflow is requested then the parsed workflow is returned from the
- * cache. If it is not present in the cache then the deployed event is seek in
- * the log stream.
+ * When a workflow is requested then the executable workflow is returned from
+ * the cache. If it is not present in the cache then the deployed event is seek
+ * in the log stream and the workflow is loaded from its compiled form (see
+ * {@link WorkflowGraphLoader}).
  */
 public class WorkflowDeploymentCache implements AutoCloseable
 {
     private static final int LATEST_VERSION = -1;
 
-    private static final int PROCESS_ID_LENGTH = ZeebeConstraints.ID_MAX_LENGTH * SIZE_OF_CHAR;
-    private static final int ID_VERSION_KEY_LENGTH = PROCESS_ID_LENGTH + SIZE_OF_INT;
-
-    private static final int POSITION_WORKFLOW_VALUE_LENGTH = SIZE_OF_LONG + SIZE_OF_INT;
-
-    private static final int POSITION_OFFSET = 0;
-    private static final int WORKFLOW_INDEX_OFFSET = POSITION_OFFSET + SIZE_OF_LONG;
-
-    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
-
-    private final UnsafeBuffer positionWorkflowValueBuffer = new UnsafeBuffer(new byte[POSITION_WORKFLOW_VALUE_LENGTH]);
-
-    private final UnsafeBuffer idVersionKeyBuffer = new UnsafeBuffer(new byte[ID_VERSION_KEY_LENGTH]);
-    private int idVersionKeyBufferLength;
-
     private final WorkflowEvent workflowEvent = new WorkflowEvent();
 
-    private final Bytes2LongZbMap idVersionToKeyMap;
-    private final Long2BytesZbMap keyToPositionWorkflowMap;
+    private final BufferInternMap idDictionary;
+
+    private final Long2LongZbMap idVersionToKeyMap;
+    private final Long2LongZbMap keyToPositionMap;
 
-    private final ZbMapSnapshotSupport<Bytes2LongZbMap> idVersionSnapshot;
-    private final ZbMapSnapshotSupport<Long2BytesZbMap> keyPositionSnapshot;
+    private final ZbMapSnapshotSupport<Long2LongZbMap> idVersionSnapshot;
+    private final ZbMapSnapshotSupport<Long2LongZbMap> keyPositionSnapshot;
 
     private final LongLruCache<DeployedWorkflow> cache;
     private final LogStreamReader logStreamReader;
 
-    private final BpmnModelApi bpmn = new BpmnModelApi();
+    private final WorkflowGraphLoader workflowLoader = new WorkflowGraphLoader();
 
-    public WorkflowDeploymentCache(int cacheSize, LogStreamReader logStreamReader)
+    private BpmnModelApi bpmn;
+    private WorkflowGraphCompiler workflowCompiler;
+
+    public WorkflowDeploymentCache(int cacheSize, LogStreamReader logStreamReader, BufferInternMap idDictionary)
     {
-        this.idVersionToKeyMap = new Bytes2LongZbMap(ID_VERSION_KEY_LENGTH);
-        this.keyToPositionWorkflowMap = new Long2BytesZbMap(POSITION_WORKFLOW_VALUE_LENGTH);
+        this.idDictionary = idDictionary;
+
+        this.idVersionToKeyMap = new Long2LongZbMap();
+        this.keyToPositionMap = new Long2LongZbMap();
 
         this.idVersionSnapshot = new ZbMapSnapshotSupport<>(idVersionToKeyMap);
-        this.keyPositionSnapshot = new ZbMapSnapshotSupport<>(keyToPositionWorkflowMap);
+        this.keyPositionSnapshot = new ZbMapSnapshotSupport<>(keyToPositionMap);
 
         this.logStreamReader = logStreamReader;
         this.cache = new LongLruCache<>(cacheSize, this::lookupWorkflow, (workflow) ->
         { });
     }
 
-    public ZbMapSnapshotSupport<Bytes2LongZbMap> getIdVersionSnapshot()
+    public ZbMapSnapshotSupport<Long2LongZbMap> getIdVersionSnapshot()
     {
         return idVersionSnapshot;
     }
 
-    public ZbMapSnapshotSupport<Long2BytesZbMap> getKeyPositionSnapshot()
+    public ZbMapSnapshotSupport<Long2LongZbMap> getKeyPositionSnapshot()
     {
         return keyPositionSnapshot;
     }
 
-    private void wrapIdVersionKey(DirectBuffer bpmnProcessId, int version)
+    private static long idVersionKey(int bpmnProcessId, int version)
     {
-        bpmnProcessId.getBytes(0, idVersionKeyBuffer, 0, bpmnProcessId.capacity());
-        idVersionKeyBuffer.putInt(bpmnProcessId.capacity(), version, BYTE_ORDER);
-
-        idVersionKeyBufferLength = bpmnProcessId.capacity() + SIZE_OF_INT;
+        return ((long) bpmnProcessId << 32) | (version & 0xFFFF_FFFFL);
     }
 
     public void addDeployedWorkflow(long eventPosition, long workflowKey, WorkflowEvent event)
     {
-        positionWorkflowValueBuffer.putLong(POSITION_OFFSET, eventPosition, BYTE_ORDER);
-        positionWorkflowValueBuffer.putInt(WORKFLOW_INDEX_OFFSET, getWorkflowIndex(event), BYTE_ORDER);
-        keyToPositionWorkflowMap.put(workflowKey, positionWorkflowValueBuffer);
+        keyToPositionMap.put(workflowKey, eventPosition);
 
-        wrapIdVersionKey(event.getBpmnProcessId(), event.getVersion());
-        idVersionToKeyMap.put(idVersionKeyBuffer, 0, idVersionKeyBufferLength, workflowKey);
+        final int bpmnProcessId = idDictionary.intern(event.getBpmnProcessId());
 
-        // override the latest version by the given key
-        wrapIdVersionKey(event.getBpmnProcessId(), LATEST_VERSION);
-        idVersionToKeyMap.put(idVersionKeyBuffer, 0, idVersionKeyBufferLength, workflowKey);
-    }
+        idVersionToKeyMap.put(idVersionKey(bpmnProcessId, event.getVersion()), workflowKey);
 
-    private int getWorkflowIndex(WorkflowEvent event)
-    {
-        final DirectBuffer bpmnProcessId = event.getBpmnProcessId();
-        final DirectBuffer bpmnXml = event.getBpmnXml();
-
-        int index = 0;
-
-        final WorkflowDefinition workflowDefinition = bpmn.readFromXmlBuffer(bpmnXml);
-        final Iterator<Workflow> workflows = workflowDefinition.getWorkflows().iterator();
-        while (workflows.hasNext())
-        {
-            final Workflow workflow = workflows.next();
-            if (BufferUtil.equals(bpmnProcessId, workflow.getBpmnProcessId()))
-            {
-                return index;
-            }
-            index += 1;
-        }
-        throw new RuntimeException("workflow not found");
+        // override the latest version by the given key
+        idVersionToKeyMap.put(idVersionKey(bpmnProcessId, LATEST_VERSION), workflowKey);
     }
 
     public void removeDeployedWorkflow(long workflowKey, DirectBuffer bpmnProcessId, int version)
     {
-        keyToPositionWorkflowMap.remove(workflowKey);
+        keyToPositionMap.remove(workflowKey, -1L);
 
-        wrapIdVersionKey(bpmnProcessId, version);
-        idVersionToKeyMap.remove(idVersionKeyBuffer, 0, idVersionKeyBufferLength, -1L);
+        final int processId = idDictionary.lookup(bpmnProcessId);
+        if (processId != BufferInternMap.MISSING_ID)
+        {
+            idVersionToKeyMap.remove(idVersionKey(processId, version), -1L);
 
-        // override the latest version by the key of the previous version
-        final long workflowKeyOfPreviousVersion = getWorkflowKeyByIdAndVersion(bpmnProcessId, version - 1);
+            // override the latest version by the key of the previous version
+            final long workflowKeyOfPreviousVersion = idVersionToKeyMap.get(idVersionKey(processId, version - 1), -1L);
 
-        wrapIdVersionKey(bpmnProcessId, LATEST_VERSION);
-        idVersionToKeyMap.put(idVersionKeyBuffer, 0, idVersionKeyBufferLength, workflowKeyOfPreviousVersion);
+            idVersionToKeyMap.put(idVersionKey(processId, LATEST_VERSION), workflowKeyOfPreviousVersion);
+        }
     }
 
     public long getWorkflowKeyByIdAndLatestVersion(DirectBuffer bpmnProcessId)
@@ -166,9 +134,10 @@ public class WorkflowDeploymentCache implements AutoCloseable
 
     public long getWorkflowKeyByIdAndVersion(DirectBuffer bpmnProcessId, int version)
     {
-        wrapIdVersionKey(bpmnProcessId, version);
+        // don't intern unknown ids on lookup - the process id may come from a rejected request
+        final int processId = idDictionary.lookup(bpmnProcessId);
 
-        return idVersionToKeyMap.get(idVersionKeyBuffer, 0, idVersionKeyBufferLength, -1L);
+        return processId != BufferInternMap.MISSING_ID ? idVersionToKeyMap.get(idVersionKey(processId, version), -1L) : -1L;
     }
 
     public DeployedWorkflow getWorkflow(long workflowKey)
@@ -187,13 +156,10 @@ public class WorkflowDeploymentCache implements AutoCloseable
     {
         DeployedWorkflow deployedWorkflow = null;
 
-        final DirectBuffer positionWorkflowBuffer = keyToPositionWorkflowMap.get(key);
+        final long eventPosition = keyToPositionMap.get(key, -1L);
 
-        if (positionWorkflowBuffer != null)
+        if (eventPosition >= 0)
         {
-            final long eventPosition = positionWorkflowBuffer.getLong(POSITION_OFFSET, BYTE_ORDER);
-            final int workflowIndex = positionWorkflowBuffer.getInt(WORKFLOW_INDEX_OFFSET, BYTE_ORDER);
-
             final boolean found = logStreamReader.seek(eventPosition);
             if (found && logStreamReader.hasNext())
             {
@@ -202,8 +168,7 @@ public class WorkflowDeploymentCache implements AutoCloseable
                 workflowEvent.reset();
                 event.readValue(workflowEvent);
 
-                final WorkflowDefinition workflowDefinition = bpmn.readFromXmlBuffer(workflowEvent.getBpmnXml());
-                final Workflow workflow = getWorkflowAt(workflowDefinition, workflowIndex);
+                final ExecutableWorkflow workflow = workflowEvent.hasWorkflow() ? workflowLoader.load(workflowEvent.getWorkflow()) : compileWorkflow(workflowEvent);
 
                 deployedWorkflow = new DeployedWorkflow(workflow, workflowEvent.getVersion());
             }
@@ -211,34 +176,43 @@ public class WorkflowDeploymentCache implements AutoCloseable
         return deployedWorkflow;
     }
 
-    private Workflow getWorkflowAt(final WorkflowDefinition workflowDefinition, final int index)
+    /**
+     * Fallback for workflow events which were written before the workflow was
+     * distributed in its compiled form.
+     */
+    private ExecutableWorkflow compileWorkflow(WorkflowEvent event)
     {
-        int i = 0;
+        if (bpmn == null)
+        {
+            bpmn = new BpmnModelApi();
+            workflowCompiler = new WorkflowGraphCompiler();
+        }
+
+        final DirectBuffer bpmnProcessId = event.getBpmnProcessId();
+        final WorkflowDefinition workflowDefinition = bpmn.readFromXmlBuffer(event.getBpmnXml());
 
         final Iterator<Workflow> workflows = workflowDefinition.getWorkflows().iterator();
         while (workflows.hasNext())
         {
             final Workflow workflow = workflows.next();
-
-            if (index == i)
+            if (BufferUtil.equals(bpmnProcessId, workflow.getBpmnProcessId()))
             {
-                return workflow;
+                return workflowLoader.load(workflowCompiler.compile(workflow));
             }
-            i += 1;
         }
-        throw new RuntimeException("no workflow found");
+        throw new RuntimeException("workflow not found");
     }
 
     public boolean hasWorkflow(long key)
     {
-        return keyToPositionWorkflowMap.get(key) != null;
+        return keyToPositionMap.get(key, -1L) >= 0;
     }
 
     @Override
     public void close()
     {
         idVersionToKeyMap.close();
-        keyToPositionWorkflowMap.close();
+        keyToPositionMap.close();
     }
 
 }
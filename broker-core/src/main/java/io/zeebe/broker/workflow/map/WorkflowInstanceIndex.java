@@ -23,6 +23,7 @@ import static org.agrona.BitUtil.SIZE_OF_LONG;
 import java.nio.ByteOrder;
 import java.util.Iterator;
 
+import io.zeebe.broker.util.BufferInternMap;
 import io.zeebe.logstreams.snapshot.ZbMapSnapshotSupport;
 import io.zeebe.map.Long2BytesZbMap;
 import io.zeebe.map.iterator.Long2BytesZbMapEntry;
@@ -36,26 +37,41 @@ import org.agrona.concurrent.UnsafeBuffer;
  * <li>workflow key
  * <li>active token count
  * <li>activity instance key
+ * <li>BPMN process id (interned)
+ * <li>workflow version
+ *
+ * <p>
+ * The BPMN process id and the version are stored to build events of the
+ * workflow instance (e.g. on cancel) without a seek in the log stream.
  */
 public class WorkflowInstanceIndex implements AutoCloseable
 {
-    private static final int INDEX_VALUE_SIZE = SIZE_OF_LONG + SIZE_OF_LONG + SIZE_OF_INT + SIZE_OF_LONG;
+    private static final int INDEX_VALUE_SIZE = SIZE_OF_LONG + SIZE_OF_LONG + SIZE_OF_INT + SIZE_OF_LONG + SIZE_OF_INT + SIZE_OF_INT;
 
     private static final int POSITION_OFFSET = 0;
     private static final int WORKFLOW_KEY_OFFSET = POSITION_OFFSET + SIZE_OF_LONG;
     private static final int TOKEN_COUNT_OFFSET = WORKFLOW_KEY_OFFSET + SIZE_OF_LONG;
     private static final int ACTIVITY_INSTANCE_KEY_OFFSET = TOKEN_COUNT_OFFSET + SIZE_OF_INT;
+    private static final int BPMN_PROCESS_ID_OFFSET = ACTIVITY_INSTANCE_KEY_OFFSET + SIZE_OF_LONG;
+    private static final int VERSION_OFFSET = BPMN_PROCESS_ID_OFFSET + SIZE_OF_INT;
 
     private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
 
-    private final WorkflowInstance workflowInstance = new WorkflowInstance();
-    private final WorkflowInstanceIterator iterator = new WorkflowInstanceIterator();
+    private final BufferInternMap idDictionary;
+
+    private final WorkflowInstance workflowInstance;
+    private final WorkflowInstanceIterator iterator;
 
     private final Long2BytesZbMap map;
     private final ZbMapSnapshotSupport<Long2BytesZbMap> snapshotSupport;
 
-    public WorkflowInstanceIndex()
+    public WorkflowInstanceIndex(BufferInternMap idDictionary)
     {
+        this.idDictionary = idDictionary;
+
+        this.workflowInstance = new WorkflowInstance();
+        this.iterator = new WorkflowInstanceIterator();
+
         this.map = new Long2BytesZbMap(INDEX_VALUE_SIZE);
         this.snapshotSupport = new ZbMapSnapshotSupport<>(map);
     }
@@ -132,6 +148,8 @@ public class WorkflowInstanceIndex implements AutoCloseable
     {
         private long workflowInstanceKey;
         private final UnsafeBuffer currentValue = new UnsafeBuffer(new byte[INDEX_VALUE_SIZE]);
+        private final UnsafeBuffer bpmnProcessIdValue = new UnsafeBuffer(new byte[idDictionary.getMaxValueLength()]);
+        private final UnsafeBuffer bpmnProcessIdBuffer = new UnsafeBuffer(0, 0);
 
         public void reset(long workflowInstanceKey)
         {
@@ -170,6 +188,29 @@ public class WorkflowInstanceIndex implements AutoCloseable
             return currentValue.getLong(WORKFLOW_KEY_OFFSET, BYTE_ORDER);
         }
 
+        public DirectBuffer getBpmnProcessId()
+        {
+            final int bpmnProcessId = currentValue.getInt(BPMN_PROCESS_ID_OFFSET, BYTE_ORDER);
+            final int length = idDictionary.copy(bpmnProcessId, bpmnProcessIdValue, 0);
+
+            bpmnProcessIdBuffer.wrap(bpmnProcessIdValue, 0, length);
+            return bpmnProcessIdBuffer;
+        }
+
+        /**
+         * @return the id of the BPMN process id in the dictionary. Can be used
+         *         to compare the process id without copying it.
+         */
+        public int getInternedBpmnProcessId()
+        {
+            return currentValue.getInt(BPMN_PROCESS_ID_OFFSET, BYTE_ORDER);
+        }
+
+        public int getVersion()
+        {
+            return currentValue.getInt(VERSION_OFFSET, BYTE_ORDER);
+        }
+
         public WorkflowInstance setPosition(long position)
         {
             currentValue.putLong(POSITION_OFFSET, position, BYTE_ORDER);
@@ -182,6 +223,18 @@ public class WorkflowInstanceIndex implements AutoCloseable
             return this;
         }
 
+        public WorkflowInstance setBpmnProcessId(DirectBuffer bpmnProcessId)
+        {
+            currentValue.putInt(BPMN_PROCESS_ID_OFFSET, idDictionary.intern(bpmnProcessId), BYTE_ORDER);
+            return this;
+        }
+
+        public WorkflowInstance setVersion(int version)
+        {
+            currentValue.putInt(VERSION_OFFSET, version, BYTE_ORDER);
+            return this;
+        }
+
         public WorkflowInstance setActivityInstanceKey(long activityInstanceKey)
         {
             currentValue.putLong(ACTIVITY_INSTANCE_KEY_OFFSET, activityInstanceKey, BYTE_ORDER);
@@ -213,6 +266,8 @@ public class WorkflowInstanceIndex implements AutoCloseable
             builder.append(getActivityInstanceKey());
             builder.append(", workflowKey=");
             builder.append(getWorkflowKey());
+            builder.append(", version=");
+            builder.append(getVersion());
             builder.append("]");
             return builder.toString();
         }
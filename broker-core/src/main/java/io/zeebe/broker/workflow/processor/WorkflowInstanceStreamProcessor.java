@@ -21,18 +21,22 @@ import static io.zeebe.broker.util.PayloadUtil.isNilPayload;
 import static io.zeebe.broker.util.PayloadUtil.isValidPayload;
 import static io.zeebe.protocol.clientapi.EventType.TASK_EVENT;
 import static io.zeebe.protocol.clientapi.EventType.WORKFLOW_INSTANCE_EVENT;
+import static org.agrona.BitUtil.SIZE_OF_CHAR;
 
 import java.util.*;
 
 import io.zeebe.broker.incident.IncidentEventWriter;
 import io.zeebe.broker.incident.data.ErrorType;
 import io.zeebe.broker.logstreams.processor.MetadataFilter;
+import io.zeebe.broker.logstreams.processor.VersionedSnapshotSupport;
 import io.zeebe.broker.system.deployment.handler.CreateWorkflowResponseSender;
 import io.zeebe.broker.task.data.TaskEvent;
 import io.zeebe.broker.task.data.TaskHeaders;
 import io.zeebe.broker.task.data.TaskState;
 import io.zeebe.broker.transport.clientapi.CommandResponseWriter;
+import io.zeebe.broker.util.BufferInternMap;
 import io.zeebe.broker.workflow.data.*;
+import io.zeebe.broker.workflow.graph.model.*;
 import io.zeebe.broker.workflow.map.*;
 import io.zeebe.broker.workflow.map.DeployedWorkflow;
 import io.zeebe.broker.workflow.map.WorkflowInstanceIndex.WorkflowInstance;
@@ -42,7 +46,7 @@ import io.zeebe.logstreams.processor.*;
 import io.zeebe.logstreams.snapshot.ComposedSnapshot;
 import io.zeebe.logstreams.spi.SnapshotSupport;
 import io.zeebe.model.bpmn.BpmnAspect;
-import io.zeebe.model.bpmn.instance.*;
+import io.zeebe.model.bpmn.impl.ZeebeConstraints;
 import io.zeebe.msgpack.el.*;
 import io.zeebe.msgpack.mapping.*;
 import io.zeebe.protocol.Protocol;
@@ -51,11 +55,18 @@ import io.zeebe.protocol.impl.BrokerEventMetadata;
 import io.zeebe.util.actor.Actor;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.collections.LongArrayList;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public class WorkflowInstanceStreamProcessor implements StreamProcessor
 {
+    /**
+     * Version of the layout of the composed snapshot (maps and dictionary); must be
+     * incremented on every change of it.
+     */
+    protected static final int SNAPSHOT_VERSION = 1;
+
     private static final UnsafeBuffer EMPTY_TASK_TYPE = new UnsafeBuffer("".getBytes());
 
     // processors ////////////////////////////////////
@@ -68,6 +79,9 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
 
     protected final EventProcessor updatePayloadProcessor = new UpdatePayloadProcessor();
 
+    protected final EventProcessor bulkOperationCommandProcessor = new BulkOperationCommandProcessor();
+    protected final BulkOperationProcessor bulkOperationProcessor;
+
     protected final EventProcessor sequenceFlowTakenEventProcessor = new ActiveWorkflowInstanceProcessor(new SequenceFlowTakenEventProcessor());
     protected final EventProcessor activityReadyEventProcessor = new ActiveWorkflowInstanceProcessor(new ActivityReadyEventProcessor());
     protected final EventProcessor activityActivatedEventProcessor = new ActiveWorkflowInstanceProcessor(new ActivityActivatedEventProcessor());
@@ -98,12 +112,13 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
 
     protected final CommandResponseWriter responseWriter;
 
+    protected final BufferInternMap idDictionary;
     protected final WorkflowInstanceIndex workflowInstanceIndex;
     protected final ActivityInstanceMap activityInstanceMap;
     protected final WorkflowDeploymentCache workflowDeploymentCache;
     protected final PayloadCache payloadCache;
 
-    protected final ComposedSnapshot composedSnapshot;
+    protected final SnapshotSupport snapshotSupport;
 
     protected LogStreamReader logStreamReader;
     protected LogStreamBatchWriter logStreamBatchWriter;
@@ -125,27 +140,34 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
             CommandResponseWriter responseWriter,
             CreateWorkflowResponseSender createWorkflowResponseSender,
             int deploymentCacheSize,
-            int payloadCacheSize)
+            int payloadCacheSize,
+            int bulkOperationChunkSize)
     {
         this.responseWriter = responseWriter;
         this.logStreamReader = new BufferedLogStreamReader();
 
-        this.workflowDeploymentCache = new WorkflowDeploymentCache(deploymentCacheSize, logStreamReader);
+        this.idDictionary = new BufferInternMap(ZeebeConstraints.ID_MAX_LENGTH * SIZE_OF_CHAR);
+
+        this.workflowDeploymentCache = new WorkflowDeploymentCache(deploymentCacheSize, logStreamReader, idDictionary);
         this.payloadCache = new PayloadCache(payloadCacheSize, logStreamReader);
 
-        this.workflowInstanceIndex = new WorkflowInstanceIndex();
-        this.activityInstanceMap = new ActivityInstanceMap();
+        this.workflowInstanceIndex = new WorkflowInstanceIndex(idDictionary);
+        this.activityInstanceMap = new ActivityInstanceMap(idDictionary);
 
         this.payloadMappingProcessor = new MappingProcessor(4096);
 
         this.workflowResponseSender = createWorkflowResponseSender;
 
-        this.composedSnapshot = new ComposedSnapshot(
+        this.bulkOperationProcessor = new BulkOperationProcessor(bulkOperationChunkSize);
+
+        this.snapshotSupport = new VersionedSnapshotSupport(SNAPSHOT_VERSION, new ComposedSnapshot(
             workflowInstanceIndex.getSnapshotSupport(),
             activityInstanceMap.getSnapshotSupport(),
             workflowDeploymentCache.getIdVersionSnapshot(),
             workflowDeploymentCache.getKeyPositionSnapshot(),
-            payloadCache.getSnapshotSupport());
+            payloadCache.getSnapshotSupport(),
+            idDictionary.getValueToIdSnapshot(),
+            idDictionary.getIdToValueSnapshot()));
 
     }
 
@@ -158,7 +180,7 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
     @Override
     public SnapshotSupport getStateResource()
     {
-        return composedSnapshot;
+        return snapshotSupport;
     }
 
     @Override
@@ -182,7 +204,9 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
         activityInstanceMap.close();
         workflowDeploymentCache.close();
         payloadCache.close();
+        idDictionary.close();
         logStreamReader.close();
+        bulkOperationProcessor.reset();
     }
 
     public static MetadataFilter eventFilter()
@@ -271,7 +295,7 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
             case GATEWAY_ACTIVATED:
             case ACTIVITY_COMPLETED:
             {
-                final FlowNode currentActivity = getCurrentActivity();
+                final ExecutableFlowNode currentActivity = getCurrentActivity();
                 eventProcessor = aspectHandlers.get(currentActivity.getBpmnAspect());
                 break;
             }
@@ -280,6 +304,16 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
                 eventProcessor = updatePayloadProcessor;
                 break;
 
+            case CANCEL_WORKFLOW_INSTANCES:
+            case UPDATE_WORKFLOW_INSTANCES_PAYLOAD:
+                eventProcessor = bulkOperationCommandProcessor;
+                break;
+
+            case WORKFLOW_INSTANCES_CANCELING:
+            case WORKFLOW_INSTANCES_PAYLOAD_UPDATING:
+                eventProcessor = bulkOperationProcessor;
+                break;
+
             default:
                 break;
         }
@@ -323,23 +357,7 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
         }
     }
 
-    protected void lookupWorkflowInstanceEvent(long position)
-    {
-        final boolean found = logStreamReader.seek(position);
-        if (found && logStreamReader.hasNext())
-        {
-            final LoggedEvent event = logStreamReader.next();
-
-            workflowInstanceEvent.reset();
-            event.readValue(workflowInstanceEvent);
-        }
-        else
-        {
-            throw new IllegalStateException("workflow instance event not found.");
-        }
-    }
-
-    protected <T extends FlowElement> T getCurrentActivity()
+    protected <T extends ExecutableFlowElement> T getCurrentActivity()
     {
         final long workflowKey = workflowInstanceEvent.getWorkflowKey();
         final DeployedWorkflow deployedWorkflow = workflowDeploymentCache.getWorkflow(workflowKey);
@@ -348,7 +366,7 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
         {
             final DirectBuffer currentActivityId = workflowInstanceEvent.getActivityId();
 
-            final Workflow workflow = deployedWorkflow.getWorkflow();
+            final ExecutableWorkflow workflow = deployedWorkflow.getWorkflow();
             return workflow.findFlowElementById(currentActivityId);
         }
         else
@@ -410,15 +428,20 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
         @Override
         public boolean executeSideEffects()
         {
-            final long requestId = sourceEventMetadata.getRequestId();
-            final int requestStreamId = sourceEventMetadata.getRequestStreamId();
-
-            return workflowResponseSender.sendCreateWorkflowResponse(
-                       logStreamPartitionId,
-                       eventKey,
-                       workflowEvent.getDeploymentKey(),
-                       requestId,
-                       requestStreamId);
+            // the workflows of a deployment are written as one batch
+            // - only the last event of the batch carries the request metadata
+            if (sourceEventMetadata.hasRequestMetadata())
+            {
+                return workflowResponseSender.sendCreateWorkflowResponse(
+                           logStreamPartitionId,
+                           eventKey,
+                           workflowEvent.getDeploymentKey(),
+                           sourceEventMetadata.getRequestStreamId());
+            }
+            else
+            {
+                return true;
+            }
         }
 
         @Override
@@ -622,8 +645,8 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
 
             if (deployedWorkflow != null)
             {
-                final Workflow workflow = deployedWorkflow.getWorkflow();
-                final StartEvent startEvent = workflow.getInitialStartEvent();
+                final ExecutableWorkflow workflow = deployedWorkflow.getWorkflow();
+                final ExecutableFlowNode startEvent = workflow.getStartEvent();
                 final DirectBuffer activityId = startEvent.getIdAsBuffer();
 
                 workflowInstanceEvent
@@ -652,6 +675,8 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
                 .setActiveTokenCount(1)
                 .setActivityInstanceKey(-1L)
                 .setWorkflowKey(workflowInstanceEvent.getWorkflowKey())
+                .setBpmnProcessId(workflowInstanceEvent.getBpmnProcessId())
+                .setVersion(workflowInstanceEvent.getVersion())
                 .write();
         }
     }
@@ -661,10 +686,10 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
         @Override
         public void processEvent()
         {
-            final FlowNode currentActivity = getCurrentActivity();
+            final ExecutableFlowNode currentActivity = getCurrentActivity();
 
             // the activity has exactly one outgoing sequence flow
-            final SequenceFlow sequenceFlow = currentActivity.getOutgoingSequenceFlows().get(0);
+            final ExecutableSequenceFlow sequenceFlow = currentActivity.getOutgoingSequenceFlows().get(0);
 
             workflowInstanceEvent
                 .setState(WorkflowInstanceState.SEQUENCE_FLOW_TAKEN)
@@ -687,11 +712,11 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
         {
             hasIncident = false;
 
-            final ExclusiveGateway exclusiveGateway = (ExclusiveGateway) getCurrentActivity();
+            final ExecutableExclusiveGateway exclusiveGateway = getCurrentActivity();
 
             try
             {
-                final SequenceFlow sequenceFlow = getSequenceFlowWithFulfilledCondition(exclusiveGateway);
+                final ExecutableSequenceFlow sequenceFlow = getSequenceFlowWithFulfilledCondition(exclusiveGateway);
 
                 if (sequenceFlow != null)
                 {
@@ -720,12 +745,12 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
             }
         }
 
-        private SequenceFlow getSequenceFlowWithFulfilledCondition(ExclusiveGateway exclusiveGateway)
+        private ExecutableSequenceFlow getSequenceFlowWithFulfilledCondition(ExecutableExclusiveGateway exclusiveGateway)
         {
-            final List<SequenceFlow> sequenceFlows = exclusiveGateway.getOutgoingSequenceFlowsWithConditions();
+            final List<ExecutableSequenceFlow> sequenceFlows = exclusiveGateway.getOutgoingSequenceFlowsWithConditions();
             for (int s = 0; s < sequenceFlows.size(); s++)
             {
-                final SequenceFlow sequenceFlow = sequenceFlows.get(s);
+                final ExecutableSequenceFlow sequenceFlow = sequenceFlows.get(s);
 
                 final CompiledJsonCondition compiledCondition = sequenceFlow.getCondition();
                 final boolean isFulFilled = conditionInterpreter.eval(compiledCondition.getCondition(), workflowInstanceEvent.getPayload());
@@ -807,26 +832,27 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
         @Override
         public void processEvent()
         {
-            final SequenceFlow sequenceFlow = getCurrentActivity();
-            final FlowNode targetNode = sequenceFlow.getTargetNode();
+            final ExecutableSequenceFlow sequenceFlow = getCurrentActivity();
+            final ExecutableFlowNode targetNode = sequenceFlow.getTargetNode();
 
             workflowInstanceEvent.setActivityId(targetNode.getIdAsBuffer());
 
-            if (targetNode instanceof EndEvent)
+            switch (targetNode.getType())
             {
-                workflowInstanceEvent.setState(WorkflowInstanceState.END_EVENT_OCCURRED);
-            }
-            else if (targetNode instanceof ServiceTask)
-            {
-                workflowInstanceEvent.setState(WorkflowInstanceState.ACTIVITY_READY);
-            }
-            else if (targetNode instanceof ExclusiveGateway)
-            {
-                workflowInstanceEvent.setState(WorkflowInstanceState.GATEWAY_ACTIVATED);
-            }
-            else
-            {
-                throw new RuntimeException(String.format("Flow node of type '%s' is not supported.", targetNode));
+                case END_EVENT:
+                    workflowInstanceEvent.setState(WorkflowInstanceState.END_EVENT_OCCURRED);
+                    break;
+
+                case SERVICE_TASK:
+                    workflowInstanceEvent.setState(WorkflowInstanceState.ACTIVITY_READY);
+                    break;
+
+                case EXCLUSIVE_GATEWAY:
+                    workflowInstanceEvent.setState(WorkflowInstanceState.GATEWAY_ACTIVATED);
+                    break;
+
+                default:
+                    throw new RuntimeException(String.format("Flow node of type '%s' is not supported.", targetNode.getType()));
             }
         }
 
@@ -850,8 +876,8 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
 
             workflowInstanceEvent.setState(WorkflowInstanceState.ACTIVITY_ACTIVATED);
 
-            final ServiceTask serviceTask = getCurrentActivity();
-            setWorkflowInstancePayload(serviceTask.getInputOutputMapping().getInputMappings());
+            final ExecutableServiceTask serviceTask = getCurrentActivity();
+            setWorkflowInstancePayload(serviceTask.getInputMappings());
         }
 
         private void setWorkflowInstancePayload(Mapping[] mappings)
@@ -920,21 +946,20 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
         @Override
         public void processEvent()
         {
-            final ServiceTask serviceTask = getCurrentActivity();
-            final TaskDefinition taskDefinition = serviceTask.getTaskDefinition();
+            final ExecutableServiceTask serviceTask = getCurrentActivity();
 
             taskEvent.reset();
 
             taskEvent
                 .setState(TaskState.CREATE)
-                .setType(taskDefinition.getTypeAsBuffer())
-                .setRetries(taskDefinition.getRetries())
+                .setType(serviceTask.getTaskType())
+                .setRetries(serviceTask.getTaskRetries())
                 .setPayload(workflowInstanceEvent.getPayload());
 
             setTaskHeaders(serviceTask);
         }
 
-        private void setTaskHeaders(ServiceTask serviceTask)
+        private void setTaskHeaders(ExecutableServiceTask serviceTask)
         {
             taskEvent.headers()
                 .setBpmnProcessId(workflowInstanceEvent.getBpmnProcessId())
@@ -944,10 +969,9 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
                 .setActivityId(serviceTask.getIdAsBuffer())
                 .setActivityInstanceKey(eventKey);
 
-            final io.zeebe.model.bpmn.instance.TaskHeaders customHeaders = serviceTask.getTaskHeaders();
-            if (!customHeaders.isEmpty())
+            if (serviceTask.hasTaskHeaders())
             {
-                taskEvent.setCustomHeaders(customHeaders.asMsgpackEncoded());
+                taskEvent.setCustomHeaders(serviceTask.getTaskHeaders());
             }
         }
 
@@ -1053,8 +1077,8 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
 
             workflowInstanceEvent.setState(WorkflowInstanceState.ACTIVITY_COMPLETED);
 
-            final ServiceTask serviceTask = getCurrentActivity();
-            setWorkflowInstancePayload(serviceTask.getInputOutputMapping().getOutputMappings());
+            final ExecutableServiceTask serviceTask = getCurrentActivity();
+            setWorkflowInstancePayload(serviceTask.getOutputMappings());
         }
 
         private void setWorkflowInstancePayload(Mapping[] mappings)
@@ -1153,10 +1177,14 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
 
             if (workflowInstance != null && workflowInstance.getTokenCount() > 0)
             {
-                lookupWorkflowInstanceEvent(workflowInstance.getPosition());
-
+                // build the event from the index instead of seeking the created event in the log
+                workflowInstanceEvent.reset();
                 workflowInstanceEvent
                     .setState(WorkflowInstanceState.WORKFLOW_INSTANCE_CANCELED)
+                    .setBpmnProcessId(workflowInstance.getBpmnProcessId())
+                    .setVersion(workflowInstance.getVersion())
+                    .setWorkflowKey(workflowInstance.getWorkflowKey())
+                    .setWorkflowInstanceKey(eventKey)
                     .setPayload(WorkflowInstanceEvent.NO_PAYLOAD);
 
                 activityInstanceKey = workflowInstance.getActivityInstanceKey();
@@ -1315,6 +1343,294 @@ public class WorkflowInstanceStreamProcessor implements StreamProcessor
         }
     }
 
+    private final class BulkOperationCommandProcessor implements EventProcessor
+    {
+        @Override
+        public void processEvent()
+        {
+            final boolean isCancel = workflowInstanceEvent.getState() == WorkflowInstanceState.CANCEL_WORKFLOW_INSTANCES;
+
+            boolean isValid = workflowInstanceEvent.getWorkflowKey() > 0 || workflowInstanceEvent.getBpmnProcessId().capacity() > 0;
+            if (!isCancel)
+            {
+                isValid &= isValidPayload(workflowInstanceEvent.getPayload());
+            }
+
+            final WorkflowInstanceState newState;
+            if (isCancel)
+            {
+                newState = isValid ? WorkflowInstanceState.WORKFLOW_INSTANCES_CANCELING : WorkflowInstanceState.CANCEL_WORKFLOW_INSTANCES_REJECTED;
+            }
+            else
+            {
+                newState = isValid ? WorkflowInstanceState.WORKFLOW_INSTANCES_PAYLOAD_UPDATING : WorkflowInstanceState.UPDATE_WORKFLOW_INSTANCES_PAYLOAD_REJECTED;
+            }
+
+            // the workflow instance key of a bulk operation is the key of the last processed instance
+            workflowInstanceEvent
+                .setState(newState)
+                .setWorkflowInstanceKey(-1L);
+        }
+
+        @Override
+        public boolean executeSideEffects()
+        {
+            return sendWorkflowInstanceResponse();
+        }
+
+        @Override
+        public long writeEvent(LogStreamWriter writer)
+        {
+            return writeWorkflowEvent(writer.key(eventKey));
+        }
+    }
+
+    /**
+     * Processes a bulk operation in chunks. Each chunk contains the next
+     * applicable workflow instances (in ascending key order) after the last
+     * processed instance. The commands for the instances of a chunk are written
+     * together with a new progress event, which triggers the next chunk when it
+     * is processed. So other events can be processed in between.
+     *
+     * <p>
+     * The keys of the matching instances are collected once, when the first
+     * chunk of an operation is processed (or after a restart of the processor),
+     * and are kept in a cursor until the operation is completed. So a chunk only
+     * looks at the instances it processes. Instances which are created while
+     * the operation is running are not included.
+     */
+    private final class BulkOperationProcessor implements EventProcessor
+    {
+        private final WorkflowInstanceEvent instanceCommand = new WorkflowInstanceEvent();
+
+        private final Long2ObjectHashMap<BulkOperationCursor> cursors = new Long2ObjectHashMap<>();
+        private final LongArrayList matchingKeys = new LongArrayList();
+
+        private final long[] chunk;
+        private int chunkLength;
+
+        private boolean isCancel;
+
+        BulkOperationProcessor(int chunkSize)
+        {
+            this.chunk = new long[chunkSize];
+        }
+
+        @Override
+        public void processEvent()
+        {
+            isCancel = workflowInstanceEvent.getState() == WorkflowInstanceState.WORKFLOW_INSTANCES_CANCELING;
+
+            collectChunk(workflowInstanceEvent.getWorkflowInstanceKey());
+
+            if (chunkLength > 0)
+            {
+                workflowInstanceEvent.setWorkflowInstanceKey(chunk[chunkLength - 1]);
+            }
+            else
+            {
+                cursors.remove(eventKey);
+
+                workflowInstanceEvent.setState(isCancel ? WorkflowInstanceState.WORKFLOW_INSTANCES_CANCELED : WorkflowInstanceState.WORKFLOW_INSTANCES_PAYLOAD_UPDATED);
+            }
+        }
+
+        private void collectChunk(long lastProcessedKey)
+        {
+            chunkLength = 0;
+
+            BulkOperationCursor cursor = cursors.get(eventKey);
+            if (cursor == null)
+            {
+                cursor = new BulkOperationCursor(collectMatchingKeys(lastProcessedKey));
+                cursors.put(eventKey, cursor);
+            }
+
+            while (chunkLength < chunk.length && cursor.hasNext())
+            {
+                final long key = cursor.next();
+
+                if (key > lastProcessedKey && isApplicable(workflowInstanceIndex.get(key)))
+                {
+                    chunk[chunkLength] = key;
+                    chunkLength += 1;
+                }
+            }
+        }
+
+        private long[] collectMatchingKeys(long lastProcessedKey)
+        {
+            matchingKeys.clear();
+
+            final long workflowKey = workflowInstanceEvent.getWorkflowKey();
+            final int version = workflowInstanceEvent.getVersion();
+
+            int bpmnProcessId = BufferInternMap.MISSING_ID;
+            if (workflowKey <= 0)
+            {
+                bpmnProcessId = idDictionary.lookup(workflowInstanceEvent.getBpmnProcessId());
+
+                if (bpmnProcessId == BufferInternMap.MISSING_ID)
+                {
+                    // no instance of the process is known
+                    return new long[0];
+                }
+            }
+
+            final Iterator<WorkflowInstance> workflowInstances = workflowInstanceIndex.iterator();
+            while (workflowInstances.hasNext())
+            {
+                final WorkflowInstance workflowInstance = workflowInstances.next();
+                final long key = workflowInstance.getKey();
+
+                final boolean isMatching;
+                if (workflowKey > 0)
+                {
+                    isMatching = workflowKey == workflowInstance.getWorkflowKey();
+                }
+                else
+                {
+                    isMatching = bpmnProcessId == workflowInstance.getInternedBpmnProcessId()
+                            && (version <= 0 || version == workflowInstance.getVersion());
+                }
+
+                if (key > lastProcessedKey && isMatching && workflowInstance.getTokenCount() > 0)
+                {
+                    matchingKeys.addLong(key);
+                }
+            }
+
+            final long[] keys = new long[matchingKeys.size()];
+            for (int i = 0; i < keys.length; i++)
+            {
+                keys[i] = matchingKeys.getLong(i);
+            }
+            Arrays.sort(keys);
+
+            return keys;
+        }
+
+        private boolean isApplicable(WorkflowInstance workflowInstance)
+        {
+            // the instance may be completed or canceled in the meantime;
+            // the payload can only be updated if the instance is in an activity
+            return workflowInstance != null
+                    && workflowInstance.getTokenCount() > 0
+                    && (isCancel || workflowInstance.getActivityInstanceKey() > 0);
+        }
+
+        void reset()
+        {
+            cursors.clear();
+        }
+
+        @Override
+        public long writeEvent(LogStreamWriter writer)
+        {
+            if (chunkLength == 0)
+            {
+                return writeWorkflowEvent(writer.key(eventKey));
+            }
+
+            logStreamBatchWriter
+                .producerId(streamProcessorId)
+                .raftTermId(targetStream.getTerm())
+                .sourceEvent(logStreamPartitionId, eventPosition);
+
+            targetEventMetadata.reset();
+            targetEventMetadata
+                .protocolVersion(Protocol.PROTOCOL_VERSION)
+                .eventType(WORKFLOW_INSTANCE_EVENT);
+
+            for (int i = 0; i < chunkLength; i++)
+            {
+                final WorkflowInstance workflowInstance = workflowInstanceIndex.get(chunk[i]);
+
+                if (isCancel)
+                {
+                    addCancelCommand(workflowInstance);
+                }
+                else
+                {
+                    addUpdatePayloadCommand(workflowInstance);
+                }
+            }
+
+            // the progress event triggers the next chunk
+            logStreamBatchWriter.event()
+                .key(eventKey)
+                .metadataWriter(targetEventMetadata)
+                .valueWriter(workflowInstanceEvent)
+                .done();
+
+            return logStreamBatchWriter.tryWrite();
+        }
+
+        private void addCancelCommand(WorkflowInstance workflowInstance)
+        {
+            instanceCommand.reset();
+            instanceCommand
+                .setState(WorkflowInstanceState.CANCEL_WORKFLOW_INSTANCE)
+                .setWorkflowKey(workflowInstance.getWorkflowKey())
+                .setBpmnProcessId(workflowInstance.getBpmnProcessId())
+                .setVersion(workflowInstance.getVersion())
+                .setWorkflowInstanceKey(workflowInstance.getKey());
+
+            logStreamBatchWriter.event()
+                .key(workflowInstance.getKey())
+                .metadataWriter(targetEventMetadata)
+                .valueWriter(instanceCommand)
+                .done();
+        }
+
+        private void addUpdatePayloadCommand(WorkflowInstance workflowInstance)
+        {
+            final long activityInstanceKey = workflowInstance.getActivityInstanceKey();
+
+            instanceCommand.reset();
+            instanceCommand
+                .setState(WorkflowInstanceState.UPDATE_PAYLOAD)
+                .setWorkflowKey(workflowInstance.getWorkflowKey())
+                .setBpmnProcessId(workflowInstance.getBpmnProcessId())
+                .setVersion(workflowInstance.getVersion())
+                .setWorkflowInstanceKey(workflowInstance.getKey())
+                .setActivityId(activityInstanceMap.wrapActivityInstanceKey(activityInstanceKey).getActivityId())
+                .setPayload(workflowInstanceEvent.getPayload());
+
+            logStreamBatchWriter.event()
+                .key(activityInstanceKey)
+                .metadataWriter(targetEventMetadata)
+                .valueWriter(instanceCommand)
+                .done();
+        }
+    }
+
+    /**
+     * The remaining instance keys of a bulk operation, in ascending order.
+     */
+    private static final class BulkOperationCursor
+    {
+        private final long[] keys;
+        private int index = 0;
+
+        BulkOperationCursor(long[] keys)
+        {
+            this.keys = keys;
+        }
+
+        boolean hasNext()
+        {
+            return index < keys.length;
+        }
+
+        long next()
+        {
+            final long key = keys[index];
+            index += 1;
+            return key;
+        }
+    }
+
     private final class ActiveWorkflowInstanceProcessor implements EventProcessor
     {
         private final EventProcessor processor;
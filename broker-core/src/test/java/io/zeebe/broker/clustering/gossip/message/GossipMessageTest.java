@@ -68,6 +68,77 @@ public class GossipMessageTest
             .hasSameElementsAs(expected);
     }
 
+    @Test
+    public void testGossipRequestDigests()
+    {
+        final PeerList peers = new PeerList(3);
+        peers.insert(peer("first", 1, 2).alive());
+        peers.insert(peer("second", 1, 3).suspect());
+        peers.insert(peer("third", 2, 1).dead());
+
+        final PeerList updates = new PeerList(1);
+        updates.insert(peer("second", 1, 3).suspect());
+
+        final GossipRequest gossipRequest = new GossipRequest()
+            .peers(updates)
+            .digests(peers);
+
+        final GossipRequest actual = writeAndRead(gossipRequest);
+
+        final Iterator<Peer> digests = actual.digests();
+        for (final Peer expected : peers)
+        {
+            assertThat(digests.hasNext()).isTrue();
+            assertThat(digests.next())
+                .isEqualToComparingOnlyGivenFields(expected,
+                    "managementEndpoint",
+                    "heartbeat",
+                    "state"
+                );
+        }
+        assertThat(digests.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testDiffWithDigests()
+    {
+        final PeerList remotePeers = new PeerList(3);
+        remotePeers.insert(peer("first", 1, 2).alive());
+        remotePeers.insert(peer("second", 1, 3).alive());
+        remotePeers.insert(peer("unknown", 1, 1).alive());
+
+        final GossipRequest gossipRequest = writeAndRead(new GossipRequest()
+            .peers(new PeerList(1))
+            .digests(remotePeers));
+
+        final PeerList localPeers = new PeerList(4);
+        localPeers.insert(peer("first", 1, 2).alive());
+        localPeers.insert(peer("second", 1, 3).suspect());
+        localPeers.insert(peer("third", 2, 1).alive());
+
+        final PeerList diff = new PeerList(4);
+        localPeers.diff(gossipRequest.digests(), diff);
+
+        assertThat(diff.size()).isEqualTo(2);
+
+        final Peer actual = new Peer();
+        diff.get(0, actual);
+        assertThat(actual)
+            .isEqualToComparingOnlyGivenFields(peer("second", 1, 3).suspect(),
+                "managementEndpoint",
+                "heartbeat",
+                "state"
+            );
+
+        diff.get(1, actual);
+        assertThat(actual)
+            .isEqualToComparingOnlyGivenFields(peer("third", 2, 1).alive(),
+                "managementEndpoint",
+                "heartbeat",
+                "state"
+            );
+    }
+
     @Test
     public void testGossipResponse()
     {
@@ -170,4 +241,18 @@ public class GossipMessageTest
             .hasSameElementsAs(peer.raftMemberships());
     }
 
+    protected static Peer peer(final String host, final long generation, final int version)
+    {
+        final Peer peer = new Peer();
+        peer.managementEndpoint()
+            .host(host)
+            .port(51016);
+
+        peer.heartbeat()
+            .generation(generation)
+            .version(version);
+
+        return peer;
+    }
+
 }
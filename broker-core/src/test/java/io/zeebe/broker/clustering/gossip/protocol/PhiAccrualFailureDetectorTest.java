@@ -0,0 +1,171 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.clustering.gossip.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.zeebe.broker.clustering.gossip.config.GossipConfiguration;
+import io.zeebe.broker.clustering.gossip.data.Peer;
+
+public class PhiAccrualFailureDetectorTest
+{
+    private GossipConfiguration config;
+    private PhiAccrualFailureDetector failureDetector;
+
+    @Before
+    public void setUp()
+    {
+        config = new GossipConfiguration();
+        config.phiThreshold = 8.0;
+        config.phiMinStdDeviation = 100;
+        config.phiAcceptableHeartbeatPause = 0;
+        config.phiFirstHeartbeatEstimate = 1000;
+
+        failureDetector = new PhiAccrualFailureDetector(config, peer("local", 1, 1), null);
+    }
+
+    @Test
+    public void shouldBeAvailableWithRegularHeartbeats()
+    {
+        // given
+        final long now = sendHeartbeats(peer("remote", 1, 0), 0, 1000, 10);
+
+        // then
+        assertThat(failureDetector.isAvailable(peer("remote", 1, 10), now + 1000)).isTrue();
+    }
+
+    @Test
+    public void shouldIncreasePhiWithElapsedTime()
+    {
+        // given
+        final Peer peer = peer("remote", 1, 0);
+        final long now = sendHeartbeats(peer, 0, 1000, 10);
+
+        // when
+        final double phiOnTime = failureDetector.phi(peer, now + 1000);
+        final double phiDelayed = failureDetector.phi(peer, now + 1500);
+        final double phiOverdue = failureDetector.phi(peer, now + 3000);
+
+        // then
+        assertThat(phiOnTime).isLessThan(phiDelayed);
+        assertThat(phiDelayed).isLessThan(phiOverdue);
+        assertThat(phiOverdue).isGreaterThan(config.phiThreshold);
+        assertThat(failureDetector.isAvailable(peer, now + 3000)).isFalse();
+    }
+
+    @Test
+    public void shouldAdaptToIrregularHeartbeats()
+    {
+        // given
+        final Peer regularPeer = peer("regular", 1, 0);
+        final Peer irregularPeer = peer("irregular", 1, 0);
+
+        long now = 0;
+        for (int i = 1; i <= 20; i++)
+        {
+            now += 1000;
+
+            regularPeer.heartbeat().version(i);
+            failureDetector.heartbeat(regularPeer, now);
+
+            irregularPeer.heartbeat().version(i);
+            failureDetector.heartbeat(irregularPeer, now + (i % 2 == 0 ? 300 : -300));
+        }
+
+        // then
+        assertThat(failureDetector.phi(irregularPeer, now + 2500)).isLessThan(failureDetector.phi(regularPeer, now + 2500));
+    }
+
+    @Test
+    public void shouldResetOnNewGeneration()
+    {
+        // given
+        final Peer peer = peer("remote", 1, 0);
+        final long now = sendHeartbeats(peer, 0, 1000, 10);
+
+        // when
+        failureDetector.heartbeat(peer("remote", 2, 0), now + 60_000);
+
+        // then
+        assertThat(failureDetector.isAvailable(peer, now + 60_500)).isTrue();
+    }
+
+    @Test
+    public void shouldIgnoreOutdatedHeartbeats()
+    {
+        // given
+        final Peer peer = peer("remote", 1, 0);
+        final long now = sendHeartbeats(peer, 0, 1000, 10);
+
+        // when
+        failureDetector.heartbeat(peer("remote", 1, 3), now + 5000);
+
+        // then
+        assertThat(failureDetector.isAvailable(peer, now + 5000)).isFalse();
+    }
+
+    @Test
+    public void shouldNotSuspectLocalPeer()
+    {
+        assertThat(failureDetector.phi(peer("local", 1, 1), Long.MAX_VALUE)).isEqualTo(0.0);
+    }
+
+    @Test
+    public void shouldTrackPeerWithoutHeartbeat()
+    {
+        // given
+        final Peer peer = peer("remote", 1, 0);
+
+        // when
+        final double initialPhi = failureDetector.phi(peer, 0);
+
+        // then
+        assertThat(initialPhi).isLessThan(config.phiThreshold);
+        assertThat(failureDetector.isAvailable(peer, 10_000)).isFalse();
+    }
+
+    protected long sendHeartbeats(final Peer peer, final long start, final long interval, final int count)
+    {
+        long now = start;
+        for (int i = 0; i < count; i++)
+        {
+            peer.heartbeat().version(i + 1);
+            failureDetector.heartbeat(peer, now);
+            now += interval;
+        }
+        return now - interval;
+    }
+
+    protected static Peer peer(final String host, final long generation, final int version)
+    {
+        final Peer peer = new Peer();
+        peer.managementEndpoint()
+            .host(host)
+            .port(51016);
+
+        peer.heartbeat()
+            .generation(generation)
+            .version(version);
+
+        return peer;
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.clustering.handler;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.zeebe.broker.clustering.gossip.data.Peer;
+import io.zeebe.broker.clustering.gossip.data.PeerList;
+import io.zeebe.broker.clustering.gossip.data.RaftMembership;
+import io.zeebe.clustering.gossip.RaftMembershipState;
+
+public class TopologyCacheTest
+{
+    private PeerList peers;
+    private TopologyCache topologyCache;
+
+    @Before
+    public void setUp()
+    {
+        peers = new PeerList(4);
+        topologyCache = new TopologyCache(peers);
+        peers.registerListener(topologyCache);
+
+        peers.insert(peer("first", 1));
+        peers.insert(peer("second", 1));
+    }
+
+    @Test
+    public void shouldContainAliveBrokers()
+    {
+        // when
+        final Topology topology = read(topologyCache.get());
+
+        // then
+        assertThat(topology.brokers().iterator()).hasSize(2);
+        assertThat(topology.topicLeaders().iterator()).isEmpty();
+    }
+
+    @Test
+    public void shouldNotRebuildOnHeartbeat()
+    {
+        // given
+        final DirectBuffer topology = topologyCache.get();
+
+        // when
+        peers.update(peer("first", 2));
+
+        // then
+        assertThat(topologyCache.get()).isSameAs(topology);
+    }
+
+    @Test
+    public void shouldRebuildOnLeaderChange()
+    {
+        // given
+        final DirectBuffer topology = topologyCache.get();
+
+        final Peer leader = peer("first", 2);
+        final DirectBuffer topicName = wrapString("test-topic");
+        leader.raftMemberships().add(
+            new RaftMembership()
+                .topicName(topicName, 0, topicName.capacity())
+                .partitionId(1)
+                .term(1)
+                .state(RaftMembershipState.LEADER)
+        );
+
+        // when
+        peers.update(leader);
+
+        // then
+        final DirectBuffer updatedTopology = topologyCache.get();
+        assertThat(updatedTopology).isNotSameAs(topology);
+        assertThat(read(updatedTopology).topicLeaders().iterator()).hasSize(1);
+    }
+
+    @Test
+    public void shouldRebuildWhenBrokerIsNotAlive()
+    {
+        // given
+        final DirectBuffer topology = topologyCache.get();
+
+        // when
+        peers.update(peer("second", 2).dead());
+
+        // then
+        final DirectBuffer updatedTopology = topologyCache.get();
+        assertThat(updatedTopology).isNotSameAs(topology);
+        assertThat(read(updatedTopology).brokers().iterator()).hasSize(1);
+    }
+
+    @Test
+    public void shouldComputeSameVersionForSameTopology()
+    {
+        // given
+        final PeerList otherPeers = new PeerList(4);
+        final TopologyCache otherTopologyCache = new TopologyCache(otherPeers);
+        otherPeers.registerListener(otherTopologyCache);
+
+        // when
+        otherPeers.insert(peer("second", 5));
+        otherPeers.insert(peer("first", 3));
+
+        // then
+        assertThat(otherTopologyCache.getVersion()).isEqualTo(topologyCache.getVersion());
+        assertThat(read(topologyCache.get()).getVersion()).isEqualTo(topologyCache.getVersion());
+    }
+
+    @Test
+    public void shouldChangeVersionWhenBrokerIsNotAlive()
+    {
+        // given
+        final long version = topologyCache.getVersion();
+
+        // when
+        peers.update(peer("second", 2).dead());
+
+        // then
+        assertThat(topologyCache.getVersion()).isNotEqualTo(version);
+    }
+
+    protected static Topology read(final DirectBuffer buffer)
+    {
+        final Topology topology = new Topology();
+        topology.wrap(buffer, 0, buffer.capacity());
+        return topology;
+    }
+
+    protected static Peer peer(final String host, final int version)
+    {
+        final Peer peer = new Peer().alive();
+
+        peer.managementEndpoint()
+            .host(host)
+            .port(51016);
+
+        peer.clientEndpoint()
+            .host(host)
+            .port(51015);
+
+        peer.heartbeat()
+            .generation(1)
+            .version(version);
+
+        return peer;
+    }
+
+}
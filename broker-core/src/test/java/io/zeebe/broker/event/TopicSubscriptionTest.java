@@ -19,6 +19,9 @@ package io.zeebe.broker.event;
 
 import static org.assertj.core.api.Assertions.*;
 import static io.zeebe.test.util.BufferAssert.*;
+import static io.zeebe.broker.test.MsgPackUtil.MSGPACK_PAYLOAD;
+import static io.zeebe.broker.test.MsgPackUtil.encodeMsgPack;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
 
 import java.util.Arrays;
 import java.util.List;
@@ -26,6 +29,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import io.zeebe.broker.event.processor.TopicSubscriptionPushProcessor;
 import io.zeebe.broker.test.EmbeddedBrokerRule;
 import io.zeebe.protocol.clientapi.ControlMessageType;
 import io.zeebe.protocol.clientapi.ErrorCode;
@@ -41,6 +45,7 @@ import io.zeebe.test.broker.protocol.clientapi.ExecuteCommandResponse;
 import io.zeebe.test.broker.protocol.clientapi.RawMessage;
 import io.zeebe.test.broker.protocol.clientapi.SubscribedEvent;
 import io.zeebe.test.util.TestUtil;
+import org.agrona.MutableDirectBuffer;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -171,6 +176,120 @@ public class TopicSubscriptionTest
         assertThat(taskEvent.event()).contains(entry("state", "CREATED"));
     }
 
+    @Test
+    public void shouldPushOnlyEventsMatchingFilter()
+    {
+        // given
+        createTask("foo");
+        createTask("bar");
+
+        // when
+        final ExecuteCommandResponse addResponse = apiRule.createCmdRequest()
+            .eventTypeSubscriber()
+            .command()
+                .put("startPosition", 0)
+                .put("name", "foo")
+                .put("state", "SUBSCRIBE")
+                .put("eventTypes", "TASK_EVENT")
+                .put("states", "CREATE,CREATED")
+                .put("taskType", "bar")
+                .done()
+            .sendAndAwait();
+
+        // then
+        final List<SubscribedEvent> events = apiRule.subscribedEvents()
+            .limit(2)
+            .collect(Collectors.toList());
+
+        assertThat(events).extracting(SubscribedEvent::subscriberKey).containsOnly(addResponse.key());
+        assertThat(events).extracting(SubscribedEvent::eventType).containsOnly(EventType.TASK_EVENT);
+        assertThat(events).extracting(e -> e.event().get("type")).containsOnly("bar");
+        assertThat(events).extracting(e -> e.event().get("state")).containsExactly("CREATE", "CREATED");
+    }
+
+    @Test
+    public void shouldPushOnlyEventsMatchingPayloadCondition()
+    {
+        // given
+        createTask("foo", orderPayload(1));
+        createTask("foo", orderPayload(2));
+
+        // when
+        apiRule.createCmdRequest()
+            .eventTypeSubscriber()
+            .command()
+                .put("startPosition", 0)
+                .put("name", "foo")
+                .put("state", "SUBSCRIBE")
+                .put("states", "CREATED")
+                .put("payloadCondition", "$.orderId == 2")
+                .done()
+            .sendAndAwait();
+
+        // then
+        final SubscribedEvent event = apiRule.subscribedEvents().findFirst().get();
+
+        assertThat(event.eventType()).isEqualTo(EventType.TASK_EVENT);
+        assertThat(event.event()).contains(entry("state", "CREATED"));
+        assertThat((byte[]) event.event().get("payload")).isEqualTo(orderPayload(2));
+    }
+
+    @Test
+    public void shouldAcknowledgeSkippedEvents()
+    {
+        // given
+        final ExecuteCommandResponse subscriptionResponse = openFilteredSubscription("foo", "bar");
+        final long startPosition = (long) subscriptionResponse.getEvent().get("startPosition");
+
+        // each task creates two events that are skipped
+        for (int i = 0; i < TopicSubscriptionPushProcessor.SKIPPED_EVENTS_ACK_THRESHOLD / 2; i++)
+        {
+            createTask("foo");
+        }
+        createTask("bar");
+
+        apiRule.subscribedEvents().findFirst().get();
+
+        apiRule.createControlMessageRequest()
+            .messageType(ControlMessageType.REMOVE_TOPIC_SUBSCRIPTION)
+            .partitionId(apiRule.getDefaultPartitionId())
+            .data()
+                .put("subscriberKey", subscriptionResponse.key())
+                .done()
+            .sendAndAwait();
+        apiRule.moveMessageStreamToTail();
+
+        // when
+        final ExecuteCommandResponse resumeResponse = openFilteredSubscription("foo", "bar");
+
+        // then the subscription should not resume at the skipped events
+        final long resumePosition = (long) resumeResponse.getEvent().get("startPosition");
+        assertThat(resumePosition).isGreaterThan(startPosition);
+
+        final SubscribedEvent event = apiRule.subscribedEvents().findFirst().get();
+        assertThat(event.event()).contains(entry("type", "bar"), entry("state", "CREATE"));
+    }
+
+    @Test
+    public void shouldNotOpenSubscriptionWithInvalidFilter()
+    {
+        // when
+        final ErrorResponse errorResponse = apiRule.createCmdRequest()
+            .eventTypeSubscriber()
+            .command()
+                .put("startPosition", 0)
+                .put("name", "foo")
+                .put("state", "SUBSCRIBE")
+                .put("eventTypes", "TASK_EVENT,FOO")
+                .done()
+            .send()
+            .awaitError();
+
+        // then
+        assertThat(errorResponse.getErrorCode()).isEqualTo(ErrorCode.REQUEST_PROCESSING_FAILURE);
+        assertThat(errorResponse.getErrorData()).isEqualTo("Cannot open topic subscription foo. Unknown event type 'FOO'.");
+    }
+
     @Test
     public void shouldReturnStartPositionOnOpen()
     {
@@ -354,6 +473,46 @@ public class TopicSubscriptionTest
         assertThat(taskEventsAfterReopening).containsExactlyElementsOf(taskEvents);
     }
 
+    @Test
+    public void shouldIgnoreOutdatedAcknowledgement()
+    {
+        // given
+        final ExecuteCommandResponse subscriptionResponse = apiRule
+                .openTopicSubscription("foo", 0)
+                .await();
+        final long subscriberKey = subscriptionResponse.key();
+
+        createTask("foo");
+
+        final List<Long> taskEvents = apiRule.subscribedEvents()
+            .filter((e) -> e.eventType() == EventType.TASK_EVENT)
+            .limit(2)
+            .map((e) -> e.position())
+            .collect(Collectors.toList());
+
+        acknowledge("foo", taskEvents.get(1));
+
+        // when an acknowledgement of a lower position is processed afterwards
+        acknowledge("foo", taskEvents.get(0));
+
+        apiRule.createControlMessageRequest()
+            .messageType(ControlMessageType.REMOVE_TOPIC_SUBSCRIPTION)
+            .partitionId(apiRule.getDefaultPartitionId())
+            .data()
+                .put("subscriberKey", subscriberKey)
+                .done()
+            .sendAndAwait();
+        apiRule.moveMessageStreamToTail();
+
+        final ExecuteCommandResponse resumeResponse = apiRule
+                .openTopicSubscription("foo", 0)
+                .await();
+
+        // then the subscription resumes after the highest acknowledged position
+        final long resumePosition = (long) resumeResponse.getEvent().get("startPosition");
+        assertThat(resumePosition).isEqualTo(taskEvents.get(1) + 1);
+    }
+
     @Test
     public void shouldPersistStartPositionOnOpen()
     {
@@ -496,6 +655,64 @@ public class TopicSubscriptionTest
         assertThat(firstPushedEvent.getSequenceNumber()).isGreaterThan(subscriptionResponse.getSequenceNumber());
     }
 
+    protected ExecuteCommandResponse openFilteredSubscription(String name, String taskType)
+    {
+        return apiRule.createCmdRequest()
+            .eventTypeSubscriber()
+            .command()
+                .put("startPosition", 0)
+                .put("name", name)
+                .put("state", "SUBSCRIBE")
+                .put("eventTypes", "TASK_EVENT")
+                .put("taskType", taskType)
+                .done()
+            .sendAndAwait();
+    }
+
+    protected void acknowledge(String subscriptionName, long position)
+    {
+        apiRule.createCmdRequest()
+            .eventTypeSubscription()
+            .command()
+                .put("name", subscriptionName)
+                .put("state", "ACKNOWLEDGE")
+                .put("ackPosition", position)
+                .done()
+            .sendAndAwait();
+    }
+
+    protected void createTask(String type)
+    {
+        createTask(type, MSGPACK_PAYLOAD);
+    }
+
+    protected void createTask(String type, byte[] payload)
+    {
+        apiRule.createCmdRequest()
+            .eventTypeTask()
+            .command()
+                .put("state", "CREATE")
+                .put("type", type)
+                .put("retries", 1)
+                .put("payload", payload)
+                .done()
+            .sendAndAwait();
+    }
+
+    protected static byte[] orderPayload(int orderId)
+    {
+        final MutableDirectBuffer buffer = encodeMsgPack((w) ->
+        {
+            w.writeMapHeader(1);
+            w.writeString(wrapString("orderId"));
+            w.writeInteger(orderId);
+        });
+
+        final byte[] payload = new byte[buffer.capacity()];
+        buffer.getBytes(0, payload);
+        return payload;
+    }
+
     protected String getStringOfLength(int numCharacters)
     {
         final char[] characters = new char[numCharacters];
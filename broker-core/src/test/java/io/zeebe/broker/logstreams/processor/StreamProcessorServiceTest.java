@@ -25,6 +25,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import io.zeebe.broker.system.threads.PartitionActorSchedulers;
 import io.zeebe.broker.test.MockStreamProcessorController;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LoggedEvent;
@@ -177,7 +178,7 @@ public class StreamProcessorServiceTest
     protected void injectMocks(StreamProcessorService streamProcessorService)
     {
         final ActorScheduler actorScheduler = mock(ActorScheduler.class);
-        streamProcessorService.getActorSchedulerInjector().inject(actorScheduler);
+        streamProcessorService.getActorSchedulersInjector().inject(new PartitionActorSchedulers(actorScheduler));
 
         final LogStream logStream = mock(LogStream.class);
         when(logStream.getTopicName()).thenReturn(BufferUtil.wrapString(ClientApiRule.DEFAULT_TOPIC_NAME));
@@ -0,0 +1,123 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.logstreams.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import io.zeebe.logstreams.spi.SnapshotSupport;
+
+public class VersionedSnapshotSupportTest
+{
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void shouldRecoverSnapshotOfSameVersion() throws Exception
+    {
+        // given
+        final StateResource state = new StateResource();
+        state.value = 42;
+
+        final byte[] snapshot = write(new VersionedSnapshotSupport(2, state));
+
+        // when
+        final StateResource recoveredState = new StateResource();
+        new VersionedSnapshotSupport(2, recoveredState).recoverFromSnapshot(new ByteArrayInputStream(snapshot));
+
+        // then
+        assertThat(recoveredState.value).isEqualTo(42);
+    }
+
+    @Test
+    public void shouldRejectSnapshotOfOtherVersion() throws Exception
+    {
+        // given
+        final byte[] snapshot = write(new VersionedSnapshotSupport(1, new StateResource()));
+
+        // then
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("unsupported snapshot version 1, expected 2");
+
+        // when
+        new VersionedSnapshotSupport(2, new StateResource()).recoverFromSnapshot(new ByteArrayInputStream(snapshot));
+    }
+
+    @Test
+    public void shouldRejectSnapshotWithoutVersion() throws Exception
+    {
+        // given
+        final byte[] snapshot = write(new StateResource());
+
+        // then
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("the snapshot has no version header");
+
+        // when
+        new VersionedSnapshotSupport(1, new StateResource()).recoverFromSnapshot(new ByteArrayInputStream(snapshot));
+    }
+
+    @Test
+    public void shouldRejectEmptySnapshot() throws Exception
+    {
+        // then
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("the snapshot has no version header");
+
+        // when
+        new VersionedSnapshotSupport(1, new StateResource()).recoverFromSnapshot(new ByteArrayInputStream(new byte[0]));
+    }
+
+    protected static byte[] write(SnapshotSupport snapshotSupport) throws Exception
+    {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        snapshotSupport.writeSnapshot(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    protected static class StateResource implements SnapshotSupport
+    {
+        protected int value;
+
+        @Override
+        public void writeSnapshot(OutputStream outputStream) throws Exception
+        {
+            outputStream.write(value);
+        }
+
+        @Override
+        public void recoverFromSnapshot(InputStream inputStream) throws Exception
+        {
+            value = inputStream.read();
+        }
+
+        @Override
+        public void reset()
+        {
+            value = 0;
+        }
+    }
+}
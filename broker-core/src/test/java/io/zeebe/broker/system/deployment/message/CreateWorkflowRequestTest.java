@@ -0,0 +1,91 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.deployment.message;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.system.deployment.message.CreateWorkflowRequest.WorkflowEntry;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class CreateWorkflowRequestTest
+{
+
+    @Test
+    public void shouldWriteAndReadWorkflowsForPartitions()
+    {
+        // given
+        final CreateWorkflowRequest request = new CreateWorkflowRequest()
+            .deploymentKey(1L)
+            .addPartitionId(2)
+            .addPartitionId(3)
+            .addWorkflow(4L, 1, wrapString("foo"), wrapString("<foo/>"), wrapString("foo-graph"))
+            .addWorkflow(5L, 2, wrapString("bar"), wrapString("<bar/>"), wrapString("bar-graph"));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[request.getLength()]);
+        request.write(buffer, 0);
+
+        // when
+        final CreateWorkflowRequest readRequest = new CreateWorkflowRequest();
+        readRequest.wrap(buffer, 0, buffer.capacity());
+
+        // then
+        assertThat(readRequest.getDeploymentKey()).isEqualTo(1L);
+        assertThat(readRequest.getPartitionIds()).containsExactly(2, 3);
+        assertThat(readRequest.getWorkflowCount()).isEqualTo(2);
+
+        final WorkflowEntry firstWorkflow = readRequest.getWorkflow(0);
+        assertThat(firstWorkflow.getWorkflowKey()).isEqualTo(4L);
+        assertThat(firstWorkflow.getVersion()).isEqualTo(1);
+        assertThat(firstWorkflow.getBpmnProcessId()).isEqualTo(wrapString("foo"));
+        assertThat(firstWorkflow.getBpmnXml()).isEqualTo(wrapString("<foo/>"));
+        assertThat(firstWorkflow.getWorkflow()).isEqualTo(wrapString("foo-graph"));
+
+        final WorkflowEntry secondWorkflow = readRequest.getWorkflow(1);
+        assertThat(secondWorkflow.getWorkflowKey()).isEqualTo(5L);
+        assertThat(secondWorkflow.getVersion()).isEqualTo(2);
+        assertThat(secondWorkflow.getBpmnProcessId()).isEqualTo(wrapString("bar"));
+        assertThat(secondWorkflow.getBpmnXml()).isEqualTo(wrapString("<bar/>"));
+        assertThat(secondWorkflow.getWorkflow()).isEqualTo(wrapString("bar-graph"));
+    }
+
+    @Test
+    public void shouldResetWorkflowsOnWrap()
+    {
+        // given
+        final CreateWorkflowRequest request = new CreateWorkflowRequest()
+            .deploymentKey(1L)
+            .addPartitionId(2)
+            .addWorkflow(4L, 1, wrapString("foo"), wrapString("<foo/>"), wrapString("foo-graph"));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[request.getLength()]);
+        request.write(buffer, 0);
+
+        final CreateWorkflowRequest readRequest = new CreateWorkflowRequest();
+        readRequest.wrap(buffer, 0, buffer.capacity());
+
+        // when
+        readRequest.wrap(buffer, 0, buffer.capacity());
+
+        // then
+        assertThat(readRequest.getPartitionIds()).containsExactly(2);
+        assertThat(readRequest.getWorkflowCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.threads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import org.junit.Test;
+
+import io.zeebe.util.actor.ActorScheduler;
+
+public class PartitionActorSchedulersTest
+{
+    private final ActorScheduler defaultScheduler = mock(ActorScheduler.class);
+
+    @Test
+    public void shouldUseDefaultSchedulerWithoutPartitionAffinity()
+    {
+        // given
+        final PartitionActorSchedulers schedulers = new PartitionActorSchedulers(defaultScheduler);
+
+        // when/then
+        assertThat(schedulers.forPartition(0)).isSameAs(defaultScheduler);
+        assertThat(schedulers.forPartition(7)).isSameAs(defaultScheduler);
+        assertThat(schedulers.getPartitionSchedulerCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldAssignPartitionToSameScheduler()
+    {
+        // given
+        final ActorScheduler scheduler0 = mock(ActorScheduler.class);
+        final ActorScheduler scheduler1 = mock(ActorScheduler.class);
+
+        final PartitionActorSchedulers schedulers = new PartitionActorSchedulers(defaultScheduler, new ActorScheduler[] {scheduler0, scheduler1});
+
+        // when/then
+        assertThat(schedulers.forPartition(0)).isSameAs(scheduler0);
+        assertThat(schedulers.forPartition(1)).isSameAs(scheduler1);
+        assertThat(schedulers.forPartition(2)).isSameAs(scheduler0);
+        assertThat(schedulers.forPartition(3)).isSameAs(scheduler1);
+
+        assertThat(schedulers.forPartition(3)).isSameAs(schedulers.forPartition(3));
+    }
+
+    @Test
+    public void shouldCloseOnlyPartitionSchedulers()
+    {
+        // given
+        final ActorScheduler scheduler0 = mock(ActorScheduler.class);
+        final ActorScheduler scheduler1 = mock(ActorScheduler.class);
+
+        final PartitionActorSchedulers schedulers = new PartitionActorSchedulers(defaultScheduler, new ActorScheduler[] {scheduler0, scheduler1});
+
+        // when
+        schedulers.close();
+
+        // then
+        verify(scheduler0).close();
+        verify(scheduler1).close();
+        verifyZeroInteractions(defaultScheduler);
+    }
+}
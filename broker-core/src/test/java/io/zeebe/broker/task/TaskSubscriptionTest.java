@@ -17,6 +17,8 @@
  */
 package io.zeebe.broker.task;
 
+import static io.zeebe.broker.test.MsgPackUtil.JSON_MAPPER;
+import static io.zeebe.broker.test.MsgPackUtil.MSGPACK_MAPPER;
 import static io.zeebe.test.broker.protocol.clientapi.TestTopicClient.taskEvents;
 import static io.zeebe.test.util.TestUtil.waitUntil;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +30,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.RuleChain;
@@ -241,6 +244,154 @@ public class TaskSubscriptionTest
             .containsEntry("lockOwner", "owner2");
     }
 
+    @Test
+    public void shouldPushProjectedPayload() throws Exception
+    {
+        // given
+        final ExecuteCommandResponse createResponse = createTask("foo", encodeJson("{'a':1, 'b':{'c':2}, 'd':3}"));
+
+        // when
+        apiRule
+            .createControlMessageRequest()
+            .messageType(ControlMessageType.ADD_TASK_SUBSCRIPTION)
+            .partitionId(apiRule.getDefaultPartitionId())
+            .data()
+                .put("taskType", "foo")
+                .put("lockDuration", 1000L)
+                .put("lockOwner", "bar")
+                .put("credits", 5)
+                .put("payloadProjection", "$.a,$.b.c")
+                .done()
+            .sendAndAwait();
+
+        // then
+        final SubscribedEvent pushedEvent = apiRule.subscribedEvents()
+            .filter(e -> e.subscriptionType() == SubscriptionType.TASK_SUBSCRIPTION)
+            .findFirst()
+            .get();
+
+        assertThat(pushedEvent.key()).isEqualTo(createResponse.key());
+        assertThat(decodeJson(pushedEvent.event().get("payload"))).isEqualTo(JSON_MAPPER.readTree("{\"a\":1, \"b\":{\"c\":2}}"));
+
+        final SubscribedEvent lockedEvent = apiRule.topic().receiveSingleEvent(taskEvents("LOCKED"));
+        assertThat(decodeJson(lockedEvent.event().get("payload"))).isEqualTo(JSON_MAPPER.readTree("{\"a\":1, \"b\":{\"c\":2}, \"d\":3}"));
+        assertThat(lockedEvent.event()).containsEntry("payloadProjection", "$.a,$.b.c");
+    }
+
+    @Test
+    public void shouldPushFullPayloadWithoutProjection() throws Exception
+    {
+        // given
+        final ExecuteCommandResponse createResponse = createTask("foo", encodeJson("{'a':1, 'b':{'c':2}, 'd':3}"));
+
+        // when
+        final ControlMessageResponse response = apiRule
+            .createControlMessageRequest()
+            .messageType(ControlMessageType.ADD_TASK_SUBSCRIPTION)
+            .partitionId(apiRule.getDefaultPartitionId())
+            .data()
+                .put("taskType", "foo")
+                .put("lockDuration", 1000L)
+                .put("lockOwner", "bar")
+                .put("credits", 5)
+                .done()
+            .sendAndAwait();
+
+        // then
+        assertThat(response.getData()).containsEntry("taskType", "foo");
+
+        final SubscribedEvent pushedEvent = apiRule.subscribedEvents()
+            .filter(e -> e.subscriptionType() == SubscriptionType.TASK_SUBSCRIPTION)
+            .findFirst()
+            .get();
+
+        assertThat(pushedEvent.key()).isEqualTo(createResponse.key());
+        assertThat(decodeJson(pushedEvent.event().get("payload"))).isEqualTo(JSON_MAPPER.readTree("{\"a\":1, \"b\":{\"c\":2}, \"d\":3}"));
+    }
+
+    @Test
+    public void shouldMergeProjectedPayloadOnCompletion() throws Exception
+    {
+        // given
+        final ExecuteCommandResponse createResponse = createTask("foo", encodeJson("{'a':1, 'b':{'c':2}, 'd':3}"));
+
+        apiRule
+            .createControlMessageRequest()
+            .messageType(ControlMessageType.ADD_TASK_SUBSCRIPTION)
+            .partitionId(apiRule.getDefaultPartitionId())
+            .data()
+                .put("taskType", "foo")
+                .put("lockDuration", 1000L)
+                .put("lockOwner", "bar")
+                .put("credits", 5)
+                .put("payloadProjection", "$.a")
+                .done()
+            .sendAndAwait();
+
+        apiRule.topic().receiveSingleEvent(taskEvents("LOCKED"));
+
+        // when
+        final ExecuteCommandResponse response = apiRule.createCmdRequest()
+            .eventTypeTask()
+            .key(createResponse.key())
+            .command()
+                .put("state", "COMPLETE")
+                .put("type", "foo")
+                .put("lockOwner", "bar")
+                .put("retries", 3)
+                .put("payload", encodeJson("{'a':5}"))
+                .done()
+            .sendAndAwait();
+
+        // then
+        assertThat(response.getEvent()).containsEntry("state", "COMPLETED");
+        assertThat(decodeJson(response.getEvent().get("payload"))).isEqualTo(JSON_MAPPER.readTree("{\"a\":5, \"b\":{\"c\":2}, \"d\":3}"));
+    }
+
+    @Test
+    public void shouldRejectSubscriptionWithInvalidPayloadProjection()
+    {
+        // when
+        final ErrorResponse error = apiRule.createControlMessageRequest()
+            .messageType(ControlMessageType.ADD_TASK_SUBSCRIPTION)
+            .partitionId(apiRule.getDefaultPartitionId())
+            .data()
+                .put("taskType", "foo")
+                .put("lockDuration", 1000L)
+                .put("lockOwner", "bar")
+                .put("credits", 5)
+                .put("payloadProjection", "$.a,foo")
+                .done()
+            .send().awaitError();
+
+        // then
+        assertThat(error.getErrorCode()).isEqualTo(ErrorCode.REQUEST_PROCESSING_FAILURE);
+        assertThat(error.getErrorData()).startsWith("Cannot add task subscription. Invalid JSON path 'foo' in payload projection");
+    }
+
+    private static byte[] encodeJson(String json) throws Exception
+    {
+        return MSGPACK_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree(json.replace('\'', '"')));
+    }
+
+    private static JsonNode decodeJson(Object msgPack) throws Exception
+    {
+        return MSGPACK_MAPPER.readTree((byte[]) msgPack);
+    }
+
+    private ExecuteCommandResponse createTask(String type, byte[] payload)
+    {
+        return apiRule.createCmdRequest()
+                .eventTypeTask()
+                .command()
+                    .put("state", "CREATE")
+                    .put("type", type)
+                    .put("retries", 3)
+                    .put("payload", payload)
+                .done()
+                .sendAndAwait();
+    }
+
     private ExecuteCommandResponse createTask(String type)
     {
         return apiRule.createCmdRequest()
@@ -0,0 +1,186 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.task.processor;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TaskSubscriptionsTest
+{
+    private TaskSubscriptions subscriptions = new TaskSubscriptions(2);
+
+    @Test
+    public void shouldSelectSubscriptionsRoundRobin()
+    {
+        // given
+        addSubscription(1L, 5);
+        addSubscription(2L, 5);
+        addSubscription(3L, 5);
+
+        // when
+        final List<Long> selected = selectAndConsume(6);
+
+        // then
+        assertThat(selected).containsExactly(1L, 2L, 3L, 1L, 2L, 3L);
+    }
+
+    @Test
+    public void shouldSkipSubscriptionsWithoutCredits()
+    {
+        // given
+        addSubscription(1L, 1);
+        addSubscription(2L, 3);
+
+        // when
+        final List<Long> selected = selectAndConsume(3);
+
+        // then
+        assertThat(selected).containsExactly(1L, 2L, 2L);
+        assertThat(subscriptions.getTotalCredits()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotSelectSubscriptionIfNoCredits()
+    {
+        // given
+        addSubscription(1L, 1);
+        selectAndConsume(1);
+
+        // when
+        final TaskSubscription subscription = subscriptions.nextReadySubscription();
+
+        // then
+        assertThat(subscription).isNull();
+    }
+
+    @Test
+    public void shouldSelectSubscriptionAgainAfterIncreasingCredits()
+    {
+        // given
+        addSubscription(1L, 1);
+        addSubscription(2L, 1);
+        selectAndConsume(1);
+
+        // when
+        subscriptions.addCredits(1L, 2);
+
+        // then
+        assertThat(selectAndConsume(3)).containsExactly(2L, 1L, 1L);
+    }
+
+    @Test
+    public void shouldNotSelectRemovedSubscription()
+    {
+        // given
+        addSubscription(1L, 2);
+        addSubscription(2L, 2);
+        addSubscription(3L, 2);
+
+        // when
+        subscriptions.removeSubscription(2L);
+
+        // then
+        assertThat(subscriptions.size()).isEqualTo(2);
+        assertThat(subscriptions.getTotalCredits()).isEqualTo(4);
+        assertThat(selectAndConsume(4)).containsExactly(1L, 3L, 1L, 3L);
+    }
+
+    @Test
+    public void shouldReuseSlotOfRemovedSubscription()
+    {
+        // given
+        addSubscription(1L, 1);
+        addSubscription(2L, 1);
+        subscriptions.removeSubscription(1L);
+
+        // when
+        addSubscription(3L, 1);
+
+        // then
+        assertThat(subscriptions.subscriptions).hasSize(2);
+        final List<Long> subscriberKeys = new ArrayList<>();
+        subscriptions.forEach(s -> subscriberKeys.add(s.getSubscriberKey()));
+        assertThat(subscriberKeys).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(selectAndConsume(2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    public void shouldSelectSubscriptionsWeightedByCapacity()
+    {
+        // given
+        subscriptions = new TaskSubscriptions(2, true);
+
+        addSubscription(1L, 2);
+        addSubscription(2L, 6);
+
+        // when
+        final List<Long> selected = selectAndConsume(8);
+
+        // then
+        assertThat(selected).containsExactly(1L, 2L, 2L, 2L, 1L, 2L, 2L, 2L);
+    }
+
+    @Test
+    public void shouldUpdateWeightsAfterRemovingSubscriptionWithSmallestCapacity()
+    {
+        // given
+        subscriptions = new TaskSubscriptions(2, true);
+
+        addSubscription(1L, 2);
+        addSubscription(2L, 6);
+        addSubscription(3L, 6);
+
+        // when
+        subscriptions.removeSubscription(1L);
+
+        // then
+        assertThat(selectAndConsume(4)).containsExactly(2L, 3L, 2L, 3L);
+    }
+
+    protected void addSubscription(long subscriberKey, int credits)
+    {
+        final TaskSubscription subscription = new TaskSubscription(0, wrapString("foo"), 1000L, wrapString("bar"), 1);
+        subscription.setSubscriberKey(subscriberKey);
+        subscription.setCredits(credits);
+
+        subscriptions.addSubscription(subscription);
+    }
+
+    /**
+     * Selects subscriptions and consumes one credit each, like the lock task processor
+     */
+    protected List<Long> selectAndConsume(int count)
+    {
+        final List<Long> selected = new ArrayList<>();
+
+        for (int i = 0; i < count; i++)
+        {
+            final TaskSubscription subscription = subscriptions.nextReadySubscription();
+            selected.add(subscription.getSubscriberKey());
+
+            subscriptions.addCredits(subscription.getSubscriberKey(), -1);
+        }
+
+        return selected;
+    }
+}
@@ -345,6 +345,55 @@ public class ClientApiMessageHandlerTest
         assertThat(errorDecoder.errorData()).isEqualTo("Cannot execute command. Invalid event type 'NULL_VAL'.");
     }
 
+    @Test
+    public void shouldRejectCommandIfTooManyCommandsInFlight()
+    {
+        // given
+        messageHandler = new ClientApiMessageHandler(mockControlMessageDispatcher, 1);
+        messageHandler.addStream(logStream);
+
+        final int writtenLength = writeCommandRequestToBuffer(buffer, LOG_STREAM_PARTITION_ID, null, EventType.TASK_EVENT);
+
+        assertThat(messageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID)).isTrue();
+
+        // when
+        final boolean isHandled = messageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID);
+
+        // then
+        assertThat(isHandled).isTrue();
+
+        assertThat(serverOutput.getSentResponses()).hasSize(1);
+
+        final ErrorResponseDecoder errorDecoder = serverOutput.getAsErrorResponse(0);
+
+        assertThat(errorDecoder.errorCode()).isEqualTo(ErrorCode.REQUEST_WRITE_FAILURE);
+        assertThat(errorDecoder.errorData()).isEqualTo("Cannot execute command. Partition with id '1' is overloaded: 1 commands are not committed yet.");
+    }
+
+    @Test
+    public void shouldAdmitCommandIfInFlightCommandsAreCommitted()
+    {
+        // given
+        messageHandler = new ClientApiMessageHandler(mockControlMessageDispatcher, 1);
+        messageHandler.addStream(logStream);
+
+        final int writtenLength = writeCommandRequestToBuffer(buffer, LOG_STREAM_PARTITION_ID, null, EventType.TASK_EVENT);
+
+        messageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID);
+
+        final BufferedLogStreamReader logStreamReader = new BufferedLogStreamReader(logStream, true);
+        waitForAvailableEvent(logStreamReader);
+
+        logStream.setCommitPosition(logStreamReader.next().getPosition());
+
+        // when
+        final boolean isHandled = messageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID);
+
+        // then
+        assertThat(isHandled).isTrue();
+        assertThat(serverOutput.getSentResponses()).isEmpty();
+    }
+
     protected int writeCommandRequestToBuffer(UnsafeBuffer buffer, int partitionId, Short protocolVersion, EventType eventType)
     {
         int offset = 0;
@@ -0,0 +1,176 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import static io.zeebe.broker.util.msgpack.MsgPackScanner.TOKEN_BINARY;
+import static io.zeebe.broker.util.msgpack.MsgPackScanner.TOKEN_INTEGER;
+import static io.zeebe.broker.util.msgpack.MsgPackScanner.TOKEN_MAP;
+import static io.zeebe.broker.util.msgpack.MsgPackScanner.TOKEN_STRING;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import io.zeebe.broker.task.data.TaskEvent;
+import io.zeebe.broker.task.data.TaskState;
+import io.zeebe.broker.util.msgpack.MsgPackScanner;
+import io.zeebe.broker.util.msgpack.MsgPackSchema;
+import io.zeebe.broker.util.msgpack.MsgPackSchema.Property;
+import io.zeebe.broker.workflow.data.WorkflowInstanceEvent;
+import io.zeebe.broker.workflow.data.WorkflowInstanceState;
+import io.zeebe.msgpack.UnpackedObject;
+
+/**
+ * Ensures that the hand-written schemas match the properties which are
+ * declared by the events, i.e. a serialized event contains exactly the
+ * properties of the schema with compatible types.
+ */
+public class CommandSchemasTest
+{
+    private final MsgPackScanner scanner = new MsgPackScanner();
+
+    @Test
+    public void shouldMatchTaskEvent()
+    {
+        // given
+        final TaskEvent event = new TaskEvent()
+            .setState(TaskState.CREATE)
+            .setType(wrapString("foo"))
+            .setLockOwner(wrapString("bar"))
+            .setLockTime(Long.MAX_VALUE)
+            .setRetries(Integer.MAX_VALUE)
+            .setPayloadProjection(wrapString("$.foo"));
+
+        event.headers()
+            .setBpmnProcessId(wrapString("process"))
+            .setWorkflowDefinitionVersion(Integer.MAX_VALUE)
+            .setWorkflowKey(Long.MAX_VALUE)
+            .setWorkflowInstanceKey(Long.MAX_VALUE)
+            .setActivityId(wrapString("task"))
+            .setActivityInstanceKey(Long.MAX_VALUE);
+
+        // then
+        assertMatchesSchema(event, CommandSchemas.TASK_EVENT);
+    }
+
+    @Test
+    public void shouldMatchWorkflowInstanceEvent()
+    {
+        // given
+        final WorkflowInstanceEvent event = new WorkflowInstanceEvent()
+            .setState(WorkflowInstanceState.CREATE_WORKFLOW_INSTANCE)
+            .setBpmnProcessId(wrapString("process"))
+            .setVersion(Integer.MAX_VALUE)
+            .setWorkflowKey(Long.MAX_VALUE)
+            .setWorkflowInstanceKey(Long.MAX_VALUE)
+            .setActivityId("task");
+
+        // then
+        assertMatchesSchema(event, CommandSchemas.WORKFLOW_INSTANCE_EVENT);
+    }
+
+    protected void assertMatchesSchema(UnpackedObject event, MsgPackSchema schema)
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[event.getEncodedLength()]);
+        event.write(buffer, 0);
+
+        scanner.wrap(buffer, 0, buffer.capacity());
+
+        assertThat(scanner.readToken()).isTrue();
+        assertThat(scanner.getTokenType()).isEqualTo(TOKEN_MAP);
+
+        assertMapMatchesSchema(buffer, scanner.getTokenLength(), schema);
+    }
+
+    protected void assertMapMatchesSchema(DirectBuffer buffer, long size, MsgPackSchema schema)
+    {
+        final Set<String> actualProperties = new HashSet<>();
+
+        for (long i = 0; i < size; i++)
+        {
+            assertThat(scanner.readToken()).isTrue();
+            assertThat(scanner.getTokenType()).isEqualTo(TOKEN_STRING);
+
+            final int index = schema.indexOf(buffer, scanner.getTokenValueOffset(), (int) scanner.getTokenLength());
+            final String name = buffer.getStringWithoutLengthUtf8(scanner.getTokenValueOffset(), (int) scanner.getTokenLength());
+
+            assertThat(index).as("schema index of property '%s'", name).isGreaterThanOrEqualTo(0);
+            actualProperties.add(name);
+
+            final Property property = schema.getProperty(index);
+            assertValueMatchesProperty(buffer, property);
+        }
+
+        final Set<String> expectedProperties = new HashSet<>();
+        for (int i = 0; i < schema.getPropertyCount(); i++)
+        {
+            expectedProperties.add(schema.getProperty(i).getName());
+        }
+
+        assertThat(actualProperties).isEqualTo(expectedProperties);
+    }
+
+    protected void assertValueMatchesProperty(DirectBuffer buffer, Property property)
+    {
+        final String name = property.getName();
+
+        switch (property.getType())
+        {
+            case ANY:
+                assertThat(scanner.skipValue()).as("value of property '%s'", name).isTrue();
+                break;
+
+            case OBJECT:
+                assertThat(scanner.readToken()).isTrue();
+                assertThat(scanner.getTokenType()).as("type of property '%s'", name).isEqualTo(TOKEN_MAP);
+                assertMapMatchesSchema(buffer, scanner.getTokenLength(), property.getObjectSchema());
+                break;
+
+            case STRING:
+            case ENUM:
+                assertThat(scanner.readToken()).isTrue();
+                assertThat(scanner.getTokenType()).as("type of property '%s'", name).isEqualTo(TOKEN_STRING);
+                break;
+
+            case BINARY:
+                assertThat(scanner.readToken()).isTrue();
+                assertThat(scanner.getTokenType()).as("type of property '%s'", name).isEqualTo(TOKEN_BINARY);
+                break;
+
+            case INTEGER:
+                assertThat(scanner.readToken()).isTrue();
+                assertThat(scanner.getTokenType()).as("type of property '%s'", name).isEqualTo(TOKEN_INTEGER);
+                // the events are populated with max values, so a long property declared as integer would not fit
+                assertThat(scanner.getTokenIntegerValue()).as("value of integer property '%s'", name).isBetween((long) Integer.MIN_VALUE, (long) Integer.MAX_VALUE);
+                break;
+
+            case LONG:
+                assertThat(scanner.readToken()).isTrue();
+                assertThat(scanner.getTokenType()).as("type of property '%s'", name).isEqualTo(TOKEN_INTEGER);
+                break;
+
+            default:
+                throw new AssertionError("unexpected property type " + property.getType() + " of property '" + name + "'");
+        }
+    }
+}
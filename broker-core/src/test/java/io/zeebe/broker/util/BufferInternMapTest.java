@@ -0,0 +1,86 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.util;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BufferInternMapTest
+{
+    private BufferInternMap dictionary;
+
+    @Before
+    public void setUp()
+    {
+        dictionary = new BufferInternMap(64);
+    }
+
+    @After
+    public void tearDown()
+    {
+        dictionary.close();
+    }
+
+    @Test
+    public void shouldAssignSameIdToEqualValues()
+    {
+        // when
+        final int fooId = dictionary.intern(wrapString("foo"));
+        final int barId = dictionary.intern(wrapString("bar"));
+
+        // then
+        assertThat(fooId).isNotEqualTo(barId);
+        assertThat(dictionary.intern(wrapString("foo"))).isEqualTo(fooId);
+        assertThat(dictionary.lookup(wrapString("bar"))).isEqualTo(barId);
+    }
+
+    @Test
+    public void shouldResolveValueById()
+    {
+        // given
+        final int fooId = dictionary.intern(wrapString("foo"));
+        final int barId = dictionary.intern(wrapString("bar"));
+
+        // then
+        assertThat(bufferAsString(dictionary.get(fooId))).isEqualTo("foo");
+        assertThat(bufferAsString(dictionary.get(barId))).isEqualTo("bar");
+    }
+
+    @Test
+    public void shouldNotInternOnLookup()
+    {
+        // when
+        final int id = dictionary.lookup(wrapString("foo"));
+
+        // then
+        assertThat(id).isEqualTo(BufferInternMap.MISSING_ID);
+        assertThat(dictionary.lookup(wrapString("foo"))).isEqualTo(BufferInternMap.MISSING_ID);
+    }
+
+    @Test
+    public void shouldReturnEmptyBufferForUnknownId()
+    {
+        assertThat(dictionary.get(BufferInternMap.MISSING_ID).capacity()).isEqualTo(0);
+        assertThat(dictionary.get(42).capacity()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.util.msgpack;
+
+import static io.zeebe.broker.test.MsgPackUtil.MSGPACK_MAPPER;
+import static io.zeebe.broker.test.MsgPackUtil.MSGPACK_PAYLOAD;
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.ANY;
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.BINARY;
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.INTEGER;
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.LONG;
+import static io.zeebe.broker.util.msgpack.MsgPackSchema.PropertyType.STRING;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.zeebe.broker.workflow.data.WorkflowInstanceState;
+
+public class MsgPackSchemaValidatorTest
+{
+    private final MsgPackSchemaValidator validator = new MsgPackSchemaValidator();
+
+    private MsgPackSchema schema;
+
+    @Before
+    public void setUp()
+    {
+        schema = new MsgPackSchema()
+            .requiredEnumProperty("state", WorkflowInstanceState.class)
+            .property("bpmnProcessId", STRING, 8)
+            .property("version", INTEGER)
+            .property("workflowKey", LONG)
+            .property("payload", BINARY)
+            .property("custom", ANY)
+            .objectProperty("headers", new MsgPackSchema()
+                .property("activityId", STRING));
+    }
+
+    @Test
+    public void shouldValidateDocument() throws Exception
+    {
+        // given
+        final Map<String, Object> document = new HashMap<>();
+        document.put("state", "CREATE_WORKFLOW_INSTANCE");
+        document.put("bpmnProcessId", "process");
+        document.put("version", 1);
+        document.put("workflowKey", Long.MAX_VALUE);
+        document.put("payload", MSGPACK_PAYLOAD);
+        document.put("custom", Collections.singletonMap("foo", new int[] {1, 2, 3}));
+        document.put("headers", Collections.singletonMap("activityId", "task"));
+
+        // when
+        final boolean isValid = validate(document);
+
+        // then
+        assertThat(isValid).isTrue();
+        assertThat(validator.getErrorMessage()).isNull();
+    }
+
+    @Test
+    public void shouldIgnoreUndeclaredProperties() throws Exception
+    {
+        // given
+        final Map<String, Object> document = new HashMap<>();
+        document.put("state", "CREATE_WORKFLOW_INSTANCE");
+        document.put("foo", Collections.singletonMap("bar", new Object[] {"baz", 1.5, true, null}));
+
+        // then
+        assertThat(validate(document)).isTrue();
+    }
+
+    @Test
+    public void shouldRejectMissingRequiredProperty() throws Exception
+    {
+        // given
+        final Map<String, Object> document = Collections.singletonMap("version", 1);
+
+        // then
+        assertThat(validate(document)).isFalse();
+        assertThat(validator.getErrorMessage()).startsWith("Could not read property 'state'. No value set");
+    }
+
+    @Test
+    public void shouldRejectUnknownEnumValue() throws Exception
+    {
+        // given
+        final Map<String, Object> document = Collections.singletonMap("state", "foo");
+
+        // then
+        assertThat(validate(document)).isFalse();
+        assertThat(validator.getErrorMessage()).startsWith("Could not read property 'state'. Unknown enum value");
+    }
+
+    @Test
+    public void shouldRejectUnexpectedValueType() throws Exception
+    {
+        // given
+        final Map<String, Object> document = new HashMap<>();
+        document.put("state", "CREATE_WORKFLOW_INSTANCE");
+        document.put("payload", "not binary");
+
+        // then
+        assertThat(validate(document)).isFalse();
+        assertThat(validator.getErrorMessage()).startsWith("Could not read property 'payload'. Unexpected value type");
+    }
+
+    @Test
+    public void shouldRejectIntegerOutOfRange() throws Exception
+    {
+        // given
+        final Map<String, Object> document = new HashMap<>();
+        document.put("state", "CREATE_WORKFLOW_INSTANCE");
+        document.put("version", Long.MAX_VALUE);
+
+        // then
+        assertThat(validate(document)).isFalse();
+        assertThat(validator.getErrorMessage()).startsWith("Could not read property 'version'. Value is out of integer range");
+    }
+
+    @Test
+    public void shouldRejectTooLongValue() throws Exception
+    {
+        // given
+        final Map<String, Object> document = new HashMap<>();
+        document.put("state", "CREATE_WORKFLOW_INSTANCE");
+        document.put("bpmnProcessId", "processWithLongId");
+
+        // then
+        assertThat(validate(document)).isFalse();
+        assertThat(validator.getErrorMessage()).startsWith("Could not read property 'bpmnProcessId'. Value length exceeds max length. Length: 17, max: 8");
+    }
+
+    @Test
+    public void shouldRejectInvalidNestedObject() throws Exception
+    {
+        // given
+        final Map<String, Object> document = new HashMap<>();
+        document.put("state", "CREATE_WORKFLOW_INSTANCE");
+        document.put("headers", Collections.singletonMap("activityId", 123));
+
+        // then
+        assertThat(validate(document)).isFalse();
+        assertThat(validator.getErrorMessage()).startsWith("Could not read property 'activityId'. Unexpected value type");
+    }
+
+    @Test
+    public void shouldRejectIfNotAMap() throws Exception
+    {
+        // given
+        final byte[] bytes = MSGPACK_MAPPER.writeValueAsBytes(new int[] {1, 2});
+
+        // then
+        assertThat(validator.validate(schema, new UnsafeBuffer(bytes), 0, bytes.length)).isFalse();
+        assertThat(validator.getErrorMessage()).startsWith("Expected a map");
+    }
+
+    @Test
+    public void shouldRejectTruncatedDocument() throws Exception
+    {
+        // given
+        final Map<String, Object> document = new HashMap<>();
+        document.put("state", "CREATE_WORKFLOW_INSTANCE");
+        document.put("custom", Collections.singletonMap("foo", "bar"));
+
+        final byte[] bytes = MSGPACK_MAPPER.writeValueAsBytes(document);
+
+        // then
+        for (int length = 0; length < bytes.length; length++)
+        {
+            assertThat(validator.validate(schema, new UnsafeBuffer(bytes), 0, length)).isFalse();
+        }
+        assertThat(validator.validate(schema, new UnsafeBuffer(bytes), 0, bytes.length)).isTrue();
+    }
+
+    @Test
+    public void shouldRejectContainerExceedingDocument()
+    {
+        // given a map which claims to have 2^32 - 1 entries
+        final byte[] bytes = new byte[] {(byte) 0xdf, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff};
+
+        // then
+        assertThat(validator.validate(schema, new UnsafeBuffer(bytes), 0, bytes.length)).isFalse();
+        assertThat(validator.getErrorMessage()).startsWith("Unexpected end of document");
+    }
+
+    private boolean validate(Map<String, Object> document) throws Exception
+    {
+        final byte[] bytes = MSGPACK_MAPPER.writeValueAsBytes(document);
+        return validator.validate(schema, new UnsafeBuffer(bytes), 0, bytes.length);
+    }
+}
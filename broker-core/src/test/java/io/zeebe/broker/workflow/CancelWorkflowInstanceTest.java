@@ -184,6 +184,55 @@ public class CancelWorkflowInstanceTest
         testClient.receiveSingleEvent(workflowInstanceEvents("CANCEL_WORKFLOW_INSTANCE_REJECTED"));
     }
 
+    @Test
+    public void shouldCancelAllInstancesOfWorkflow()
+    {
+        // given
+        testClient.deploy(WORKFLOW);
+
+        final long firstWorkflowInstanceKey = testClient.createWorkflowInstance("process");
+        final long secondWorkflowInstanceKey = testClient.createWorkflowInstance("process");
+
+        testClient.receiveEvents(workflowInstanceEvents("ACTIVITY_ACTIVATED")).limit(2).count();
+
+        // when
+        final ExecuteCommandResponse response = apiRule.createCmdRequest()
+            .eventTypeWorkflow()
+            .command()
+                .put(PROP_STATE, "CANCEL_WORKFLOW_INSTANCES")
+                .put(PROP_WORKFLOW_BPMN_PROCESS_ID, "process")
+            .done()
+            .sendAndAwait();
+
+        // then
+        assertThat(response.getEvent()).containsEntry("state", "WORKFLOW_INSTANCES_CANCELING");
+
+        testClient.receiveSingleEvent(workflowInstanceEvents("WORKFLOW_INSTANCES_CANCELED"));
+
+        final List<Long> canceledInstances = testClient
+                .receiveEvents(workflowInstanceEvents("WORKFLOW_INSTANCE_CANCELED"))
+                .limit(2)
+                .map(SubscribedEvent::key)
+                .collect(Collectors.toList());
+
+        assertThat(canceledInstances).containsExactly(firstWorkflowInstanceKey, secondWorkflowInstanceKey);
+    }
+
+    @Test
+    public void shouldRejectCancelAllInstancesWithoutWorkflow()
+    {
+        // when
+        final ExecuteCommandResponse response = apiRule.createCmdRequest()
+            .eventTypeWorkflow()
+            .command()
+                .put(PROP_STATE, "CANCEL_WORKFLOW_INSTANCES")
+            .done()
+            .sendAndAwait();
+
+        // then
+        assertThat(response.getEvent()).containsEntry("state", "CANCEL_WORKFLOW_INSTANCES_REJECTED");
+    }
+
     private ExecuteCommandResponse cancelWorkflowInstance(final long workflowInstanceKey)
     {
         return apiRule.createCmdRequest()
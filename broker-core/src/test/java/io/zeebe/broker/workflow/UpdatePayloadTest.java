@@ -21,6 +21,9 @@ import static io.zeebe.broker.test.MsgPackUtil.*;
 import static io.zeebe.test.broker.protocol.clientapi.TestTopicClient.workflowInstanceEvents;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import io.zeebe.broker.test.EmbeddedBrokerRule;
 import io.zeebe.model.bpmn.Bpmn;
 import io.zeebe.model.bpmn.instance.WorkflowDefinition;
@@ -170,6 +173,108 @@ public class UpdatePayloadTest
         testClient.receiveSingleEvent(workflowInstanceEvents("UPDATE_PAYLOAD_REJECTED"));
     }
 
+    @Test
+    public void shouldUpdatePayloadOfAllInstancesOfWorkflow() throws Exception
+    {
+        // given
+        testClient.deploy(WORKFLOW);
+
+        final long firstWorkflowInstanceKey = testClient.createWorkflowInstance("process");
+        final long secondWorkflowInstanceKey = testClient.createWorkflowInstance("process");
+
+        final List<Long> activityInstanceKeys = testClient
+                .receiveEvents(workflowInstanceEvents("ACTIVITY_ACTIVATED"))
+                .limit(2)
+                .map(SubscribedEvent::key)
+                .collect(Collectors.toList());
+
+        // when
+        final ExecuteCommandResponse response = apiRule.createCmdRequest()
+            .eventTypeWorkflow()
+            .command()
+                .put("state", "UPDATE_WORKFLOW_INSTANCES_PAYLOAD")
+                .put("bpmnProcessId", "process")
+                .put("payload", MSGPACK_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree("{'foo':'bar'}")))
+            .done()
+            .sendAndAwait();
+
+        // then
+        assertThat(response.getEvent()).containsEntry("state", "WORKFLOW_INSTANCES_PAYLOAD_UPDATING");
+
+        testClient.receiveSingleEvent(workflowInstanceEvents("WORKFLOW_INSTANCES_PAYLOAD_UPDATED"));
+
+        final List<SubscribedEvent> updatedEvents = testClient
+                .receiveEvents(workflowInstanceEvents("PAYLOAD_UPDATED"))
+                .limit(2)
+                .collect(Collectors.toList());
+
+        assertThat(updatedEvents.stream().map(SubscribedEvent::key).collect(Collectors.toList()))
+            .containsExactlyElementsOf(activityInstanceKeys);
+        assertThat(updatedEvents.stream().map(e -> e.event().get("workflowInstanceKey")).collect(Collectors.toList()))
+            .containsExactly(firstWorkflowInstanceKey, secondWorkflowInstanceKey);
+
+        for (SubscribedEvent updatedEvent : updatedEvents)
+        {
+            final byte[] payload = (byte[]) updatedEvent.event().get("payload");
+
+            assertThat(MSGPACK_MAPPER.readTree(payload))
+                .isEqualTo(JSON_MAPPER.readTree("{'foo':'bar'}"));
+        }
+    }
+
+    @Test
+    public void shouldNotUpdatePayloadOfCompletedInstances() throws Exception
+    {
+        // given
+        testClient.deploy(WORKFLOW);
+
+        testClient.createWorkflowInstance("process");
+        testClient.receiveSingleEvent(workflowInstanceEvents("ACTIVITY_ACTIVATED"));
+
+        testClient.completeTaskOfType("task-1", MSGPACK_PAYLOAD);
+        testClient.receiveSingleEvent(workflowInstanceEvents("ACTIVITY_COMPLETED"));
+        testClient.completeTaskOfType("task-2");
+        testClient.receiveSingleEvent(workflowInstanceEvents("WORKFLOW_INSTANCE_COMPLETED"));
+
+        // when
+        final ExecuteCommandResponse response = apiRule.createCmdRequest()
+            .eventTypeWorkflow()
+            .command()
+                .put("state", "UPDATE_WORKFLOW_INSTANCES_PAYLOAD")
+                .put("bpmnProcessId", "process")
+                .put("payload", MSGPACK_PAYLOAD)
+            .done()
+            .sendAndAwait();
+
+        // then
+        assertThat(response.getEvent()).containsEntry("state", "WORKFLOW_INSTANCES_PAYLOAD_UPDATING");
+
+        final SubscribedEvent event = testClient.receiveSingleEvent(
+                workflowInstanceEvents("PAYLOAD_UPDATED").or(workflowInstanceEvents("WORKFLOW_INSTANCES_PAYLOAD_UPDATED")));
+
+        assertThat(event.event()).containsEntry("state", "WORKFLOW_INSTANCES_PAYLOAD_UPDATED");
+    }
+
+    @Test
+    public void shouldRejectUpdateOfAllInstancesForInvalidPayload() throws Exception
+    {
+        // given
+        testClient.deploy(WORKFLOW);
+
+        // when
+        final ExecuteCommandResponse response = apiRule.createCmdRequest()
+            .eventTypeWorkflow()
+            .command()
+                .put("state", "UPDATE_WORKFLOW_INSTANCES_PAYLOAD")
+                .put("bpmnProcessId", "process")
+                .put("payload", MSGPACK_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree("'foo'")))
+            .done()
+            .sendAndAwait();
+
+        // then
+        assertThat(response.getEvent()).containsEntry("state", "UPDATE_WORKFLOW_INSTANCES_PAYLOAD_REJECTED");
+    }
+
     private ExecuteCommandResponse updatePayload(final long workflowInstanceKey, final long activityInstanceKey, byte[] payload) throws Exception
     {
         return apiRule.createCmdRequest()
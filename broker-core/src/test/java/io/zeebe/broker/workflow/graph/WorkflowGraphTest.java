@@ -0,0 +1,119 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.graph;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.workflow.graph.model.*;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.model.bpmn.BpmnAspect;
+import io.zeebe.model.bpmn.BpmnModelApi;
+import io.zeebe.model.bpmn.instance.Workflow;
+import io.zeebe.model.bpmn.instance.WorkflowDefinition;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+public class WorkflowGraphTest
+{
+    private final BpmnModelApi bpmn = new BpmnModelApi();
+
+    private final WorkflowGraphCompiler compiler = new WorkflowGraphCompiler();
+    private final WorkflowGraphLoader loader = new WorkflowGraphLoader();
+
+    @Test
+    public void shouldLoadServiceTask()
+    {
+        // given
+        final Workflow workflow = parse(Bpmn.createExecutableWorkflow("process")
+                .startEvent("start")
+                .serviceTask("task", t -> t.taskType("foo")
+                             .taskHeader("a", "b")
+                             .input("$.a", "$.b")
+                             .output("$.c", "$.d"))
+                .endEvent("end")
+                .done());
+
+        // when
+        final ExecutableWorkflow executableWorkflow = loader.load(compiler.compile(workflow));
+
+        // then
+        assertThat(bufferAsString(executableWorkflow.getBpmnProcessId())).isEqualTo("process");
+
+        final ExecutableFlowNode startEvent = executableWorkflow.getStartEvent();
+        assertThat(bufferAsString(startEvent.getIdAsBuffer())).isEqualTo("start");
+        assertThat(startEvent.getType()).isEqualTo(FlowElementType.START_EVENT);
+        assertThat(startEvent.getBpmnAspect()).isEqualTo(BpmnAspect.TAKE_SEQUENCE_FLOW);
+        assertThat(startEvent.getOutgoingSequenceFlows()).hasSize(1);
+
+        final ExecutableServiceTask serviceTask = executableWorkflow.findFlowElementById(wrapString("task"));
+        assertThat(serviceTask.getType()).isEqualTo(FlowElementType.SERVICE_TASK);
+        assertThat(startEvent.getOutgoingSequenceFlows().get(0).getTargetNode()).isSameAs(serviceTask);
+        assertThat(bufferAsString(serviceTask.getTaskType())).isEqualTo("foo");
+        assertThat(serviceTask.hasTaskHeaders()).isTrue();
+        assertThat(serviceTask.getInputMappings()).hasSize(1);
+        assertThat(serviceTask.getOutputMappings()).hasSize(1);
+
+        final ExecutableFlowNode endEvent = serviceTask.getOutgoingSequenceFlows().get(0).getTargetNode();
+        assertThat(bufferAsString(endEvent.getIdAsBuffer())).isEqualTo("end");
+        assertThat(endEvent.getType()).isEqualTo(FlowElementType.END_EVENT);
+        assertThat(endEvent.getBpmnAspect()).isEqualTo(BpmnAspect.CONSUME_TOKEN);
+        assertThat(endEvent.getOutgoingSequenceFlows()).isEmpty();
+    }
+
+    @Test
+    public void shouldLoadExclusiveGateway()
+    {
+        // given
+        final Workflow workflow = parse(Bpmn.createExecutableWorkflow("process")
+                .startEvent()
+                .exclusiveGateway("xor")
+                .sequenceFlow("s1", s -> s.condition("$.foo < 5"))
+                    .endEvent("a")
+                .sequenceFlow("s2", s -> s.defaultFlow())
+                    .endEvent("b")
+                .done());
+
+        // when
+        final ExecutableWorkflow executableWorkflow = loader.load(compiler.compile(workflow));
+
+        // then
+        final ExecutableExclusiveGateway gateway = executableWorkflow.findFlowElementById(wrapString("xor"));
+        assertThat(gateway.getBpmnAspect()).isEqualTo(BpmnAspect.EXCLUSIVE_SPLIT);
+        assertThat(gateway.getOutgoingSequenceFlows()).hasSize(2);
+
+        final ExecutableSequenceFlow conditionalFlow = executableWorkflow.findFlowElementById(wrapString("s1"));
+        assertThat(gateway.getOutgoingSequenceFlowsWithConditions()).containsExactly(conditionalFlow);
+        assertThat(conditionalFlow.getSourceNode()).isSameAs(gateway);
+        assertThat(conditionalFlow.hasCondition()).isTrue();
+
+        final ExecutableSequenceFlow defaultFlow = executableWorkflow.findFlowElementById(wrapString("s2"));
+        assertThat(gateway.getDefaultFlow()).isSameAs(defaultFlow);
+        assertThat(defaultFlow.hasCondition()).isFalse();
+        assertThat(bufferAsString(defaultFlow.getTargetNode().getIdAsBuffer())).isEqualTo("b");
+    }
+
+    private Workflow parse(WorkflowDefinition definition)
+    {
+        final DirectBuffer xml = wrapString(Bpmn.convertToString(definition));
+
+        return bpmn.readFromXmlBuffer(xml).getWorkflows().iterator().next();
+    }
+
+}
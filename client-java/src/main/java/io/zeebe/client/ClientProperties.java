@@ -17,6 +17,7 @@ package io.zeebe.client;
 
 import java.util.Properties;
 
+import io.zeebe.client.cmd.RequestBackpressureException;
 import io.zeebe.client.task.TaskHandler;
 import io.zeebe.client.task.TaskSubscription;
 
@@ -32,6 +33,12 @@ public class ClientProperties
      */
     public static final String CLIENT_MAXREQUESTS = "zeebe.client.maxRequests";
 
+    /**
+     * The number of channels (i.e. TCP connections) to each broker. Each channel has its own send buffer and I/O thread.
+     * Requests to partitions are distributed across the channels by partition id. Default value is 1.
+     */
+    public static final String CLIENT_CHANNELS_PER_BROKER = "zeebe.client.channelsPerBroker";
+
     /**
      * the size of the client's send buffer in MB
      */
@@ -70,14 +77,40 @@ public class ClientProperties
      */
     public static final String CLIENT_REQUEST_TIMEOUT_SEC = "zeebe.client.request.timeout";
 
+    /**
+     * The maximum time in milliseconds an asynchronous request waits for a free slot if the maximum count
+     * of concurrently in flight requests is reached. If no slot becomes free in time, the request is rejected
+     * with a {@link RequestBackpressureException}. Synchronous requests wait up to the request timeout.
+     * Default value is 0, i.e. asynchronous requests never block the caller.
+     */
+    public static final String CLIENT_REQUEST_BLOCKTIME_MILLIS = "zeebe.client.request.blockTimeMillis";
+
+    /**
+     * Subscriptions send credits (task subscriptions) or acknowledge the handled events (topic subscriptions)
+     * once fewer events than this fraction of the subscription's capacity can still be received.
+     * Must be greater than 0 and at most 1. Default value is 0.3.
+     */
+    public static final String CLIENT_SUBSCRIPTION_REPLENISHMENT_THRESHOLD = "zeebe.client.subscription.replenishment.threshold";
+
+    /**
+     * The minimum time in milliseconds between two credits or acknowledgement messages of a subscription.
+     * Messages are only sent more often if the subscription has used up its capacity completely.
+     * Default value is 10.
+     */
+    public static final String CLIENT_SUBSCRIPTION_REPLENISHMENT_INTERVAL = "zeebe.client.subscription.replenishment.interval";
+
     public static void setDefaults(Properties properties)
     {
         properties.putIfAbsent(BROKER_CONTACTPOINT, "127.0.0.1:51015");
         properties.putIfAbsent(CLIENT_MAXREQUESTS, "128");
+        properties.putIfAbsent(CLIENT_CHANNELS_PER_BROKER, "1");
         properties.putIfAbsent(CLIENT_SENDBUFFER_SIZE, "16");
         properties.putIfAbsent(CLIENT_THREADINGMODE, "SHARED");
         properties.putIfAbsent(CLIENT_TASK_EXECUTION_THREADS, "2");
         properties.putIfAbsent(CLIENT_TOPIC_SUBSCRIPTION_PREFETCH_CAPACITY, "32");
         properties.putIfAbsent(CLIENT_REQUEST_TIMEOUT_SEC, "15");
+        properties.putIfAbsent(CLIENT_REQUEST_BLOCKTIME_MILLIS, "0");
+        properties.putIfAbsent(CLIENT_SUBSCRIPTION_REPLENISHMENT_THRESHOLD, "0.3");
+        properties.putIfAbsent(CLIENT_SUBSCRIPTION_REPLENISHMENT_INTERVAL, "10");
     }
 }
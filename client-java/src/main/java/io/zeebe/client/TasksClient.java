@@ -63,6 +63,15 @@ public interface TasksClient
      */
     TaskSubscriptionBuilder newTaskSubscription(String topic);
 
+    /**
+     * Create a new subscription to lock tasks of all partitions of the topic and execute them by the given
+     * handler. The task fetch size is the number of tasks which are locked at the same time
+     * for all partitions together; the locks are distributed dynamically to the partitions
+     * which have tasks. If the leader of a partition changes, the subscription is reopened
+     * at the new leader.
+     */
+    TaskSubscriptionBuilder newTopicTaskSubscription(String topic);
+
     /**
      * Create a new subscription to lock tasks. Task handler invocation is
      * <i>not managed</i> by the client library. Call
@@ -17,9 +17,11 @@ package io.zeebe.client;
 
 import io.zeebe.client.cmd.Request;
 import io.zeebe.client.event.WorkflowInstanceEvent;
+import io.zeebe.client.workflow.cmd.CancelWorkflowInstancesCommand;
 import io.zeebe.client.workflow.cmd.CreateDeploymentCommand;
 import io.zeebe.client.workflow.cmd.CreateWorkflowInstanceCommand;
 import io.zeebe.client.workflow.cmd.UpdatePayloadCommand;
+import io.zeebe.client.workflow.cmd.UpdateWorkflowInstancesPayloadCommand;
 
 /**
  * Provides access to APIs revolving around workflow events.
@@ -56,4 +58,20 @@ public interface WorkflowsClient
      *   ACTIVITY_READY, ACTIVITY_ACTIVATED, ACTIVITY_COMPLETING
      */
     UpdatePayloadCommand updatePayload(WorkflowInstanceEvent baseEvent);
+
+    /**
+     * Cancel all instances of a workflow on a partition.
+     *
+     * @param topic the topic of the instances
+     * @param partitionId the partition of the instances
+     */
+    CancelWorkflowInstancesCommand cancelInstances(String topic, int partitionId);
+
+    /**
+     * Update the payload of all instances of a workflow on a partition.
+     *
+     * @param topic the topic of the instances
+     * @param partitionId the partition of the instances
+     */
+    UpdateWorkflowInstancesPayloadCommand updateInstancesPayload(String topic, int partitionId);
 }
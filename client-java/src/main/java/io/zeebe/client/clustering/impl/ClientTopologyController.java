@@ -55,6 +55,7 @@ public class ClientTopologyController
     protected final Consumer<Exception> failureCallback;
 
     protected final ControlMessageRequestHandler requestHandler;
+    protected final RequestTopologyCmdImpl requestTopologyCmd = new RequestTopologyCmdImpl(null);
     private final long requestTimeout;
 
     public ClientTopologyController(
@@ -66,7 +67,7 @@ public class ClientTopologyController
     {
         output = clientTransport.getOutput();
         this.requestHandler = new ControlMessageRequestHandler(objectMapper);
-        requestHandler.configure(new RequestTopologyCmdImpl(null));
+        requestHandler.configure(requestTopologyCmd);
         this.requestTimeout = TimeUnit.SECONDS.toMillis(requestTimeout);
 
         stateMachine = StateMachine.builder(Context::new)
@@ -81,11 +82,22 @@ public class ClientTopologyController
     }
 
     public ClientTopologyController triggerRefresh(final RemoteAddress socketAddress)
+    {
+        return triggerRefresh(socketAddress, TopologyResponse.VERSION_NULL_VALUE, 0);
+    }
+
+    /**
+     * Requests the topology. If the broker supports it, the response is delayed
+     * until the topology differs from the known version or the wait time elapsed.
+     */
+    public ClientTopologyController triggerRefresh(final RemoteAddress socketAddress, long knownVersion, long maxWaitTime)
     {
         ensureNotNull("socketAddress", socketAddress);
 
         stateMachine.reset();
 
+        requestTopologyCmd.awaitChange(knownVersion, maxWaitTime);
+
         final Context context = stateMachine.getContext();
         context.remoteAddress = socketAddress;
 
@@ -104,6 +116,28 @@ public class ClientTopologyController
         return stateMachine.getCurrentState() != initState;
     }
 
+    /**
+     * @return true, if the request in progress waits for a topology change
+     */
+    public boolean isAwaitingChange()
+    {
+        return isRequestInProgress() && requestTopologyCmd.getMaxWaitTime() > 0;
+    }
+
+    /**
+     * Closes the request in progress without notifying the callbacks.
+     */
+    public void abort()
+    {
+        final ClientRequest request = stateMachine.getContext().request;
+        if (request != null)
+        {
+            request.close();
+        }
+
+        stateMachine.reset();
+    }
+
     private class RequestTopologyState implements State<Context>
     {
 
@@ -113,7 +147,7 @@ public class ClientTopologyController
             int workCount = 0;
 
             final ClientRequest request = output.sendRequest(context.remoteAddress, requestHandler);
-            context.timeout = ClockUtil.getCurrentTimeInMillis() + requestTimeout;
+            context.timeout = ClockUtil.getCurrentTimeInMillis() + requestTimeout + requestTopologyCmd.getMaxWaitTime();
             if (request != null)
             {
                 workCount++;
@@ -43,12 +43,19 @@ public class ClientTopologyManager implements Actor
      */
     public static final long MIN_REFRESH_INTERVAL_MILLIS = 300;
 
+    /**
+     * Time a topology request may wait at the broker for a topology change.
+     * The broker pushes the new topology as the response of the waiting request.
+     */
+    public static final long AWAIT_CHANGE_INTERVAL_MILLIS = MAX_REFRESH_INTERVAL_MILLIS;
+
     protected final DeferredCommandContext commandContext = new DeferredCommandContext();
 
     protected final ClientTopologyController clientTopologyController;
     protected final List<CompletableFuture<Void>> refreshFutures;
 
     protected TopologyImpl topology;
+    protected long topologyVersion = TopologyResponse.VERSION_NULL_VALUE;
     private ClientTransport transport;
     protected RemoteAddress topologyEndpoint;
 
@@ -82,6 +89,13 @@ public class ClientTopologyManager implements Actor
 
         workCount += commandContext.doWork();
 
+        if (clientTopologyController.isAwaitingChange() && !refreshFutures.isEmpty())
+        {
+            // an explicit refresh must not wait for the next topology change
+            clientTopologyController.abort();
+            workCount++;
+        }
+
         if (clientTopologyController.isRequestInProgress())
         {
             workCount += clientTopologyController.doWork();
@@ -91,7 +105,15 @@ public class ClientTopologyManager implements Actor
             if (shouldRefreshTopology() && !clientTopologyController.isRequestInProgress())
             {
                 recordTopologyRefreshAttempt();
-                clientTopologyController.triggerRefresh(topologyEndpoint);
+
+                if (isAwaitingChanges() && refreshFutures.isEmpty())
+                {
+                    clientTopologyController.triggerRefresh(topologyEndpoint, topologyVersion, AWAIT_CHANGE_INTERVAL_MILLIS);
+                }
+                else
+                {
+                    clientTopologyController.triggerRefresh(topologyEndpoint);
+                }
                 workCount++;
             }
         }
@@ -123,6 +145,14 @@ public class ClientTopologyManager implements Actor
         });
     }
 
+    /**
+     * @return the partitions of the topic, or null if the topic is not known
+     */
+    public List<Integer> getPartitionsOfTopic(String topic)
+    {
+        return topology.getPartitionsOfTopic(topic);
+    }
+
     public int getPartitionForTopic(String topic, int offset)
     {
         final List<Integer> partitions = topology.getPartitionsOfTopic(topic);
@@ -137,10 +167,21 @@ public class ClientTopologyManager implements Actor
         }
     }
 
+    /**
+     * @return true, if the broker supports to wait for topology changes. Then,
+     *         the next topology request is sent immediately and the broker
+     *         responds when the topology changes.
+     */
+    protected boolean isAwaitingChanges()
+    {
+        return topologyVersion != TopologyResponse.VERSION_NULL_VALUE;
+    }
+
     protected boolean shouldRefreshTopology()
     {
         final long now = ClockUtil.getCurrentTimeInMillis();
-        return nextLatestPossibleRequestTimestamp < now ||
+        return (isAwaitingChanges() && refreshFutures.isEmpty()) ||
+                nextLatestPossibleRequestTimestamp < now ||
                 (!refreshFutures.isEmpty() && nextEarliestPossibleRequestTimestamp < now);
     }
 
@@ -149,6 +190,7 @@ public class ClientTopologyManager implements Actor
         final TopologyImpl topology = new TopologyImpl();
         topology.update(topologyResponse, transport);
         this.topology = topology;
+        this.topologyVersion = topologyResponse.getVersion();
 
         refreshFutures.forEach(f -> f.complete(null));
         refreshFutures.clear();
@@ -156,6 +198,15 @@ public class ClientTopologyManager implements Actor
 
     protected void failRefreshFutures(Exception e)
     {
+        // poll again with backoff, the broker may not be available anymore
+        topologyVersion = TopologyResponse.VERSION_NULL_VALUE;
+
+        final RemoteAddress nextEndpoint = topology.getRandomBroker();
+        if (nextEndpoint != null)
+        {
+            topologyEndpoint = nextEndpoint;
+        }
+
         refreshFutures.forEach(f -> f.completeExceptionally(e));
         refreshFutures.clear();
     }
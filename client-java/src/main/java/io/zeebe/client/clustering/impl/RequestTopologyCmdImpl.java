@@ -25,14 +25,51 @@ public class RequestTopologyCmdImpl extends ControlMessageRequest<TopologyRespon
 {
     protected static final Object EMPTY_REQUEST = new HashMap<>();
 
+    protected final TopologyRequest request = new TopologyRequest();
+
     public RequestTopologyCmdImpl(RequestManager commandManager)
     {
         super(commandManager, ControlMessageType.REQUEST_TOPOLOGY, TopologyResponse.class);
     }
 
+    /**
+     * Let the broker respond not until the topology differs from the known
+     * version or the wait time elapsed.
+     *
+     * @param knownVersion the version of the topology the client knows
+     * @param maxWaitTime the time in milliseconds the broker can wait, 0 to respond immediately
+     */
+    public RequestTopologyCmdImpl awaitChange(long knownVersion, long maxWaitTime)
+    {
+        request.knownVersion = knownVersion;
+        request.maxWaitTime = maxWaitTime;
+        return this;
+    }
+
+    public long getMaxWaitTime()
+    {
+        return request.maxWaitTime;
+    }
+
     @Override
     public Object getRequest()
     {
-        return EMPTY_REQUEST;
+        return request.maxWaitTime > 0 ? request : EMPTY_REQUEST;
+    }
+
+    public static class TopologyRequest
+    {
+        protected long knownVersion = TopologyResponse.VERSION_NULL_VALUE;
+        protected long maxWaitTime = 0;
+
+        public long getKnownVersion()
+        {
+            return knownVersion;
+        }
+
+        public long getMaxWaitTime()
+        {
+            return maxWaitTime;
+        }
     }
 }
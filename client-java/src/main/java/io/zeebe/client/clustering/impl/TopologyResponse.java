@@ -21,6 +21,10 @@ import io.zeebe.transport.SocketAddress;
 
 public class TopologyResponse
 {
+    public static final long VERSION_NULL_VALUE = -1L;
+
+    private long version = VERSION_NULL_VALUE;
+
     private List<SocketAddress> brokers;
 
     private List<TopicLeader> topicLeaders;
@@ -45,10 +49,24 @@ public class TopologyResponse
         this.topicLeaders = topicLeaders;
     }
 
+    /**
+     * @return the version of the topology, or {@link #VERSION_NULL_VALUE} if the
+     *         broker doesn't support waiting for topology changes
+     */
+    public long getVersion()
+    {
+        return version;
+    }
+
+    public void setVersion(long version)
+    {
+        this.version = version;
+    }
+
     @Override
     public String toString()
     {
-        return "TopologyResponse{" + "brokers=" + brokers + ", topicLeaders=" + topicLeaders + '}';
+        return "TopologyResponse{" + "brokers=" + brokers + ", topicLeaders=" + topicLeaders + ", version=" + version + '}';
     }
 
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.cmd;
+
+/**
+ * A request was not sent because the maximum count of concurrently in flight
+ * requests is reached. The request can be retried once other requests are
+ * completed.
+ */
+public class RequestBackpressureException extends ClientException
+{
+    private static final long serialVersionUID = 1L;
+
+    public RequestBackpressureException(String errorMessage)
+    {
+        super(errorMessage);
+    }
+
+    public RequestBackpressureException(String errorMessage, Throwable cause)
+    {
+        super(errorMessage, cause);
+    }
+
+    @Override
+    public ClientException newInCurrentContext()
+    {
+        return new RequestBackpressureException(getMessage(), this);
+    }
+}
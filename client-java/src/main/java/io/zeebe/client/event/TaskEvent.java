@@ -15,6 +15,7 @@
  */
 package io.zeebe.client.event;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.Map;
 
@@ -61,4 +62,19 @@ public interface TaskEvent extends Event
      * @return JSON-formatted payload
      */
     String getPayload();
+
+    /**
+     * Deserializes the payload directly from MessagePack, i.e. without creating
+     * a JSON document first.
+     *
+     * @param payloadType the type to deserialize to, e.g. a POJO or {@link Map}
+     * @return the payload as object of the given type, or <code>null</code> if the task has no payload
+     */
+    <T> T getPayloadAs(Class<T> payloadType);
+
+    /**
+     * @return a read-only view of the MessagePack-encoded payload as it is
+     *   received from the broker, or <code>null</code> if the task has no payload
+     */
+    ByteBuffer getPayloadAsMsgPack();
 }
@@ -150,6 +150,52 @@ public interface TopicSubscriptionBuilder
      */
     TopicSubscriptionBuilder name(String name);
 
+    /**
+     * Only receive events of the given types. The events are filtered by the broker, i.e.
+     * other events are not transferred to the client.
+     *
+     * @param types the event types to receive
+     * @return this builder
+     */
+    TopicSubscriptionBuilder eventTypes(TopicEventType... types);
+
+    /**
+     * Only receive events which are in one of the given states (e.g. <code>CREATED</code>).
+     * The events are filtered by the broker.
+     *
+     * @param states the states of the events to receive
+     * @return this builder
+     */
+    TopicSubscriptionBuilder states(String... states);
+
+    /**
+     * Only receive events which belong to the workflow with the given BPMN process id,
+     * i.e. workflow, workflow instance and task events of this workflow.
+     * The events are filtered by the broker.
+     *
+     * @param bpmnProcessId the BPMN process id of the workflow
+     * @return this builder
+     */
+    TopicSubscriptionBuilder bpmnProcessId(String bpmnProcessId);
+
+    /**
+     * Only receive task events of the given task type. The events are filtered by the broker.
+     *
+     * @param taskType the type of the tasks
+     * @return this builder
+     */
+    TopicSubscriptionBuilder taskType(String taskType);
+
+    /**
+     * Only receive events whose payload fulfills the given condition (e.g. <code>$.orderId == 'foo'</code>).
+     * The condition has the same syntax as conditions of sequence flows. Events without payload
+     * are not received. The events are filtered by the broker.
+     *
+     * @param condition the condition on the payload
+     * @return this builder
+     */
+    TopicSubscriptionBuilder payloadCondition(String condition);
+
     /**
      * TEMPORARY: Defines the partition to subscribe to.
      * If no partition id is set, opens a subscription to the single existing partition. An exception
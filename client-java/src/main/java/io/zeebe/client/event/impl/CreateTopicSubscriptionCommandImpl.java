@@ -53,6 +53,12 @@ public class CreateTopicSubscriptionCommandImpl extends CommandImpl<TopicSubscri
         return this;
     }
 
+    public CreateTopicSubscriptionCommandImpl filter(TopicSubscriptionFilterSpec filter)
+    {
+        filter.applyTo(subscription);
+        return this;
+    }
+
     @Override
     public EventImpl getEvent()
     {
@@ -53,6 +53,11 @@ public class GeneralEventImpl extends EventImpl implements GeneralEvent
         return content.getMsgPack();
     }
 
+    public MsgPackConverter getMsgPackConverter()
+    {
+        return content.getMsgPackConverter();
+    }
+
     @Override
     public String toString()
     {
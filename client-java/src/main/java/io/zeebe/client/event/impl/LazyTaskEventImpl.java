@@ -0,0 +1,328 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.event.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+
+import io.zeebe.client.event.EventMetadata;
+import io.zeebe.client.event.TaskEvent;
+import io.zeebe.client.impl.data.MsgPackConverter;
+import io.zeebe.protocol.Protocol;
+
+/**
+ * Flyweight view of a received task event. The fields are read from the
+ * MessagePack document on first access, headers and payload only when they
+ * are requested. The document is owned by the event, so the view can be kept
+ * after the handler returns.
+ *
+ * <p>
+ * Commands are built from the view by {@link TaskCommandEventImpl}, which
+ * copies the nested documents without decoding them.
+ */
+public class LazyTaskEventImpl implements TaskEvent
+{
+    protected static final int NOT_PRESENT = -1;
+
+    protected final EventMetadataImpl metadata = new EventMetadataImpl();
+    protected final byte[] msgPack;
+    protected final MsgPackConverter msgPackConverter;
+
+    protected volatile boolean isDecoded;
+    protected String state;
+    protected String type;
+    protected String lockOwner;
+    protected long lockTime = Protocol.INSTANT_NULL_VALUE;
+    protected Integer retries;
+
+    protected int headersOffset = NOT_PRESENT;
+    protected int headersLength;
+    protected int customHeadersOffset = NOT_PRESENT;
+    protected int customHeadersLength;
+    protected int payloadOffset = NOT_PRESENT;
+    protected int payloadLength;
+
+    protected Map<String, Object> headers;
+    protected Map<String, Object> customHeaders;
+
+    public LazyTaskEventImpl(GeneralEventImpl event)
+    {
+        this.msgPack = event.getAsMsgPack();
+        this.msgPackConverter = event.getMsgPackConverter();
+
+        this.metadata.setEventKey(event.getMetadata().getKey());
+        this.metadata.setEventPosition(event.getMetadata().getPosition());
+        this.metadata.setEventType(event.getMetadata().getType());
+        this.metadata.setPartitionId(event.getMetadata().getPartitionId());
+        this.metadata.setTopicName(event.getMetadata().getTopicName());
+    }
+
+    @Override
+    public EventMetadata getMetadata()
+    {
+        return metadata;
+    }
+
+    @Override
+    public String getState()
+    {
+        ensureDecoded();
+        return state;
+    }
+
+    @Override
+    public String getType()
+    {
+        ensureDecoded();
+        return type;
+    }
+
+    @Override
+    public synchronized Map<String, Object> getHeaders()
+    {
+        ensureDecoded();
+
+        if (headers == null)
+        {
+            headers = decodeMap(headersOffset, headersLength);
+        }
+
+        return headers;
+    }
+
+    @Override
+    public synchronized Map<String, Object> getCustomHeaders()
+    {
+        ensureDecoded();
+
+        if (customHeaders == null)
+        {
+            customHeaders = decodeMap(customHeadersOffset, customHeadersLength);
+        }
+
+        return customHeaders;
+    }
+
+    @Override
+    public String getLockOwner()
+    {
+        ensureDecoded();
+        return lockOwner;
+    }
+
+    @Override
+    public Integer getRetries()
+    {
+        ensureDecoded();
+        return retries;
+    }
+
+    @Override
+    public Instant getLockExpirationTime()
+    {
+        ensureDecoded();
+
+        if (lockTime == Protocol.INSTANT_NULL_VALUE)
+        {
+            return null;
+        }
+        else
+        {
+            return Instant.ofEpochMilli(lockTime);
+        }
+    }
+
+    @Override
+    public String getPayload()
+    {
+        ensureDecoded();
+
+        if (payloadOffset != NOT_PRESENT)
+        {
+            return msgPackConverter.convertToJson(msgPack, payloadOffset, payloadLength);
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T getPayloadAs(Class<T> payloadType)
+    {
+        ensureDecoded();
+
+        if (payloadOffset != NOT_PRESENT)
+        {
+            return msgPackConverter.convertFromMsgPack(msgPack, payloadOffset, payloadLength, payloadType);
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    @Override
+    public ByteBuffer getPayloadAsMsgPack()
+    {
+        ensureDecoded();
+
+        if (payloadOffset != NOT_PRESENT)
+        {
+            return ByteBuffer.wrap(msgPack, payloadOffset, payloadLength).slice().asReadOnlyBuffer();
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    protected Map<String, Object> decodeMap(int offset, int length)
+    {
+        if (offset != NOT_PRESENT)
+        {
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> map = msgPackConverter.convertFromMsgPack(msgPack, offset, length, HashMap.class);
+            return map;
+        }
+        else
+        {
+            return new HashMap<>();
+        }
+    }
+
+    protected void ensureDecoded()
+    {
+        if (!isDecoded)
+        {
+            synchronized (this)
+            {
+                if (!isDecoded)
+                {
+                    decode();
+                    isDecoded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the scalar fields and remembers the position of the nested documents,
+     * which are skipped without being decoded.
+     */
+    protected void decode()
+    {
+        try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(msgPack))
+        {
+            final int size = unpacker.unpackMapHeader();
+
+            for (int i = 0; i < size; i++)
+            {
+                final String key = unpacker.unpackString();
+
+                if (unpacker.getNextFormat() == MessageFormat.NIL)
+                {
+                    unpacker.unpackNil();
+                    continue;
+                }
+
+                switch (key)
+                {
+                    case "state":
+                        state = unpacker.unpackString();
+                        break;
+
+                    case "type":
+                        type = unpacker.unpackString();
+                        break;
+
+                    case "lockOwner":
+                        lockOwner = unpacker.unpackString();
+                        break;
+
+                    case "lockTime":
+                        lockTime = unpacker.unpackLong();
+                        break;
+
+                    case "retries":
+                        retries = unpacker.unpackInt();
+                        break;
+
+                    case "headers":
+                        headersOffset = (int) unpacker.getTotalReadBytes();
+                        unpacker.skipValue();
+                        headersLength = (int) unpacker.getTotalReadBytes() - headersOffset;
+                        break;
+
+                    case "customHeaders":
+                        customHeadersOffset = (int) unpacker.getTotalReadBytes();
+                        unpacker.skipValue();
+                        customHeadersLength = (int) unpacker.getTotalReadBytes() - customHeadersOffset;
+                        break;
+
+                    case "payload":
+                        // the payload is embedded as binary which contains the MessagePack document
+                        payloadLength = unpacker.unpackBinaryHeader();
+                        if (payloadLength > 0)
+                        {
+                            payloadOffset = (int) unpacker.getTotalReadBytes();
+                            unpacker.readPayloadAsReference(payloadLength);
+                        }
+                        break;
+
+                    default:
+                        unpacker.skipValue();
+                        break;
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Could not decode task event", e);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("TaskEvent [state=");
+        builder.append(getState());
+        builder.append(", type=");
+        builder.append(type);
+        builder.append(", retries=");
+        builder.append(retries);
+        builder.append(", lockOwner=");
+        builder.append(lockOwner);
+        builder.append(", lockTime=");
+        builder.append(lockTime);
+        builder.append(", headers=");
+        builder.append(getHeaders());
+        builder.append(", customHeaders=");
+        builder.append(getCustomHeaders());
+        builder.append(", payload=");
+        builder.append(getPayload());
+        builder.append("]");
+        return builder.toString();
+    }
+}
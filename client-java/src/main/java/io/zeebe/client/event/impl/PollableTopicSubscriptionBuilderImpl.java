@@ -18,6 +18,7 @@ package io.zeebe.client.event.impl;
 import io.zeebe.client.clustering.impl.ClientTopologyManager;
 import io.zeebe.client.event.PollableTopicSubscription;
 import io.zeebe.client.event.PollableTopicSubscriptionBuilder;
+import io.zeebe.client.event.TopicEventType;
 import io.zeebe.client.task.impl.subscription.EventAcquisition;
 import io.zeebe.util.EnsureUtil;
 
@@ -87,4 +88,38 @@ public class PollableTopicSubscriptionBuilderImpl implements PollableTopicSubscr
         return this;
     }
 
+    @Override
+    public PollableTopicSubscriptionBuilder eventTypes(TopicEventType... types)
+    {
+        implBuilder.filter().eventTypes(types);
+        return this;
+    }
+
+    @Override
+    public PollableTopicSubscriptionBuilder states(String... states)
+    {
+        implBuilder.filter().states(states);
+        return this;
+    }
+
+    @Override
+    public PollableTopicSubscriptionBuilder bpmnProcessId(String bpmnProcessId)
+    {
+        implBuilder.filter().bpmnProcessId(bpmnProcessId);
+        return this;
+    }
+
+    @Override
+    public PollableTopicSubscriptionBuilder taskType(String taskType)
+    {
+        implBuilder.filter().taskType(taskType);
+        return this;
+    }
+
+    @Override
+    public PollableTopicSubscriptionBuilder payloadCondition(String condition)
+    {
+        implBuilder.filter().payloadCondition(condition);
+        return this;
+    }
 }
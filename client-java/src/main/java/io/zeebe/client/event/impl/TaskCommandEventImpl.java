@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.event.impl;
+
+import static io.zeebe.client.event.impl.LazyTaskEventImpl.NOT_PRESENT;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+
+import io.zeebe.client.impl.data.MsgPackWritable;
+
+/**
+ * A command for a task which is received as {@link LazyTaskEventImpl}. The
+ * received event is not decoded: the scalar fields are taken from the view, the
+ * headers, custom headers and payload are copied as MessagePack when the
+ * command is written. The headers can't be changed by a command.
+ */
+public class TaskCommandEventImpl extends TaskEventImpl implements MsgPackWritable
+{
+    protected final LazyTaskEventImpl baseEvent;
+    protected boolean isPayloadChanged;
+
+    public TaskCommandEventImpl(LazyTaskEventImpl baseEvent, String state)
+    {
+        super(state, baseEvent.msgPackConverter);
+        updateMetadata(baseEvent.getMetadata());
+
+        this.baseEvent = baseEvent;
+        this.type = baseEvent.getType();
+        this.lockOwner = baseEvent.getLockOwner();
+        this.lockTime = baseEvent.lockTime;
+        this.retries = baseEvent.getRetries();
+    }
+
+    @Override
+    public Map<String, Object> getHeaders()
+    {
+        return baseEvent.getHeaders();
+    }
+
+    @Override
+    public void setHeaders(Map<String, Object> headers)
+    {
+        throw new UnsupportedOperationException("The headers of a task command can't be changed");
+    }
+
+    @Override
+    public Map<String, Object> getCustomHeaders()
+    {
+        return baseEvent.getCustomHeaders();
+    }
+
+    @Override
+    public void setCustomHeaders(Map<String, Object> customHeaders)
+    {
+        throw new UnsupportedOperationException("The custom headers of a task command can't be changed");
+    }
+
+    @Override
+    public String getPayload()
+    {
+        return isPayloadChanged ? super.getPayload() : baseEvent.getPayload();
+    }
+
+    @Override
+    public <T> T getPayloadAs(Class<T> payloadType)
+    {
+        return isPayloadChanged ? super.getPayloadAs(payloadType) : baseEvent.getPayloadAs(payloadType);
+    }
+
+    @Override
+    public ByteBuffer getPayloadAsMsgPack()
+    {
+        return isPayloadChanged ? super.getPayloadAsMsgPack() : baseEvent.getPayloadAsMsgPack();
+    }
+
+    @Override
+    public byte[] getPayloadMsgPack()
+    {
+        if (isPayloadChanged)
+        {
+            return super.getPayloadMsgPack();
+        }
+        else if (baseEvent.payloadOffset != NOT_PRESENT)
+        {
+            return Arrays.copyOfRange(baseEvent.msgPack, baseEvent.payloadOffset, baseEvent.payloadOffset + baseEvent.payloadLength);
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    @Override
+    public void setPayload(byte[] msgPack)
+    {
+        super.setPayload(msgPack);
+        isPayloadChanged = true;
+    }
+
+    @Override
+    public void setPayload(String json)
+    {
+        super.setPayload(json);
+        isPayloadChanged = true;
+    }
+
+    @Override
+    public void setPayload(InputStream jsonStream)
+    {
+        super.setPayload(jsonStream);
+        isPayloadChanged = true;
+    }
+
+    @Override
+    public void setPayloadObject(Object payload)
+    {
+        super.setPayloadObject(payload);
+        isPayloadChanged = true;
+    }
+
+    /**
+     * Writes the same properties as the object mapper would write for a {@link TaskEventImpl}.
+     */
+    @Override
+    public void writeMsgPack(OutputStream outputStream) throws IOException
+    {
+        final byte[] msgPack = baseEvent.msgPack;
+        final byte[] changedPayload = payload.getMsgPack();
+        final boolean hasPayload = isPayloadChanged ? changedPayload != null : baseEvent.payloadOffset != NOT_PRESENT;
+
+        // state, lock time, headers and custom headers are always written
+        int properties = 4;
+        properties += type != null ? 1 : 0;
+        properties += lockOwner != null ? 1 : 0;
+        properties += retries != null ? 1 : 0;
+        properties += hasPayload ? 1 : 0;
+
+        try (MessagePacker packer = MessagePack.newDefaultPacker(outputStream))
+        {
+            packer.packMapHeader(properties);
+
+            packer.packString("state").packString(state);
+            packer.packString("lockTime").packLong(lockTime);
+
+            if (type != null)
+            {
+                packer.packString("type").packString(type);
+            }
+
+            if (lockOwner != null)
+            {
+                packer.packString("lockOwner").packString(lockOwner);
+            }
+
+            if (retries != null)
+            {
+                packer.packString("retries").packInt(retries);
+            }
+
+            packer.packString("headers");
+            writeDocument(packer, msgPack, baseEvent.headersOffset, baseEvent.headersLength);
+
+            packer.packString("customHeaders");
+            writeDocument(packer, msgPack, baseEvent.customHeadersOffset, baseEvent.customHeadersLength);
+
+            if (hasPayload)
+            {
+                packer.packString("payload");
+
+                if (isPayloadChanged)
+                {
+                    packer.packBinaryHeader(changedPayload.length);
+                    packer.writePayload(changedPayload);
+                }
+                else
+                {
+                    packer.packBinaryHeader(baseEvent.payloadLength);
+                    packer.writePayload(msgPack, baseEvent.payloadOffset, baseEvent.payloadLength);
+                }
+            }
+        }
+    }
+
+    protected static void writeDocument(MessagePacker packer, byte[] msgPack, int offset, int length) throws IOException
+    {
+        if (offset != NOT_PRESENT)
+        {
+            packer.writePayload(msgPack, offset, length);
+        }
+        else
+        {
+            packer.packMapHeader(0);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package io.zeebe.client.event.impl;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -57,6 +58,22 @@ public class TaskEventImpl extends EventImpl implements TaskEvent
         this.payload = new MsgPackField(eventToCopy.payload);
     }
 
+    /**
+     * @return a copy of the given event with the given state; a received {@link LazyTaskEventImpl}
+     *         is not decoded but wrapped by a {@link TaskCommandEventImpl}
+     */
+    public static TaskEventImpl copyOf(TaskEvent event, String state)
+    {
+        if (event instanceof LazyTaskEventImpl)
+        {
+            return new TaskCommandEventImpl((LazyTaskEventImpl) event, state);
+        }
+        else
+        {
+            return new TaskEventImpl((TaskEventImpl) event, state);
+        }
+    }
+
     @Override
     public String getType()
     {
@@ -134,6 +151,20 @@ public class TaskEventImpl extends EventImpl implements TaskEvent
         return payload.getAsJson();
     }
 
+    @Override
+    @JsonIgnore
+    public <T> T getPayloadAs(Class<T> payloadType)
+    {
+        return payload.getAs(payloadType);
+    }
+
+    @Override
+    @JsonIgnore
+    public ByteBuffer getPayloadAsMsgPack()
+    {
+        return payload.getAsMsgPackBuffer();
+    }
+
     @JsonProperty("payload")
     public byte[] getPayloadMsgPack()
     {
@@ -156,6 +187,11 @@ public class TaskEventImpl extends EventImpl implements TaskEvent
         this.payload.setJson(jsonStream);
     }
 
+    public void setPayloadObject(Object payload)
+    {
+        this.payload.setObject(payload);
+    }
+
     @Override
     public Integer getRetries()
     {
@@ -182,11 +218,11 @@ public class TaskEventImpl extends EventImpl implements TaskEvent
         builder.append(", lockTime=");
         builder.append(lockTime);
         builder.append(", headers=");
-        builder.append(headers);
+        builder.append(getHeaders());
         builder.append(", customHeaders=");
-        builder.append(customHeaders);
+        builder.append(getCustomHeaders());
         builder.append(", payload=");
-        builder.append(payload.getAsJson());
+        builder.append(getPayload());
         builder.append("]");
         return builder.toString();
     }
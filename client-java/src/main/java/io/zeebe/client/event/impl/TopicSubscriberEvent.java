@@ -32,6 +32,12 @@ public class TopicSubscriberEvent extends EventImpl implements EventSubscription
     protected int prefetchCapacity = -1;
     protected boolean forceStart;
 
+    protected String eventTypes;
+    protected String states;
+    protected String bpmnProcessId;
+    protected String taskType;
+    protected String payloadCondition;
+
     protected RemoteAddress remote;
 
     @JsonCreator
@@ -80,6 +86,56 @@ public class TopicSubscriberEvent extends EventImpl implements EventSubscription
         this.forceStart = forceStart;
     }
 
+    public String getEventTypes()
+    {
+        return eventTypes;
+    }
+
+    public void setEventTypes(String eventTypes)
+    {
+        this.eventTypes = eventTypes;
+    }
+
+    public String getStates()
+    {
+        return states;
+    }
+
+    public void setStates(String states)
+    {
+        this.states = states;
+    }
+
+    public String getBpmnProcessId()
+    {
+        return bpmnProcessId;
+    }
+
+    public void setBpmnProcessId(String bpmnProcessId)
+    {
+        this.bpmnProcessId = bpmnProcessId;
+    }
+
+    public String getTaskType()
+    {
+        return taskType;
+    }
+
+    public void setTaskType(String taskType)
+    {
+        this.taskType = taskType;
+    }
+
+    public String getPayloadCondition()
+    {
+        return payloadCondition;
+    }
+
+    public void setPayloadCondition(String payloadCondition)
+    {
+        this.payloadCondition = payloadCondition;
+    }
+
     @Override
     public void setReceiver(RemoteAddress receiver)
     {
@@ -118,9 +118,7 @@ public class TopicSubscriptionBuilderImpl implements TopicSubscriptionBuilder
 
         if (TopicEventType.TASK == eventType && taskEventHandler != null)
         {
-            final TaskEventImpl taskEvent = msgPackMapper.convert(event.getAsMsgPack(), TaskEventImpl.class);
-            taskEvent.updateMetadata(event.getMetadata());
-            taskEventHandler.handle(taskEvent);
+            taskEventHandler.handle(new LazyTaskEventImpl(event));
         }
         else if (TopicEventType.WORKFLOW_INSTANCE == eventType && wfInstanceEventHandler != null)
         {
@@ -186,4 +184,39 @@ public class TopicSubscriptionBuilderImpl implements TopicSubscriptionBuilder
         builder.forceStart();
         return this;
     }
+
+    @Override
+    public TopicSubscriptionBuilder eventTypes(TopicEventType... types)
+    {
+        builder.filter().eventTypes(types);
+        return this;
+    }
+
+    @Override
+    public TopicSubscriptionBuilder states(String... states)
+    {
+        builder.filter().states(states);
+        return this;
+    }
+
+    @Override
+    public TopicSubscriptionBuilder bpmnProcessId(String bpmnProcessId)
+    {
+        builder.filter().bpmnProcessId(bpmnProcessId);
+        return this;
+    }
+
+    @Override
+    public TopicSubscriptionBuilder taskType(String taskType)
+    {
+        builder.filter().taskType(taskType);
+        return this;
+    }
+
+    @Override
+    public TopicSubscriptionBuilder payloadCondition(String condition)
+    {
+        builder.filter().payloadCondition(condition);
+        return this;
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.event.impl;
+
+import io.zeebe.client.event.TopicEventType;
+import io.zeebe.protocol.clientapi.EventType;
+import io.zeebe.util.EnsureUtil;
+
+/**
+ * Filter criteria of a topic subscription which are sent to and evaluated by
+ * the broker. Multiple values of one criterion are joined with a comma, as the
+ * subscriber event only contains string properties.
+ */
+public class TopicSubscriptionFilterSpec
+{
+    protected static final String SEPARATOR = ",";
+
+    protected String eventTypes;
+    protected String states;
+    protected String bpmnProcessId;
+    protected String taskType;
+    protected String payloadCondition;
+
+    public void eventTypes(TopicEventType... types)
+    {
+        EnsureUtil.ensureNotNull("event types", types);
+
+        final StringBuilder builder = new StringBuilder();
+        for (TopicEventType type : types)
+        {
+            final EventType protocolType = EventTypeMapping.mapEventType(type);
+            if (protocolType == null)
+            {
+                throw new IllegalArgumentException("Cannot filter by event type " + type);
+            }
+
+            if (builder.length() > 0)
+            {
+                builder.append(SEPARATOR);
+            }
+            builder.append(protocolType.name());
+        }
+
+        this.eventTypes = builder.length() > 0 ? builder.toString() : null;
+    }
+
+    public void states(String... states)
+    {
+        EnsureUtil.ensureNotNull("states", states);
+
+        for (String state : states)
+        {
+            EnsureUtil.ensureNotNullOrEmpty("state", state);
+        }
+
+        this.states = states.length > 0 ? String.join(SEPARATOR, states) : null;
+    }
+
+    public void bpmnProcessId(String bpmnProcessId)
+    {
+        this.bpmnProcessId = bpmnProcessId;
+    }
+
+    public void taskType(String taskType)
+    {
+        this.taskType = taskType;
+    }
+
+    public void payloadCondition(String payloadCondition)
+    {
+        this.payloadCondition = payloadCondition;
+    }
+
+    public void applyTo(TopicSubscriberEvent event)
+    {
+        event.setEventTypes(eventTypes);
+        event.setStates(states);
+        event.setBpmnProcessId(bpmnProcessId);
+        event.setTaskType(taskType);
+        event.setPayloadCondition(payloadCondition);
+    }
+}
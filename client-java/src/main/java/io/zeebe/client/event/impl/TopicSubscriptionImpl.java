@@ -43,6 +43,9 @@ public class TopicSubscriptionImpl
     protected final boolean forceStart;
     protected final String name;
     protected final int prefetchCapacity;
+    // the prefetch capacity of the current subscription; adapted to the handler throughput on reopening
+    protected int currentPrefetchCapacity;
+    protected final TopicSubscriptionFilterSpec filter;
 
     public TopicSubscriptionImpl(
             TopicClientImpl client,
@@ -53,10 +56,12 @@ public class TopicSubscriptionImpl
             long startPosition,
             boolean forceStart,
             String name,
+            TopicSubscriptionFilterSpec filter,
             EventAcquisition<TopicSubscriptionImpl> acquisition)
     {
         super(topic, partitionId, prefetchCapacity, acquisition);
         this.prefetchCapacity = prefetchCapacity;
+        this.currentPrefetchCapacity = prefetchCapacity;
         this.client = client;
         if (handler != null)
         {
@@ -69,6 +74,7 @@ public class TopicSubscriptionImpl
         this.startPosition = startPosition;
         this.forceStart = forceStart;
         this.name = name;
+        this.filter = filter;
         this.lastProcessedEventPosition = startPosition;
         this.lastAcknowledgedPosition = startPosition;
     }
@@ -142,14 +148,23 @@ public class TopicSubscriptionImpl
     @Override
     protected EventSubscriptionCreationResult requestNewSubscription()
     {
+        currentPrefetchCapacity = throughput.estimateInFlightDepth(prefetchCapacity, 0);
+
         return client.createTopicSubscription(topic, partitionId)
                 .startPosition(startPosition)
-                .prefetchCapacity(prefetchCapacity)
+                .prefetchCapacity(currentPrefetchCapacity)
                 .name(name)
                 .forceStart(forceStart)
+                .filter(filter)
                 .execute();
     }
 
+    @Override
+    protected int getEventSourceCapacity()
+    {
+        return currentPrefetchCapacity;
+    }
+
     @Override
     protected void requestSubscriptionClose()
     {
@@ -173,11 +188,15 @@ public class TopicSubscriptionImpl
 
         if (positionToAck > lastAcknowledgedPosition)
         {
+            final long requestStart = System.nanoTime();
+
             client.acknowledgeEvent(topic, partitionId)
                 .subscriptionName(name)
                 .ackPosition(positionToAck)
                 .execute();
 
+            throughput.recordRoundTripTime(System.nanoTime() - requestStart);
+
             lastAcknowledgedPosition = positionToAck;
         }
     }
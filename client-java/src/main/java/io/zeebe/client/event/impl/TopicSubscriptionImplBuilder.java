@@ -33,6 +33,7 @@ public class TopicSubscriptionImplBuilder
     protected String name;
     protected final int prefetchCapacity;
     protected boolean forceStart;
+    protected final TopicSubscriptionFilterSpec filter = new TopicSubscriptionFilterSpec();
 
     public TopicSubscriptionImplBuilder(
             TopicClientImpl client,
@@ -93,6 +94,11 @@ public class TopicSubscriptionImplBuilder
         return this;
     }
 
+    public TopicSubscriptionFilterSpec filter()
+    {
+        return filter;
+    }
+
     public CheckedConsumer<GeneralEventImpl> getHandler()
     {
         return handler;
@@ -114,6 +120,7 @@ public class TopicSubscriptionImplBuilder
                 startPosition,
                 forceStart,
                 name,
+                filter,
                 acquisition);
 
         this.acquisition.registerSubscriptionAsync(subscription);
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl;
+
+import org.agrona.collections.Int2ObjectHashMap;
+
+/**
+ * Limits the number of concurrent requests per partition. The limit is
+ * adjusted AIMD-style: it grows additively with each successful response and
+ * is cut in half if the broker signals back pressure (or the request times out).
+ * So under overload, requests queue up in the client instead of piling up on
+ * the broker, and latency stays bounded.
+ *
+ * <p>
+ * Not thread-safe. Only accessed by the request controllers, which are all
+ * driven by the request manager.
+ */
+public class AdaptiveConcurrencyLimiter
+{
+    public static final int MIN_LIMIT = 1;
+    public static final double BACKOFF_RATIO = 0.5;
+
+    protected final int maxLimit;
+    protected final Int2ObjectHashMap<PartitionLimit> limits = new Int2ObjectHashMap<>();
+
+    public AdaptiveConcurrencyLimiter(int maxLimit)
+    {
+        this.maxLimit = Math.max(maxLimit, MIN_LIMIT);
+    }
+
+    /**
+     * @return <code>true</code>, if a request to the given partition can be
+     *         sent. In this case, it must be released via one of the
+     *         <code>on*</code> methods.
+     */
+    public boolean tryAcquire(int partitionId)
+    {
+        final PartitionLimit limit = partitionLimit(partitionId);
+
+        if (limit.inFlight < (int) limit.limit)
+        {
+            limit.inFlight += 1;
+            return true;
+        }
+        else
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Releases the request and increases the limit (additive increase).
+     */
+    public void onSuccess(int partitionId)
+    {
+        final PartitionLimit limit = partitionLimit(partitionId);
+        limit.release();
+
+        // grows by one for a full window of successful requests
+        limit.limit = Math.min(maxLimit, limit.limit + 1.0 / limit.limit);
+    }
+
+    /**
+     * Releases the request and decreases the limit (multiplicative decrease).
+     */
+    public void onOverload(int partitionId)
+    {
+        final PartitionLimit limit = partitionLimit(partitionId);
+        limit.release();
+
+        limit.limit = Math.max(MIN_LIMIT, limit.limit * BACKOFF_RATIO);
+    }
+
+    /**
+     * Releases the request without changing the limit, e.g. if the request
+     * failed for a reason other than overload.
+     */
+    public void onIgnore(int partitionId)
+    {
+        partitionLimit(partitionId).release();
+    }
+
+    public int getLimit(int partitionId)
+    {
+        return (int) partitionLimit(partitionId).limit;
+    }
+
+    public int getInFlight(int partitionId)
+    {
+        return partitionLimit(partitionId).inFlight;
+    }
+
+    protected PartitionLimit partitionLimit(int partitionId)
+    {
+        PartitionLimit limit = limits.get(partitionId);
+
+        if (limit == null)
+        {
+            limit = new PartitionLimit(maxLimit);
+            limits.put(partitionId, limit);
+        }
+
+        return limit;
+    }
+
+    protected static class PartitionLimit
+    {
+        double limit;
+        int inFlight;
+
+        PartitionLimit(int initialLimit)
+        {
+            this.limit = initialLimit;
+        }
+
+        void release()
+        {
+            inFlight = Math.max(0, inFlight - 1);
+        }
+    }
+}
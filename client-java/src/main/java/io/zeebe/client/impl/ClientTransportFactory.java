@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl;
+
+import java.util.Properties;
+
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.util.actor.ActorScheduler;
+
+/**
+ * Creates the transports of a client. The buffers and the scheduler are owned
+ * by the client. By default, the transports connect to the brokers via TCP
+ * (see {@link TcpClientTransportFactory}). Another implementation can connect
+ * the buffers to a broker in the same JVM instead.
+ */
+@FunctionalInterface
+public interface ClientTransportFactory
+{
+    ClientTransport createTransport(
+            Properties properties,
+            ActorScheduler scheduler,
+            Dispatcher receiveBuffer,
+            Dispatcher sendBuffer,
+            int requestPoolSize);
+}
@@ -33,6 +33,8 @@ import io.zeebe.client.event.EventMetadata;
 import io.zeebe.client.event.impl.EventImpl;
 import io.zeebe.client.event.impl.EventTypeMapping;
 import io.zeebe.client.impl.cmd.CommandImpl;
+import io.zeebe.client.impl.cmd.ReceiverAwareResponseResult;
+import io.zeebe.client.impl.data.MsgPackWritable;
 import io.zeebe.protocol.clientapi.ExecuteCommandRequestEncoder;
 import io.zeebe.protocol.clientapi.ExecuteCommandResponseDecoder;
 import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
@@ -46,6 +48,7 @@ public class CommandRequestHandler implements RequestResponseHandler
     protected ExecuteCommandResponseDecoder decoder = new ExecuteCommandResponseDecoder();
 
     protected EventImpl event;
+    protected String correlationKey;
     protected String expectedState;
     protected BiFunction<EventImpl, EventImpl, String> errorFunction;
 
@@ -63,6 +66,7 @@ public class CommandRequestHandler implements RequestResponseHandler
     public void configure(CommandImpl command)
     {
         this.event = command.getEvent();
+        this.correlationKey = command.getCorrelationKey();
         this.expectedState = command.getExpectedStatus();
         this.errorFunction = command::generateError;
         serialize(event);
@@ -104,7 +108,14 @@ public class CommandRequestHandler implements RequestResponseHandler
         final ExpandableDirectBufferOutputStream out = new ExpandableDirectBufferOutputStream(serializedCommand, serializedCommandOffset);
         try
         {
-            objectMapper.writeValue(out, event);
+            if (event instanceof MsgPackWritable)
+            {
+                ((MsgPackWritable) event).writeMsgPack(out);
+            }
+            else
+            {
+                objectMapper.writeValue(out, event);
+            }
         }
         catch (final Throwable e)
         {
@@ -181,6 +192,12 @@ public class CommandRequestHandler implements RequestResponseHandler
         return metadata.getTopicName();
     }
 
+    @Override
+    public String getCorrelationKey()
+    {
+        return correlationKey;
+    }
+
     @Override
     public int getTargetPartition()
     {
@@ -201,6 +218,13 @@ public class CommandRequestHandler implements RequestResponseHandler
         encoder.partitionId(partitionId);
     }
 
+    @Override
+    public boolean isStripable()
+    {
+        // e.g. topic subscriptions
+        return !(event instanceof ReceiverAwareResponseResult);
+    }
+
     @Override
     public String describeRequest()
     {
@@ -156,6 +156,18 @@ public class ControlMessageRequestHandler implements RequestResponseHandler
         return message.getTargetTopic();
     }
 
+    @Override
+    public String getCorrelationKey()
+    {
+        return null;
+    }
+
+    @Override
+    public boolean isStripable()
+    {
+        return false;
+    }
+
     @Override
     public String describeRequest()
     {
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.zeebe.client.clustering.impl.ClientTopologyManager;
+
+/**
+ * Sends requests with the same correlation key to the same partition, so that
+ * related work is co-located. The key is mapped with a jump consistent hash
+ * onto the ordered partitions of the topic, i.e. when partitions are added,
+ * only the keys which move to the new partitions change their partition.
+ * Requests without a correlation key are dispatched by the fallback strategy.
+ */
+public class KeyAffinityDispatchStrategy implements RequestDispatchStrategy
+{
+    protected final ClientTopologyManager topologyManager;
+    protected final RequestDispatchStrategy fallbackStrategy;
+
+    protected final ConcurrentMap<String, SortedPartitions> partitionsByTopic = new ConcurrentHashMap<>();
+
+    public KeyAffinityDispatchStrategy(ClientTopologyManager topologyManager, RequestDispatchStrategy fallbackStrategy)
+    {
+        this.topologyManager = topologyManager;
+        this.fallbackStrategy = fallbackStrategy;
+    }
+
+    @Override
+    public int determinePartition(String topic, String correlationKey)
+    {
+        if (correlationKey == null)
+        {
+            return fallbackStrategy.determinePartition(topic, null);
+        }
+
+        final List<Integer> partitions = topologyManager.getPartitionsOfTopic(topic);
+
+        if (partitions == null || partitions.isEmpty())
+        {
+            return -1;
+        }
+
+        SortedPartitions sortedPartitions = partitionsByTopic.get(topic);
+
+        // the topology is replaced on refresh, i.e. a different list means that the partitions may have changed
+        if (sortedPartitions == null || sortedPartitions.source != partitions)
+        {
+            sortedPartitions = new SortedPartitions(partitions);
+            partitionsByTopic.put(topic, sortedPartitions);
+        }
+
+        final int bucket = jumpConsistentHash(hash(correlationKey), sortedPartitions.partitionIds.length);
+
+        return sortedPartitions.partitionIds[bucket];
+    }
+
+    protected static long hash(String key)
+    {
+        // spread the string hash over 64 bits (finalizer of MurmurHash3)
+        long h = key.hashCode();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * See Lamping and Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm".
+     */
+    protected static int jumpConsistentHash(long key, int buckets)
+    {
+        long b = -1;
+        long j = 0;
+
+        while (j < buckets)
+        {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+
+        return (int) b;
+    }
+
+    protected static class SortedPartitions
+    {
+        protected final List<Integer> source;
+        protected final int[] partitionIds;
+
+        SortedPartitions(List<Integer> source)
+        {
+            this.source = source;
+            this.partitionIds = new int[source.size()];
+
+            for (int i = 0; i < partitionIds.length; i++)
+            {
+                partitionIds[i] = source.get(i);
+            }
+
+            Arrays.sort(partitionIds);
+        }
+    }
+}
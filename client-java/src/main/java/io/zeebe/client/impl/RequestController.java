@@ -19,7 +19,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
@@ -55,6 +55,10 @@ public class RequestController implements BufferReader
     protected static final int TRANSITION_FAILED = 1;
     protected static final int TRANSITION_REFRESH_TOPOLOGY = 2;
     protected static final int TRANSITION_DETERMINE_PARTITION = 3;
+    protected static final int TRANSITION_RETRY = 4;
+
+    protected static final long MIN_BACKOFF_MILLIS = 10;
+    protected static final long MAX_BACKOFF_MILLIS = 1000;
 
     protected final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
     protected final ErrorResponseDecoder errorResponseDecoder = new ErrorResponseDecoder();
@@ -79,33 +83,35 @@ public class RequestController implements BufferReader
     protected CompletableFuture future;
 
     protected final ClientTransport transport;
+    protected final StripedTransports stripedTransports;
 
     protected boolean isConfigured = false;
 
-    private Consumer<RequestController> closeConsumer;
-
     protected final CommandRequestHandler commandRequestHandler;
     protected RequestResponseHandler currentRequestHandler;
     protected ControlMessageRequestHandler controlMessageHandler;
 
     protected final RequestDispatchStrategy requestDispatchStrategy;
+    protected final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     public final long cmdTimeout;
 
     public RequestController(
             final ClientTransport transport,
+            final StripedTransports stripedTransports,
             final ClientTopologyManager topologyManager,
             final ObjectMapper objectMapper,
             RequestDispatchStrategy requestDispatchStrategy,
-            Consumer<RequestController> closeConsumer,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
             long requestTimeout)
     {
         this.transport = transport;
+        this.stripedTransports = stripedTransports;
         this.topologyManager = topologyManager;
-        this.closeConsumer = closeConsumer;
         this.commandRequestHandler = new CommandRequestHandler(objectMapper);
         this.controlMessageHandler = new ControlMessageRequestHandler(objectMapper);
         this.requestDispatchStrategy = requestDispatchStrategy;
+        this.concurrencyLimiter = concurrencyLimiter;
         this.cmdTimeout = TimeUnit.SECONDS.toMillis(requestTimeout);
 
         stateMachine = StateMachine.<Context>builder(Context::new)
@@ -134,6 +140,7 @@ public class RequestController implements BufferReader
             .from(handleResponseState).take(TRANSITION_DEFAULT).to(finishedState)
             .from(handleResponseState).take(TRANSITION_FAILED).to(failedState)
             .from(handleResponseState).take(TRANSITION_REFRESH_TOPOLOGY).to(refreshTopologyForRemoteState)
+            .from(handleResponseState).take(TRANSITION_RETRY).to(determineRemoteState)
             .from(finishedState).take(TRANSITION_DEFAULT).to(closedState)
             .from(failedState).take(TRANSITION_DEFAULT).to(closedState)
             .build();
@@ -165,6 +172,9 @@ public class RequestController implements BufferReader
         return stateMachine.doWork();
     }
 
+    /**
+     * @return true, if the controller has no request to execute and can be reused
+     */
     public boolean isClosed()
     {
         return stateMachine.getCurrentState() == closedState && !isConfigured;
@@ -175,6 +185,60 @@ public class RequestController implements BufferReader
         return ErrorCode.PARTITION_NOT_FOUND == errorCode || ErrorCode.REQUEST_TIMEOUT == errorCode;
     }
 
+    /**
+     * Requests to a partition are limited by the concurrency limiter. Requests to an arbitrary broker are not.
+     */
+    protected boolean tryAcquirePermit(final Context context)
+    {
+        if (context.requestType == RequestType.ARBITRARY_BROKER)
+        {
+            return true;
+        }
+
+        if (ClockUtil.getCurrentTimeInMillis() < context.retryNotBefore)
+        {
+            return false;
+        }
+
+        final int partitionId = currentRequestHandler.getTargetPartition();
+
+        if (concurrencyLimiter.tryAcquire(partitionId))
+        {
+            context.permitPartition = partitionId;
+            return true;
+        }
+        else
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Requests to a partition are striped by the partition id across the channels to the broker,
+     * so that the requests of one partition keep their order.
+     */
+    protected int selectStripe(final Context context)
+    {
+        if (stripedTransports.getStripeCount() == 1 || context.requestType == RequestType.ARBITRARY_BROKER || !currentRequestHandler.isStripable())
+        {
+            return 0;
+        }
+        else
+        {
+            final int partitionId = currentRequestHandler.getTargetPartition();
+            return partitionId % stripedTransports.getStripeCount();
+        }
+    }
+
+    protected void releasePermit(final Context context, final IntConsumer release)
+    {
+        if (context.permitPartition >= 0)
+        {
+            release.accept(context.permitPartition);
+            context.permitPartition = -1;
+        }
+    }
+
     protected Exception generateTimeoutException(String reason, Set<RemoteAddress> requestReceivers)
     {
         return new ClientException(
@@ -230,7 +294,9 @@ public class RequestController implements BufferReader
         {
             final String targetTopic = currentRequestHandler.getTargetTopic();
 
-            final int targetPartition = requestDispatchStrategy.determinePartition(targetTopic);
+            final String correlationKey = currentRequestHandler.getCorrelationKey();
+
+            final int targetPartition = requestDispatchStrategy.determinePartition(targetTopic, correlationKey);
 
             if (context.isRequestTimedOut())
             {
@@ -274,13 +340,18 @@ public class RequestController implements BufferReader
                 return 0;
             }
 
-            if (remote != null)
+            if (remote == null)
+            {
+                context.take(TRANSITION_REFRESH_TOPOLOGY);
+            }
+            else if (tryAcquirePermit(context))
             {
                 makeRequest(context, remote);
             }
             else
             {
-                context.take(TRANSITION_REFRESH_TOPOLOGY);
+                // wait until the back off is over or another request to the partition is completed
+                return 0;
             }
 
             return 1;
@@ -288,15 +359,23 @@ public class RequestController implements BufferReader
 
         private void makeRequest(final Context context, final RemoteAddress remote)
         {
-            final ClientRequest request = transport.getOutput().sendRequest(remote, currentRequestHandler);
+            final int stripe = selectStripe(context);
+            final ClientTransport requestTransport = stripedTransports.getTransport(stripe);
+            final RemoteAddress requestRemote = stripedTransports.getRemote(stripe, remote);
+
+            final ClientRequest request = requestTransport.getOutput().sendRequest(requestRemote, currentRequestHandler);
 
             if (request != null)
             {
-                context.receiver = remote;
+                context.receiver = requestRemote;
                 context.contactedBrokers.add(remote);
                 context.request = request;
                 context.take(TRANSITION_DEFAULT);
             }
+            else
+            {
+                releasePermit(context, concurrencyLimiter::onIgnore);
+            }
         }
     }
 
@@ -366,11 +445,13 @@ public class RequestController implements BufferReader
                 }
                 catch (ClientCommandRejectedException e)
                 {
+                    releasePermit(context, concurrencyLimiter::onIgnore);
                     context.exception = e;
                     context.take(TRANSITION_FAILED);
                 }
                 catch (Exception e)
                 {
+                    releasePermit(context, concurrencyLimiter::onIgnore);
                     context.exception = new ClientException("Unexpected exception during response handling", e);
                     context.take(TRANSITION_FAILED);
                 }
@@ -383,6 +464,7 @@ public class RequestController implements BufferReader
             }
             else if (context.isRequestTimedOut())
             {
+                releasePermit(context, concurrencyLimiter::onOverload);
                 context.exception = generateTimeoutException("No response received", context.contactedBrokers);
                 context.take(TRANSITION_FAILED);
                 request.close();
@@ -396,7 +478,7 @@ public class RequestController implements BufferReader
         }
     }
 
-    private static class HandleResponseState implements State<Context>
+    private class HandleResponseState implements State<Context>
     {
 
         @Override
@@ -407,10 +489,13 @@ public class RequestController implements BufferReader
             if (errorCode == ErrorCode.NULL_VAL)
             {
                 // request was successful
+                releasePermit(context, concurrencyLimiter::onSuccess);
                 context.take(TRANSITION_DEFAULT);
             }
             else if (errorCode == ErrorCode.PARTITION_NOT_FOUND)
             {
+                releasePermit(context, concurrencyLimiter::onIgnore);
+
                 // reset error context
                 context.errorCode = ErrorCode.NULL_VAL;
                 context.errorBuffer = null;
@@ -418,8 +503,22 @@ public class RequestController implements BufferReader
                 // partition not found -> refresh topology -> retry request
                 context.take(TRANSITION_REFRESH_TOPOLOGY);
             }
+            else if (errorCode == ErrorCode.REQUEST_WRITE_FAILURE && context.requestType != RequestType.ARBITRARY_BROKER)
+            {
+                // the broker rejected the command due to back pressure -> reduce the limit and retry after back off
+                releasePermit(context, concurrencyLimiter::onOverload);
+
+                context.errorCode = ErrorCode.NULL_VAL;
+                context.errorBuffer = null;
+
+                context.backoffMillis = Math.min(Math.max(2 * context.backoffMillis, MIN_BACKOFF_MILLIS), MAX_BACKOFF_MILLIS);
+                context.retryNotBefore = ClockUtil.getCurrentTimeInMillis() + context.backoffMillis;
+
+                context.take(TRANSITION_RETRY);
+            }
             else
             {
+                releasePermit(context, concurrencyLimiter::onIgnore);
                 context.take(TRANSITION_FAILED);
             }
 
@@ -438,12 +537,6 @@ public class RequestController implements BufferReader
             context.take(TRANSITION_DEFAULT);
             return 1;
         }
-
-        @Override
-        public void onExit()
-        {
-            closeConsumer.accept(RequestController.this);
-        }
     }
 
     private class FailedState implements State<Context>
@@ -452,6 +545,8 @@ public class RequestController implements BufferReader
         @Override
         public int doWork(final Context context) throws Exception
         {
+            releasePermit(context, concurrencyLimiter::onIgnore);
+
             final ErrorCode errorCode = context.errorCode;
             Throwable exception = context.exception;
 
@@ -478,12 +573,6 @@ public class RequestController implements BufferReader
 
             return 1;
         }
-
-        @Override
-        public void onExit()
-        {
-            closeConsumer.accept(RequestController.this);
-        }
     }
 
     private class ClosedState implements WaitState<Context>
@@ -542,6 +631,10 @@ public class RequestController implements BufferReader
 
         RequestType requestType;
 
+        int permitPartition = -1;
+        long backoffMillis;
+        long retryNotBefore;
+
         Context(final StateMachine<?> stateMachine)
         {
             super(stateMachine);
@@ -558,6 +651,9 @@ public class RequestController implements BufferReader
             exception = null;
             contactedBrokers.clear();
             requestType = RequestType.ARBITRARY_BROKER;
+            permitPartition = -1;
+            backoffMillis = 0;
+            retryNotBefore = 0;
         }
 
         public boolean isRequestTimedOut()
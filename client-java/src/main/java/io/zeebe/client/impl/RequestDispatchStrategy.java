@@ -18,5 +18,12 @@ package io.zeebe.client.impl;
 public interface RequestDispatchStrategy
 {
 
-    int determinePartition(String topic);
+    /**
+     * @param topic the topic of the request
+     * @param correlationKey the key of the related work (e.g. a business key) which should
+     *   be processed on the same partition, or <code>null</code> if the request is not related
+     * @return the partition to send the request to, or a negative value if the topic has no
+     *   known partitions
+     */
+    int determinePartition(String topic, String correlationKey);
 }
@@ -18,11 +18,16 @@ package io.zeebe.client.impl;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.zeebe.client.clustering.impl.ClientTopologyManager;
 import io.zeebe.client.cmd.ClientException;
+import io.zeebe.client.cmd.RequestBackpressureException;
 import io.zeebe.client.event.Event;
 import io.zeebe.client.impl.cmd.CommandImpl;
 import io.zeebe.client.task.impl.ControlMessageRequest;
@@ -30,44 +35,71 @@ import io.zeebe.protocol.Protocol;
 import io.zeebe.transport.ClientTransport;
 import io.zeebe.util.actor.Actor;
 
+/**
+ * Executes requests with a fixed pool of {@link RequestController}s. Only the
+ * controllers which execute a request are worked on by the actor, idle
+ * controllers are kept in the pool.
+ */
 public class RequestManager implements Actor
 {
-    private int capacity;
+    private final int capacity;
+    private final long requestTimeoutMillis;
+    private final long requestBlockTimeMillis;
 
-    protected final RequestController[] commandControllers;
     protected final ArrayBlockingQueue<RequestController> pooledCmds;
 
+    /**
+     * Configured controllers which are handed over to the actor.
+     */
+    protected final ManyToOneConcurrentArrayQueue<RequestController> submittedCmds;
+    protected final Consumer<RequestController> submittedCmdConsumer = this::activate;
+
+    /**
+     * Controllers which execute a request - only accessed by the actor.
+     */
+    protected final RequestController[] activeCmds;
+    protected int activeCmdCount = 0;
+
     protected final ClientTransport transport;
     protected final ClientTopologyManager topologyManager;
 
     protected final RequestDispatchStrategy dispatchStrategy;
+    protected final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     public RequestManager(
             final ClientTransport transport,
+            final ClientTransport[] stripedTransports,
             final ClientTopologyManager topologyManager,
             RequestDispatchStrategy dispatchStrategy,
             ObjectMapper objectMapper,
             int capacity,
-            long requestTimeout)
+            long requestTimeout,
+            long requestBlockTimeMillis)
     {
         this.transport = transport;
         this.topologyManager = topologyManager;
         this.capacity = capacity;
+        this.requestTimeoutMillis = TimeUnit.SECONDS.toMillis(requestTimeout);
+        this.requestBlockTimeMillis = requestBlockTimeMillis;
 
         this.pooledCmds = new ArrayBlockingQueue<>(capacity);
-        this.commandControllers = new RequestController[capacity];
+        this.submittedCmds = new ManyToOneConcurrentArrayQueue<>(capacity);
+        this.activeCmds = new RequestController[capacity];
         this.dispatchStrategy = dispatchStrategy;
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(capacity);
+
+        final StripedTransports transportStripes = new StripedTransports(stripedTransports);
 
         for (int i = 0; i < capacity; i++)
         {
             final RequestController controller = new RequestController(
                 transport,
+                transportStripes,
                 topologyManager,
                 objectMapper,
                 dispatchStrategy,
-                ctrl -> pooledCmds.add(ctrl),
+                concurrencyLimiter,
                 requestTimeout);
-            this.commandControllers[i] = controller;
             this.pooledCmds.add(controller);
         }
     }
@@ -75,24 +107,57 @@ public class RequestManager implements Actor
     @Override
     public int doWork() throws Exception
     {
-        int wc = 0;
+        int wc = submittedCmds.drain(submittedCmdConsumer);
 
-        for (int i = 0; i < capacity; i++)
+        int i = 0;
+        while (i < activeCmdCount)
         {
-            final RequestController controller = commandControllers[i];
+            final RequestController controller = activeCmds[i];
             wc += controller.doWork();
+
+            if (controller.isClosed())
+            {
+                // swap with the last active controller - the order is not relevant
+                activeCmdCount -= 1;
+                activeCmds[i] = activeCmds[activeCmdCount];
+                activeCmds[activeCmdCount] = null;
+
+                // return the controller to the pool only after it is removed from the active ones
+                pooledCmds.add(controller);
+            }
+            else
+            {
+                i += 1;
+            }
         }
 
         return wc;
     }
 
+    private void activate(RequestController controller)
+    {
+        activeCmds[activeCmdCount] = controller;
+        activeCmdCount += 1;
+    }
+
     public <E extends Event> CompletableFuture<E> executeAsync(final CommandImpl<E> command)
+    {
+        return executeAsync(command, requestBlockTimeMillis);
+    }
+
+    /**
+     * @throws RequestBackpressureException
+     *             if the maximum count of concurrent requests is reached for longer than the given time
+     */
+    public <E extends Event> CompletableFuture<E> executeAsync(final CommandImpl<E> command, long blockTimeMillis)
     {
         final CompletableFuture<E> future = new CompletableFuture<>();
 
-        final RequestController ctrl = acquireRequestController();
+        final RequestController ctrl = acquireRequestController(blockTimeMillis);
         ctrl.configureCommandRequest(command, future);
 
+        submit(ctrl);
+
         return future;
     }
 
@@ -108,30 +173,59 @@ public class RequestManager implements Actor
 
     public <E extends Event> E execute(final CommandImpl<E> command)
     {
-        return waitAndResolve(executeAsync(command));
+        return waitAndResolve(executeAsync(command, requestTimeoutMillis));
     }
 
-
     public <E> CompletableFuture<E> executeAsync(final ControlMessageRequest<E> controlMessage)
+    {
+        return executeAsync(controlMessage, requestBlockTimeMillis);
+    }
+
+    protected <E> CompletableFuture<E> executeAsync(final ControlMessageRequest<E> controlMessage, long blockTimeMillis)
     {
         final CompletableFuture<E> future = new CompletableFuture<>();
 
-        final RequestController ctrl = acquireRequestController();
+        final RequestController ctrl = acquireRequestController(blockTimeMillis);
         ctrl.configureControlMessageRequest(controlMessage, future);
 
+        submit(ctrl);
+
         return future;
     }
 
-    protected RequestController acquireRequestController()
+    /**
+     * @throws RequestBackpressureException
+     *             if no controller becomes available within the given time
+     */
+    protected RequestController acquireRequestController(long blockTimeMillis)
     {
-        try
+        RequestController controller = pooledCmds.poll();
+
+        if (controller == null && blockTimeMillis > 0)
         {
-            return pooledCmds.take();
+            try
+            {
+                controller = pooledCmds.poll(blockTimeMillis, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                throw new ClientException("Could not acquire request controller from pool", e);
+            }
         }
-        catch (InterruptedException e)
+
+        if (controller == null)
         {
-            throw new ClientException("Could not acquire request controller from pool", e);
+            throw new RequestBackpressureException(
+                String.format("Cannot execute request: the maximum count of concurrent requests (%d) is reached", capacity));
         }
+
+        return controller;
+    }
+
+    private void submit(RequestController controller)
+    {
+        // the queue has the same capacity as the pool, so it can't be full
+        submittedCmds.add(controller);
     }
 
     protected <E> E waitAndResolve(CompletableFuture<E> future)
@@ -160,6 +254,6 @@ public class RequestManager implements Actor
 
     public <E> E execute(ControlMessageRequest<E> controlMessage)
     {
-        return waitAndResolve(executeAsync(controlMessage));
+        return waitAndResolve(executeAsync(controlMessage, requestTimeoutMillis));
     }
 }
@@ -39,6 +39,19 @@ public interface RequestResponseHandler extends BufferWriter
 
     void onSelectedPartition(int partitionId);
 
+    /**
+     * @return the key which determines the partition of requests without target partition,
+     *   or null if the request can be sent to any partition
+     */
+    String getCorrelationKey();
+
     String describeRequest();
 
+    /**
+     * @return true, if the request can be sent via any of the client's channels
+     *   to the broker. Requests which open a subscription must be sent via the
+     *   default channel since the broker pushes the subscribed events to it.
+     */
+    boolean isStripable();
+
 }
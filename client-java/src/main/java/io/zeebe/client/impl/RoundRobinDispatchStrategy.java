@@ -15,8 +15,9 @@
  */
 package io.zeebe.client.impl;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.zeebe.client.clustering.impl.ClientTopologyManager;
 
@@ -24,7 +25,7 @@ public class RoundRobinDispatchStrategy implements RequestDispatchStrategy
 {
 
     protected final ClientTopologyManager topologyManager;
-    protected Map<String, Integer> topicOffsets = new HashMap<>();
+    protected final ConcurrentMap<String, AtomicInteger> topicOffsets = new ConcurrentHashMap<>();
 
     public RoundRobinDispatchStrategy(ClientTopologyManager topologyManager)
     {
@@ -32,10 +33,11 @@ public class RoundRobinDispatchStrategy implements RequestDispatchStrategy
     }
 
     @Override
-    public int determinePartition(String topic)
+    public int determinePartition(String topic, String correlationKey)
     {
-        final Integer offset = topicOffsets.getOrDefault(topic, 0);
-        topicOffsets.put(topic, offset + 1);
-        return topologyManager.getPartitionForTopic(topic, offset);
+        final AtomicInteger offset = topicOffsets.computeIfAbsent(topic, t -> new AtomicInteger());
+
+        // mask the sign bit so that the offset stays positive on overflow
+        return topologyManager.getPartitionForTopic(topic, offset.getAndIncrement() & Integer.MAX_VALUE);
     }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl;
+
+import org.agrona.collections.Int2ObjectHashMap;
+
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.transport.RemoteAddress;
+
+/**
+ * The channels to the brokers which requests are striped across. The first
+ * stripe is the default transport, which the topology is resolved with. A
+ * remote address of the default transport is registered at the other
+ * transports only once and then looked up by its stream id.
+ *
+ * <p>
+ * Not thread-safe. Only accessed by the request controllers, which are all
+ * driven by the request manager.
+ */
+public class StripedTransports
+{
+    protected final ClientTransport[] transports;
+    protected final Int2ObjectHashMap<RemoteAddress>[] remotes;
+
+    @SuppressWarnings("unchecked")
+    public StripedTransports(ClientTransport[] transports)
+    {
+        this.transports = transports;
+        this.remotes = new Int2ObjectHashMap[transports.length];
+
+        for (int i = 1; i < transports.length; i++)
+        {
+            remotes[i] = new Int2ObjectHashMap<>();
+        }
+    }
+
+    public int getStripeCount()
+    {
+        return transports.length;
+    }
+
+    public ClientTransport getTransport(int stripe)
+    {
+        return transports[stripe];
+    }
+
+    /**
+     * @return the given remote address of the default transport as remote
+     *         address of the transport of the given stripe
+     */
+    public RemoteAddress getRemote(int stripe, RemoteAddress remote)
+    {
+        if (stripe == 0)
+        {
+            return remote;
+        }
+
+        final Int2ObjectHashMap<RemoteAddress> stripeRemotes = remotes[stripe];
+        RemoteAddress stripeRemote = stripeRemotes.get(remote.getStreamId());
+
+        if (stripeRemote == null)
+        {
+            stripeRemote = transports[stripe].registerRemoteAddress(remote.getAddress());
+            stripeRemotes.put(remote.getStreamId(), stripeRemote);
+        }
+
+        return stripeRemote;
+    }
+}
@@ -17,12 +17,9 @@ package io.zeebe.client.impl;
 
 import io.zeebe.client.TasksClient;
 import io.zeebe.client.event.TaskEvent;
-import io.zeebe.client.event.impl.TaskEventImpl;
 import io.zeebe.client.task.PollableTaskSubscriptionBuilder;
 import io.zeebe.client.task.TaskSubscriptionBuilder;
-import io.zeebe.client.task.cmd.CompleteTaskCommand;
 import io.zeebe.client.task.cmd.CreateTaskCommand;
-import io.zeebe.client.task.cmd.FailTaskCommand;
 import io.zeebe.client.task.cmd.UpdateTaskRetriesCommand;
 import io.zeebe.client.task.impl.CloseTaskSubscriptionCommandImpl;
 import io.zeebe.client.task.impl.CompleteTaskCommandImpl;
@@ -48,7 +45,7 @@ public class TasksClientImpl implements TasksClient
     }
 
     @Override
-    public FailTaskCommand fail(TaskEvent event)
+    public FailTaskCommandImpl fail(TaskEvent event)
     {
         return new FailTaskCommandImpl(client.getCommandManager(), event);
     }
@@ -60,9 +57,9 @@ public class TasksClientImpl implements TasksClient
     }
 
     @Override
-    public CompleteTaskCommand complete(TaskEvent baseEvent)
+    public CompleteTaskCommandImpl complete(TaskEvent baseEvent)
     {
-        return new CompleteTaskCommandImpl(client.getCommandManager(), (TaskEventImpl) baseEvent);
+        return new CompleteTaskCommandImpl(client.getCommandManager(), baseEvent);
     }
 
     @Override
@@ -71,6 +68,12 @@ public class TasksClientImpl implements TasksClient
         return client.getSubscriptionManager().newTaskSubscription(this, topic);
     }
 
+    @Override
+    public TaskSubscriptionBuilder newTopicTaskSubscription(String topic)
+    {
+        return client.getSubscriptionManager().newTopicTaskSubscription(this, topic);
+    }
+
     @Override
     public PollableTaskSubscriptionBuilder newPollableTaskSubscription(String topic)
     {
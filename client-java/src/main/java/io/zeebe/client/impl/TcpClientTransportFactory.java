@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl;
+
+import java.util.Properties;
+
+import io.zeebe.client.ClientProperties;
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.transport.ClientTransportBuilder;
+import io.zeebe.transport.Transports;
+import io.zeebe.util.actor.ActorScheduler;
+
+/**
+ * Creates transports which connect to the brokers via TCP.
+ */
+public class TcpClientTransportFactory implements ClientTransportFactory
+{
+    @Override
+    public ClientTransport createTransport(
+            Properties properties,
+            ActorScheduler scheduler,
+            Dispatcher receiveBuffer,
+            Dispatcher sendBuffer,
+            int requestPoolSize)
+    {
+        final ClientTransportBuilder transportBuilder = Transports.newClientTransport()
+            .messageMaxLength(1024 * 1024)
+            .messageReceiveBuffer(receiveBuffer)
+            .requestPoolSize(requestPoolSize)
+            .scheduler(scheduler)
+            .sendBuffer(sendBuffer);
+
+        if (properties.containsKey(ClientProperties.CLIENT_TCP_CHANNEL_KEEP_ALIVE_PERIOD))
+        {
+            final long keepAlivePeriod = Long.parseLong(properties.getProperty(ClientProperties.CLIENT_TCP_CHANNEL_KEEP_ALIVE_PERIOD));
+            transportBuilder.keepAlivePeriod(keepAlivePeriod);
+        }
+
+        return transportBuilder.build();
+    }
+}
@@ -18,13 +18,17 @@ package io.zeebe.client.impl;
 import io.zeebe.client.WorkflowsClient;
 import io.zeebe.client.cmd.Request;
 import io.zeebe.client.event.WorkflowInstanceEvent;
+import io.zeebe.client.workflow.cmd.CancelWorkflowInstancesCommand;
 import io.zeebe.client.workflow.cmd.CreateDeploymentCommand;
 import io.zeebe.client.workflow.cmd.CreateWorkflowInstanceCommand;
 import io.zeebe.client.workflow.cmd.UpdatePayloadCommand;
+import io.zeebe.client.workflow.cmd.UpdateWorkflowInstancesPayloadCommand;
 import io.zeebe.client.workflow.impl.CancelWorkflowInstanceCmdImpl;
+import io.zeebe.client.workflow.impl.CancelWorkflowInstancesCommandImpl;
 import io.zeebe.client.workflow.impl.CreateDeploymentCommandImpl;
 import io.zeebe.client.workflow.impl.CreateWorkflowInstanceCommandImpl;
 import io.zeebe.client.workflow.impl.UpdatePayloadCommandImpl;
+import io.zeebe.client.workflow.impl.UpdateWorkflowInstancesPayloadCommandImpl;
 
 public class WorkflowsClientImpl implements WorkflowsClient
 {
@@ -59,4 +63,16 @@ public class WorkflowsClientImpl implements WorkflowsClient
         return new UpdatePayloadCommandImpl(client.getCommandManager(), baseEvent);
     }
 
+    @Override
+    public CancelWorkflowInstancesCommand cancelInstances(String topic, int partitionId)
+    {
+        return new CancelWorkflowInstancesCommandImpl(client.getCommandManager(), client.getMsgPackConverter(), topic, partitionId);
+    }
+
+    @Override
+    public UpdateWorkflowInstancesPayloadCommand updateInstancesPayload(String topic, int partitionId)
+    {
+        return new UpdateWorkflowInstancesPayloadCommandImpl(client.getCommandManager(), client.getMsgPackConverter(), topic, partitionId);
+    }
+
 }
@@ -19,6 +19,8 @@ import static io.zeebe.client.ClientProperties.CLIENT_MAXREQUESTS;
 import static io.zeebe.client.ClientProperties.CLIENT_REQUEST_TIMEOUT_SEC;
 import static io.zeebe.client.ClientProperties.CLIENT_SENDBUFFER_SIZE;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import org.msgpack.jackson.dataformat.MessagePackFactory;
@@ -37,13 +39,13 @@ import io.zeebe.client.clustering.impl.TopologyResponse;
 import io.zeebe.client.cmd.Request;
 import io.zeebe.client.event.impl.TopicClientImpl;
 import io.zeebe.client.impl.data.MsgPackConverter;
+import io.zeebe.client.task.impl.subscription.ReplenishmentPolicy;
 import io.zeebe.client.task.impl.subscription.SubscriptionManager;
 import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.dispatcher.Dispatchers;
 import io.zeebe.transport.ClientTransport;
 import io.zeebe.transport.ClientTransportBuilder;
 import io.zeebe.transport.SocketAddress;
-import io.zeebe.transport.Transports;
 import io.zeebe.util.actor.ActorReference;
 import io.zeebe.util.actor.ActorScheduler;
 import io.zeebe.util.actor.ActorSchedulerBuilder;
@@ -65,12 +67,15 @@ public class ZeebeClientImpl implements ZeebeClient
     protected final Properties initializationProperties;
 
     protected SocketAddress contactPoint;
-    protected Dispatcher dataFrameReceiveBuffer;
-    protected Dispatcher sendBuffer;
-    protected ActorScheduler transportActorScheduler;
-
+    protected ClientChannel defaultChannel;
     protected ClientTransport transport;
 
+    /**
+     * Additional channels to the brokers - requests to partitions are striped across
+     * the default transport and these.
+     */
+    protected final List<ClientChannel> additionalChannels = new ArrayList<>();
+
     protected final ObjectMapper objectMapper;
 
     protected SubscriptionManager subscriptionManager;
@@ -86,6 +91,15 @@ public class ZeebeClientImpl implements ZeebeClient
     protected boolean isClosed;
 
     public ZeebeClientImpl(final Properties properties)
+    {
+        this(properties, new TcpClientTransportFactory());
+    }
+
+    /**
+     * @param transportFactory creates the transports to the brokers, e.g. to connect to
+     *   a broker in the same JVM without the network stack
+     */
+    public ZeebeClientImpl(final Properties properties, final ClientTransportFactory transportFactory)
     {
         LOG.info("Version: {}", VERSION);
 
@@ -97,35 +111,25 @@ public class ZeebeClientImpl implements ZeebeClient
         final int maxRequests = Integer.parseInt(properties.getProperty(CLIENT_MAXREQUESTS));
         final int sendBufferSize = Integer.parseInt(properties.getProperty(CLIENT_SENDBUFFER_SIZE));
 
-        this.transportActorScheduler = ActorSchedulerBuilder.createDefaultScheduler("transport");
+        defaultChannel = createChannel("", transportFactory, properties, sendBufferSize, maxRequests);
+        transport = defaultChannel.transport;
 
-        dataFrameReceiveBuffer = Dispatchers.create("receive-buffer")
-            .bufferSize(1024 * 1024 * sendBufferSize)
-            .modePubSub()
-            .frameMaxLength(1024 * 1024)
-            .actorScheduler(transportActorScheduler)
-            .build();
-        sendBuffer = Dispatchers.create("send-buffer")
-            .actorScheduler(transportActorScheduler)
-            .bufferSize(1024 * 1024 * sendBufferSize)
-            .subscriptions(ClientTransportBuilder.SEND_BUFFER_SUBSCRIPTION_NAME)
-//                .countersManager(countersManager) // TODO: counters manager
-            .build();
+        final int channelsPerBroker = Integer.parseInt(properties.getProperty(ClientProperties.CLIENT_CHANNELS_PER_BROKER));
+        if (channelsPerBroker < 1)
+        {
+            throw new IllegalArgumentException("The number of channels per broker must be at least 1 but was " + channelsPerBroker);
+        }
 
-        final ClientTransportBuilder transportBuilder = Transports.newClientTransport()
-            .messageMaxLength(1024 * 1024)
-            .messageReceiveBuffer(dataFrameReceiveBuffer)
-            .requestPoolSize(maxRequests + 16)
-            .scheduler(transportActorScheduler)
-            .sendBuffer(sendBuffer);
+        final ClientTransport[] stripedTransports = new ClientTransport[channelsPerBroker];
+        stripedTransports[0] = transport;
 
-        if (properties.containsKey(ClientProperties.CLIENT_TCP_CHANNEL_KEEP_ALIVE_PERIOD))
+        for (int i = 1; i < channelsPerBroker; i++)
         {
-            final long keepAlivePeriod = Long.parseLong(properties.getProperty(ClientProperties.CLIENT_TCP_CHANNEL_KEEP_ALIVE_PERIOD));
-            transportBuilder.keepAlivePeriod(keepAlivePeriod);
-        }
+            final ClientChannel channel = createChannel("-" + i, transportFactory, properties, sendBufferSize, maxRequests);
+            additionalChannels.add(channel);
 
-        transport = transportBuilder.build();
+            stripedTransports[i] = channel.transport;
+        }
 
         msgPackConverter = new MsgPackConverter();
 
@@ -146,19 +150,26 @@ public class ZeebeClientImpl implements ZeebeClient
         final int prefetchCapacity = Integer.parseInt(properties.getProperty(ClientProperties.CLIENT_TOPIC_SUBSCRIPTION_PREFETCH_CAPACITY));
 
         final long requestTimeout = Long.parseLong(properties.getProperty(CLIENT_REQUEST_TIMEOUT_SEC));
+        final long requestBlockTime = Long.parseLong(properties.getProperty(ClientProperties.CLIENT_REQUEST_BLOCKTIME_MILLIS));
+
+        final ReplenishmentPolicy replenishmentPolicy = new ReplenishmentPolicy(
+                Double.parseDouble(properties.getProperty(ClientProperties.CLIENT_SUBSCRIPTION_REPLENISHMENT_THRESHOLD)),
+                Long.parseLong(properties.getProperty(ClientProperties.CLIENT_SUBSCRIPTION_REPLENISHMENT_INTERVAL)));
 
         topologyManager = new ClientTopologyManager(transport, objectMapper, requestTimeout, contactPoint);
 
         subscriptionManager = new SubscriptionManager(
                 this,
                 numExecutionThreads,
-                prefetchCapacity);
+                prefetchCapacity,
+                replenishmentPolicy);
         transport.registerChannelListener(subscriptionManager);
 
-        apiCommandManager = new RequestManager(transport, topologyManager, new RoundRobinDispatchStrategy(topologyManager), objectMapper, maxRequests, requestTimeout);
+        final RequestDispatchStrategy dispatchStrategy = new KeyAffinityDispatchStrategy(topologyManager, new RoundRobinDispatchStrategy(topologyManager));
+        apiCommandManager = new RequestManager(transport, stripedTransports, topologyManager, dispatchStrategy, objectMapper, maxRequests, requestTimeout, requestBlockTime);
 
-        commandManagerActorReference = transportActorScheduler.schedule(apiCommandManager);
-        topologyManagerActorReference = transportActorScheduler.schedule(topologyManager);
+        commandManagerActorReference = defaultChannel.actorScheduler.schedule(apiCommandManager);
+        topologyManagerActorReference = defaultChannel.actorScheduler.schedule(topologyManager);
 
         subscriptionManager.start();
     }
@@ -168,6 +179,11 @@ public class ZeebeClientImpl implements ZeebeClient
     {
         subscriptionManager.closeAllSubscriptions();
         transport.closeAllChannels().join();
+
+        for (ClientChannel channel : additionalChannels)
+        {
+            channel.transport.closeAllChannels().join();
+        }
     }
 
     @Override
@@ -191,34 +207,12 @@ public class ZeebeClientImpl implements ZeebeClient
 
         subscriptionManager.close();
 
-        try
-        {
-            transport.close();
-        }
-        catch (final Exception e)
-        {
-            e.printStackTrace();
-        }
-
-        try
-        {
-            dataFrameReceiveBuffer.close();
-        }
-        catch (final Exception e)
-        {
-            e.printStackTrace();
-        }
+        defaultChannel.close();
 
-        try
-        {
-            sendBuffer.close();
-        }
-        catch (final Exception e)
+        for (ClientChannel channel : additionalChannels)
         {
-            e.printStackTrace();
+            channel.close();
         }
-
-        transportActorScheduler.close();
     }
 
     @Override
@@ -279,4 +273,86 @@ public class ZeebeClientImpl implements ZeebeClient
     {
         return msgPackConverter;
     }
+
+    /**
+     * Creates a transport with its own buffers and I/O thread. The resources are
+     * named with the given suffix.
+     */
+    protected static ClientChannel createChannel(
+            String nameSuffix,
+            ClientTransportFactory transportFactory,
+            Properties properties,
+            int sendBufferSize,
+            int maxRequests)
+    {
+        final ActorScheduler actorScheduler = ActorSchedulerBuilder.createDefaultScheduler("transport" + nameSuffix);
+
+        final Dispatcher receiveBuffer = Dispatchers.create("receive-buffer" + nameSuffix)
+            .bufferSize(1024 * 1024 * sendBufferSize)
+            .modePubSub()
+            .frameMaxLength(1024 * 1024)
+            .actorScheduler(actorScheduler)
+            .build();
+        final Dispatcher sendBuffer = Dispatchers.create("send-buffer" + nameSuffix)
+            .actorScheduler(actorScheduler)
+            .bufferSize(1024 * 1024 * sendBufferSize)
+            .subscriptions(ClientTransportBuilder.SEND_BUFFER_SUBSCRIPTION_NAME)
+//                .countersManager(countersManager) // TODO: counters manager
+            .build();
+
+        final ClientTransport transport = transportFactory.createTransport(properties, actorScheduler, receiveBuffer, sendBuffer, maxRequests + 16);
+
+        return new ClientChannel(actorScheduler, receiveBuffer, sendBuffer, transport);
+    }
+
+    /**
+     * A transport with its own buffers and I/O thread.
+     */
+    protected static class ClientChannel
+    {
+        protected final ActorScheduler actorScheduler;
+        protected final Dispatcher receiveBuffer;
+        protected final Dispatcher sendBuffer;
+        protected final ClientTransport transport;
+
+        ClientChannel(ActorScheduler actorScheduler, Dispatcher receiveBuffer, Dispatcher sendBuffer, ClientTransport transport)
+        {
+            this.actorScheduler = actorScheduler;
+            this.receiveBuffer = receiveBuffer;
+            this.sendBuffer = sendBuffer;
+            this.transport = transport;
+        }
+
+        protected void close()
+        {
+            try
+            {
+                transport.close();
+            }
+            catch (final Exception e)
+            {
+                e.printStackTrace();
+            }
+
+            try
+            {
+                receiveBuffer.close();
+            }
+            catch (final Exception e)
+            {
+                e.printStackTrace();
+            }
+
+            try
+            {
+                sendBuffer.close();
+            }
+            catch (final Exception e)
+            {
+                e.printStackTrace();
+            }
+
+            actorScheduler.close();
+        }
+    }
 }
@@ -15,7 +15,7 @@
  */
 package io.zeebe.client.impl.cmd;
 
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
 import io.zeebe.client.cmd.Request;
 import io.zeebe.client.event.Event;
@@ -39,11 +39,22 @@ public abstract class CommandImpl<E extends Event> implements Request<E>
     }
 
     @Override
-    public Future<E> executeAsync()
+    public CompletableFuture<E> executeAsync()
     {
         return client.executeAsync(this);
     }
 
+    /**
+     * Like {@link #executeAsync()} but never waits for a free request.
+     *
+     * @throws io.zeebe.client.cmd.RequestBackpressureException
+     *             if the maximum count of concurrent requests is reached
+     */
+    public CompletableFuture<E> tryExecuteAsync()
+    {
+        return client.executeAsync(this, 0);
+    }
+
     public String generateError(E requestEvent, E responseEvent)
     {
         final long requestEventKey = requestEvent.getMetadata().getKey();
@@ -66,5 +77,13 @@ public abstract class CommandImpl<E extends Event> implements Request<E>
 
     public abstract EventImpl getEvent();
 
+    /**
+     * @return the key which determines the partition if the command has no partition, or null
+     */
+    public String getCorrelationKey()
+    {
+        return null;
+    }
+
     public abstract String getExpectedStatus();
 }
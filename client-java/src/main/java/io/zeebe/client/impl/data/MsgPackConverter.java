@@ -29,7 +29,9 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 
 public class MsgPackConverter
@@ -37,11 +39,24 @@ public class MsgPackConverter
     protected static final JsonEncoding JSON_ENCODING = JsonEncoding.UTF8;
     protected static final Charset JSON_CHARSET = StandardCharsets.UTF_8;
 
-    protected final JsonFactory msgPackFactory = new MessagePackFactory()
-            .setReuseResourceInGenerator(false)
-            .setReuseResourceInParser(false);
+    protected static final int INITIAL_BUFFER_SIZE = 1024;
+
     protected final JsonFactory jsonFactory = new MappingJsonFactory();
 
+    // the msgpack generator reuses its output buffer which must not be shared between threads
+    protected final ThreadLocal<ObjectMapper> msgPackObjectMapper = ThreadLocal.withInitial(() ->
+    {
+        final MessagePackFactory msgPackFactory = new MessagePackFactory()
+                .setReuseResourceInGenerator(true)
+                .setReuseResourceInParser(true);
+
+        final ObjectMapper objectMapper = new ObjectMapper(msgPackFactory);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return objectMapper;
+    });
+
+    protected final ThreadLocal<ReusableOutputStream> outputStream = ThreadLocal.withInitial(ReusableOutputStream::new);
+
     public byte[] convertToMsgPack(String json)
     {
         final byte[] jsonBytes = getBytes(json, JSON_CHARSET);
@@ -51,9 +66,12 @@ public class MsgPackConverter
 
     public byte[] convertToMsgPack(final InputStream inputStream)
     {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream())
+        final ReusableOutputStream outputStream = this.outputStream.get();
+        outputStream.reset();
+
+        try
         {
-            convert(inputStream, outputStream, jsonFactory, msgPackFactory);
+            convert(inputStream, outputStream, jsonFactory, msgPackObjectMapper.get().getFactory());
 
             return outputStream.toByteArray();
         }
@@ -63,28 +81,77 @@ public class MsgPackConverter
         }
     }
 
+    /**
+     * Serializes the given object (e.g. a POJO or a map) directly to MessagePack,
+     * without an intermediate JSON document.
+     */
+    public byte[] convertToMsgPack(Object value)
+    {
+        final ReusableOutputStream outputStream = this.outputStream.get();
+        outputStream.reset();
+
+        try
+        {
+            msgPackObjectMapper.get().writeValue(outputStream, value);
+
+            return outputStream.toByteArray();
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException("Failed to convert object to MessagePack", e);
+        }
+    }
+
+    /**
+     * Deserializes the given MessagePack document directly to an object of the given type,
+     * without an intermediate JSON document.
+     */
+    public <T> T convertFromMsgPack(byte[] msgPack, Class<T> type)
+    {
+        return convertFromMsgPack(msgPack, 0, msgPack.length, type);
+    }
+
+    public <T> T convertFromMsgPack(byte[] msgPack, int offset, int length, Class<T> type)
+    {
+        try
+        {
+            return msgPackObjectMapper.get().readValue(msgPack, offset, length, type);
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException("Failed to convert MessagePack to object of type " + type.getName(), e);
+        }
+    }
+
     public String convertToJson(byte[] msgPack)
     {
-        final byte[] jsonBytes = convertToJsonBytes(msgPack);
-        return new String(jsonBytes, JSON_CHARSET);
+        return convertToJson(msgPack, 0, msgPack.length);
+    }
+
+    public String convertToJson(byte[] msgPack, int offset, int length)
+    {
+        final ReusableOutputStream outputStream = convertToJsonBytes(msgPack, offset, length);
+        return new String(outputStream.getBuffer(), 0, outputStream.size(), JSON_CHARSET);
     }
 
     public InputStream convertToJsonInputStream(byte[] msgPack)
     {
-        final byte[] jsonBytes = convertToJsonBytes(msgPack);
+        final byte[] jsonBytes = convertToJsonBytes(msgPack, 0, msgPack.length).toByteArray();
         return new ByteArrayInputStream(jsonBytes);
     }
 
-    protected byte[] convertToJsonBytes(byte[] msgPack)
+    protected ReusableOutputStream convertToJsonBytes(byte[] msgPack, int offset, int length)
     {
-        final InputStream inputStream = new ByteArrayInputStream(msgPack);
+        final InputStream inputStream = new ByteArrayInputStream(msgPack, offset, length);
+
+        final ReusableOutputStream outputStream = this.outputStream.get();
+        outputStream.reset();
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream())
+        try
         {
-            convert(inputStream, outputStream, msgPackFactory, jsonFactory);
+            convert(inputStream, outputStream, msgPackObjectMapper.get().getFactory(), jsonFactory);
 
-            final byte[] jsonBytes = outputStream.toByteArray();
-            return jsonBytes;
+            return outputStream;
         }
         catch (Exception e)
         {
@@ -112,4 +179,21 @@ public class MsgPackConverter
         generator.flush();
     }
 
+    /**
+     * Output stream which keeps its buffer on reset, so that a thread allocates
+     * only the resulting byte arrays.
+     */
+    protected static class ReusableOutputStream extends ByteArrayOutputStream
+    {
+        ReusableOutputStream()
+        {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        byte[] getBuffer()
+        {
+            return buf;
+        }
+    }
+
 }
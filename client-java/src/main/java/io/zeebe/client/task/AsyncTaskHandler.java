@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.task;
+
+import java.util.concurrent.CompletionStage;
+
+import io.zeebe.client.TasksClient;
+import io.zeebe.client.event.TaskEvent;
+
+/**
+ * Handles tasks asynchronously, e.g. by non-blocking I/O. The handler starts the work and
+ * returns a stage which is completed with the {@link TaskResult} when the work is done.
+ * Then, the client completes or fails the task according to the result. If the stage
+ * completes exceptionally, the task is failed and its retries are decremented.
+ *
+ * <p>Implementations MUST be thread-safe and should not block.
+ */
+@FunctionalInterface
+public interface AsyncTaskHandler
+{
+
+    /**
+     * <p>Starts handling a task.
+     *
+     * @return a stage which is completed when the task is handled. If it is completed with
+     *  <code>null</code>, the client neither completes nor fails the task.
+     */
+    CompletionStage<TaskResult> handle(TasksClient client, TaskEvent task);
+
+}
@@ -51,6 +51,17 @@ public interface PollableTaskSubscriptionBuilder
      */
     PollableTaskSubscriptionBuilder lockOwner(String lockOwner);
 
+    /**
+     * Restricts the payload of the subscribed tasks to the given JSON paths (e.g. <code>$.orderId</code>).
+     * The payload is projected by the broker, so that only the requested values are transferred
+     * to this client. When a task is completed, the payload of the completion is merged back into
+     * the complete payload of the task, i.e. the worker can only change the projected values.
+     * By default, the complete payload is received.
+     *
+     * @param jsonPaths the JSON paths of the payload to receive
+     */
+    PollableTaskSubscriptionBuilder payloadProjection(String... jsonPaths);
+
     /**
      * Sets the number of tasks which will be locked at the same time.
      *
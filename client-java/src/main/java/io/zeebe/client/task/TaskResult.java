@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.task;
+
+/**
+ * The result of an {@link AsyncTaskHandler}, i.e. whether the task is completed or failed.
+ */
+public final class TaskResult
+{
+    public enum Type
+    {
+        COMPLETE,
+        COMPLETE_WITHOUT_PAYLOAD,
+        FAIL
+    }
+
+    protected static final int DECREMENT_RETRIES = -1;
+
+    protected final Type type;
+    protected final String payload;
+    protected final int retries;
+
+    private TaskResult(Type type, String payload, int retries)
+    {
+        this.type = type;
+        this.payload = payload;
+        this.retries = retries;
+    }
+
+    /**
+     * Completes the task with the payload it was received with.
+     */
+    public static TaskResult complete()
+    {
+        return new TaskResult(Type.COMPLETE, null, DECREMENT_RETRIES);
+    }
+
+    /**
+     * Completes the task with the given payload.
+     *
+     * @param payload the payload as JSON string
+     */
+    public static TaskResult complete(String payload)
+    {
+        return new TaskResult(Type.COMPLETE, payload, DECREMENT_RETRIES);
+    }
+
+    /**
+     * Completes the task without submitting payload.
+     *
+     * @see io.zeebe.client.task.cmd.CompleteTaskCommand#withoutPayload()
+     */
+    public static TaskResult completeWithoutPayload()
+    {
+        return new TaskResult(Type.COMPLETE_WITHOUT_PAYLOAD, null, DECREMENT_RETRIES);
+    }
+
+    /**
+     * Fails the task and decrements its retries.
+     */
+    public static TaskResult fail()
+    {
+        return new TaskResult(Type.FAIL, null, DECREMENT_RETRIES);
+    }
+
+    /**
+     * Fails the task and sets its remaining retries.
+     */
+    public static TaskResult fail(int remainingRetries)
+    {
+        return new TaskResult(Type.FAIL, null, remainingRetries);
+    }
+
+    public Type getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return the payload to complete the task with, or <code>null</code> to keep the payload of the task
+     */
+    public String getPayload()
+    {
+        return payload;
+    }
+
+    /**
+     * @return the remaining retries of a failed task, or a negative value to decrement the retries
+     */
+    public int getRetries()
+    {
+        return retries;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TaskResult [type=" + type + ", payload=" + payload + ", retries=" + retries + "]";
+    }
+}
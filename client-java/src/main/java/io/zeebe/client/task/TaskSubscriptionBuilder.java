@@ -51,6 +51,17 @@ public interface TaskSubscriptionBuilder
      */
     TaskSubscriptionBuilder lockOwner(String lockOwner);
 
+    /**
+     * Restricts the payload of the subscribed tasks to the given JSON paths (e.g. <code>$.orderId</code>).
+     * The payload is projected by the broker, so that only the requested values are transferred
+     * to this client. When a task is completed, the payload of the completion is merged back into
+     * the complete payload of the task, i.e. the worker can only change the projected values.
+     * By default, the complete payload is received.
+     *
+     * @param jsonPaths the JSON paths of the payload to receive
+     */
+    TaskSubscriptionBuilder payloadProjection(String... jsonPaths);
+
     /**
      * Sets the number of tasks which will be locked at the same time.
      *
@@ -64,6 +75,23 @@ public interface TaskSubscriptionBuilder
      */
     TaskSubscriptionBuilder handler(TaskHandler handler);
 
+    /**
+     * Sets the {@link AsyncTaskHandler} that is going to receive callbacks for tasks
+     * that fulfill this subscription. In contrast to a {@link TaskHandler}, the handler
+     * returns immediately and the result of the task is reported to the broker when the
+     * returned stage completes. Can not be combined with {@link #handler(TaskHandler)}.
+     */
+    TaskSubscriptionBuilder asyncHandler(AsyncTaskHandler handler);
+
+    /**
+     * Sets the maximum number of tasks which are handled by the {@link AsyncTaskHandler}
+     * at the same time. Further tasks are buffered until a handled task is finished.
+     * Defaults to the task fetch size. Has no effect on a synchronous {@link TaskHandler}.
+     *
+     * @param maxConcurrency the maximum number of tasks in flight
+     */
+    TaskSubscriptionBuilder maxConcurrency(int maxConcurrency);
+
     /**
      * TEMPORARY: Defines the partition to subscribe to.
      * If no partition id is set, opens a subscription to the single existing partition. An exception
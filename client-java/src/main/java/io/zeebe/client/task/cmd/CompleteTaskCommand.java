@@ -33,6 +33,12 @@ public interface CompleteTaskCommand extends Request<TaskEvent>
      */
     CompleteTaskCommand payload(String payload);
 
+    /**
+     * Set the payload of the command as object (e.g. a POJO or a {@link java.util.Map}).
+     * The object is serialized directly to MessagePack, i.e. without creating a JSON document first.
+     */
+    CompleteTaskCommand payloadObject(Object payload);
+
     /**
      * <p>Complete the task without submitting payload.
      *
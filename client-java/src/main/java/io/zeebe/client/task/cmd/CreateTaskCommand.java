@@ -50,4 +50,11 @@ public interface CreateTaskCommand extends Request<TaskEvent>
      */
     CreateTaskCommand payload(String payload);
 
+    /**
+     * Sets a key (e.g. a business key) which determines the partition of the task.
+     * Tasks with the same key are created on the same partition, as long as the
+     * partitions of the topic do not change. By default, the tasks are distributed over all partitions.
+     */
+    CreateTaskCommand correlationKey(String correlationKey);
+
 }
\ No newline at end of file
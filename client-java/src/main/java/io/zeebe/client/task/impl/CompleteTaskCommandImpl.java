@@ -29,11 +29,11 @@ public class CompleteTaskCommandImpl extends CommandImpl<TaskEvent> implements C
 {
     protected final TaskEventImpl taskEvent;
 
-    public CompleteTaskCommandImpl(RequestManager client, TaskEventImpl baseEvent)
+    public CompleteTaskCommandImpl(RequestManager client, TaskEvent baseEvent)
     {
         super(client);
         EnsureUtil.ensureNotNull("base event", baseEvent);
-        this.taskEvent = new TaskEventImpl(baseEvent, TaskEventType.COMPLETE.name());
+        this.taskEvent = TaskEventImpl.copyOf(baseEvent, TaskEventType.COMPLETE.name());
     }
 
     @Override
@@ -62,6 +62,13 @@ public class CompleteTaskCommandImpl extends CommandImpl<TaskEvent> implements C
         return this;
     }
 
+    @Override
+    public CompleteTaskCommand payloadObject(Object payload)
+    {
+        taskEvent.setPayloadObject(payload);
+        return this;
+    }
+
     @Override
     public CompleteTaskCommand withoutPayload()
     {
@@ -29,6 +29,7 @@ import io.zeebe.util.EnsureUtil;
 public class CreateTaskCommandImpl extends CommandImpl<TaskEvent> implements CreateTaskCommand
 {
     protected final TaskEventImpl taskEvent;
+    protected String correlationKey;
 
     public CreateTaskCommandImpl(RequestManager client, MsgPackConverter converter, String topic, String type)
     {
@@ -91,4 +92,17 @@ public class CreateTaskCommandImpl extends CommandImpl<TaskEvent> implements Cre
     {
         return TaskEventType.CREATED.name();
     }
+
+    @Override
+    public CreateTaskCommand correlationKey(String correlationKey)
+    {
+        this.correlationKey = correlationKey;
+        return this;
+    }
+
+    @Override
+    public String getCorrelationKey()
+    {
+        return correlationKey;
+    }
 }
@@ -42,6 +42,12 @@ public class CreateTaskSubscriptionCommandImpl extends ControlMessageRequest<Tas
         return this;
     }
 
+    public CreateTaskSubscriptionCommandImpl payloadProjection(final String payloadProjection)
+    {
+        this.subscription.setPayloadProjection(payloadProjection);
+        return this;
+    }
+
     public CreateTaskSubscriptionCommandImpl initialCredits(final int initialCredits)
     {
         this.subscription.setCredits(initialCredits);
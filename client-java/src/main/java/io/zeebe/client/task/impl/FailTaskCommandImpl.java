@@ -32,7 +32,7 @@ public class FailTaskCommandImpl extends CommandImpl<TaskEvent> implements FailT
     {
         super(client);
         EnsureUtil.ensureNotNull("base event", baseEvent);
-        this.taskEvent = new TaskEventImpl((TaskEventImpl) baseEvent, TaskEventType.FAIL.name());
+        this.taskEvent = TaskEventImpl.copyOf(baseEvent, TaskEventType.FAIL.name());
     }
 
     @Override
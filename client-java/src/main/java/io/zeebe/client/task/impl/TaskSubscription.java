@@ -30,6 +30,7 @@ public class TaskSubscription implements EventSubscriptionCreationResult, Receiv
     private long lockDuration;
     private String lockOwner;
     private int credits;
+    private String payloadProjection;
 
     protected RemoteAddress receiver;
     protected int partitionId;
@@ -84,6 +85,16 @@ public class TaskSubscription implements EventSubscriptionCreationResult, Receiv
         this.lockOwner = lockOwner;
     }
 
+    public String getPayloadProjection()
+    {
+        return payloadProjection;
+    }
+
+    public void setPayloadProjection(final String payloadProjection)
+    {
+        this.payloadProjection = payloadProjection;
+    }
+
     @Override
     public void setReceiver(RemoteAddress receiver)
     {
@@ -32,7 +32,7 @@ public class UpdateRetriesCommandImpl extends CommandImpl<TaskEvent> implements
     {
         super(client);
         EnsureUtil.ensureNotNull("base event", baseEvent);
-        this.taskEvent = new TaskEventImpl((TaskEventImpl) baseEvent, TaskEventType.UPDATE_RETRIES.name());
+        this.taskEvent = TaskEventImpl.copyOf(baseEvent, TaskEventType.UPDATE_RETRIES.name());
     }
 
     @Override
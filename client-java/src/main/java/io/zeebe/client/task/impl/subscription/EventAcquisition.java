@@ -32,12 +32,24 @@ public class EventAcquisition<T extends EventSubscription<T>> implements Subscri
 
     protected final String name;
     protected final EventSubscriptions<T> subscriptions;
+    protected final ReplenishmentPolicy replenishmentPolicy;
     protected DeferredCommandContext asyncContext = new DeferredCommandContext();
 
     public EventAcquisition(String name, EventSubscriptions<T> subscriptions)
+    {
+        this(name, subscriptions, new ReplenishmentPolicy(ReplenishmentPolicy.DEFAULT_THRESHOLD, ReplenishmentPolicy.DEFAULT_INTERVAL_MILLIS));
+    }
+
+    public EventAcquisition(String name, EventSubscriptions<T> subscriptions, ReplenishmentPolicy replenishmentPolicy)
     {
         this.name = name;
         this.subscriptions = subscriptions;
+        this.replenishmentPolicy = replenishmentPolicy;
+    }
+
+    public ReplenishmentPolicy getReplenishmentPolicy()
+    {
+        return replenishmentPolicy;
     }
 
     @Override
@@ -31,14 +31,12 @@ import io.zeebe.util.state.State;
 import io.zeebe.util.state.StateMachine;
 import io.zeebe.util.state.StateMachineAgent;
 import io.zeebe.util.state.WaitState;
+import io.zeebe.util.time.ClockUtil;
 
 public abstract class EventSubscription<T extends EventSubscription<T>>
 {
     protected static final Logger LOGGER = Loggers.SUBSCRIPTION_LOGGER;
 
-    // TODO: could become configurable in the future
-    protected static final double REPLENISHMENT_THRESHOLD = 0.3d;
-
     protected static final int TRANSITION_DEFAULT = 0;
     protected static final int TRANSITION_OPEN = 1;
     protected static final int TRANSITION_REOPEN = 2;
@@ -87,6 +85,9 @@ public abstract class EventSubscription<T extends EventSubscription<T>>
 
     protected final AtomicInteger eventsInProcessing = new AtomicInteger(0);
     protected final AtomicInteger eventsProcessedSinceLastReplenishment = new AtomicInteger(0);
+    protected long lastReplenishmentTime = 0L;
+
+    protected final ThroughputEstimator throughput = new ThroughputEstimator();
 
     protected CompletableFuture<T> openFuture;
     protected CompletableFuture<T> closeFuture;
@@ -159,6 +160,13 @@ public abstract class EventSubscription<T extends EventSubscription<T>>
                 openFuture = null;
             }
 
+            if (isEventSourceOutdated())
+            {
+                // the partition leader has changed; resubscribe at the new leader
+                context.take(TRANSITION_REOPEN);
+                return 1;
+            }
+
             final boolean replenished = replenishEventSource();
 
             if (replenished)
@@ -344,19 +352,38 @@ public abstract class EventSubscription<T extends EventSubscription<T>>
     public boolean replenishEventSource()
     {
         final int eventsProcessed = eventsProcessedSinceLastReplenishment.get();
-        final int remainingCapacity = capacity - eventsProcessed;
+        final long now = ClockUtil.getCurrentTimeInMillis();
 
-        final boolean requestReplenishment = remainingCapacity < capacity * REPLENISHMENT_THRESHOLD;
+        final boolean requestReplenishment = acquisition.getReplenishmentPolicy()
+                .shouldReplenish(getEventSourceCapacity(), eventsProcessed, lastReplenishmentTime, now);
 
         if (requestReplenishment)
         {
             requestEventSourceReplenishment(eventsProcessed);
             eventsProcessedSinceLastReplenishment.addAndGet(-eventsProcessed);
+            lastReplenishmentTime = now;
         }
 
         return requestReplenishment;
     }
 
+    /**
+     * @return true if events are no longer published by the current event source,
+     *   e.g. because another broker became leader of the partition
+     */
+    protected boolean isEventSourceOutdated()
+    {
+        return false;
+    }
+
+    /**
+     * @return the number of events the event source publishes without replenishment
+     */
+    protected int getEventSourceCapacity()
+    {
+        return capacity;
+    }
+
     public long getSubscriberKey()
     {
         return subscriberKey;
@@ -396,7 +423,17 @@ public abstract class EventSubscription<T extends EventSubscription<T>>
 
     protected int pollEvents(CheckedConsumer<GeneralEventImpl> pollHandler)
     {
-        final int currentlyAvailableEvents = size();
+        return pollEvents(pollHandler, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * @param maxEvents the max number of events to hand to the handler
+     * @param handlesAsynchronously if true, the handler only starts handling the event and must
+     *   call {@link #onEventHandledAsynchronously(long)} when it is done
+     */
+    protected int pollEvents(CheckedConsumer<GeneralEventImpl> pollHandler, int maxEvents, boolean handlesAsynchronously)
+    {
+        final int currentlyAvailableEvents = Math.min(size(), maxEvents);
         int handledEvents = 0;
 
         GeneralEventImpl event;
@@ -426,6 +463,8 @@ public abstract class EventSubscription<T extends EventSubscription<T>>
                 handledEvents++;
                 logHandling(event);
 
+                final long handlingStart = System.nanoTime();
+
                 try
                 {
                     pollHandler.accept(event);
@@ -434,17 +473,38 @@ public abstract class EventSubscription<T extends EventSubscription<T>>
                 {
                     onUnhandledEventHandlingException(event, e);
                 }
+
+                if (!handlesAsynchronously)
+                {
+                    throughput.recordServiceTime(System.nanoTime() - handlingStart);
+                }
             }
             finally
             {
                 eventsInProcessing.decrementAndGet();
-                eventsProcessedSinceLastReplenishment.incrementAndGet();
+
+                if (!handlesAsynchronously)
+                {
+                    eventsProcessedSinceLastReplenishment.incrementAndGet();
+                }
             }
         }
 
         return handledEvents;
     }
 
+    /**
+     * Must be called once for each event which was handed to an asynchronous handler
+     * and is handled now.
+     *
+     * @param serviceTimeNanos the time the handler spent for the event
+     */
+    protected void onEventHandledAsynchronously(long serviceTimeNanos)
+    {
+        throughput.recordServiceTime(serviceTimeNanos);
+        eventsProcessedSinceLastReplenishment.incrementAndGet();
+    }
+
     protected void logHandling(GeneralEventImpl event)
     {
         try
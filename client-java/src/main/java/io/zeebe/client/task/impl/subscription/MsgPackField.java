@@ -16,9 +16,15 @@
 package io.zeebe.client.task.impl.subscription;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import io.zeebe.client.impl.data.MsgPackConverter;
 
+/**
+ * A document which is kept as MessagePack. The JSON representation is only
+ * created on request, so that consumers of typed objects or of the raw
+ * MessagePack do not pay for it.
+ */
 public class MsgPackField
 {
     protected final MsgPackConverter msgPackConverter;
@@ -39,11 +45,48 @@ public class MsgPackField
     }
 
 
+    public MsgPackConverter getMsgPackConverter()
+    {
+        return msgPackConverter;
+    }
+
     public String getAsJson()
     {
+        if (json == null && msgPack != null)
+        {
+            json = msgPackConverter.convertToJson(msgPack);
+        }
+
         return json;
     }
 
+    public <T> T getAs(Class<T> type)
+    {
+        if (msgPack != null)
+        {
+            return msgPackConverter.convertFromMsgPack(msgPack, type);
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    /**
+     * @return a read-only view of the MessagePack document, or <code>null</code> if not set
+     */
+    public ByteBuffer getAsMsgPackBuffer()
+    {
+        if (msgPack != null)
+        {
+            return ByteBuffer.wrap(msgPack).asReadOnlyBuffer();
+        }
+        else
+        {
+            return null;
+        }
+    }
+
     public void setJson(String json)
     {
         this.json = json;
@@ -69,19 +112,24 @@ public class MsgPackField
         }
     }
 
-    public void setMsgPack(byte[] msgPack)
+    public void setObject(Object value)
     {
-        this.msgPack = msgPack;
-        if (msgPack != null)
+        if (value != null)
         {
-            this.json = this.msgPackConverter.convertToJson(msgPack);
+            setMsgPack(this.msgPackConverter.convertToMsgPack(value));
         }
         else
         {
-            this.json = null;
+            setMsgPack(null);
         }
     }
 
+    public void setMsgPack(byte[] msgPack)
+    {
+        this.msgPack = msgPack;
+        this.json = null;
+    }
+
     public byte[] getMsgPack()
     {
         return msgPack;
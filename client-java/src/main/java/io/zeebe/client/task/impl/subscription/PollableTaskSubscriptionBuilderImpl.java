@@ -31,6 +31,7 @@ public class PollableTaskSubscriptionBuilderImpl implements PollableTaskSubscrip
     protected String taskType;
     protected long lockTime = Duration.ofMinutes(1).toMillis();
     protected String lockOwner;
+    protected String payloadProjection;
 
     protected final String topic;
     protected int partition;
@@ -88,6 +89,14 @@ public class PollableTaskSubscriptionBuilderImpl implements PollableTaskSubscrip
         return this;
     }
 
+    @Override
+    public PollableTaskSubscriptionBuilder payloadProjection(String... jsonPaths)
+    {
+        EnsureUtil.ensureNotNull("jsonPaths", jsonPaths);
+        this.payloadProjection = jsonPaths.length > 0 ? String.join(TaskSubscriptionImpl.PAYLOAD_PROJECTION_SEPARATOR, jsonPaths) : null;
+        return this;
+    }
+
     @Override
     public PollableTaskSubscriptionBuilderImpl taskFetchSize(int numTasks)
     {
@@ -111,6 +120,7 @@ public class PollableTaskSubscriptionBuilderImpl implements PollableTaskSubscrip
                 taskType,
                 lockTime,
                 lockOwner,
+                payloadProjection,
                 taskFetchSize,
                 msgPackMapper,
                 taskAcquisition);
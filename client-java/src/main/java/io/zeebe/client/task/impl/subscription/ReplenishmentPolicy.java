@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.task.impl.subscription;
+
+/**
+ * Decides when a subscription replenishes its event source, i.e. sends credits
+ * (task subscriptions) or acknowledges the processed events (topic subscriptions).
+ * Replenishing is coalesced by count and time: the event source is replenished
+ * once the remaining capacity falls below the threshold, but at most once per interval
+ * unless the capacity is used up completely.
+ */
+public class ReplenishmentPolicy
+{
+    public static final double DEFAULT_THRESHOLD = 0.3d;
+    public static final long DEFAULT_INTERVAL_MILLIS = 10L;
+
+    protected final double threshold;
+    protected final long intervalMillis;
+
+    /**
+     * @param threshold fraction of the subscription's capacity; the event source is replenished
+     *   when fewer events than that can still be received
+     * @param intervalMillis minimum time between two replenishments of a subscription
+     */
+    public ReplenishmentPolicy(double threshold, long intervalMillis)
+    {
+        if (threshold <= 0 || threshold > 1)
+        {
+            throw new IllegalArgumentException("Replenishment threshold must be greater than 0 and at most 1. Was: " + threshold);
+        }
+        if (intervalMillis < 0)
+        {
+            throw new IllegalArgumentException("Replenishment interval must not be negative. Was: " + intervalMillis);
+        }
+
+        this.threshold = threshold;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public boolean shouldReplenish(int capacity, int eventsProcessed, long lastReplenishmentMillis, long nowMillis)
+    {
+        if (eventsProcessed <= 0)
+        {
+            return false;
+        }
+
+        final int remainingCapacity = capacity - eventsProcessed;
+
+        if (remainingCapacity <= 0)
+        {
+            // the event source cannot publish any more events; do not delay
+            return true;
+        }
+        else
+        {
+            return remainingCapacity < capacity * threshold && isIntervalElapsed(lastReplenishmentMillis, nowMillis);
+        }
+    }
+
+    public boolean isIntervalElapsed(long lastReplenishmentMillis, long nowMillis)
+    {
+        return nowMillis - lastReplenishmentMillis >= intervalMillis;
+    }
+
+    public double getThreshold()
+    {
+        return threshold;
+    }
+
+    public long getIntervalMillis()
+    {
+        return intervalMillis;
+    }
+}
@@ -60,14 +60,15 @@ public class SubscriptionManager implements TransportListener, Actor
     public SubscriptionManager(
             ZeebeClientImpl client,
             int numExecutionThreads,
-            int topicSubscriptionPrefetchCapacity)
+            int topicSubscriptionPrefetchCapacity,
+            ReplenishmentPolicy replenishmentPolicy)
     {
         this.taskSubscriptions = new EventSubscriptions<>();
         this.topicSubscriptions = new EventSubscriptions<>();
 
 
-        this.taskAcquisition = new EventAcquisition<>("task-acquisition", taskSubscriptions);
-        this.topicSubscriptionAcquisition = new EventAcquisition<>("topic-event-acquisition", topicSubscriptions);
+        this.taskAcquisition = new EventAcquisition<>("task-acquisition", taskSubscriptions, replenishmentPolicy);
+        this.topicSubscriptionAcquisition = new EventAcquisition<>("topic-event-acquisition", topicSubscriptions, replenishmentPolicy);
 
         final SubscribedEventCollector taskCollector = new SubscribedEventCollector(
                 taskAcquisition,
@@ -162,6 +163,11 @@ public class SubscriptionManager implements TransportListener, Actor
         return new TaskSubscriptionBuilderImpl(client, topologyManager, topic, taskAcquisition, msgPackMapper);
     }
 
+    public TaskSubscriptionBuilder newTopicTaskSubscription(TasksClientImpl client, String topic)
+    {
+        return new TaskSubscriptionBuilderImpl(client, topologyManager, topic, taskAcquisition, msgPackMapper).allPartitions();
+    }
+
     public PollableTaskSubscriptionBuilder newPollableTaskSubscription(TasksClientImpl client, String topic)
     {
         return new PollableTaskSubscriptionBuilderImpl(client, topologyManager, topic, taskAcquisition, msgPackMapper);
@@ -16,11 +16,16 @@
 package io.zeebe.client.task.impl.subscription;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import io.zeebe.client.clustering.impl.ClientTopologyManager;
 import io.zeebe.client.impl.TasksClientImpl;
 import io.zeebe.client.impl.data.MsgPackMapper;
+import io.zeebe.client.task.AsyncTaskHandler;
 import io.zeebe.client.task.TaskHandler;
+import io.zeebe.client.task.TaskSubscription;
 import io.zeebe.client.task.TaskSubscriptionBuilder;
 import io.zeebe.util.EnsureUtil;
 
@@ -31,8 +36,11 @@ public class TaskSubscriptionBuilderImpl implements TaskSubscriptionBuilder
     protected String taskType;
     protected long lockTime = -1L;
     protected String lockOwner;
+    protected String payloadProjection;
     protected TaskHandler taskHandler;
+    protected AsyncTaskHandler asyncTaskHandler;
     protected int taskFetchSize = DEFAULT_TASK_FETCH_SIZE;
+    protected int maxConcurrency = -1;
 
     protected final TasksClientImpl client;
     protected final EventAcquisition<TaskSubscriptionImpl> taskAcquisition;
@@ -40,6 +48,7 @@ public class TaskSubscriptionBuilderImpl implements TaskSubscriptionBuilder
     protected final String topic;
     protected final ClientTopologyManager topologyManager;
     protected int partition;
+    protected boolean allPartitions;
 
     public TaskSubscriptionBuilderImpl(
             TasksClientImpl client,
@@ -56,6 +65,15 @@ public class TaskSubscriptionBuilderImpl implements TaskSubscriptionBuilder
         this.topologyManager = topologyManager;
     }
 
+    /**
+     * Opens the subscription on all partitions of the topic. An explicitly set partition id takes precedence.
+     */
+    public TaskSubscriptionBuilderImpl allPartitions()
+    {
+        this.allPartitions = true;
+        return this;
+    }
+
     @Override
     public TaskSubscriptionBuilder partitionId(int partition)
     {
@@ -90,6 +108,20 @@ public class TaskSubscriptionBuilderImpl implements TaskSubscriptionBuilder
         return this;
     }
 
+    @Override
+    public TaskSubscriptionBuilder asyncHandler(AsyncTaskHandler handler)
+    {
+        this.asyncTaskHandler = handler;
+        return this;
+    }
+
+    @Override
+    public TaskSubscriptionBuilder maxConcurrency(int maxConcurrency)
+    {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
     @Override
     public TaskSubscriptionBuilder taskFetchSize(int numTasks)
     {
@@ -105,25 +137,56 @@ public class TaskSubscriptionBuilderImpl implements TaskSubscriptionBuilder
     }
 
     @Override
-    public TaskSubscriptionImpl open()
+    public TaskSubscriptionBuilder payloadProjection(String... jsonPaths)
+    {
+        EnsureUtil.ensureNotNull("jsonPaths", jsonPaths);
+        this.payloadProjection = jsonPaths.length > 0 ? String.join(TaskSubscriptionImpl.PAYLOAD_PROJECTION_SEPARATOR, jsonPaths) : null;
+        return this;
+    }
+
+    @Override
+    public TaskSubscription open()
     {
-        EnsureUtil.ensureNotNull("taskHandler", taskHandler);
+        if (asyncTaskHandler == null)
+        {
+            EnsureUtil.ensureNotNull("taskHandler", taskHandler);
+        }
+        else if (taskHandler != null)
+        {
+            throw new IllegalArgumentException("Either taskHandler or asyncTaskHandler must be set, not both");
+        }
         EnsureUtil.ensureNotNullOrEmpty("lockOwner", lockOwner);
         EnsureUtil.ensureNotNullOrEmpty("taskType", taskType);
         EnsureUtil.ensureGreaterThan("lockTime", lockTime, 0L);
         EnsureUtil.ensureGreaterThan("taskFetchSize", taskFetchSize, 0);
 
+        if (maxConcurrency < 0)
+        {
+            maxConcurrency = taskFetchSize;
+        }
+        EnsureUtil.ensureGreaterThan("maxConcurrency", maxConcurrency, 0);
+
+        if (allPartitions && partition < 0)
+        {
+            return openOnAllPartitions();
+        }
+
         final TaskSubscriptionImpl subscription = new TaskSubscriptionImpl(
                 client,
                 topic,
                 partition,
                 taskHandler,
+                asyncTaskHandler,
+                maxConcurrency,
                 taskType,
                 lockTime,
                 lockOwner,
+                payloadProjection,
                 taskFetchSize,
                 msgPackMapper,
-                taskAcquisition);
+                taskAcquisition,
+                null,
+                null);
 
         taskAcquisition.registerSubscriptionAsync(subscription);
 
@@ -132,4 +195,79 @@ public class TaskSubscriptionBuilderImpl implements TaskSubscriptionBuilder
         return subscription;
     }
 
+    protected TopicTaskSubscriptionImpl openOnAllPartitions()
+    {
+        final List<Integer> partitions = getPartitionsOfTopic();
+
+        // the handler capacity is shared by all partitions but each partition needs at least one credit
+        final TaskSubscriptionCredits credits = new TaskSubscriptionCredits(Math.max(taskFetchSize, partitions.size()), partitions.size());
+
+        final List<TaskSubscriptionImpl> subscriptions = new ArrayList<>(partitions.size());
+        final CompletableFuture<?>[] openFutures = new CompletableFuture[partitions.size()];
+
+        for (int i = 0; i < partitions.size(); i++)
+        {
+            final TaskSubscriptionImpl subscription = new TaskSubscriptionImpl(
+                    client,
+                    topic,
+                    partitions.get(i),
+                    taskHandler,
+                    asyncTaskHandler,
+                    maxConcurrency,
+                    taskType,
+                    lockTime,
+                    lockOwner,
+                    payloadProjection,
+                    taskFetchSize,
+                    msgPackMapper,
+                    taskAcquisition,
+                    credits,
+                    topologyManager);
+
+            taskAcquisition.registerSubscriptionAsync(subscription);
+
+            subscriptions.add(subscription);
+            openFutures[i] = subscription.openAsync();
+        }
+
+        final TopicTaskSubscriptionImpl topicSubscription = new TopicTaskSubscriptionImpl(subscriptions, credits);
+
+        try
+        {
+            CompletableFuture.allOf(openFutures).get();
+        }
+        catch (Exception e)
+        {
+            topicSubscription.close();
+            throw new RuntimeException("Exception while opening subscription", e);
+        }
+
+        return topicSubscription;
+    }
+
+    protected List<Integer> getPartitionsOfTopic()
+    {
+        List<Integer> partitions = topologyManager.getTopology().getPartitionsOfTopic(topic);
+
+        if (partitions == null || partitions.isEmpty())
+        {
+            try
+            {
+                topologyManager.refreshNow().get();
+            }
+            catch (Exception e)
+            {
+                throw new RuntimeException("Could not refresh topology", e);
+            }
+
+            partitions = topologyManager.getTopology().getPartitionsOfTopic(topic);
+        }
+
+        if (partitions == null || partitions.isEmpty())
+        {
+            throw new RuntimeException("No partitions found for topic '" + topic + "'");
+        }
+
+        return partitions;
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.task.impl.subscription;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Credits which are shared by the partition subscriptions of a topic-level task subscription.
+ * A partition subscription takes credits from the pool before it grants them to the broker
+ * and returns them when the corresponding tasks are handled. That way, the credits flow
+ * to the partitions which actually receive tasks.
+ */
+public class TaskSubscriptionCredits
+{
+    protected final AtomicInteger availableCredits;
+    protected final int fairShare;
+
+    public TaskSubscriptionCredits(int credits, int partitions)
+    {
+        this.availableCredits = new AtomicInteger(credits);
+        this.fairShare = Math.max(1, credits / partitions);
+    }
+
+    /**
+     * @return the number of credits a partition subscription initially grants to the broker
+     */
+    public int getFairShare()
+    {
+        return fairShare;
+    }
+
+    public int getAvailableCredits()
+    {
+        return availableCredits.get();
+    }
+
+    /**
+     * Takes up to the given number of credits from the pool.
+     *
+     * @return the number of taken credits; can be zero
+     */
+    public int tryAcquire(int maxCredits)
+    {
+        while (true)
+        {
+            final int available = availableCredits.get();
+            final int credits = Math.min(available, maxCredits);
+
+            if (credits <= 0)
+            {
+                return 0;
+            }
+            else if (availableCredits.compareAndSet(available, available - credits))
+            {
+                return credits;
+            }
+        }
+    }
+
+    /**
+     * Takes up to the given number of credits from the pool, but at least one. A subscription
+     * without credits would never receive a task, so the pool may be overdrawn by one credit
+     * per partition until other partitions return their credits.
+     *
+     * @return the number of taken credits; at least one
+     */
+    public int acquire(int maxCredits)
+    {
+        final int credits = tryAcquire(maxCredits);
+
+        if (credits > 0)
+        {
+            return credits;
+        }
+        else
+        {
+            availableCredits.decrementAndGet();
+            return 1;
+        }
+    }
+
+    public void release(int credits)
+    {
+        availableCredits.addAndGet(credits);
+    }
+}
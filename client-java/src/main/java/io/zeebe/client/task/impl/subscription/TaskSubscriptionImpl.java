@@ -15,16 +15,33 @@
  */
 package io.zeebe.client.task.impl.subscription;
 
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.slf4j.Logger;
 
-import io.zeebe.client.event.impl.TaskEventImpl;
+import io.zeebe.client.clustering.impl.ClientTopologyManager;
+import io.zeebe.client.cmd.RequestBackpressureException;
+import io.zeebe.client.event.TaskEvent;
+import io.zeebe.client.event.impl.GeneralEventImpl;
+import io.zeebe.client.event.impl.LazyTaskEventImpl;
 import io.zeebe.client.impl.Loggers;
 import io.zeebe.client.impl.TasksClientImpl;
 import io.zeebe.client.impl.data.MsgPackMapper;
+import io.zeebe.client.task.AsyncTaskHandler;
 import io.zeebe.client.task.PollableTaskSubscription;
 import io.zeebe.client.task.TaskHandler;
+import io.zeebe.client.task.TaskResult;
 import io.zeebe.client.task.TaskSubscription;
+import io.zeebe.client.task.impl.CompleteTaskCommandImpl;
 import io.zeebe.client.task.impl.CreateTaskSubscriptionCommandImpl;
+import io.zeebe.client.task.impl.FailTaskCommandImpl;
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.util.time.ClockUtil;
 
 public class TaskSubscriptionImpl
     extends EventSubscription<TaskSubscriptionImpl>
@@ -32,15 +49,39 @@ public class TaskSubscriptionImpl
 {
     protected static final Logger LOGGER = Loggers.TASK_SUBSCRIPTION_LOGGER;
 
+    public static final String PAYLOAD_PROJECTION_SEPARATOR = ",";
+
     protected final TaskHandler taskHandler;
     protected final TasksClientImpl taskClient;
 
+    protected final AsyncTaskHandler asyncTaskHandler;
+    protected final int maxConcurrency;
+    protected final AtomicInteger asyncTasksInFlight = new AtomicInteger(0);
+    protected final Queue<AsyncTaskCompletion> completedAsyncTasks = new ConcurrentLinkedQueue<>();
+    // the subscription is polled by all executor threads, but only one of them reports the results
+    protected final AtomicBoolean isFinishingAsyncTasks = new AtomicBoolean(false);
+
     protected final String taskType;
     protected final long lockTime;
     protected final String lockOwner;
+    protected final String payloadProjection;
 
     protected MsgPackMapper msgPackMapper;
 
+    // credits which are granted to the broker and not yet used for a handled task
+    protected int grantedCredits;
+
+    // only set if the subscription is part of a topic-level subscription
+    protected final TaskSubscriptionCredits sharedCredits;
+    protected final ClientTopologyManager topologyManager;
+
+    // credits which are taken from the shared credits and not yet returned
+    protected int heldCredits;
+    // credits which are granted to the broker and not yet used for a task
+    protected int outstandingCredits;
+    protected int eventsReceivedSinceLastGrant;
+    protected final AtomicInteger eventsReceived = new AtomicInteger(0);
+
     public TaskSubscriptionImpl(
             TasksClientImpl client,
             String topic,
@@ -49,17 +90,43 @@ public class TaskSubscriptionImpl
             String taskType,
             long lockTime,
             String lockOwner,
+            String payloadProjection,
             int capacity,
             MsgPackMapper msgPackMapper,
             EventAcquisition<TaskSubscriptionImpl> acqusition)
+    {
+        this(client, topic, partition, taskHandler, null, capacity, taskType, lockTime, lockOwner, payloadProjection, capacity, msgPackMapper, acqusition, null, null);
+    }
+
+    public TaskSubscriptionImpl(
+            TasksClientImpl client,
+            String topic,
+            int partition,
+            TaskHandler taskHandler,
+            AsyncTaskHandler asyncTaskHandler,
+            int maxConcurrency,
+            String taskType,
+            long lockTime,
+            String lockOwner,
+            String payloadProjection,
+            int capacity,
+            MsgPackMapper msgPackMapper,
+            EventAcquisition<TaskSubscriptionImpl> acqusition,
+            TaskSubscriptionCredits sharedCredits,
+            ClientTopologyManager topologyManager)
     {
         super(topic, partition, capacity, acqusition);
         this.taskClient = client;
         this.taskHandler = taskHandler;
+        this.asyncTaskHandler = asyncTaskHandler;
+        this.maxConcurrency = maxConcurrency;
         this.taskType = taskType;
         this.lockTime = lockTime;
         this.lockOwner = lockOwner;
+        this.payloadProjection = payloadProjection;
         this.msgPackMapper = msgPackMapper;
+        this.sharedCredits = sharedCredits;
+        this.topologyManager = topologyManager;
     }
 
     public String getTaskType()
@@ -77,11 +144,23 @@ public class TaskSubscriptionImpl
         return lockOwner;
     }
 
+    public String getPayloadProjection()
+    {
+        return payloadProjection;
+    }
+
 
     @Override
     public int poll()
     {
-        return poll(taskHandler);
+        if (asyncTaskHandler != null)
+        {
+            return pollAsync();
+        }
+        else
+        {
+            return poll(taskHandler);
+        }
     }
 
     @Override
@@ -89,8 +168,7 @@ public class TaskSubscriptionImpl
     {
         int polledEvents = pollEvents((e) ->
         {
-            final TaskEventImpl taskEvent = msgPackMapper.convert(e.getAsMsgPack(), TaskEventImpl.class);
-            taskEvent.updateMetadata(e.getMetadata());
+            final LazyTaskEventImpl taskEvent = toTaskEvent(e);
 
             try
             {
@@ -117,19 +195,390 @@ public class TaskSubscriptionImpl
         return polledEvents;
     }
 
+    protected LazyTaskEventImpl toTaskEvent(GeneralEventImpl event)
+    {
+        // fields are decoded when the handler reads them
+        return new LazyTaskEventImpl(event);
+    }
+
+    /**
+     * Reports the results of the finished asynchronous tasks and hands new tasks
+     * to the handler, as long as less than max concurrency tasks are in flight.
+     */
+    protected int pollAsync()
+    {
+        int workCount = finishAsyncTasks();
+
+        final int reservedTasks = reserveAsyncTasks();
+        if (reservedTasks > 0)
+        {
+            final int startedTasks = pollEvents(this::startAsyncTask, reservedTasks, true);
+
+            // release the slots which are not used because there were less events
+            asyncTasksInFlight.addAndGet(startedTasks - reservedTasks);
+
+            workCount += startedTasks;
+        }
+
+        return workCount;
+    }
+
+    /**
+     * Reserves the slots for new tasks up to max concurrency. The subscription is polled by
+     * multiple executor threads, so the slots are reserved before the events are handed out.
+     *
+     * @return the number of reserved slots
+     */
+    protected int reserveAsyncTasks()
+    {
+        while (true)
+        {
+            final int inFlight = asyncTasksInFlight.get();
+            final int availableConcurrency = maxConcurrency - inFlight;
+
+            if (availableConcurrency <= 0)
+            {
+                return 0;
+            }
+            else if (asyncTasksInFlight.compareAndSet(inFlight, maxConcurrency))
+            {
+                return availableConcurrency;
+            }
+        }
+    }
+
+    protected void startAsyncTask(GeneralEventImpl event)
+    {
+        final LazyTaskEventImpl taskEvent = toTaskEvent(event);
+        final long handlingStart = System.nanoTime();
+
+        CompletionStage<TaskResult> stage;
+        try
+        {
+            stage = asyncTaskHandler.handle(taskClient, taskEvent);
+        }
+        catch (Exception e)
+        {
+            final CompletableFuture<TaskResult> failedStage = new CompletableFuture<>();
+            failedStage.completeExceptionally(e);
+            stage = failedStage;
+        }
+
+        if (stage == null)
+        {
+            stage = CompletableFuture.completedFuture(null);
+        }
+
+        // the result is reported by an executor thread, not by the thread which completes the stage
+        stage.whenComplete((result, failure) ->
+            completedAsyncTasks.add(new AsyncTaskCompletion(taskEvent, result, failure, System.nanoTime() - handlingStart)));
+    }
+
+    protected int finishAsyncTasks()
+    {
+        if (!isFinishingAsyncTasks.compareAndSet(false, true))
+        {
+            // another executor thread reports the results
+            return 0;
+        }
+
+        int finishedTasks = 0;
+
+        try
+        {
+            // only the thread which holds the flag removes completions, so the head is still the same after peeking
+            AsyncTaskCompletion completion;
+            while ((completion = completedAsyncTasks.peek()) != null)
+            {
+                if (!completion.isServiceTimeRecorded)
+                {
+                    // tasks are handled concurrently, so a task takes only a share of the handler's time
+                    final int concurrency = Math.max(1, asyncTasksInFlight.get());
+                    onEventHandledAsynchronously(completion.serviceTimeNanos / concurrency);
+                    completion.isServiceTimeRecorded = true;
+                }
+
+                if (!reportAsyncTaskResult(completion))
+                {
+                    // the maximum count of in flight requests is reached; the result and all
+                    // following ones are reported with the next poll
+                    break;
+                }
+
+                completedAsyncTasks.poll();
+                finishedTasks += 1;
+            }
+        }
+        finally
+        {
+            isFinishingAsyncTasks.set(false);
+        }
+
+        return finishedTasks;
+    }
+
+    /**
+     * Sends the result of an asynchronously handled task. The task remains in flight until the
+     * broker has responded, so that the handler is not given more tasks than results can be reported.
+     * The executor thread never waits for a free request; on back pressure, the result is reported
+     * with a later poll.
+     *
+     * @return <code>false</code> if the result could not be sent because of back pressure and must be
+     *   reported again
+     */
+    protected boolean reportAsyncTaskResult(AsyncTaskCompletion completion)
+    {
+        final LazyTaskEventImpl taskEvent = completion.taskEvent;
+
+        final CompletableFuture<TaskEvent> commandFuture;
+        try
+        {
+            commandFuture = sendAsyncTaskResult(completion);
+        }
+        catch (RequestBackpressureException e)
+        {
+            LOGGER.debug("Could not report result of task {} to broker due to back pressure. Retrying.", taskEvent.getMetadata().getKey());
+            return false;
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Could not report result of task " + taskEvent.getMetadata().getKey() +
+                " to broker. Continuing with next task", e);
+
+            asyncTasksInFlight.decrementAndGet();
+            return true;
+        }
+
+        commandFuture.whenComplete((event, failure) ->
+        {
+            if (failure != null)
+            {
+                // e.g. the lock of the task expired in the meantime, so that the task is locked again
+                LOGGER.warn("Result of task " + taskEvent.getMetadata().getKey() + " was not accepted by broker.", failure);
+            }
+
+            asyncTasksInFlight.decrementAndGet();
+        });
+
+        return true;
+    }
+
+    protected CompletableFuture<TaskEvent> sendAsyncTaskResult(AsyncTaskCompletion completion)
+    {
+        final LazyTaskEventImpl taskEvent = completion.taskEvent;
+        final TaskResult result = completion.result;
+
+        if (completion.failure != null)
+        {
+            LOGGER.info("An error ocurred when handling task " + taskEvent.getMetadata().getKey() +
+                    ". Reporting failure to broker.", completion.failure);
+
+            final FailTaskCommandImpl failCommand = taskClient.fail(taskEvent);
+            failCommand.retries(taskEvent.getRetries() - 1);
+
+            return failCommand.tryExecuteAsync();
+        }
+        else if (result == null)
+        {
+            // the client neither completes nor fails the task
+            return CompletableFuture.completedFuture(null);
+        }
+
+        switch (result.getType())
+        {
+            case COMPLETE:
+                final CompleteTaskCommandImpl completeCommand = taskClient.complete(taskEvent);
+                if (result.getPayload() != null)
+                {
+                    completeCommand.payload(result.getPayload());
+                }
+                return completeCommand.tryExecuteAsync();
+
+            case COMPLETE_WITHOUT_PAYLOAD:
+                final CompleteTaskCommandImpl completeWithoutPayloadCommand = taskClient.complete(taskEvent);
+                completeWithoutPayloadCommand.withoutPayload();
+
+                return completeWithoutPayloadCommand.tryExecuteAsync();
+
+            case FAIL:
+                final int retries = result.getRetries() >= 0 ? result.getRetries() : taskEvent.getRetries() - 1;
+
+                final FailTaskCommandImpl failCommand = taskClient.fail(taskEvent);
+                failCommand.retries(retries);
+
+                return failCommand.tryExecuteAsync();
+
+            default:
+                throw new IllegalStateException("Unknown task result type: " + result.getType());
+        }
+    }
+
+    @Override
+    protected boolean hasEventsInProcessing()
+    {
+        // wait for the asynchronous tasks on closing, so that their results are reported
+        return super.hasEventsInProcessing() || asyncTasksInFlight.get() > 0;
+    }
+
     @Override
     public boolean isManagedSubscription()
     {
-        return taskHandler != null;
+        return taskHandler != null || asyncTaskHandler != null;
     }
 
     @Override
     protected void requestEventSourceReplenishment(int eventsProcessed)
     {
+        final long requestStart = System.nanoTime();
+
         taskClient.increaseSubscriptionCredits(partitionId)
             .subscriberKey(subscriberKey)
             .credits(eventsProcessed)
             .execute();
+
+        throughput.recordRoundTripTime(System.nanoTime() - requestStart);
+    }
+
+    /**
+     * @return the number of tasks to have in flight, adapted to the handler throughput and the round-trip
+     *   time. It does not exceed the configured capacity and the number of tasks that can be handled
+     *   before their locks expire.
+     */
+    protected int getTargetCapacity()
+    {
+        return throughput.estimateInFlightDepth(capacity, lockTime);
+    }
+
+    @Override
+    public boolean addEvent(GeneralEventImpl event)
+    {
+        final boolean added = super.addEvent(event);
+
+        if (added)
+        {
+            eventsReceived.incrementAndGet();
+        }
+
+        return added;
+    }
+
+    @Override
+    public boolean replenishEventSource()
+    {
+        if (sharedCredits == null)
+        {
+            return replenishOwnCredits();
+        }
+
+        final int eventsProcessed = eventsProcessedSinceLastReplenishment.get();
+        if (eventsProcessed > 0)
+        {
+            // return the credits so that they can be granted to any partition
+            eventsProcessedSinceLastReplenishment.addAndGet(-eventsProcessed);
+            heldCredits -= eventsProcessed;
+            sharedCredits.release(eventsProcessed);
+        }
+
+        final int received = eventsReceived.getAndSet(0);
+        outstandingCredits -= received;
+        eventsReceivedSinceLastGrant += received;
+
+        // only grant more credits to a partition which has used most of its outstanding credits,
+        // so that quiet partitions do not bind credits
+        final boolean hasWork = eventsReceivedSinceLastGrant > 0 && outstandingCredits <= eventsReceivedSinceLastGrant;
+
+        final long now = ClockUtil.getCurrentTimeInMillis();
+
+        // coalesce the credits requests, unless the broker cannot push any more tasks
+        final boolean mayReplenish = outstandingCredits <= 0 ||
+                acquisition.getReplenishmentPolicy().isIntervalElapsed(lastReplenishmentTime, now);
+
+        if (hasWork && mayReplenish)
+        {
+            final int credits = sharedCredits.tryAcquire(getTargetCapacity() - heldCredits);
+            if (credits > 0)
+            {
+                requestEventSourceReplenishment(credits);
+
+                heldCredits += credits;
+                outstandingCredits += credits;
+                eventsReceivedSinceLastGrant = 0;
+                lastReplenishmentTime = now;
+
+                return true;
+            }
+        }
+
+        return eventsProcessed > 0;
+    }
+
+    protected boolean replenishOwnCredits()
+    {
+        final int eventsProcessed = eventsProcessedSinceLastReplenishment.get();
+        final long now = ClockUtil.getCurrentTimeInMillis();
+
+        final int targetCapacity = getTargetCapacity();
+        final int remainingCredits = grantedCredits - eventsProcessed;
+        final int missingCredits = targetCapacity - remainingCredits;
+
+        // if the target capacity shrinks, the credits of handled tasks are withheld until there are less remaining credits
+        final boolean requestReplenishment = acquisition.getReplenishmentPolicy()
+                .shouldReplenish(targetCapacity, missingCredits, lastReplenishmentTime, now);
+
+        if (requestReplenishment)
+        {
+            requestEventSourceReplenishment(missingCredits);
+            eventsProcessedSinceLastReplenishment.addAndGet(-eventsProcessed);
+
+            grantedCredits = remainingCredits + missingCredits;
+            lastReplenishmentTime = now;
+        }
+
+        return requestReplenishment;
+    }
+
+    @Override
+    protected boolean isEventSourceOutdated()
+    {
+        if (topologyManager == null || partitionId < 0)
+        {
+            return false;
+        }
+
+        final RemoteAddress leader = topologyManager.getLeaderForPartition(partitionId);
+
+        return leader != null && !leader.equals(eventSource);
+    }
+
+    protected int acquireInitialCredits()
+    {
+        if (sharedCredits == null)
+        {
+            grantedCredits = getTargetCapacity();
+            return grantedCredits;
+        }
+
+        // credits of a previous subscription are lost on reopening
+        releaseHeldCredits();
+
+        final int credits = sharedCredits.acquire(sharedCredits.getFairShare());
+
+        heldCredits = credits;
+        outstandingCredits = credits;
+        eventsReceivedSinceLastGrant = 0;
+        eventsReceived.set(0);
+
+        return credits;
+    }
+
+    protected void releaseHeldCredits()
+    {
+        if (sharedCredits != null)
+        {
+            sharedCredits.release(heldCredits);
+            heldCredits = 0;
+            outstandingCredits = 0;
+        }
     }
 
     @Override
@@ -145,17 +594,35 @@ public class TaskSubscriptionImpl
             cmd = taskClient.createTaskSubscription(topic);
         }
 
-        return cmd.taskType(taskType)
-                .lockDuration(lockTime)
-                .lockOwner(lockOwner)
-                .initialCredits(capacity)
-                .execute();
+        final int initialCredits = acquireInitialCredits();
+
+        try
+        {
+            return cmd.taskType(taskType)
+                    .lockDuration(lockTime)
+                    .lockOwner(lockOwner)
+                    .payloadProjection(payloadProjection)
+                    .initialCredits(initialCredits)
+                    .execute();
+        }
+        catch (RuntimeException e)
+        {
+            releaseHeldCredits();
+            throw e;
+        }
     }
 
     @Override
     public void requestSubscriptionClose()
     {
-        taskClient.closeTaskSubscription(partitionId, subscriberKey).execute();
+        try
+        {
+            taskClient.closeTaskSubscription(partitionId, subscriberKey).execute();
+        }
+        finally
+        {
+            releaseHeldCredits();
+        }
     }
 
     @Override
@@ -163,4 +630,23 @@ public class TaskSubscriptionImpl
     {
         return "TaskSubscriptionImpl [taskType=" + taskType + ", subscriberKey=" + subscriberKey + "]";
     }
+
+    protected static class AsyncTaskCompletion
+    {
+        protected final LazyTaskEventImpl taskEvent;
+        protected final TaskResult result;
+        protected final Throwable failure;
+        protected final long serviceTimeNanos;
+
+        // only accessed by the polling thread
+        protected boolean isServiceTimeRecorded;
+
+        AsyncTaskCompletion(LazyTaskEventImpl taskEvent, TaskResult result, Throwable failure, long serviceTimeNanos)
+        {
+            this.taskEvent = taskEvent;
+            this.result = result;
+            this.failure = failure;
+            this.serviceTimeNanos = serviceTimeNanos;
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.task.impl.subscription;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates how many events a subscription should have in flight, based on the
+ * measured handler service time and the round-trip time to the broker
+ * (bandwidth-delay product): enough events to keep the handler busy while
+ * new credits travel to the broker and new events travel back, but not more
+ * than the handler can finish within a given deadline (e.g. the lock time of tasks).
+ *
+ * <p>
+ * Service times are recorded by the executor threads; all other methods
+ * must be called by the thread which manages the subscription.
+ */
+public class ThroughputEstimator
+{
+    protected static final double SMOOTHING_FACTOR = 0.2d;
+
+    /**
+     * Multiple of the bandwidth-delay product to have in flight, so that the handler
+     * does not run dry before the replenishment threshold is reached.
+     */
+    protected static final double HEADROOM = 2.0d;
+
+    protected long serviceTimeSum;
+    protected int serviceTimeCount;
+
+    protected double serviceTimeNanos = -1;
+    protected double roundTripTimeNanos = -1;
+
+    public synchronized void recordServiceTime(long nanos)
+    {
+        serviceTimeSum += nanos;
+        serviceTimeCount += 1;
+    }
+
+    public void recordRoundTripTime(long nanos)
+    {
+        roundTripTimeNanos = smooth(roundTripTimeNanos, nanos);
+    }
+
+    protected void updateServiceTime()
+    {
+        final long sum;
+        final int count;
+
+        synchronized (this)
+        {
+            sum = serviceTimeSum;
+            count = serviceTimeCount;
+
+            serviceTimeSum = 0;
+            serviceTimeCount = 0;
+        }
+
+        if (count > 0)
+        {
+            serviceTimeNanos = smooth(serviceTimeNanos, (double) sum / count);
+        }
+    }
+
+    protected static double smooth(double average, double sample)
+    {
+        if (average < 0)
+        {
+            return sample;
+        }
+        else
+        {
+            return average + SMOOTHING_FACTOR * (sample - average);
+        }
+    }
+
+    /**
+     * @param maxDepth the upper bound, i.e. the configured capacity of the subscription
+     * @param deadlineMillis the time in which all events in flight must be handled; no limit if not positive
+     *
+     * @return the number of events to have in flight; at least 1 and at most maxDepth.
+     *   As long as nothing is measured, it is maxDepth.
+     */
+    public int estimateInFlightDepth(int maxDepth, long deadlineMillis)
+    {
+        updateServiceTime();
+
+        int depth = maxDepth;
+
+        if (serviceTimeNanos > 0)
+        {
+            if (roundTripTimeNanos >= 0)
+            {
+                final double bandwidthDelayProduct = roundTripTimeNanos / serviceTimeNanos;
+                depth = Math.min(depth, (int) Math.ceil(HEADROOM * bandwidthDelayProduct) + 1);
+            }
+
+            if (deadlineMillis > 0)
+            {
+                final double deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis) - Math.max(roundTripTimeNanos, 0);
+                depth = Math.min(depth, (int) (deadlineNanos / serviceTimeNanos));
+            }
+        }
+
+        return Math.max(1, depth);
+    }
+
+    public double getServiceTimeNanos()
+    {
+        return serviceTimeNanos;
+    }
+
+    public double getRoundTripTimeNanos()
+    {
+        return roundTripTimeNanos;
+    }
+}
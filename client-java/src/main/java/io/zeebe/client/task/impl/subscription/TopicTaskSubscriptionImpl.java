@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.task.impl.subscription;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.zeebe.client.task.TaskSubscription;
+
+/**
+ * Task subscription to all partitions of a topic. Consists of one subscription per partition
+ * which share their credits.
+ */
+public class TopicTaskSubscriptionImpl implements TaskSubscription
+{
+    protected final List<TaskSubscriptionImpl> partitionSubscriptions;
+    protected final TaskSubscriptionCredits credits;
+
+    public TopicTaskSubscriptionImpl(List<TaskSubscriptionImpl> partitionSubscriptions, TaskSubscriptionCredits credits)
+    {
+        this.partitionSubscriptions = partitionSubscriptions;
+        this.credits = credits;
+    }
+
+    public List<TaskSubscriptionImpl> getPartitionSubscriptions()
+    {
+        return partitionSubscriptions;
+    }
+
+    public TaskSubscriptionCredits getCredits()
+    {
+        return credits;
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+        return partitionSubscriptions.stream().allMatch(TaskSubscriptionImpl::isOpen);
+    }
+
+    @Override
+    public boolean isClosed()
+    {
+        return partitionSubscriptions.stream().allMatch(TaskSubscriptionImpl::isClosed);
+    }
+
+    @Override
+    public void close()
+    {
+        final CompletableFuture<?>[] closeFutures = partitionSubscriptions.stream()
+            .map(TaskSubscriptionImpl::closeAsync)
+            .toArray(CompletableFuture[]::new);
+
+        try
+        {
+            CompletableFuture.allOf(closeFutures).get();
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException("Exception while closing subscription", e);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TopicTaskSubscriptionImpl [partitionSubscriptions=" + partitionSubscriptions + "]";
+    }
+}
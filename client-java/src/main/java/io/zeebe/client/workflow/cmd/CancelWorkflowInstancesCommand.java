@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.workflow.cmd;
+
+import io.zeebe.client.cmd.Request;
+import io.zeebe.client.event.WorkflowInstanceEvent;
+
+/**
+ * Command to cancel all instances of a workflow on a partition. The broker
+ * processes the instances incrementally in chunks. The command completes when
+ * the operation is accepted (state WORKFLOW_INSTANCES_CANCELING). Once all
+ * instances are canceled, the broker writes an event with state
+ * WORKFLOW_INSTANCES_CANCELED.
+ */
+public interface CancelWorkflowInstancesCommand extends Request<WorkflowInstanceEvent>
+{
+    /**
+     * Represents all versions of a deployed workflow definition.
+     */
+    int ALL_VERSIONS = -1;
+
+    /**
+     * Sets the BPMN process id, which identifies the workflow definition. Can
+     * be combined with {@link #version(int)} but not with
+     * {@link #workflowKey(long)}.
+     *
+     * @param id
+     *            the id which identifies the workflow definition
+     * @return the current command
+     */
+    CancelWorkflowInstancesCommand bpmnProcessId(String id);
+
+    /**
+     * Sets the version of the workflow definition. If the version is set to
+     * {@link #ALL_VERSIONS} (default), the instances of all versions are
+     * canceled.
+     *
+     * @param version
+     *            the version of the workflow definition
+     * @return the current command
+     */
+    CancelWorkflowInstancesCommand version(int version);
+
+    /**
+     * Sets the key which identifies the deployed workflow definition. Can not
+     * be combined with {@link #bpmnProcessId(String)} or {@link #version(int)}.
+     *
+     * @param workflowKey
+     *            the key of the deployed workflow
+     * @return the current command
+     */
+    CancelWorkflowInstancesCommand workflowKey(long workflowKey);
+}
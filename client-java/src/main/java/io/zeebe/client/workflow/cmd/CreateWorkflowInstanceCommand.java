@@ -82,4 +82,11 @@ public interface CreateWorkflowInstanceCommand extends Request<WorkflowInstanceE
      * Set the payload of the command as JSON string.
      */
     CreateWorkflowInstanceCommand payload(String payload);
+
+    /**
+     * Sets a key (e.g. a business key) which determines the partition of the workflow instance.
+     * Workflow instances with the same key are created on the same partition, as long as the
+     * partitions of the topic do not change. By default, the instances are distributed over all partitions.
+     */
+    CreateWorkflowInstanceCommand correlationKey(String correlationKey);
 }
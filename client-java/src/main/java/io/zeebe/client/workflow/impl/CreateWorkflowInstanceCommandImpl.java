@@ -30,6 +30,7 @@ import io.zeebe.client.workflow.cmd.CreateWorkflowInstanceCommand;
 public class CreateWorkflowInstanceCommandImpl extends CommandImpl<WorkflowInstanceEvent> implements CreateWorkflowInstanceCommand
 {
     private final WorkflowInstanceEventImpl workflowInstanceEvent;
+    private String correlationKey;
 
     public CreateWorkflowInstanceCommandImpl(final RequestManager commandManager,
             MsgPackConverter converter,
@@ -115,4 +116,16 @@ public class CreateWorkflowInstanceCommandImpl extends CommandImpl<WorkflowInsta
 
     }
 
+    @Override
+    public CreateWorkflowInstanceCommand correlationKey(String correlationKey)
+    {
+        this.correlationKey = correlationKey;
+        return this;
+    }
+
+    @Override
+    public String getCorrelationKey()
+    {
+        return correlationKey;
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.workflow.impl;
+
+import java.io.InputStream;
+
+import io.zeebe.client.event.WorkflowInstanceEvent;
+import io.zeebe.client.event.impl.EventImpl;
+import io.zeebe.client.impl.RequestManager;
+import io.zeebe.client.impl.cmd.CommandImpl;
+import io.zeebe.client.impl.data.MsgPackConverter;
+import io.zeebe.client.workflow.cmd.UpdateWorkflowInstancesPayloadCommand;
+
+public class UpdateWorkflowInstancesPayloadCommandImpl extends CommandImpl<WorkflowInstanceEvent> implements UpdateWorkflowInstancesPayloadCommand
+{
+    private final WorkflowInstanceEventImpl workflowInstanceEvent;
+
+    public UpdateWorkflowInstancesPayloadCommandImpl(final RequestManager commandManager,
+            MsgPackConverter converter,
+            String topic,
+            int partitionId)
+    {
+        super(commandManager);
+
+        workflowInstanceEvent = new WorkflowInstanceEventImpl(
+                WorkflowInstanceEventType.UPDATE_WORKFLOW_INSTANCES_PAYLOAD.name(),
+                converter);
+        workflowInstanceEvent.setTopicName(topic);
+        workflowInstanceEvent.setPartitionId(partitionId);
+    }
+
+    @Override
+    public UpdateWorkflowInstancesPayloadCommand bpmnProcessId(final String id)
+    {
+        this.workflowInstanceEvent.setBpmnProcessId(id);
+        return this;
+    }
+
+    @Override
+    public UpdateWorkflowInstancesPayloadCommand version(final int version)
+    {
+        this.workflowInstanceEvent.setVersion(version);
+        return this;
+    }
+
+    @Override
+    public UpdateWorkflowInstancesPayloadCommand workflowKey(long workflowKey)
+    {
+        this.workflowInstanceEvent.setWorkflowKey(workflowKey);
+        return this;
+    }
+
+    @Override
+    public UpdateWorkflowInstancesPayloadCommand payload(final InputStream payload)
+    {
+        this.workflowInstanceEvent.setPayloadAsJson(payload);
+        return this;
+    }
+
+    @Override
+    public UpdateWorkflowInstancesPayloadCommand payload(final String payload)
+    {
+        this.workflowInstanceEvent.setPayloadAsJson(payload);
+        return this;
+    }
+
+    @Override
+    public EventImpl getEvent()
+    {
+        return workflowInstanceEvent;
+    }
+
+    @Override
+    public String getExpectedStatus()
+    {
+        return WorkflowInstanceEventType.WORKFLOW_INSTANCES_PAYLOAD_UPDATING.name();
+    }
+}
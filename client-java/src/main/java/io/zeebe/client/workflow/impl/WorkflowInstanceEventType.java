@@ -44,6 +44,16 @@ public enum WorkflowInstanceEventType
 
     UPDATE_PAYLOAD,
     PAYLOAD_UPDATED,
-    UPDATE_PAYLOAD_REJECTED;
+    UPDATE_PAYLOAD_REJECTED,
+
+    CANCEL_WORKFLOW_INSTANCES,
+    WORKFLOW_INSTANCES_CANCELING,
+    WORKFLOW_INSTANCES_CANCELED,
+    CANCEL_WORKFLOW_INSTANCES_REJECTED,
+
+    UPDATE_WORKFLOW_INSTANCES_PAYLOAD,
+    WORKFLOW_INSTANCES_PAYLOAD_UPDATING,
+    WORKFLOW_INSTANCES_PAYLOAD_UPDATED,
+    UPDATE_WORKFLOW_INSTANCES_PAYLOAD_REJECTED;
 }
 
@@ -27,11 +27,14 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import io.zeebe.client.clustering.impl.ClientTopologyManager;
+import io.zeebe.client.clustering.impl.TopologyResponse;
 import io.zeebe.client.cmd.ClientCommandRejectedException;
 import io.zeebe.client.cmd.ClientException;
 import io.zeebe.client.event.TaskEvent;
 import io.zeebe.client.event.TopicSubscription;
 import io.zeebe.client.event.impl.TaskEventImpl;
+import io.zeebe.client.impl.ClientTransportFactory;
+import io.zeebe.client.impl.TcpClientTransportFactory;
 import io.zeebe.client.impl.ZeebeClientImpl;
 import io.zeebe.client.impl.data.MsgPackConverter;
 import io.zeebe.client.util.Events;
@@ -335,6 +338,41 @@ public class ZeebeClientTest
         assertThat(actualTopologyRequests).isLessThanOrEqualTo(expectedMaximumTopologyRequests);
     }
 
+    @Test
+    public void shouldCreateTransportsWithGivenFactory()
+    {
+        // given
+        final Properties properties = new Properties();
+        properties.setProperty(ClientProperties.CLIENT_CHANNELS_PER_BROKER, "2");
+
+        final List<ClientTransport> createdTransports = new CopyOnWriteArrayList<>();
+        final TcpClientTransportFactory tcpTransportFactory = new TcpClientTransportFactory();
+
+        final ClientTransportFactory transportFactory = (props, scheduler, receiveBuffer, sendBuffer, requestPoolSize) ->
+        {
+            final ClientTransport transport = tcpTransportFactory.createTransport(props, scheduler, receiveBuffer, sendBuffer, requestPoolSize);
+            createdTransports.add(transport);
+            return transport;
+        };
+
+        // when
+        final ZeebeClientImpl clientWithFactory = new ZeebeClientImpl(properties, transportFactory);
+
+        try
+        {
+            // then
+            assertThat(createdTransports).hasSize(2);
+            assertThat(createdTransports.get(0)).isSameAs(clientWithFactory.getTransport());
+
+            final TopologyResponse topology = clientWithFactory.requestTopology().execute();
+            assertThat(topology.getTopicLeaders()).isNotEmpty();
+        }
+        finally
+        {
+            clientWithFactory.close();
+        }
+    }
+
     protected TopicSubscription openSubscription()
     {
         return client.topics().newSubscription(ClientApiRule.DEFAULT_TOPIC_NAME)
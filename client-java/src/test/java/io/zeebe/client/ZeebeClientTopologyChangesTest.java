@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.zeebe.client.clustering.impl.ClientTopologyManager;
+import io.zeebe.client.impl.ZeebeClientImpl;
+import io.zeebe.protocol.clientapi.ControlMessageType;
+import io.zeebe.test.broker.protocol.brokerapi.ControlMessageRequest;
+import io.zeebe.test.broker.protocol.brokerapi.StubBrokerRule;
+import io.zeebe.test.util.AutoCloseableRule;
+
+public class ZeebeClientTopologyChangesTest
+{
+    @Rule
+    public StubBrokerRule broker = new StubBrokerRule();
+
+    @Rule
+    public AutoCloseableRule closeables = new AutoCloseableRule();
+
+    protected ZeebeClientImpl buildClient()
+    {
+        final ZeebeClientImpl client = (ZeebeClientImpl) ZeebeClient.create(new Properties());
+        closeables.manage(client);
+        return client;
+    }
+
+    @Test
+    public void shouldAwaitTopologyChangesIfSupportedByBroker()
+    {
+        // given
+        broker.stubTopologyRequest(123L);
+
+        // when
+        buildClient();
+
+        // then
+        waitUntil(() -> awaitingTopologyRequests().size() > 0);
+
+        final Map<String, Object> request = awaitingTopologyRequests().get(0).getData();
+        assertThat(((Number) request.get("knownVersion")).longValue()).isEqualTo(123L);
+        assertThat(((Number) request.get("maxWaitTime")).longValue()).isEqualTo(ClientTopologyManager.AWAIT_CHANGE_INTERVAL_MILLIS);
+    }
+
+    @Test
+    public void shouldNotAwaitTopologyChangesIfNotSupportedByBroker() throws Exception
+    {
+        // given
+        broker.stubTopologyRequest();
+
+        // when
+        final ZeebeClientImpl client = buildClient();
+        client.getTopologyManager().refreshNow().get();
+
+        // then
+        assertThat(awaitingTopologyRequests()).isEmpty();
+    }
+
+    @Test
+    public void shouldNotWaitForTopologyChangeOnExplicitRefresh() throws Exception
+    {
+        // given
+        broker.stubTopologyRequest(123L);
+        broker.onControlMessageRequest(r -> r.messageType() == ControlMessageType.REQUEST_TOPOLOGY && r.getData().containsKey("maxWaitTime"))
+            .doNotRespond();
+
+        final ZeebeClientImpl client = buildClient();
+        waitUntil(() -> awaitingTopologyRequests().size() > 0);
+
+        // when
+        client.getTopologyManager().refreshNow().get();
+
+        // then the refresh has been answered by an immediate request
+        final List<ControlMessageRequest> topologyRequests = topologyRequests();
+        final ControlMessageRequest awaitingRequest = awaitingTopologyRequests().get(0);
+        final List<ControlMessageRequest> requestsAfterAwaitingRequest =
+                topologyRequests.subList(topologyRequests.indexOf(awaitingRequest) + 1, topologyRequests.size());
+
+        assertThat(requestsAfterAwaitingRequest.stream().anyMatch(r -> !r.getData().containsKey("maxWaitTime"))).isTrue();
+    }
+
+    protected List<ControlMessageRequest> topologyRequests()
+    {
+        return broker.getReceivedControlMessageRequests()
+            .stream()
+            .filter(r -> r.messageType() == ControlMessageType.REQUEST_TOPOLOGY)
+            .collect(Collectors.toList());
+    }
+
+    protected List<ControlMessageRequest> awaitingTopologyRequests()
+    {
+        return topologyRequests()
+            .stream()
+            .filter(r -> r.getData().containsKey("maxWaitTime"))
+            .collect(Collectors.toList());
+    }
+
+}
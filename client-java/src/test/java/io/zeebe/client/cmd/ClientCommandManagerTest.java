@@ -156,6 +156,24 @@ public class ClientCommandManagerTest
         createTaskCmd().execute();
     }
 
+    @Test
+    public void testBackPressureResponse()
+    {
+        // given
+        stubBackPressureResponse();
+
+        final CreateTaskCommand command = createTaskCmd();
+
+        // when
+        assertThatThrownBy(command::execute)
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("timeout 3 seconds");
+
+        // then the client retried the request with back off
+        final int commandRequests = broker.getReceivedCommandRequests().size();
+        assertThat(commandRequests).isGreaterThan(1).isLessThan(20);
+    }
+
 
     protected CreateTaskCommand createTaskCmd()
     {
@@ -201,6 +219,15 @@ public class ClientCommandManagerTest
               .register();
     }
 
+    protected void stubBackPressureResponse()
+    {
+        broker.onExecuteCommandRequest(EventType.TASK_EVENT, "CREATE")
+              .respondWithError()
+                  .errorCode(ErrorCode.REQUEST_WRITE_FAILURE)
+                  .errorData("overloaded")
+              .register();
+    }
+
     protected void assertTopologyRefreshRequests(final int count)
     {
         final List<ControlMessageRequest> receivedControlMessageRequests = broker.getReceivedControlMessageRequests();
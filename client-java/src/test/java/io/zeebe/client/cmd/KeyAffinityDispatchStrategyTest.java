@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.cmd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.zeebe.client.clustering.impl.ClientTopologyManager;
+import io.zeebe.client.impl.KeyAffinityDispatchStrategy;
+import io.zeebe.client.impl.RoundRobinDispatchStrategy;
+
+public class KeyAffinityDispatchStrategyTest
+{
+    protected static final String TOPIC = "foo";
+
+    protected ClientTopologyManager topologyManager;
+    protected KeyAffinityDispatchStrategy strategy;
+
+    @Before
+    public void setUp()
+    {
+        topologyManager = mock(ClientTopologyManager.class);
+        when(topologyManager.getPartitionsOfTopic(TOPIC)).thenReturn(Arrays.asList(3, 1, 2));
+        when(topologyManager.getPartitionForTopic(TOPIC, 0)).thenReturn(1);
+        when(topologyManager.getPartitionForTopic(TOPIC, 1)).thenReturn(2);
+
+        strategy = new KeyAffinityDispatchStrategy(topologyManager, new RoundRobinDispatchStrategy(topologyManager));
+    }
+
+    @Test
+    public void shouldDispatchSameKeyToSamePartition()
+    {
+        // when
+        final int partition = strategy.determinePartition(TOPIC, "order-123");
+
+        // then
+        assertThat(partition).isIn(1, 2, 3);
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertThat(strategy.determinePartition(TOPIC, "order-123")).isEqualTo(partition);
+        }
+    }
+
+    @Test
+    public void shouldDistributeKeysOverPartitions()
+    {
+        // given
+        final Map<Integer, Integer> keysPerPartition = new HashMap<>();
+
+        // when
+        for (int i = 0; i < 3000; i++)
+        {
+            final int partition = strategy.determinePartition(TOPIC, "order-" + i);
+            keysPerPartition.merge(partition, 1, Integer::sum);
+        }
+
+        // then
+        assertThat(keysPerPartition).containsOnlyKeys(1, 2, 3);
+        assertThat(keysPerPartition.values()).allMatch(count -> count > 800);
+    }
+
+    @Test
+    public void shouldMoveKeysOnlyToNewPartition()
+    {
+        // given
+        final Map<String, Integer> partitionsByKey = new HashMap<>();
+        for (int i = 0; i < 1000; i++)
+        {
+            final String key = "order-" + i;
+            partitionsByKey.put(key, strategy.determinePartition(TOPIC, key));
+        }
+
+        // when
+        when(topologyManager.getPartitionsOfTopic(TOPIC)).thenReturn(Arrays.asList(1, 2, 3, 4));
+
+        // then
+        partitionsByKey.forEach((key, partition) ->
+        {
+            final int newPartition = strategy.determinePartition(TOPIC, key);
+            assertThat(newPartition).isIn(partition, 4);
+        });
+    }
+
+    @Test
+    public void shouldUseFallbackWithoutKey()
+    {
+        // when
+        final int firstPartition = strategy.determinePartition(TOPIC, null);
+        final int secondPartition = strategy.determinePartition(TOPIC, null);
+
+        // then
+        assertThat(firstPartition).isEqualTo(1);
+        assertThat(secondPartition).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReturnNegativeValueForUnknownTopic()
+    {
+        // when
+        final int partition = strategy.determinePartition("bar", "order-123");
+
+        // then
+        assertThat(partition).isLessThan(0);
+    }
+}
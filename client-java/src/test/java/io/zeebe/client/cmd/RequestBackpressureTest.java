@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.cmd;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Properties;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import io.zeebe.client.ClientProperties;
+import io.zeebe.client.ZeebeClient;
+import io.zeebe.client.event.TaskEvent;
+import io.zeebe.client.util.ClientRule;
+import io.zeebe.protocol.clientapi.EventType;
+import io.zeebe.test.broker.protocol.brokerapi.StubBrokerRule;
+
+public class RequestBackpressureTest
+{
+
+    public ClientRule clientRule = new ClientRule(() ->
+    {
+        final Properties p = new Properties();
+        p.setProperty(ClientProperties.CLIENT_MAXREQUESTS, "2");
+        p.setProperty(ClientProperties.CLIENT_REQUEST_TIMEOUT_SEC, "1");
+        return p;
+    });
+    public StubBrokerRule broker = new StubBrokerRule();
+
+    @Rule
+    public RuleChain ruleChain = RuleChain.outerRule(broker).around(clientRule);
+
+    @Test
+    public void shouldRejectRequestIfMaxRequestsAreInFlight()
+    {
+        // given
+        broker.onExecuteCommandRequest(EventType.TASK_EVENT, "CREATE")
+            .doNotRespond();
+
+        clientRule.tasks().create(clientRule.getDefaultTopicName(), "foo").executeAsync();
+        clientRule.tasks().create(clientRule.getDefaultTopicName(), "foo").executeAsync();
+
+        // when
+        assertThatThrownBy(() -> clientRule.tasks().create(clientRule.getDefaultTopicName(), "foo").executeAsync())
+            .isInstanceOf(RequestBackpressureException.class)
+            .hasMessageContaining("maximum count of concurrent requests (2) is reached");
+    }
+
+    @Test
+    public void shouldWaitForCompletedRequestsIfBlockTimeIsConfigured() throws Exception
+    {
+        // given
+        broker.onExecuteCommandRequest(EventType.TASK_EVENT, "CREATE")
+            .doNotRespond();
+
+        final Properties properties = new Properties();
+        properties.setProperty(ClientProperties.CLIENT_MAXREQUESTS, "1");
+        properties.setProperty(ClientProperties.CLIENT_REQUEST_TIMEOUT_SEC, "5");
+        properties.setProperty(ClientProperties.CLIENT_REQUEST_BLOCKTIME_MILLIS, "60000");
+
+        final ZeebeClient client = ZeebeClient.create(properties);
+
+        try
+        {
+            final Future<TaskEvent> firstRequest = client.tasks().create(clientRule.getDefaultTopicName(), "foo").executeAsync();
+            waitUntil(() -> broker.getReceivedCommandRequests().size() == 1);
+
+            final AtomicReference<Future<TaskEvent>> nextRequest = new AtomicReference<>();
+            final Thread callingThread = new Thread(() ->
+                nextRequest.set(client.tasks().create(clientRule.getDefaultTopicName(), "foo").executeAsync()));
+
+            // when
+            callingThread.start();
+
+            // then the caller waits for a free request instead of being rejected
+            waitUntil(() -> callingThread.getState() == Thread.State.TIMED_WAITING);
+            assertThat(firstRequest).isNotDone();
+            assertThat(broker.getReceivedCommandRequests()).hasSize(1);
+
+            // and the request is sent when the in flight request is completed
+            callingThread.join();
+            assertThat(firstRequest).isDone();
+            assertThat(nextRequest.get()).isNotNull();
+
+            waitUntil(() -> broker.getReceivedCommandRequests().size() == 2);
+        }
+        finally
+        {
+            client.close();
+        }
+    }
+
+    @Test
+    public void shouldAcceptRequestsAgainWhenInFlightRequestsAreCompleted()
+    {
+        // given
+        broker.onExecuteCommandRequest(EventType.TASK_EVENT, "CREATE")
+            .doNotRespond();
+
+        final Future<TaskEvent> firstRequest = clientRule.tasks().create(clientRule.getDefaultTopicName(), "foo").executeAsync();
+        final Future<TaskEvent> secondRequest = clientRule.tasks().create(clientRule.getDefaultTopicName(), "foo").executeAsync();
+
+        // when the requests time out
+        waitUntil(() -> firstRequest.isDone() && secondRequest.isDone());
+
+        // then
+        final Future<TaskEvent> nextRequest = clientRule.tasks().create(clientRule.getDefaultTopicName(), "foo").executeAsync();
+        assertThat(nextRequest).isNotNull();
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.cmd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.zeebe.client.impl.StripedTransports;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.SocketAddress;
+
+public class StripedTransportsTest
+{
+    protected static final SocketAddress BROKER_ADDRESS = new SocketAddress("localhost", 51015);
+
+    protected ClientTransport defaultTransport;
+    protected ClientTransport stripedTransport;
+    protected RemoteAddress defaultRemote;
+    protected RemoteAddress stripedRemote;
+
+    protected StripedTransports transports;
+
+    @Before
+    public void setUp()
+    {
+        defaultTransport = mock(ClientTransport.class);
+        stripedTransport = mock(ClientTransport.class);
+
+        defaultRemote = mock(RemoteAddress.class);
+        when(defaultRemote.getStreamId()).thenReturn(1);
+        when(defaultRemote.getAddress()).thenReturn(BROKER_ADDRESS);
+
+        stripedRemote = mock(RemoteAddress.class);
+        when(stripedTransport.registerRemoteAddress(BROKER_ADDRESS)).thenReturn(stripedRemote);
+
+        transports = new StripedTransports(new ClientTransport[] {defaultTransport, stripedTransport});
+    }
+
+    @Test
+    public void shouldUseRemoteOfDefaultTransport()
+    {
+        // when
+        final RemoteAddress remote = transports.getRemote(0, defaultRemote);
+
+        // then
+        assertThat(remote).isSameAs(defaultRemote);
+        verifyZeroInteractions(defaultTransport, stripedTransport);
+    }
+
+    @Test
+    public void shouldRegisterRemoteOnlyOnce()
+    {
+        // when
+        final RemoteAddress firstRemote = transports.getRemote(1, defaultRemote);
+        final RemoteAddress secondRemote = transports.getRemote(1, defaultRemote);
+
+        // then
+        assertThat(firstRemote).isSameAs(stripedRemote);
+        assertThat(secondRemote).isSameAs(stripedRemote);
+        verify(stripedTransport, times(1)).registerRemoteAddress(BROKER_ADDRESS);
+    }
+}
@@ -22,6 +22,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import io.zeebe.client.impl.data.MsgPackConverter;
 import io.zeebe.util.LangUtil;
@@ -92,6 +95,46 @@ public class MsgPackConverterTest
         assertThat(new String(jsonBytes, StandardCharsets.UTF_8)).isEqualTo(JSON);
     }
 
+    @Test
+    public void shouldConvertFromObjectToMsgPack() throws Exception
+    {
+        // given
+        final Map<String, Object> object = new LinkedHashMap<>();
+        object.put("key1", 1);
+        object.put("key2", 2);
+
+        // when
+        final byte[] msgPack = converter.convertToMsgPack(object);
+
+        // then
+        assertThat(msgPack).isEqualTo(MSG_PACK);
+    }
+
+    @Test
+    public void shouldConvertFromMsgPackToObject() throws Exception
+    {
+        // when
+        final Payload payload = converter.convertFromMsgPack(MSG_PACK, Payload.class);
+
+        // then
+        assertThat(payload.key1).isEqualTo(1);
+        assertThat(payload.key2).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReuseBuffersForConsecutiveConversions() throws Exception
+    {
+        // given
+        final byte[] largeMsgPack = converter.convertToMsgPack("{\"key\":\"" + String.join("", Collections.nCopies(2048, "a")) + "\"}");
+
+        // when
+        final byte[] msgPack = converter.convertToMsgPack(JSON);
+
+        // then
+        assertThat(largeMsgPack.length).isGreaterThan(2048);
+        assertThat(msgPack).isEqualTo(MSG_PACK);
+    }
+
     @Test
     public void shouldThrowExceptionIfStringIsNotAJsonObject() throws Exception
     {
@@ -138,4 +181,10 @@ public class MsgPackConverterTest
         return msgPack;
     }
 
+    public static class Payload
+    {
+        public int key1;
+        public int key2;
+    }
+
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.zeebe.client.event.impl.GeneralEventImpl;
+import io.zeebe.client.event.impl.LazyTaskEventImpl;
+import io.zeebe.client.event.impl.TaskEventImpl;
+import io.zeebe.client.impl.data.MsgPackConverter;
+import io.zeebe.client.impl.data.MsgPackWritable;
+import io.zeebe.client.util.Events;
+
+public class LazyTaskEventImplTest
+{
+    protected final MsgPackConverter msgPackConverter = new MsgPackConverter();
+
+    protected ObjectMapper objectMapper;
+    protected TaskEventImpl taskEvent;
+    protected LazyTaskEventImpl lazyEvent;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        objectMapper = new ObjectMapper(new MessagePackFactory());
+        objectMapper.setSerializationInclusion(Include.NON_NULL);
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        objectMapper.setInjectableValues(new InjectableValues.Std().addValue(MsgPackConverter.class, msgPackConverter));
+
+        taskEvent = Events.exampleTask();
+
+        final GeneralEventImpl event = new GeneralEventImpl(
+                taskEvent.getMetadata().getPartitionId(),
+                taskEvent.getMetadata().getKey(),
+                taskEvent.getMetadata().getPosition(),
+                TopicEventType.TASK,
+                objectMapper.writeValueAsBytes(taskEvent),
+                msgPackConverter);
+
+        lazyEvent = new LazyTaskEventImpl(event);
+    }
+
+    @Test
+    public void shouldReadFields()
+    {
+        assertThat(lazyEvent.getMetadata().getKey()).isEqualTo(taskEvent.getMetadata().getKey());
+        assertThat(lazyEvent.getMetadata().getPosition()).isEqualTo(taskEvent.getMetadata().getPosition());
+        assertThat(lazyEvent.getState()).isEqualTo(taskEvent.getState());
+        assertThat(lazyEvent.getType()).isEqualTo(taskEvent.getType());
+        assertThat(lazyEvent.getLockOwner()).isEqualTo(taskEvent.getLockOwner());
+        assertThat(lazyEvent.getLockExpirationTime()).isEqualTo(taskEvent.getLockExpirationTime());
+        assertThat(lazyEvent.getRetries()).isEqualTo(taskEvent.getRetries());
+        assertThat(lazyEvent.getHeaders()).isEqualTo(taskEvent.getHeaders());
+        assertThat(lazyEvent.getCustomHeaders()).isEqualTo(taskEvent.getCustomHeaders());
+    }
+
+    @Test
+    public void shouldReadPayload()
+    {
+        assertThat(lazyEvent.getPayload()).isEqualTo(taskEvent.getPayload());
+        assertThat(lazyEvent.getPayloadAs(Map.class)).containsEntry("key", "val");
+
+        final ByteBuffer payload = lazyEvent.getPayloadAsMsgPack();
+        final byte[] payloadBytes = new byte[payload.remaining()];
+        payload.get(payloadBytes);
+
+        assertThat(payloadBytes).isEqualTo(taskEvent.getPayloadMsgPack());
+    }
+
+    @Test
+    public void shouldWriteCommand() throws Exception
+    {
+        // given
+        final TaskEventImpl command = TaskEventImpl.copyOf(lazyEvent, "COMPLETE");
+
+        // when
+        final TaskEventImpl writtenCommand = writeAndRead(command);
+
+        // then
+        assertThat(command.getMetadata().getKey()).isEqualTo(taskEvent.getMetadata().getKey());
+        assertThat(command.getMetadata().getPartitionId()).isEqualTo(taskEvent.getMetadata().getPartitionId());
+
+        assertThat(writtenCommand.getState()).isEqualTo("COMPLETE");
+        assertThat(writtenCommand.getType()).isEqualTo(taskEvent.getType());
+        assertThat(writtenCommand.getLockOwner()).isEqualTo(taskEvent.getLockOwner());
+        assertThat(writtenCommand.getLockTime()).isEqualTo(taskEvent.getLockTime());
+        assertThat(writtenCommand.getRetries()).isEqualTo(taskEvent.getRetries());
+        assertThat(writtenCommand.getHeaders()).isEqualTo(taskEvent.getHeaders());
+        assertThat(writtenCommand.getCustomHeaders()).isEqualTo(taskEvent.getCustomHeaders());
+        assertThat(writtenCommand.getPayloadMsgPack()).isEqualTo(taskEvent.getPayloadMsgPack());
+    }
+
+    @Test
+    public void shouldWriteCommandWithChangedFields() throws Exception
+    {
+        // given
+        final TaskEventImpl command = TaskEventImpl.copyOf(lazyEvent, "FAIL");
+        command.setRetries(2);
+        command.setPayload("{\"foo\":\"bar\"}");
+
+        // when
+        final TaskEventImpl writtenCommand = writeAndRead(command);
+
+        // then
+        assertThat(writtenCommand.getState()).isEqualTo("FAIL");
+        assertThat(writtenCommand.getRetries()).isEqualTo(2);
+        assertThat(writtenCommand.getPayload()).isEqualTo("{\"foo\":\"bar\"}");
+        assertThat(writtenCommand.getHeaders()).isEqualTo(taskEvent.getHeaders());
+    }
+
+    @Test
+    public void shouldWriteCommandWithoutPayload() throws Exception
+    {
+        // given
+        final TaskEventImpl command = TaskEventImpl.copyOf(lazyEvent, "COMPLETE");
+        command.setPayload((byte[]) null);
+
+        // when
+        final TaskEventImpl writtenCommand = writeAndRead(command);
+
+        // then
+        assertThat(writtenCommand.getPayloadMsgPack()).isNull();
+        assertThat(writtenCommand.getCustomHeaders()).isEqualTo(taskEvent.getCustomHeaders());
+    }
+
+    protected TaskEventImpl writeAndRead(TaskEventImpl command) throws Exception
+    {
+        assertThat(command).isInstanceOf(MsgPackWritable.class);
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ((MsgPackWritable) command).writeMsgPack(outputStream);
+
+        return objectMapper.readValue(outputStream.toByteArray(), TaskEventImpl.class);
+    }
+}
@@ -124,6 +124,61 @@ public class TopicSubscriptionTest
         assertThat(subscribeRequest.getCommand()).containsEntry("forceStart", true);
     }
 
+    @Test
+    public void shouldOpenSubscriptionWithFilter()
+    {
+        // given
+        broker.stubTopicSubscriptionApi(123L);
+
+        // when
+        clientRule.topics().newSubscription(clientRule.getDefaultTopicName())
+            .handler(DO_NOTHING)
+            .name(SUBSCRIPTION_NAME)
+            .eventTypes(TopicEventType.TASK, TopicEventType.WORKFLOW_INSTANCE)
+            .states("CREATED", "COMPLETED")
+            .bpmnProcessId("process")
+            .taskType("foo")
+            .payloadCondition("$.orderId == 'bar'")
+            .open();
+
+        // then
+        final ExecuteCommandRequest subscribeRequest = broker.getReceivedCommandRequests()
+            .stream()
+            .filter((e) -> e.eventType() == EventType.SUBSCRIBER_EVENT)
+            .findFirst()
+            .get();
+
+        assertThat(subscribeRequest.getCommand())
+            .containsEntry("eventTypes", "TASK_EVENT,WORKFLOW_INSTANCE_EVENT")
+            .containsEntry("states", "CREATED,COMPLETED")
+            .containsEntry("bpmnProcessId", "process")
+            .containsEntry("taskType", "foo")
+            .containsEntry("payloadCondition", "$.orderId == 'bar'");
+    }
+
+    @Test
+    public void shouldOpenSubscriptionWithoutFilter()
+    {
+        // given
+        broker.stubTopicSubscriptionApi(123L);
+
+        // when
+        clientRule.topics().newSubscription(clientRule.getDefaultTopicName())
+            .handler(DO_NOTHING)
+            .name(SUBSCRIPTION_NAME)
+            .open();
+
+        // then
+        final ExecuteCommandRequest subscribeRequest = broker.getReceivedCommandRequests()
+            .stream()
+            .filter((e) -> e.eventType() == EventType.SUBSCRIBER_EVENT)
+            .findFirst()
+            .get();
+
+        assertThat(subscribeRequest.getCommand())
+            .doesNotContainKeys("eventTypes", "states", "bpmnProcessId", "taskType", "payloadCondition");
+    }
+
     @Test
     public void shouldOpenSubscriptionAtTailOfTopic()
     {
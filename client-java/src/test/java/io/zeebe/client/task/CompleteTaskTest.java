@@ -20,6 +20,8 @@ import static org.assertj.core.api.Assertions.entry;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -112,6 +114,37 @@ public class CompleteTaskTest
         assertThat(taskEvent.getPayload()).isEqualTo(updatedPayload);
     }
 
+    @Test
+    public void shouldCompleteTaskWithPayloadObject()
+    {
+        // given
+        final TaskEventImpl baseEvent = Events.exampleTask();
+
+        brokerRule.onExecuteCommandRequest(EventType.TASK_EVENT, "COMPLETE")
+            .respondWith()
+            .key(123)
+            .event()
+              .allOf((r) -> r.getCommand())
+              .put("state", "COMPLETED")
+              .done()
+            .register();
+
+        final Map<String, Object> updatedPayload = Collections.singletonMap("fruit", "cherry");
+
+        // when
+        final TaskEvent taskEvent = clientRule.tasks()
+            .complete(baseEvent)
+            .payloadObject(updatedPayload)
+            .execute();
+
+        // then
+        final ExecuteCommandRequest request = brokerRule.getReceivedCommandRequests().get(0);
+        assertThat(request.getCommand()).containsEntry("payload", converter.convertToMsgPack("{\"fruit\":\"cherry\"}"));
+
+        assertThat(taskEvent.getPayloadAs(Map.class)).isEqualTo(updatedPayload);
+        assertThat(taskEvent.getPayload()).isEqualTo("{\"fruit\":\"cherry\"}");
+    }
+
     @Test
     public void shouldClearPayload()
     {
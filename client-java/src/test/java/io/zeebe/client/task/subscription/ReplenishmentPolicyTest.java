@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.task.subscription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import io.zeebe.client.task.impl.subscription.ReplenishmentPolicy;
+
+public class ReplenishmentPolicyTest
+{
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    protected final ReplenishmentPolicy policy = new ReplenishmentPolicy(0.3, 100L);
+
+    @Test
+    public void shouldNotReplenishAboveThreshold()
+    {
+        assertThat(policy.shouldReplenish(10, 0, 0L, 1000L)).isFalse();
+        assertThat(policy.shouldReplenish(10, 7, 0L, 1000L)).isFalse();
+    }
+
+    @Test
+    public void shouldReplenishBelowThreshold()
+    {
+        assertThat(policy.shouldReplenish(10, 8, 0L, 1000L)).isTrue();
+    }
+
+    @Test
+    public void shouldCoalesceReplenishmentWithinInterval()
+    {
+        assertThat(policy.shouldReplenish(10, 8, 1000L, 1050L)).isFalse();
+        assertThat(policy.shouldReplenish(10, 8, 1000L, 1100L)).isTrue();
+    }
+
+    @Test
+    public void shouldReplenishWithinIntervalIfCapacityIsUsedUp()
+    {
+        assertThat(policy.shouldReplenish(10, 10, 1000L, 1001L)).isTrue();
+    }
+
+    @Test
+    public void shouldRejectInvalidThreshold()
+    {
+        // then
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("Replenishment threshold must be greater than 0 and at most 1. Was: 1.5");
+
+        // when
+        new ReplenishmentPolicy(1.5, 100L);
+    }
+}
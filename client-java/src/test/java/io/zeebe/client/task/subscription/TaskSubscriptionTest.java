@@ -25,6 +25,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
@@ -51,6 +53,7 @@ import io.zeebe.client.impl.ZeebeClientImpl;
 import io.zeebe.client.impl.data.MsgPackConverter;
 import io.zeebe.client.task.PollableTaskSubscription;
 import io.zeebe.client.task.TaskHandler;
+import io.zeebe.client.task.TaskResult;
 import io.zeebe.client.task.TaskSubscription;
 import io.zeebe.client.task.impl.subscription.TaskSubscriptionImpl;
 import io.zeebe.client.util.ClientRule;
@@ -129,6 +132,91 @@ public class TaskSubscriptionTest
         assertThat(((TaskSubscriptionImpl) subscription).getSubscriberKey()).isEqualTo(123L);
     }
 
+    @Test
+    public void shouldOpenSubscriptionWithPayloadProjection()
+    {
+        // given
+        broker.stubTaskSubscriptionApi(123L);
+
+        // when
+        clientRule.tasks().newTaskSubscription(clientRule.getDefaultTopicName())
+            .handler(DO_NOTHING)
+            .lockOwner("foo")
+            .lockTime(10000L)
+            .taskType("bar")
+            .payloadProjection("$.orderId", "$.customer.name")
+            .open();
+
+        // then
+        final ControlMessageRequest subscriptionRequest = getSubscribeRequests().findFirst().get();
+
+        assertThat(subscriptionRequest.getData()).contains(entry("payloadProjection", "$.orderId,$.customer.name"));
+    }
+
+    @Test
+    public void shouldOpenTopicSubscriptionOnAllPartitions()
+    {
+        // given
+        broker.addTopic("foo", 99);
+        broker.addTopic("foo", 100);
+        broker.stubTaskSubscriptionApi(123L);
+
+        // when
+        final TaskSubscription subscription = clientRule.tasks().newTopicTaskSubscription("foo")
+            .handler(DO_NOTHING)
+            .lockOwner("foo")
+            .lockTime(10000L)
+            .taskType("bar")
+            .taskFetchSize(4)
+            .open();
+
+        // then
+        assertThat(subscription.isOpen()).isTrue();
+
+        final List<ControlMessageRequest> subscriptionRequests = getSubscribeRequests().collect(Collectors.toList());
+        assertThat(subscriptionRequests.stream().map(r -> r.partitionId()).collect(Collectors.toList())).containsExactlyInAnyOrder(99, 100);
+
+        // the task fetch size is shared by the partitions
+        assertThat(subscriptionRequests.stream().map(r -> r.getData().get("credits")).collect(Collectors.toList())).containsExactly(2, 2);
+    }
+
+    @Test
+    public void shouldGrantCreditsToPartitionWithTasks()
+    {
+        // given
+        broker.addTopic("foo", StubBrokerRule.TEST_PARTITION_ID);
+        broker.addTopic("foo", StubBrokerRule.TEST_PARTITION_ID + 1);
+        broker.stubTaskSubscriptionApi(123L);
+
+        final AtomicInteger handledTasks = new AtomicInteger(0);
+
+        clientRule.tasks().newTopicTaskSubscription("foo")
+            .handler((c, t) -> handledTasks.incrementAndGet())
+            .lockOwner("owner")
+            .lockTime(10000L)
+            .taskType("bar")
+            .taskFetchSize(4)
+            .open();
+
+        final List<ControlMessageRequest> subscriptionRequests = getSubscribeRequests().collect(Collectors.toList());
+        final RemoteAddress clientAddress = subscriptionRequests.get(0).getSource();
+
+        // subscriber keys are assigned in the order of the requests
+        final long subscriberKey = subscriptionRequests.get(0).partitionId() == StubBrokerRule.TEST_PARTITION_ID ? 123L : 124L;
+
+        // when
+        broker.pushLockedTask(clientAddress, subscriberKey, 1, 1, "owner", "bar");
+        broker.pushLockedTask(clientAddress, subscriberKey, 2, 2, "owner", "bar");
+
+        // then
+        TestUtil.waitUntil(() -> handledTasks.get() == 2);
+        TestUtil.waitUntil(() -> getCreditRequests().findAny().isPresent());
+
+        final List<ControlMessageRequest> creditRequests = getCreditRequests().collect(Collectors.toList());
+        assertThat(creditRequests.stream().map(r -> r.partitionId()).collect(Collectors.toList())).containsOnly(StubBrokerRule.TEST_PARTITION_ID);
+        assertThat(creditRequests.stream().map(r -> r.getData().get("credits")).collect(Collectors.toList())).containsExactly(2);
+    }
+
     @Test
     public void shouldCloseSubscription()
     {
@@ -614,6 +702,145 @@ public class TaskSubscriptionTest
             .doesNotContainKey("payload");
     }
 
+    @Test
+    public void shouldCompleteTaskWhenAsyncHandlerStageCompletes()
+    {
+        // given
+        broker.stubTaskSubscriptionApi(123L);
+        stubTaskCompleteRequest();
+
+        final CompletableFuture<TaskResult> result = new CompletableFuture<>();
+
+        clientRule.tasks().newTaskSubscription(clientRule.getDefaultTopicName())
+                .asyncHandler((c, t) -> result)
+                .lockOwner("foo")
+                .lockTime(10000L)
+                .taskType("bar")
+                .open();
+
+        final RemoteAddress eventSource = getSubscribeRequests().findFirst().get().getSource();
+
+        broker.pushLockedTask(eventSource, 123L, 4L, 5L, "foo", "bar");
+
+        // when
+        result.complete(TaskResult.complete("{\"a\": 1}"));
+
+        // then
+        final ExecuteCommandRequest taskRequest = TestUtil.doRepeatedly(() -> broker.getReceivedCommandRequests().stream()
+                .filter(r -> r.eventType() == EventType.TASK_EVENT)
+                .findFirst())
+            .until(r -> r.isPresent())
+            .get();
+
+        assertThat(taskRequest.key()).isEqualTo(4L);
+        assertThat(taskRequest.getCommand())
+            .containsEntry("state", "COMPLETE")
+            .containsEntry("lockOwner", "foo")
+            .containsEntry("payload", msgPackConverter.convertToMsgPack("{\"a\": 1}"));
+    }
+
+    @Test
+    public void shouldLimitConcurrencyOfAsyncHandler()
+    {
+        // given
+        broker.stubTaskSubscriptionApi(123L);
+        stubTaskCompleteRequest();
+
+        final List<CompletableFuture<TaskResult>> results = new CopyOnWriteArrayList<>();
+
+        clientRule.tasks().newTaskSubscription(clientRule.getDefaultTopicName())
+                .asyncHandler((c, t) ->
+                {
+                    final CompletableFuture<TaskResult> result = new CompletableFuture<>();
+                    results.add(result);
+                    return result;
+                })
+                .maxConcurrency(2)
+                .lockOwner("foo")
+                .lockTime(10000L)
+                .taskType("bar")
+                .open();
+
+        final RemoteAddress eventSource = getSubscribeRequests().findFirst().get().getSource();
+
+        // when
+        for (int i = 0; i < 3; i++)
+        {
+            broker.pushLockedTask(eventSource, 123L, i, i, "foo", "bar");
+        }
+
+        // then
+        TestUtil.waitUntil(() -> results.size() == 2);
+        assertThat(results).hasSize(2);
+
+        // when
+        results.get(0).complete(TaskResult.complete());
+
+        // then
+        TestUtil.waitUntil(() -> results.size() == 3);
+        assertThat(results).hasSize(3);
+    }
+
+    @Test
+    public void shouldRetryToReportAsyncTaskResultsOnBackpressure()
+    {
+        // given
+        broker.stubTaskSubscriptionApi(123L);
+        stubTaskCompleteRequest();
+
+        final Properties properties = new Properties();
+        properties.setProperty(ClientProperties.CLIENT_MAXREQUESTS, "1");
+        // the results are reported without blocking regardless of the configured block time
+        properties.setProperty(ClientProperties.CLIENT_REQUEST_BLOCKTIME_MILLIS, "60000");
+
+        final ZeebeClient backpressuredClient = ZeebeClient.create(properties);
+
+        try
+        {
+            final List<CompletableFuture<TaskResult>> results = new CopyOnWriteArrayList<>();
+
+            backpressuredClient.tasks().newTaskSubscription(clientRule.getDefaultTopicName())
+                .asyncHandler((c, t) ->
+                {
+                    final CompletableFuture<TaskResult> result = new CompletableFuture<>();
+                    results.add(result);
+                    return result;
+                })
+                .lockOwner("foo")
+                .lockTime(10000L)
+                .taskType("bar")
+                .open();
+
+            final RemoteAddress eventSource = getSubscribeRequests().findFirst().get().getSource();
+
+            for (int i = 0; i < 3; i++)
+            {
+                broker.pushLockedTask(eventSource, 123L, i, i, "foo", "bar");
+            }
+
+            TestUtil.waitUntil(() -> results.size() == 3);
+
+            // when only one request can be in flight at a time
+            results.forEach(r -> r.complete(TaskResult.complete()));
+
+            // then all results are reported
+            TestUtil.waitUntil(() -> broker.getReceivedCommandRequests().stream()
+                    .filter(r -> r.eventType() == EventType.TASK_EVENT)
+                    .count() == 3);
+
+            final List<Long> completedTasks = broker.getReceivedCommandRequests().stream()
+                .filter(r -> r.eventType() == EventType.TASK_EVENT)
+                .map(r -> r.key())
+                .collect(Collectors.toList());
+
+            assertThat(completedTasks).containsExactlyInAnyOrder(0L, 1L, 2L);
+        }
+        finally
+        {
+            backpressuredClient.close();
+        }
+    }
+
     @Test
     public void shouldMarkTaskAsFailedOnExpcetion()
     {
@@ -874,6 +1101,12 @@ public class TaskSubscriptionTest
                 .filter((r) -> r.messageType() == ControlMessageType.ADD_TASK_SUBSCRIPTION);
     }
 
+    protected Stream<ControlMessageRequest> getCreditRequests()
+    {
+        return broker.getReceivedControlMessageRequests().stream()
+                .filter((r) -> r.messageType() == ControlMessageType.INCREASE_TASK_SUBSCRIPTION_CREDITS);
+    }
+
     protected Stream<ControlMessageRequest> getUnsubscribeRequests()
     {
         return broker.getReceivedControlMessageRequests().stream()
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.task.subscription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.zeebe.client.task.impl.subscription.ThroughputEstimator;
+
+public class ThroughputEstimatorTest
+{
+    protected final ThroughputEstimator estimator = new ThroughputEstimator();
+
+    @Test
+    public void shouldUseMaxDepthWithoutMeasurements()
+    {
+        assertThat(estimator.estimateInFlightDepth(32, 1000L)).isEqualTo(32);
+    }
+
+    @Test
+    public void shouldSizeDepthByBandwidthDelayProduct()
+    {
+        // given
+        estimator.recordServiceTime(TimeUnit.MILLISECONDS.toNanos(1));
+        estimator.recordRoundTripTime(TimeUnit.MILLISECONDS.toNanos(5));
+
+        // when
+        final int depth = estimator.estimateInFlightDepth(32, 0);
+
+        // then
+        assertThat(depth).isEqualTo(11);
+    }
+
+    @Test
+    public void shouldNotExceedMaxDepth()
+    {
+        // given
+        estimator.recordServiceTime(TimeUnit.MILLISECONDS.toNanos(1));
+        estimator.recordRoundTripTime(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // when
+        final int depth = estimator.estimateInFlightDepth(32, 0);
+
+        // then
+        assertThat(depth).isEqualTo(32);
+    }
+
+    @Test
+    public void shouldNotExceedWhatCanBeHandledBeforeDeadline()
+    {
+        // given
+        estimator.recordServiceTime(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // when
+        final int depth = estimator.estimateInFlightDepth(32, 1000L);
+
+        // then
+        assertThat(depth).isEqualTo(10);
+    }
+
+    @Test
+    public void shouldKeepAtLeastOneEventInFlight()
+    {
+        // given
+        estimator.recordServiceTime(TimeUnit.SECONDS.toNanos(10));
+        estimator.recordRoundTripTime(TimeUnit.MILLISECONDS.toNanos(1));
+
+        // when
+        final int depth = estimator.estimateInFlightDepth(32, 1000L);
+
+        // then
+        assertThat(depth).isEqualTo(1);
+    }
+}
@@ -247,6 +247,22 @@ public class StubBrokerRule extends ExternalResource
             .register();
     }
 
+    /**
+     * Stubs topology responses of a broker which supports waiting for topology changes.
+     * Note that the stub responds immediately, even if the client waits for a change.
+     */
+    public void stubTopologyRequest(long version)
+    {
+        onTopologyRequest()
+            .respondWith()
+            .data()
+                .put("topicLeaders", r -> currentTopology.get().getTopicLeaders())
+                .put("brokers", r -> currentTopology.get().getBrokers())
+                .put("version", version)
+                .done()
+            .register();
+    }
+
     public ControlMessageResponseTypeBuilder onTopologyRequest()
     {
         return onControlMessageRequest(r -> r.messageType() == ControlMessageType.REQUEST_TOPOLOGY);
@@ -51,6 +51,8 @@ public class LargeWorkflowTest
     {
         final Properties p = new Properties();
         p.setProperty(ClientProperties.CLIENT_REQUEST_TIMEOUT_SEC, "180");
+        // creates the workflow instances asynchronously - wait until the in flight requests are completed
+        p.setProperty(ClientProperties.CLIENT_REQUEST_BLOCKTIME_MILLIS, "180000");
 
         return p;
     }, true);
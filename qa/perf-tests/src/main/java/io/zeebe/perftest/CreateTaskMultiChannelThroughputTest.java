@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.perftest;
+
+import static io.zeebe.client.ClientProperties.CLIENT_CHANNELS_PER_BROKER;
+import static io.zeebe.perftest.CommonProperties.DEFAULT_TOPIC_NAME;
+
+import java.util.Properties;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import io.zeebe.client.TasksClient;
+import io.zeebe.client.ZeebeClient;
+import io.zeebe.perftest.helper.MaxRateThroughputTest;
+
+/**
+ * Creates tasks on a topic with multiple partitions, so that the requests are
+ * striped across the channels the client opens to the broker. Run it with
+ * different values of <code>zeebe.client.channelsPerBroker</code> to compare
+ * the throughput.
+ */
+public class CreateTaskMultiChannelThroughputTest extends MaxRateThroughputTest
+{
+    public static final String TEST_PARTITION_COUNT = "test.partitionCount";
+
+    private static final String TASK_TYPE = "example-task-type";
+
+    public static void main(String[] args)
+    {
+        new CreateTaskMultiChannelThroughputTest().run();
+    }
+
+    @Override
+    protected void setDefaultProperties(Properties properties)
+    {
+        properties.putIfAbsent(CLIENT_CHANNELS_PER_BROKER, "4");
+        properties.putIfAbsent(TEST_PARTITION_COUNT, "8");
+
+        super.setDefaultProperties(properties);
+    }
+
+    @Override
+    protected void executeSetup(Properties properties, ZeebeClient client)
+    {
+        final int partitionCount = Integer.parseInt(properties.getProperty(TEST_PARTITION_COUNT));
+
+        client.topics().create(DEFAULT_TOPIC_NAME, partitionCount).execute();
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected Supplier<Future> requestFn(ZeebeClient client)
+    {
+        final TasksClient tasksClient = client.tasks();
+
+        return () -> tasksClient.create(DEFAULT_TOPIC_NAME, TASK_TYPE).executeAsync();
+    }
+
+}